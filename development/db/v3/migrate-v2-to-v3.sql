@@ -0,0 +1,125 @@
+-- Moves the one-to-many associations of bar and bill from join tables to foreign key columns on the child tables.
+-- Join table rows are moved in batches, every batch is committed on its own and deleted from its join table.
+-- The migration can therefore be stopped and rerun at any point, it continues with the rows that are left.
+-- Requires PostgreSQL 11 or higher (transaction control in procedures).
+
+-- Add foreign key columns (nullable until all rows are moved)
+alter table category
+    add column if not exists bar_id uuid;
+alter table person
+    add column if not exists bar_id uuid;
+alter table product
+    add column if not exists bar_id uuid;
+alter table session
+    add column if not exists bar_id uuid;
+alter table "order"
+    add column if not exists bill_id uuid;
+alter table order_history_entry
+    add column if not exists bill_id uuid;
+
+
+-- Move rows of a join table to the foreign key column of the child table
+create or replace procedure move_join_table(
+    join_table text,
+    owner_column text,
+    child_column text,
+    child_table text,
+    foreign_key_column text,
+    batch_size int default 10000
+)
+    language plpgsql
+as
+$$
+declare
+    moved bigint;
+begin
+    if to_regclass(quote_ident(join_table)) is null then
+        raise notice 'Join table % is already migrated', join_table;
+        return;
+    end if;
+
+    loop
+        execute format(
+                'with batch as ( ' ||
+                '    delete from %1$I where ctid in (select ctid from %1$I limit %6$s) ' ||
+                '    returning %2$I as owner_id, %3$I as child_id ' ||
+                '), moved as ( ' ||
+                '    update %4$I child set %5$I = batch.owner_id from batch where child.id = batch.child_id ' ||
+                ') ' ||
+                'select count(*) from batch',
+                join_table, owner_column, child_column, child_table, foreign_key_column, batch_size
+            ) into moved;
+        commit;
+        raise notice 'Moved % rows from %', moved, join_table;
+        exit when moved = 0;
+    end loop;
+
+    execute format('drop table %I', join_table);
+end;
+$$;
+
+call move_join_table('bar_categories', 'bar_id', 'categories_id', 'category', 'bar_id');
+call move_join_table('bar_people', 'bar_id', 'people_id', 'person', 'bar_id');
+call move_join_table('bar_products', 'bar_id', 'products_id', 'product', 'bar_id');
+call move_join_table('bar_sessions', 'bar_id', 'sessions_id', 'session', 'bar_id');
+call move_join_table('bill_orders', 'bill_id', 'orders_id', 'order', 'bill_id');
+call move_join_table('bill_history', 'bill_id', 'history_id', 'order_history_entry', 'bill_id');
+
+drop procedure move_join_table(text, text, text, text, text, int);
+
+
+-- Rows that were not referenced by any join table row cannot be reached by the application anymore
+delete
+from order_history_entry
+where bill_id is null;
+delete
+from "order"
+where bill_id is null;
+
+
+-- Constraints and indexes (fails if sessions or products exist without a bar)
+alter table product
+    alter column bar_id set not null;
+alter table session
+    alter column bar_id set not null;
+alter table "order"
+    alter column bill_id set not null;
+alter table order_history_entry
+    alter column bill_id set not null;
+
+alter table if exists category
+    add constraint FK_category_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists "order"
+    add constraint FK_order_bill
+        foreign key (bill_id)
+            references bill;
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_bill
+        foreign key (bill_id)
+            references bill;
+
+alter table if exists person
+    add constraint FK_person_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists product
+    add constraint FK_product_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists session
+    add constraint FK_session_bar
+        foreign key (bar_id)
+            references bar;
+
+create index if not exists IDX_category_bar on category (bar_id);
+create index if not exists IDX_order_bill on "order" (bill_id);
+create index if not exists IDX_order_history_entry_bill on order_history_entry (bill_id);
+create index if not exists IDX_person_bar on person (bar_id);
+create index if not exists IDX_product_bar on product (bar_id);
+create index if not exists IDX_session_bar on session (bar_id);
@@ -0,0 +1,235 @@
+create table "authorization" (
+                                 id uuid not null,
+                                 bar_id uuid,
+                                 role varchar(255),
+                                 person_id uuid,
+                                 primary key (id)
+);
+
+create table bar (
+                     id uuid not null,
+                     deleted BOOLEAN default false,
+                     address varchar(255),
+                     mail varchar(255),
+                     name varchar(255),
+                     phone_number varchar(255),
+                     primary key (id)
+);
+
+create table bill (
+                      id uuid not null,
+                      deleted BOOLEAN default false,
+                      is_payed boolean,
+                      customer_id uuid,
+                      session_id uuid,
+                      primary key (id)
+);
+
+create table category (
+                          id uuid not null,
+                          deleted boolean,
+                          name varchar(255),
+                          bar_id uuid,
+                          primary key (id)
+);
+
+create table "order" (
+                         id uuid not null,
+                         amount int4,
+                         creation_date timestamp,
+                         brand varchar(255),
+                         product_id uuid,
+                         name varchar(255),
+                         money_amount numeric(19, 2),
+                         currency_code varchar(255),
+                         currency_symbol varchar(255),
+                         bartender_id uuid,
+                         bill_id uuid not null,
+                         primary key (id)
+);
+
+create table order_history_entry (
+                                     id uuid not null,
+                                     amount int4,
+                                     order_date timestamp,
+                                     product_id uuid,
+                                     product_name varchar(255),
+                                     order_history_type varchar(255),
+                                     bartender_id uuid,
+                                     customer_id uuid,
+                                     bill_id uuid not null,
+                                     primary key (id)
+);
+
+create table person (
+                        id uuid not null,
+                        name varchar(255),
+                        "user_id" uuid,
+                        bar_id uuid,
+                        primary key (id)
+);
+
+create table price (
+                       id uuid not null,
+                       from_date timestamp,
+                       money_amount numeric(19, 2),
+                       currency_code varchar(255),
+                       currency_symbol varchar(255),
+                       to_date timestamp,
+                       primary key (id)
+);
+
+create table product (
+                         id uuid not null,
+                         brand varchar(255),
+                         deleted boolean,
+                         is_favorite boolean,
+                         name varchar(255),
+                         size float8,
+                         type varchar(255),
+                         category_id uuid,
+                         bar_id uuid not null,
+                         primary key (id)
+);
+
+create table product_price (
+                               product_id uuid not null,
+                               price_id uuid not null
+);
+
+create table session (
+                         id uuid not null,
+                         creation_date timestamp,
+                         deleted BOOLEAN default false,
+                         end_date timestamp,
+                         locked boolean not null,
+                         name varchar(255),
+                         bar_id uuid not null,
+                         primary key (id)
+);
+
+create table "user" (
+                        id uuid not null,
+                        created_on timestamp,
+                        first_name varchar(255),
+                        last_name varchar(255),
+                        mail varchar(255),
+                        password varchar(255),
+                        phone_number varchar(255),
+                        username varchar(255),
+                        primary key (id)
+);
+
+create table "user_authorizations" (
+                                       "user_id" uuid not null,
+                                       "authorizations_id" uuid not null
+);
+
+alter table if exists product_price
+    add constraint UK_1wkhsq2dogphcbnm6hl6dhqq8 unique (price_id);
+
+alter table if exists "user"
+    add constraint UK_6sou31qus5dnws6dwfu61e71v unique (mail);
+
+alter table if exists "user"
+    add constraint UK_sb8bbouer5wak8vyiiy4pf2bx unique (username);
+
+alter table if exists "user_authorizations"
+    add constraint UK_psay7qxx06n99o9go05xgk1qe unique ("authorizations_id");
+
+alter table if exists "authorization"
+    add constraint FKj87br7wyioy5cqa50mpspyq0r
+        foreign key (person_id)
+            references person;
+
+alter table if exists bill
+    add constraint FKgvyl51yuvu113jveh8neokhm7
+        foreign key (customer_id)
+            references person;
+
+alter table if exists bill
+    add constraint FKnpdke1pihy8cr0lddxntf4hl2
+        foreign key (session_id)
+            references session;
+
+alter table if exists "order"
+    add constraint FKarejjug8k6j3jm4h7pf24yhs6
+        foreign key (bartender_id)
+            references person;
+
+alter table if exists order_history_entry
+    add constraint FKdk16yr32ecuteew7ghv8hj7ym
+        foreign key (bartender_id)
+            references person;
+
+alter table if exists order_history_entry
+    add constraint FKo62ig3p1nuu6aabygod5ddrdg
+        foreign key (customer_id)
+            references person;
+
+alter table if exists person
+    add constraint FKdunok34g8d08mu7mtocmhfptn
+        foreign key ("user_id")
+            references "user";
+
+alter table if exists product
+    add constraint FK1mtsbur82frn64de7balymq9s
+        foreign key (category_id)
+            references category;
+
+alter table if exists product_price
+    add constraint FKxfgbtbbrfa24m2881bw2k0rv
+        foreign key (price_id)
+            references price;
+
+alter table if exists product_price
+    add constraint FKeupemu63ifqfc4txkskyy1hyi
+        foreign key (product_id)
+            references product;
+
+alter table if exists "user_authorizations"
+    add constraint FK9bc82jn10l4h06y9q5ff1sk3l
+        foreign key ("authorizations_id")
+            references "authorization";
+
+alter table if exists "user_authorizations"
+    add constraint FKri3ggsr4mfi5v7bf2tneu8k6x
+        foreign key ("user_id")
+            references "user";
+
+alter table if exists category
+    add constraint FK_category_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists "order"
+    add constraint FK_order_bill
+        foreign key (bill_id)
+            references bill;
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_bill
+        foreign key (bill_id)
+            references bill;
+
+alter table if exists person
+    add constraint FK_person_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists product
+    add constraint FK_product_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists session
+    add constraint FK_session_bar
+        foreign key (bar_id)
+            references bar;
+
+create index if not exists IDX_category_bar on category (bar_id);
+create index if not exists IDX_order_bill on "order" (bill_id);
+create index if not exists IDX_order_history_entry_bill on order_history_entry (bill_id);
+create index if not exists IDX_person_bar on person (bar_id);
+create index if not exists IDX_product_bar on product (bar_id);
+create index if not exists IDX_session_bar on session (bar_id);
@@ -0,0 +1,245 @@
+-- Partitions bill, "order" and order_history_entry by bar_id.
+-- Every table gets a default partition, bars with a lot of data can be moved to a partition of their own with
+-- create_bar_partition. Queries that filter on bar_id only touch the partition of that bar, and the partitions
+-- of a bar that is no longer used can be detached with detach_bar_partition and archived or dropped.
+-- The existing tables become the default partitions, so no data is copied.
+-- Requires PostgreSQL 12 or higher (foreign keys referencing partitioned tables).
+
+-- Partition key columns
+alter table bill
+    add column if not exists bar_id uuid;
+alter table "order"
+    add column if not exists bar_id uuid;
+alter table order_history_entry
+    add column if not exists bar_id uuid;
+
+update bill
+set bar_id = session.bar_id
+from session
+where bill.session_id = session.id
+  and bill.bar_id is null;
+update "order"
+set bar_id = bill.bar_id
+from bill
+where "order".bill_id = bill.id
+  and "order".bar_id is null;
+update order_history_entry
+set bar_id = bill.bar_id
+from bill
+where order_history_entry.bill_id = bill.id
+  and order_history_entry.bar_id is null;
+
+-- Bills without a session cannot be reached by the application
+delete
+from order_history_entry
+where bar_id is null;
+delete
+from "order"
+where bar_id is null;
+delete
+from bill
+where bar_id is null;
+
+alter table bill
+    alter column bar_id set not null;
+alter table "order"
+    alter column bar_id set not null;
+alter table order_history_entry
+    alter column bar_id set not null;
+
+
+-- The existing tables become the default partitions, their constraints are recreated on the partitioned tables
+alter table "order"
+    drop constraint FK_order_bill;
+alter table "order"
+    drop constraint FKarejjug8k6j3jm4h7pf24yhs6;
+alter table order_history_entry
+    drop constraint FK_order_history_entry_bill;
+alter table order_history_entry
+    drop constraint FKdk16yr32ecuteew7ghv8hj7ym;
+alter table order_history_entry
+    drop constraint FKo62ig3p1nuu6aabygod5ddrdg;
+alter table bill
+    drop constraint FKgvyl51yuvu113jveh8neokhm7;
+alter table bill
+    drop constraint FKnpdke1pihy8cr0lddxntf4hl2;
+
+alter table bill
+    rename to bill_default;
+alter table "order"
+    rename to order_default;
+alter table order_history_entry
+    rename to order_history_entry_default;
+
+-- Equivalent indexes are attached to the indexes of the partitioned tables instead of being rebuilt
+alter index IDX_order_bill rename to IDX_order_default_bill;
+alter index IDX_order_history_entry_bill rename to IDX_order_history_entry_default_bill;
+
+
+-- Partitioned tables, the columns are in the order of the default partitions
+create table bill (
+                      id uuid not null,
+                      deleted BOOLEAN default false,
+                      is_payed boolean,
+                      customer_id uuid,
+                      session_id uuid,
+                      bar_id uuid not null,
+                      primary key (id, bar_id)
+) partition by list (bar_id);
+
+create table "order" (
+                         id uuid not null,
+                         amount int4,
+                         creation_date timestamp,
+                         brand varchar(255),
+                         product_id uuid,
+                         name varchar(255),
+                         money_amount numeric(19, 2),
+                         currency_code varchar(255),
+                         currency_symbol varchar(255),
+                         bartender_id uuid,
+                         bill_id uuid not null,
+                         bar_id uuid not null,
+                         primary key (id, bar_id)
+) partition by list (bar_id);
+
+create table order_history_entry (
+                                     id uuid not null,
+                                     amount int4,
+                                     order_date timestamp,
+                                     product_id uuid,
+                                     product_name varchar(255),
+                                     order_history_type varchar(255),
+                                     bartender_id uuid,
+                                     customer_id uuid,
+                                     bill_id uuid not null,
+                                     bar_id uuid not null,
+                                     primary key (id, bar_id)
+) partition by list (bar_id);
+
+create index IDX_bill_bar_customer on bill (bar_id, customer_id);
+create index IDX_bill_session on bill (session_id);
+create index IDX_order_bill on "order" (bill_id);
+create index IDX_order_bar_creation_date on "order" (bar_id, creation_date);
+create index IDX_order_history_entry_bill on order_history_entry (bill_id);
+
+alter table bill
+    attach partition bill_default default;
+alter table "order"
+    attach partition order_default default;
+alter table order_history_entry
+    attach partition order_history_entry_default default;
+
+alter table bill_default
+    drop constraint bill_pkey;
+alter table order_default
+    drop constraint order_pkey;
+alter table order_history_entry_default
+    drop constraint order_history_entry_pkey;
+
+alter table if exists bill
+    add constraint FK_bill_customer
+        foreign key (customer_id)
+            references person;
+
+alter table if exists bill
+    add constraint FK_bill_session
+        foreign key (session_id)
+            references session;
+
+alter table if exists bill
+    add constraint FK_bill_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists "order"
+    add constraint FK_order_bartender
+        foreign key (bartender_id)
+            references person;
+
+alter table if exists "order"
+    add constraint FK_order_bill
+        foreign key (bill_id, bar_id)
+            references bill (id, bar_id);
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_bartender
+        foreign key (bartender_id)
+            references person;
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_customer
+        foreign key (customer_id)
+            references person;
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_bill
+        foreign key (bill_id, bar_id)
+            references bill (id, bar_id);
+
+
+-- Moves the bills, orders and history of a bar from the default partitions to partitions of its own.
+-- The default partitions are locked against writes until the call commits, so no row of the bar can be written
+-- between copying and deleting it. Attaching scans the default partitions, so run it outside of opening hours.
+create or replace procedure create_bar_partition(bar uuid)
+    language plpgsql
+as
+$$
+declare
+    suffix text := replace(bar::text, '-', '');
+begin
+    execute format('create table %I (like bill including defaults)', 'bill_' || suffix);
+    execute format('create table %I (like "order" including defaults)', 'order_' || suffix);
+    execute format('create table %I (like order_history_entry including defaults)', 'order_history_entry_' || suffix);
+
+    lock table bill_default, order_default, order_history_entry_default in share row exclusive mode;
+
+    execute format('insert into %I select * from bill_default where bar_id = %L', 'bill_' || suffix, bar);
+    execute format('insert into %I select * from order_default where bar_id = %L', 'order_' || suffix, bar);
+    execute format('insert into %I select * from order_history_entry_default where bar_id = %L', 'order_history_entry_' || suffix, bar);
+
+    delete from order_history_entry_default where bar_id = bar;
+    delete from order_default where bar_id = bar;
+    delete from bill_default where bar_id = bar;
+
+    execute format('alter table bill attach partition %I for values in (%L)', 'bill_' || suffix, bar);
+    execute format('alter table "order" attach partition %I for values in (%L)', 'order_' || suffix, bar);
+    execute format('alter table order_history_entry attach partition %I for values in (%L)', 'order_history_entry_' || suffix, bar);
+end;
+$$;
+
+-- Detaches the partitions of a bar, afterwards the tables can be archived and dropped.
+create or replace procedure detach_bar_partition(bar uuid)
+    language plpgsql
+as
+$$
+declare
+    suffix text := replace(bar::text, '-', '');
+begin
+    execute format('alter table order_history_entry detach partition %I', 'order_history_entry_' || suffix);
+    execute format('alter table "order" detach partition %I', 'order_' || suffix);
+    execute format('alter table bill detach partition %I', 'bill_' || suffix);
+end;
+$$;
+
+-- Version of the authorizations of a user, compact access tokens carry it instead of the authorizations
+alter table "user"
+    add column if not exists authorization_version int8 not null default 0;
+
+-- Version of a bar and everything that belongs to it, used for the ETag and Last-Modified headers of its resources
+alter table bar
+    add column if not exists change_version int8 not null default 0,
+    add column if not exists last_modified timestamp;
+
+-- Results of order and bill commands sent with an Idempotency-Key, used when com.tungstun.bartap.idempotency.store=jdbc.
+-- The key is prefixed with the user that sent it, a reservation without result can be taken over after reserved_until
+create table if not exists idempotent_request (
+    idempotency_key varchar(512) not null,
+    fingerprint text not null,
+    result text,
+    reserved_until timestamp not null,
+    expires_at timestamp not null,
+    primary key (idempotency_key)
+);
+
+create index if not exists idempotent_request_expires_at_idx on idempotent_request (expires_at);
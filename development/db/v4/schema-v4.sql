@@ -0,0 +1,308 @@
+create table "authorization" (
+                                 id uuid not null,
+                                 bar_id uuid,
+                                 role varchar(255),
+                                 person_id uuid,
+                                 primary key (id)
+);
+
+create table bar (
+                     id uuid not null,
+                     deleted BOOLEAN default false,
+                     address varchar(255),
+                     mail varchar(255),
+                     name varchar(255),
+                     phone_number varchar(255),
+                     change_version int8 not null default 0,
+                     last_modified timestamp,
+                     primary key (id)
+);
+
+create table bill (
+                      id uuid not null,
+                      deleted BOOLEAN default false,
+                      is_payed boolean,
+                      customer_id uuid,
+                      session_id uuid,
+                      bar_id uuid not null,
+                      primary key (id, bar_id)
+) partition by list (bar_id);
+
+create table category (
+                          id uuid not null,
+                          deleted boolean,
+                          name varchar(255),
+                          bar_id uuid,
+                          primary key (id)
+);
+
+create table "order" (
+                         id uuid not null,
+                         amount int4,
+                         creation_date timestamp,
+                         brand varchar(255),
+                         product_id uuid,
+                         name varchar(255),
+                         money_amount numeric(19, 2),
+                         currency_code varchar(255),
+                         currency_symbol varchar(255),
+                         bartender_id uuid,
+                         bill_id uuid not null,
+                         bar_id uuid not null,
+                         primary key (id, bar_id)
+) partition by list (bar_id);
+
+create table order_history_entry (
+                                     id uuid not null,
+                                     amount int4,
+                                     order_date timestamp,
+                                     product_id uuid,
+                                     product_name varchar(255),
+                                     order_history_type varchar(255),
+                                     bartender_id uuid,
+                                     customer_id uuid,
+                                     bill_id uuid not null,
+                                     bar_id uuid not null,
+                                     primary key (id, bar_id)
+) partition by list (bar_id);
+
+create table person (
+                        id uuid not null,
+                        name varchar(255),
+                        "user_id" uuid,
+                        bar_id uuid,
+                        primary key (id)
+);
+
+create table price (
+                       id uuid not null,
+                       from_date timestamp,
+                       money_amount numeric(19, 2),
+                       currency_code varchar(255),
+                       currency_symbol varchar(255),
+                       to_date timestamp,
+                       primary key (id)
+);
+
+create table product (
+                         id uuid not null,
+                         brand varchar(255),
+                         deleted boolean,
+                         is_favorite boolean,
+                         name varchar(255),
+                         size float8,
+                         type varchar(255),
+                         category_id uuid,
+                         bar_id uuid not null,
+                         primary key (id)
+);
+
+create table product_price (
+                               product_id uuid not null,
+                               price_id uuid not null
+);
+
+create table session (
+                         id uuid not null,
+                         creation_date timestamp,
+                         deleted BOOLEAN default false,
+                         end_date timestamp,
+                         locked boolean not null,
+                         name varchar(255),
+                         bar_id uuid not null,
+                         primary key (id)
+);
+
+create table "user" (
+                        id uuid not null,
+                        created_on timestamp,
+                        first_name varchar(255),
+                        last_name varchar(255),
+                        mail varchar(255),
+                        password varchar(255),
+                        phone_number varchar(255),
+                        username varchar(255),
+                        authorization_version int8 not null default 0,
+                        primary key (id)
+);
+
+create table "user_authorizations" (
+                                       "user_id" uuid not null,
+                                       "authorizations_id" uuid not null
+);
+
+create table idempotent_request (
+                                    idempotency_key varchar(512) not null,
+                                    fingerprint text not null,
+                                    result text,
+                                    reserved_until timestamp not null,
+                                    expires_at timestamp not null,
+                                    primary key (idempotency_key)
+);
+
+create index idempotent_request_expires_at_idx on idempotent_request (expires_at);
+
+alter table if exists product_price
+    add constraint UK_1wkhsq2dogphcbnm6hl6dhqq8 unique (price_id);
+
+alter table if exists "user"
+    add constraint UK_6sou31qus5dnws6dwfu61e71v unique (mail);
+
+alter table if exists "user"
+    add constraint UK_sb8bbouer5wak8vyiiy4pf2bx unique (username);
+
+alter table if exists "user_authorizations"
+    add constraint UK_psay7qxx06n99o9go05xgk1qe unique ("authorizations_id");
+
+alter table if exists "authorization"
+    add constraint FKj87br7wyioy5cqa50mpspyq0r
+        foreign key (person_id)
+            references person;
+
+alter table if exists person
+    add constraint FKdunok34g8d08mu7mtocmhfptn
+        foreign key ("user_id")
+            references "user";
+
+alter table if exists product
+    add constraint FK1mtsbur82frn64de7balymq9s
+        foreign key (category_id)
+            references category;
+
+alter table if exists product_price
+    add constraint FKxfgbtbbrfa24m2881bw2k0rv
+        foreign key (price_id)
+            references price;
+
+alter table if exists product_price
+    add constraint FKeupemu63ifqfc4txkskyy1hyi
+        foreign key (product_id)
+            references product;
+
+alter table if exists "user_authorizations"
+    add constraint FK9bc82jn10l4h06y9q5ff1sk3l
+        foreign key ("authorizations_id")
+            references "authorization";
+
+alter table if exists "user_authorizations"
+    add constraint FKri3ggsr4mfi5v7bf2tneu8k6x
+        foreign key ("user_id")
+            references "user";
+
+alter table if exists category
+    add constraint FK_category_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists person
+    add constraint FK_person_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists product
+    add constraint FK_product_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists session
+    add constraint FK_session_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists bill
+    add constraint FK_bill_customer
+        foreign key (customer_id)
+            references person;
+
+alter table if exists bill
+    add constraint FK_bill_session
+        foreign key (session_id)
+            references session;
+
+alter table if exists bill
+    add constraint FK_bill_bar
+        foreign key (bar_id)
+            references bar;
+
+alter table if exists "order"
+    add constraint FK_order_bartender
+        foreign key (bartender_id)
+            references person;
+
+alter table if exists "order"
+    add constraint FK_order_bill
+        foreign key (bill_id, bar_id)
+            references bill (id, bar_id);
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_bartender
+        foreign key (bartender_id)
+            references person;
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_customer
+        foreign key (customer_id)
+            references person;
+
+alter table if exists order_history_entry
+    add constraint FK_order_history_entry_bill
+        foreign key (bill_id, bar_id)
+            references bill (id, bar_id);
+
+create index if not exists IDX_bill_bar_customer on bill (bar_id, customer_id);
+create index if not exists IDX_bill_session on bill (session_id);
+create index if not exists IDX_category_bar on category (bar_id);
+create index if not exists IDX_order_bill on "order" (bill_id);
+create index if not exists IDX_order_bar_creation_date on "order" (bar_id, creation_date);
+create index if not exists IDX_order_history_entry_bill on order_history_entry (bill_id);
+create index if not exists IDX_person_bar on person (bar_id);
+create index if not exists IDX_product_bar on product (bar_id);
+create index if not exists IDX_session_bar on session (bar_id);
+
+create table bill_default partition of bill default;
+create table order_default partition of "order" default;
+create table order_history_entry_default partition of order_history_entry default;
+
+-- Moves the bills, orders and history of a bar from the default partitions to partitions of its own.
+-- The default partitions are locked against writes until the call commits, so no row of the bar can be written
+-- between copying and deleting it. Attaching scans the default partitions, so run it outside of opening hours.
+create or replace procedure create_bar_partition(bar uuid)
+    language plpgsql
+as
+$$
+declare
+    suffix text := replace(bar::text, '-', '');
+begin
+    execute format('create table %I (like bill including defaults)', 'bill_' || suffix);
+    execute format('create table %I (like "order" including defaults)', 'order_' || suffix);
+    execute format('create table %I (like order_history_entry including defaults)', 'order_history_entry_' || suffix);
+
+    lock table bill_default, order_default, order_history_entry_default in share row exclusive mode;
+
+    execute format('insert into %I select * from bill_default where bar_id = %L', 'bill_' || suffix, bar);
+    execute format('insert into %I select * from order_default where bar_id = %L', 'order_' || suffix, bar);
+    execute format('insert into %I select * from order_history_entry_default where bar_id = %L', 'order_history_entry_' || suffix, bar);
+
+    delete from order_history_entry_default where bar_id = bar;
+    delete from order_default where bar_id = bar;
+    delete from bill_default where bar_id = bar;
+
+    execute format('alter table bill attach partition %I for values in (%L)', 'bill_' || suffix, bar);
+    execute format('alter table "order" attach partition %I for values in (%L)', 'order_' || suffix, bar);
+    execute format('alter table order_history_entry attach partition %I for values in (%L)', 'order_history_entry_' || suffix, bar);
+end;
+$$;
+
+-- Detaches the partitions of a bar, afterwards the tables can be archived and dropped.
+create or replace procedure detach_bar_partition(bar uuid)
+    language plpgsql
+as
+$$
+declare
+    suffix text := replace(bar::text, '-', '');
+begin
+    execute format('alter table order_history_entry detach partition %I', 'order_history_entry_' || suffix);
+    execute format('alter table "order" detach partition %I', 'order_' || suffix);
+    execute format('alter table bill detach partition %I', 'bill_' || suffix);
+end;
+$$;
@@ -3,9 +3,14 @@ package com.tungstun;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
+/**
+ * R2DBC is only configured by the optional reactive read path, see {@link com.tungstun.common.reactive.ReactiveReadConfig}.
+ */
 @EntityScan("com.tungstun")
-@SpringBootApplication
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class BarApiApplication {
     public static void main(String[] args) {
 		SpringApplication.run(BarApiApplication.class, args);
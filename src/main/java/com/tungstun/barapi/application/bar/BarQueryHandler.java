@@ -1,22 +1,27 @@
 package com.tungstun.barapi.application.bar;
 
 import com.tungstun.barapi.application.bar.query.GetBar;
+import com.tungstun.barapi.application.bar.query.GetBarVersion;
 import com.tungstun.barapi.application.bar.query.ListConnectedBars;
 import com.tungstun.barapi.application.bar.query.ListOwnedBars;
 import com.tungstun.barapi.domain.bar.Bar;
 import com.tungstun.barapi.domain.bar.BarRepository;
+import com.tungstun.barapi.domain.bar.BarVersion;
 import com.tungstun.security.application.user.UserQueryHandler;
 import com.tungstun.security.domain.user.User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class BarQueryHandler {
     private final BarRepository barRepository;
     private final UserQueryHandler userQueryHandler;
@@ -31,6 +36,13 @@ public class BarQueryHandler {
                 .orElseThrow(() -> new EntityNotFoundException(String.format("Bar with id %s doesn't exist", query.barId())));
     }
 
+    /**
+     * The version of the bar, read without loading the bar. Empty if the bar doesn't exist.
+     */
+    public Optional<BarVersion> handle(GetBarVersion query) {
+        return barRepository.findVersion(query.barId());
+    }
+
     public List<Bar> handle(ListOwnedBars query) {
         Set<UUID> ownedBarIds = ((User) userQueryHandler.loadUserByUsername(query.username()))
                 .getAuthorizations()
@@ -0,0 +1,49 @@
+package com.tungstun.barapi.application.bar;
+
+import com.tungstun.barapi.application.bar.command.BarCommand;
+import com.tungstun.barapi.domain.bar.BarRepository;
+import com.tungstun.common.transaction.TransactionConfig;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Increments the version of a bar after a command handler has handled a {@link BarCommand} of that bar.<br>
+ * The aspect is ordered inside the transaction of the command handler, so the version is incremented
+ * right before that transaction commits. It is committed together with the change and the row of the bar
+ * is only locked briefly. A rolled back change does not increment the version.
+ */
+@Aspect
+@Component
+@Order(TransactionConfig.INSIDE)
+public class BarVersionTracker {
+    private final BarRepository barRepository;
+
+    public BarVersionTracker(BarRepository barRepository) {
+        this.barRepository = barRepository;
+    }
+
+    @AfterReturning("execution(* com.tungstun.barapi.application..*CommandHandler.handle(..)) && args(command)")
+    public void commandHandled(BarCommand command) {
+        markChanged(command.barId());
+    }
+
+    public void markChanged(UUID barId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            barRepository.markChanged(barId, LocalDateTime.now());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                barRepository.markChanged(barId, LocalDateTime.now());
+            }
+        });
+    }
+}
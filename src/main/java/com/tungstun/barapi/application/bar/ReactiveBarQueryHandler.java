@@ -0,0 +1,32 @@
+package com.tungstun.barapi.application.bar;
+
+import com.tungstun.barapi.application.bar.query.ListConnectedBars;
+import com.tungstun.barapi.application.bar.query.ListOwnedBars;
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.ReactiveBarRepository;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+@Service
+@ConditionalOnReactiveReads
+public class ReactiveBarQueryHandler {
+    private final ReactiveBarRepository barRepository;
+    private final Scheduler reactiveReadScheduler;
+
+    public ReactiveBarQueryHandler(ReactiveBarRepository barRepository, Scheduler reactiveReadScheduler) {
+        this.barRepository = barRepository;
+        this.reactiveReadScheduler = reactiveReadScheduler;
+    }
+
+    public Flux<Bar> handle(ListOwnedBars query) {
+        return barRepository.findAllOwnedBy(query.username())
+                .publishOn(reactiveReadScheduler);
+    }
+
+    public Flux<Bar> handle(ListConnectedBars query) {
+        return barRepository.findAllConnectedTo(query.username())
+                .publishOn(reactiveReadScheduler);
+    }
+}
@@ -0,0 +1,11 @@
+package com.tungstun.barapi.application.bar.command;
+
+import java.util.UUID;
+
+/**
+ * Command that changes a bar or one of its parts.<br>
+ * The version of the bar is incremented when a command handler has handled the command.
+ */
+public interface BarCommand {
+    UUID barId();
+}
@@ -2,5 +2,5 @@ package com.tungstun.barapi.application.bar.command;
 
 import java.util.UUID;
 
-public record DeleteBar(UUID barId) {
+public record DeleteBar(UUID barId) implements BarCommand {
 }
@@ -7,5 +7,5 @@ public record UpdateBar(
         String address,
         String name,
         String mail,
-        String phoneNumber) {
+        String phoneNumber) implements BarCommand {
 }
@@ -0,0 +1,6 @@
+package com.tungstun.barapi.application.bar.query;
+
+import java.util.UUID;
+
+public record GetBarVersion(UUID barId) {
+}
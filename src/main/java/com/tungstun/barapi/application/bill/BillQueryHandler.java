@@ -6,25 +6,27 @@ import com.tungstun.barapi.application.person.query.GetPersonByUserUsername;
 import com.tungstun.barapi.application.session.SessionQueryHandler;
 import com.tungstun.barapi.application.session.query.GetActiveSession;
 import com.tungstun.barapi.application.session.query.GetSession;
-import com.tungstun.barapi.application.session.query.ListSessionsOfBar;
 import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.bill.BillRepository;
 import com.tungstun.barapi.domain.person.Person;
-import com.tungstun.barapi.domain.session.Session;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class BillQueryHandler {
     private final SessionQueryHandler sessionQueryHandler;
     private final PersonQueryHandler personQueryHandler;
+    private final BillRepository billRepository;
 
-    public BillQueryHandler(SessionQueryHandler sessionQueryHandler, PersonQueryHandler personQueryHandler) {
+    public BillQueryHandler(SessionQueryHandler sessionQueryHandler, PersonQueryHandler personQueryHandler, BillRepository billRepository) {
         this.sessionQueryHandler = sessionQueryHandler;
         this.personQueryHandler = personQueryHandler;
+        this.billRepository = billRepository;
     }
 
     public Bill handle(GetBill query) {
@@ -49,12 +51,7 @@ public class BillQueryHandler {
     }
 
     public List<Bill> handle(ListBillsOfCustomer query) {
-        return sessionQueryHandler.handle(new ListSessionsOfBar(query.barId()))
-                .stream()
-                .map(Session::getBills)
-                .flatMap(List::stream)
-                .filter(bill -> bill.getCustomer().getId().equals(query.customerId()))
-                .collect(Collectors.toList());
+        return billRepository.findByBarAndCustomer(query.barId(), query.customerId());
     }
 
     public List<Bill> handle(ListBillsOfUser query) {
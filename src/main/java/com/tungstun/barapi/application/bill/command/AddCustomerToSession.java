@@ -1,9 +1,11 @@
 package com.tungstun.barapi.application.bill.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record AddCustomerToSession(
         UUID barId,
         UUID sessionId,
-        UUID customerId) {
+        UUID customerId) implements BarCommand {
 }
@@ -1,8 +1,10 @@
 package com.tungstun.barapi.application.category.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record CreateCategory(
         UUID barId,
-        String name) {
+        String name) implements BarCommand {
 }
@@ -1,6 +1,8 @@
 package com.tungstun.barapi.application.category.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
-public record DeleteCategory(UUID categoryId) {
+public record DeleteCategory(UUID barId, UUID categoryId) implements BarCommand {
 }
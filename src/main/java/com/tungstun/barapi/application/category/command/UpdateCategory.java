@@ -1,9 +1,11 @@
 package com.tungstun.barapi.application.category.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record UpdateCategory(
         UUID barId,
         UUID categoryId,
-        String name) {
+        String name) implements BarCommand {
 }
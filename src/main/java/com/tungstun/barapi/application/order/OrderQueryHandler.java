@@ -8,11 +8,13 @@ import com.tungstun.barapi.application.session.query.GetSession;
 import com.tungstun.barapi.domain.bill.Order;
 import com.tungstun.barapi.domain.bill.OrderHistoryEntry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class OrderQueryHandler {
     private final SessionQueryHandler sessionQueryHandler;
     private final BillQueryHandler billQueryHandler;
@@ -1,5 +1,7 @@
 package com.tungstun.barapi.application.order.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record AddOrder(
@@ -8,5 +10,5 @@ public record AddOrder(
         UUID billId,
         UUID productId,
         Integer amount,
-        UUID bartenderId) {
+        UUID bartenderId) implements BarCommand {
 }
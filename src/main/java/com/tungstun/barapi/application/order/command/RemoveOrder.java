@@ -1,10 +1,12 @@
 package com.tungstun.barapi.application.order.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record RemoveOrder(
         UUID barId,
         UUID sessionId,
         UUID billId,
-        UUID orderId) {
+        UUID orderId) implements BarCommand {
 }
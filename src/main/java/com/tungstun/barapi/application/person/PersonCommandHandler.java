@@ -9,6 +9,7 @@ import com.tungstun.barapi.domain.bar.Bar;
 import com.tungstun.barapi.domain.bar.BarRepository;
 import com.tungstun.barapi.domain.person.Person;
 import com.tungstun.barapi.domain.person.PersonRepository;
+import com.tungstun.exception.PersonAlreadyConnectedException;
 import com.tungstun.security.application.user.UserQueryHandler;
 import com.tungstun.security.domain.jwt.JwtTokenGenerator;
 import com.tungstun.security.domain.jwt.JwtValidator;
@@ -61,7 +62,7 @@ public class PersonCommandHandler {
     public String handle(CreatePersonConnectionToken command) {
         Person person = personQueryHandler.handle(new GetPerson(command.barId(), command.personId()));
         if (person.getUser() != null) {
-            throw new IllegalStateException(String.format("Person with id %s is already connected to a user", command.personId()));
+            throw new PersonAlreadyConnectedException(String.format("Person with id %s is already connected to a user", command.personId()));
         }
         return jwtTokenGenerator.createPersonConnectionToken(command.barId(), command.personId());
     }
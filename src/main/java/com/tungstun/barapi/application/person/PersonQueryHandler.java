@@ -7,11 +7,13 @@ import com.tungstun.barapi.application.person.query.GetPersonByUserUsername;
 import com.tungstun.barapi.application.person.query.ListPeopleOfBar;
 import com.tungstun.barapi.domain.person.Person;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class PersonQueryHandler {
     private final BarQueryHandler barQueryHandler;
 
@@ -1,6 +1,18 @@
 package com.tungstun.barapi.application.person.command;
 
+import com.auth0.jwt.JWT;
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
+import java.util.UUID;
+
 public record ConnectUserToPerson(
         String username,
-        String token) {
+        String token) implements BarCommand {
+    /**
+     * Bar of the person in the connection token, the token itself is verified by the command handler.
+     */
+    @Override
+    public UUID barId() {
+        return UUID.fromString(JWT.decode(token).getClaim("bar_id").asString());
+    }
 }
@@ -1,8 +1,10 @@
 package com.tungstun.barapi.application.person.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record CreatePerson(
         UUID barId,
-        String name) {
+        String name) implements BarCommand {
 }
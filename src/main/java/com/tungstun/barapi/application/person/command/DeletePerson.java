@@ -1,6 +1,8 @@
 package com.tungstun.barapi.application.person.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
-public record DeletePerson(UUID personId) {
+public record DeletePerson(UUID barId, UUID personId) implements BarCommand {
 }
@@ -1,9 +1,11 @@
 package com.tungstun.barapi.application.person.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record UpdatePerson(
         UUID barId,
         UUID personId,
-        String name) {
+        String name) implements BarCommand {
 }
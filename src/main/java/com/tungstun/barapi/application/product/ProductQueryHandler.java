@@ -9,11 +9,13 @@ import com.tungstun.barapi.domain.product.ProductType;
 import com.tungstun.barapi.domain.search.ProductSearchAlgorithm;
 import com.tungstun.barapi.domain.search.ProductSearchEngine;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class ProductQueryHandler {
     private final BarQueryHandler barQueryHandler;
     private final ProductSearchAlgorithm productSearchAlgorithm;
@@ -0,0 +1,58 @@
+package com.tungstun.barapi.application.product;
+
+import com.tungstun.barapi.application.product.query.ListProductsOfBar;
+import com.tungstun.barapi.domain.bar.ReactiveBarRepository;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductType;
+import com.tungstun.barapi.domain.product.ReactiveProductRepository;
+import com.tungstun.barapi.domain.search.ProductSearchAlgorithm;
+import com.tungstun.barapi.domain.search.ProductSearchEngine;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import javax.persistence.EntityNotFoundException;
+
+@Service
+@ConditionalOnReactiveReads
+public class ReactiveProductQueryHandler {
+    private final ReactiveBarRepository barRepository;
+    private final ReactiveProductRepository productRepository;
+    private final ProductSearchAlgorithm productSearchAlgorithm;
+    private final Scheduler reactiveReadScheduler;
+
+    public ReactiveProductQueryHandler(ReactiveBarRepository barRepository, ReactiveProductRepository productRepository, ProductSearchAlgorithm productSearchAlgorithm, Scheduler reactiveReadScheduler) {
+        this.barRepository = barRepository;
+        this.productRepository = productRepository;
+        this.productSearchAlgorithm = productSearchAlgorithm;
+        this.reactiveReadScheduler = reactiveReadScheduler;
+    }
+
+    /**
+     * Streams the matching products as they are read, unless there is a search text.
+     * Search results are ranked against each other, so those are only emitted once all products are read.
+     */
+    public Flux<Product> handle(ListProductsOfBar query) {
+        ProductType type = null;
+        if (query.productType() != null) {
+            type = ProductType.getProductType(query.productType());
+        }
+        ProductSearchEngine searchEngine = new ProductSearchEngine(productSearchAlgorithm)
+                .addCategoryIdFilter(query.categoryId())
+                .addIsFavoriteFilter(query.isFavorite())
+                .addProductTypeFilter(type)
+                .addSearchText(query.searchText());
+
+        Flux<Product> products = barRepository.existsById(query.barId())
+                .flatMapMany(exists -> exists
+                        ? productRepository.findAllOfBar(query.barId())
+                        : Flux.error(new EntityNotFoundException(String.format("Bar with id %s doesn't exist", query.barId()))))
+                .publishOn(reactiveReadScheduler);
+        if (!searchEngine.hasSearchText()) {
+            return products.filter(searchEngine::matches);
+        }
+        return products.collectList()
+                .flatMapIterable(searchEngine::search);
+    }
+}
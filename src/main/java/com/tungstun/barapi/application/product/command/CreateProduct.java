@@ -1,5 +1,7 @@
 package com.tungstun.barapi.application.product.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record CreateProduct(
@@ -10,5 +12,5 @@ public record CreateProduct(
         Double price,
         boolean isFavorite,
         String productType,
-        UUID categoryId) {
+        UUID categoryId) implements BarCommand {
 }
@@ -1,6 +1,8 @@
 package com.tungstun.barapi.application.product.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
-public record DeleteProduct(UUID productId) {
+public record DeleteProduct(UUID barId, UUID productId) implements BarCommand {
 }
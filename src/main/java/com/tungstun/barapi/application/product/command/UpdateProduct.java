@@ -1,5 +1,7 @@
 package com.tungstun.barapi.application.product.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record UpdateProduct(
@@ -11,5 +13,5 @@ public record UpdateProduct(
         Double price,
         boolean isFavorite,
         String productType,
-        UUID categoryId) {
+        UUID categoryId) implements BarCommand {
 }
@@ -1,8 +1,10 @@
 package com.tungstun.barapi.application.session.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record CreateSession(
         UUID barId,
-        String name) {
+        String name) implements BarCommand {
 }
@@ -1,6 +1,8 @@
 package com.tungstun.barapi.application.session.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
-public record DeleteSession(UUID sessionId) {
+public record DeleteSession(UUID barId, UUID sessionId) implements BarCommand {
 }
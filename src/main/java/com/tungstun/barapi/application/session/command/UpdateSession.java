@@ -1,9 +1,11 @@
 package com.tungstun.barapi.application.session.command;
 
+import com.tungstun.barapi.application.bar.command.BarCommand;
+
 import java.util.UUID;
 
 public record UpdateSession(
         UUID barId,
         UUID sessionId,
-        String name) {
+        String name) implements BarCommand {
 }
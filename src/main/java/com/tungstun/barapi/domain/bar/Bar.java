@@ -14,6 +14,7 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -33,17 +34,31 @@ public class Bar {
     private BarDetails details;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "bar_id")
     private List<Person> people;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "bar_id", nullable = false, updatable = false)
     private List<Product> products;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "bar_id", nullable = false, updatable = false)
     private List<Session> sessions;
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @JoinColumn(name = "bar_id")
     private List<Category> categories;
 
+    /**
+     * Only changed by {@link BarRepository#markChanged(UUID, LocalDateTime)}, never by saving the bar,
+     * so concurrent saves of an outdated bar cannot reset it.
+     */
+    @Column(name = "change_version", nullable = false, updatable = false)
+    private long changeVersion;
+
+    @Column(name = "last_modified", updatable = false)
+    private LocalDateTime lastModified;
+
     public Bar() {
     }
 
@@ -60,6 +75,7 @@ public class Bar {
         this.products = products;
         this.sessions = sessions;
         this.categories = categories;
+        this.lastModified = LocalDateTime.now();
     }
 
     public Session getActiveSession() {
@@ -75,7 +91,7 @@ public class Bar {
             throw new DuplicateActiveSessionException("Bar already has an active session");
         } catch (EntityNotFoundException ignored) {
         }
-        Session session = new SessionFactory(name).create();
+        Session session = new SessionFactory(id, name).create();
         sessions.add(session);
         return session;
     }
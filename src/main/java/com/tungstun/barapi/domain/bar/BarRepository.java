@@ -1,5 +1,6 @@
 package com.tungstun.barapi.domain.bar;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +15,11 @@ public interface BarRepository {
     Optional<Bar> findById(UUID id);
 
     List<Bar> findAllById(Iterable<UUID> ids);
+
+    /**
+     * Increments the version of the bar with a single update, without loading the bar.
+     */
+    void markChanged(UUID id, LocalDateTime changedAt);
+
+    Optional<BarVersion> findVersion(UUID id);
 }
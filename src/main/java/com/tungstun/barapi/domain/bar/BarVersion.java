@@ -0,0 +1,10 @@
+package com.tungstun.barapi.domain.bar;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of a bar and everything that belongs to it, like its products, people and sessions.<br>
+ * The version is incremented on every committed change, so clients can tell whether their copy is outdated.
+ */
+public record BarVersion(long version, LocalDateTime lastModified) {
+}
@@ -0,0 +1,17 @@
+package com.tungstun.barapi.domain.bar;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of bars, without their people, products, sessions and categories.
+ */
+public interface ReactiveBarRepository {
+    Mono<Boolean> existsById(UUID id);
+
+    Flux<Bar> findAllOwnedBy(String username);
+
+    Flux<Bar> findAllConnectedTo(String username);
+}
@@ -3,6 +3,9 @@ package com.tungstun.barapi.domain.bill;
 import com.tungstun.barapi.domain.person.Person;
 import com.tungstun.barapi.domain.product.Product;
 import com.tungstun.barapi.domain.session.Session;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -16,13 +19,26 @@ import java.util.UUID;
 @Table(name = "bill")
 @SQLDelete(sql = "UPDATE bill SET deleted = true WHERE id=?")
 @Where(clause = "deleted = false")
+@FilterDef(name = Bill.BAR_PARTITION_FILTER, parameters = @ParamDef(name = "barIds", type = "java.util.UUID"))
 public class Bill {
+    /**
+     * Limits the loading of bills, orders and order history to the partitions of the given bars,
+     * enabled by the repositories for the bars they load.
+     */
+    public static final String BAR_PARTITION_FILTER = "barPartition";
+
     @Column(name = "deleted", columnDefinition = "BOOLEAN default false")
     private final boolean deleted = Boolean.FALSE;
 
     @Id
     private UUID id;
 
+    /**
+     * Partition key of the bill, its orders and its history.
+     */
+    @Column(name = "bar_id", updatable = false)
+    private UUID barId;
+
     @Column(name = "is_payed")
     private boolean isPayed;
 
@@ -38,9 +54,13 @@ public class Bill {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    @JoinColumn(name = "bill_id", nullable = false, updatable = false)
+    @Filter(name = BAR_PARTITION_FILTER, condition = "bar_id in (:barIds)")
     private List<Order> orders;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "bill_id", nullable = false, updatable = false)
+    @Filter(name = BAR_PARTITION_FILTER, condition = "bar_id in (:barIds)")
     private List<OrderHistoryEntry> history;
 
     public Bill() {
@@ -48,11 +68,13 @@ public class Bill {
 
     public Bill(UUID id, Session session, boolean isPayed, Person customer, List<Order> orders) {
         this.id = id;
+        this.barId = session == null ? null : session.getBarId();
         this.session = session;
         this.isPayed = isPayed;
         this.customer = customer;
         this.orders = orders;
         this.history = new ArrayList<>();
+        orders.forEach(order -> order.setBarId(barId));
     }
 
     public double calculateTotalPrice() {
@@ -71,7 +93,8 @@ public class Bill {
                 String.format("%s %s", product.getBrand(), product.getName()),
                 order.getAmount(),
                 customer,
-                order.getBartender()
+                order.getBartender(),
+                barId
         ));
     }
 
@@ -82,6 +105,7 @@ public class Bill {
         if (amount < 1) throw new IllegalArgumentException("Amount of products must be above 0");
 
         Order order = new OrderFactory(product, amount, bartender).create();
+        order.setBarId(barId);
         orders.add(order);
         addHistoryEntry(OrderHistoryType.ADD, order, customer);
         return order;
@@ -105,6 +129,10 @@ public class Bill {
         return id;
     }
 
+    public UUID getBarId() {
+        return barId;
+    }
+
     public Person getCustomer() {
         return customer;
     }
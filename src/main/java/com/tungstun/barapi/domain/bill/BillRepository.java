@@ -1,5 +1,6 @@
 package com.tungstun.barapi.domain.bill;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +12,9 @@ public interface BillRepository {
     void delete(UUID id);
 
     Optional<Bill> findById(UUID id);
+
+    /**
+     * Finds the bills of a customer using only the partition of the bar.
+     */
+    List<Bill> findByBarAndCustomer(UUID barId, UUID customerId);
 }
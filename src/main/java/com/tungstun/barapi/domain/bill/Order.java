@@ -14,6 +14,9 @@ public class Order {
     @Id
     private UUID id;
 
+    @Column(name = "bar_id", updatable = false)
+    private UUID barId;
+
     @Column(name = "creation_date")
     private LocalDateTime creationDate;
 
@@ -49,6 +52,14 @@ public class Order {
         return id;
     }
 
+    public UUID getBarId() {
+        return barId;
+    }
+
+    void setBarId(UUID barId) {
+        this.barId = barId;
+    }
+
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
@@ -12,6 +12,9 @@ public class OrderHistoryEntry {
     @Id
     private UUID id;
 
+    @Column(name = "bar_id", updatable = false)
+    private UUID barId;
+
     @Column(name = "order_history_type")
     @Enumerated(value = EnumType.STRING)
     private OrderHistoryType type;
@@ -37,8 +40,9 @@ public class OrderHistoryEntry {
     public OrderHistoryEntry() {
     }
 
-    public OrderHistoryEntry(UUID id, OrderHistoryType type, LocalDateTime date, UUID productId, String productName, Integer amount, Person customer, Person bartender) {
+    public OrderHistoryEntry(UUID id, OrderHistoryType type, LocalDateTime date, UUID productId, String productName, Integer amount, Person customer, Person bartender, UUID barId) {
         this.id = id;
+        this.barId = barId;
         this.type = type;
         this.date = date;
         this.productId = productId;
@@ -52,6 +56,10 @@ public class OrderHistoryEntry {
         return id;
     }
 
+    public UUID getBarId() {
+        return barId;
+    }
+
     public OrderHistoryType getType() {
         return type;
     }
@@ -1,5 +1,6 @@
 package com.tungstun.barapi.domain.person;
 
+import com.tungstun.exception.PersonAlreadyConnectedException;
 import com.tungstun.security.domain.user.Role;
 import com.tungstun.security.domain.user.User;
 
@@ -46,7 +47,7 @@ public class Person {
 
     public void connectUser(User user, UUID barId) {
         if (this.user != null) {
-            throw new IllegalStateException(String.format("Person with id %s is already connected to a user", id));
+            throw new PersonAlreadyConnectedException(String.format("Person with id %s is already connected to a user", id));
         }
         this.user = user;
         user.authorize(barId, Role.CUSTOMER, this);
@@ -42,6 +42,7 @@ public class Product {
             joinColumns = @JoinColumn(name = "product_id"),
             inverseJoinColumns = @JoinColumn(name = "price_id")
     )
+    @OrderBy("fromDate ASC")
     private List<Price> prices;
 
     @ManyToOne
@@ -62,24 +63,46 @@ public class Product {
     }
 
 
+    /**
+     * Finds the price that was active at the given moment.<br>
+     * Prices are kept sorted on their start date, so the price is looked up with a binary search.
+     */
     public Money getPriceAtDate(LocalDateTime localDateTime) {
-        return prices.stream()
-                .filter(price -> localDateTime.isAfter(price.getFromDate()))
-                .filter(price -> price.getToDate() == null || localDateTime.isBefore(price.getToDate()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(String.format("Product didn't exist before %s", localDateTime)))
-                .getMoney();
+        int low = 0;
+        int high = prices.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (localDateTime.isAfter(prices.get(middle).getFromDate())) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (found == -1) {
+            throw new IllegalArgumentException(String.format("Product didn't exist before %s", localDateTime));
+        }
+        Price price = prices.get(found);
+        if (price.getToDate() != null && !localDateTime.isBefore(price.getToDate())) {
+            throw new IllegalArgumentException(String.format("Product didn't have a price at %s", localDateTime));
+        }
+        return price.getMoney();
     }
 
     public Money getPrice() {
         return getCurrentPrice().getMoney();
     }
 
+    /**
+     * Only the newest price can be active, which is always the last price of the sorted prices.
+     */
     private Price getCurrentPrice() {
-        return prices.stream()
-                .filter(Price::isActive)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Product doesn't have a current price"));
+        Price newest = prices.isEmpty() ? null : prices.get(prices.size() - 1);
+        if (newest == null || !newest.isActive()) {
+            throw new IllegalArgumentException("Product doesn't have a current price");
+        }
+        return newest;
     }
 
     public void updatePrice(Money newPrice) {
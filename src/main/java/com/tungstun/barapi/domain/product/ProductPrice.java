@@ -0,0 +1,11 @@
+package com.tungstun.barapi.domain.product;
+
+import com.tungstun.common.money.Money;
+
+import java.util.UUID;
+
+/**
+ * Price of a product at a certain moment, without the price history of the product.
+ */
+public record ProductPrice(UUID productId, Money price) {
+}
@@ -1,5 +1,10 @@
 package com.tungstun.barapi.domain.product;
 
+import com.tungstun.common.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +16,8 @@ public interface ProductRepository {
     void delete(UUID id);
 
     Optional<Product> findById(UUID id);
+
+    Optional<Money> findPriceAtDate(UUID productId, LocalDateTime date);
+
+    List<ProductPrice> findPricesAtDate(Collection<UUID> productIds, LocalDateTime date);
 }
@@ -0,0 +1,12 @@
+package com.tungstun.barapi.domain.product;
+
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of products with their category and current price.
+ */
+public interface ReactiveProductRepository {
+    Flux<Product> findAllOfBar(UUID barId);
+}
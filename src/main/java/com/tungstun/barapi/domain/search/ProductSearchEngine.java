@@ -53,6 +53,20 @@ public class ProductSearchEngine {
         return this;
     }
 
+    public boolean hasSearchText() {
+        return searchText != null;
+    }
+
+    /**
+     * Whether the product passes all filters, so products can be filtered one at a time when there is no search text.
+     */
+    public boolean matches(Product product) {
+        for (Predicate<Product> predicate : filters) {
+            if (!predicate.test(product)) return false;
+        }
+        return true;
+    }
+
     public List<Product> search(List<Product> products) {
         Stream<Product> stream = products.parallelStream();
         for (Predicate<Product> predicate : filters) {
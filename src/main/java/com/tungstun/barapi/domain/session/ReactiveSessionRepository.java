@@ -0,0 +1,17 @@
+package com.tungstun.barapi.domain.session;
+
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of sessions with their bills, customers and orders.
+ */
+public interface ReactiveSessionRepository {
+    /**
+     * Finds the sessions of the bars that were created between the optional dates, both inclusive.
+     */
+    Flux<Session> findAllOfBars(Collection<UUID> barIds, LocalDate from, LocalDate to);
+}
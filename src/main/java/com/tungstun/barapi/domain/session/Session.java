@@ -7,6 +7,7 @@ import com.tungstun.barapi.domain.bill.Order;
 import com.tungstun.barapi.domain.bill.OrderHistoryEntry;
 import com.tungstun.barapi.domain.person.Person;
 import com.tungstun.exception.InvalidSessionStateException;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -40,24 +41,45 @@ public class Session {
     @Column(name = "locked", nullable = false)
     private boolean ended;
 
+    /**
+     * Written through the sessions of the bar, copied to the bills and orders of the session as their partition key.
+     */
+    @Column(name = "bar_id", insertable = false, updatable = false)
+    private UUID barId;
+
     @OneToMany(
             mappedBy = "session",
             orphanRemoval = true,
             cascade = CascadeType.ALL
     )
+    @Filter(name = Bill.BAR_PARTITION_FILTER, condition = "bar_id in (:barIds)")
     private List<Bill> bills;
 
     public Session() {
     }
 
-    public Session(UUID id, String name, List<Bill> bills) {
+    public Session(UUID id, UUID barId, String name, List<Bill> bills) {
         this.id = id;
+        this.barId = barId;
         this.creationDate = ZonedDateTime.now().toLocalDateTime();
         this.ended = false;
         this.name = name;
         this.bills = bills;
     }
 
+    /**
+     * Restores a session that was read without the JPA mapping, such as by the reactive read path.
+     */
+    public Session(UUID id, UUID barId, String name, LocalDateTime creationDate, LocalDateTime endDate, List<Bill> bills) {
+        this.id = id;
+        this.barId = barId;
+        this.name = name;
+        this.creationDate = creationDate;
+        this.endDate = endDate;
+        this.ended = endDate != null;
+        this.bills = bills;
+    }
+
     public void end() {
         if (this.endDate != null) throw new InvalidSessionStateException("Session already ended");
         this.endDate = ZonedDateTime.now().toLocalDateTime();
@@ -72,6 +94,10 @@ public class Session {
         return id;
     }
 
+    public UUID getBarId() {
+        return barId;
+    }
+
     public String getName() {
         return name;
     }
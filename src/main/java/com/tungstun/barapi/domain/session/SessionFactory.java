@@ -4,15 +4,22 @@ import java.util.ArrayList;
 import java.util.UUID;
 
 public class SessionFactory {
+    private final UUID barId;
     private final String name;
 
     public SessionFactory(String name) {
+        this(null, name);
+    }
+
+    public SessionFactory(UUID barId, String name) {
+        this.barId = barId;
         this.name = name;
     }
 
     public Session create() {
         return new Session(
                 UUID.randomUUID(),
+                barId,
                 name,
                 new ArrayList<>()
         );
@@ -11,4 +11,6 @@ public interface SessionRepository {
     void delete(UUID id);
 
     Optional<Session> findById(UUID id);
+
+    long countActive();
 }
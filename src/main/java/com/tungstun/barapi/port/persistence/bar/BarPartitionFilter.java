@@ -0,0 +1,55 @@
+package com.tungstun.barapi.port.persistence.bar;
+
+import com.tungstun.barapi.domain.bill.Bill;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Routes the loading of bills, orders and order history to the partitions of the bars that were loaded.<br>
+ * Enables the {@link Bill#BAR_PARTITION_FILTER} on the current persistence context, which adds
+ * {@code bar_id in (...)} to the queries that initialize the bills of a session and the orders and history of a bill.
+ * Without it PostgreSQL would look up the {@code bill_id} or {@code session_id} in the index of every partition.
+ * Every bar loaded in the same persistence context is added to the filter, so the filter never hides rows of a bar
+ * that was loaded earlier. The routed bars are kept as a property of the persistence context itself.
+ * Without a bound persistence context nothing can be initialized lazily, so nothing is routed.
+ */
+@Component
+public class BarPartitionFilter {
+    private static final String BAR_IDS = "barIds";
+    private static final String ROUTED_BAR_IDS = BarPartitionFilter.class.getName() + ".routedBarIds";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public BarPartitionFilter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void route(UUID barId) {
+        if (barId == null) return;
+        route(Set.of(barId));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void route(Collection<UUID> barIds) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null || barIds.isEmpty()) return;
+
+        HashSet<UUID> routed = (HashSet<UUID>) entityManager.getProperties().get(ROUTED_BAR_IDS);
+        if (routed != null && routed.containsAll(barIds)) return;
+
+        routed = routed == null ? new HashSet<>() : new HashSet<>(routed);
+        routed.addAll(barIds);
+        entityManager.setProperty(ROUTED_BAR_IDS, routed);
+        entityManager.unwrap(Session.class)
+                .enableFilter(Bill.BAR_PARTITION_FILTER)
+                .setParameterList(BAR_IDS, routed);
+    }
+}
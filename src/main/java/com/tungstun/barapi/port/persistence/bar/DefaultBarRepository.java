@@ -2,8 +2,10 @@ package com.tungstun.barapi.port.persistence.bar;
 
 import com.tungstun.barapi.domain.bar.Bar;
 import com.tungstun.barapi.domain.bar.BarRepository;
+import com.tungstun.barapi.domain.bar.BarVersion;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,9 +13,11 @@ import java.util.UUID;
 @Repository
 public class DefaultBarRepository implements BarRepository {
     private final SpringBarRepository repository;
+    private final BarPartitionFilter partitionFilter;
 
-    public DefaultBarRepository(SpringBarRepository repository) {
+    public DefaultBarRepository(SpringBarRepository repository, BarPartitionFilter partitionFilter) {
         this.repository = repository;
+        this.partitionFilter = partitionFilter;
     }
 
     @Override
@@ -33,11 +37,24 @@ public class DefaultBarRepository implements BarRepository {
 
     @Override
     public Optional<Bar> findById(UUID id) {
+        partitionFilter.route(id);
         return repository.findById(id);
     }
 
     @Override
     public List<Bar> findAllById(Iterable<UUID> ids) {
-        return repository.findAllById(ids);
+        List<Bar> bars = repository.findAllById(ids);
+        partitionFilter.route(bars.stream().map(Bar::getId).toList());
+        return bars;
+    }
+
+    @Override
+    public void markChanged(UUID id, LocalDateTime changedAt) {
+        repository.incrementVersion(id, changedAt);
+    }
+
+    @Override
+    public Optional<BarVersion> findVersion(UUID id) {
+        return repository.findVersionById(id);
     }
 }
@@ -0,0 +1,66 @@
+package com.tungstun.barapi.port.persistence.bar;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarDetails;
+import com.tungstun.barapi.domain.bar.ReactiveBarRepository;
+import com.tungstun.common.phonenumber.PhoneNumber;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@ConditionalOnReactiveReads
+public class R2dbcBarRepository implements ReactiveBarRepository {
+    private static final String SELECT_BARS_OF_USER = "select distinct b.id, b.name, b.address, b.mail, b.phone_number from bar b " +
+            "join \"authorization\" a on a.bar_id = b.id " +
+            "join \"user_authorizations\" ua on ua.\"authorizations_id\" = a.id " +
+            "join \"user\" u on u.id = ua.\"user_id\" " +
+            "where u.username = :username and b.deleted = false";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcBarRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("select count(*) as bars from bar where id = :id and deleted = false")
+                .bind("id", id)
+                .map(row -> row.get("bars", Long.class) > 0)
+                .one();
+    }
+
+    @Override
+    public Flux<Bar> findAllOwnedBy(String username) {
+        return databaseClient.sql(SELECT_BARS_OF_USER + " and upper(a.role) = 'OWNER'")
+                .bind("username", username)
+                .map(R2dbcBarRepository::toBar)
+                .all();
+    }
+
+    @Override
+    public Flux<Bar> findAllConnectedTo(String username) {
+        return databaseClient.sql(SELECT_BARS_OF_USER)
+                .bind("username", username)
+                .map(R2dbcBarRepository::toBar)
+                .all();
+    }
+
+    private static Bar toBar(Row row) {
+        String phoneNumber = row.get("phone_number", String.class);
+        BarDetails details = new BarDetails(
+                row.get("name", String.class),
+                row.get("address", String.class),
+                row.get("mail", String.class),
+                phoneNumber == null ? null : new PhoneNumber(phoneNumber)
+        );
+        return new Bar(row.get("id", UUID.class), details, List.of(), List.of(), List.of(), List.of());
+    }
+}
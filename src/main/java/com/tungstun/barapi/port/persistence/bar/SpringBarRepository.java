@@ -1,9 +1,23 @@
 package com.tungstun.barapi.port.persistence.bar;
 
 import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface SpringBarRepository extends JpaRepository<Bar, UUID> {
+    @Modifying
+    @Transactional
+    @Query("update Bar b set b.changeVersion = b.changeVersion + 1, b.lastModified = :changedAt where b.id = :id")
+    void incrementVersion(@Param("id") UUID id, @Param("changedAt") LocalDateTime changedAt);
+
+    @Query("select new com.tungstun.barapi.domain.bar.BarVersion(b.changeVersion, b.lastModified) from Bar b where b.id = :id")
+    Optional<BarVersion> findVersionById(@Param("id") UUID id);
 }
@@ -2,17 +2,21 @@ package com.tungstun.barapi.port.persistence.bill;
 
 import com.tungstun.barapi.domain.bill.Bill;
 import com.tungstun.barapi.domain.bill.BillRepository;
+import com.tungstun.barapi.port.persistence.bar.BarPartitionFilter;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public class DefaultBillRepository implements BillRepository {
     private final SpringBillRepository repository;
+    private final BarPartitionFilter partitionFilter;
 
-    public DefaultBillRepository(SpringBillRepository repository) {
+    public DefaultBillRepository(SpringBillRepository repository, BarPartitionFilter partitionFilter) {
         this.repository = repository;
+        this.partitionFilter = partitionFilter;
     }
 
     @Override
@@ -32,6 +36,14 @@ public class DefaultBillRepository implements BillRepository {
 
     @Override
     public Optional<Bill> findById(UUID id) {
-        return repository.findById(id);
+        Optional<Bill> bill = repository.findById(id);
+        bill.ifPresent(found -> partitionFilter.route(found.getBarId()));
+        return bill;
+    }
+
+    @Override
+    public List<Bill> findByBarAndCustomer(UUID barId, UUID customerId) {
+        partitionFilter.route(barId);
+        return repository.findByBarAndCustomer(barId, customerId);
     }
 }
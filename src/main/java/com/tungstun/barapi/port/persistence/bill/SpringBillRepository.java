@@ -8,13 +8,8 @@ import java.util.List;
 import java.util.UUID;
 
 public interface SpringBillRepository extends JpaRepository<Bill, UUID> {
-    @Query(
-            nativeQuery = true,
-            value = "Select * from bill, session, bar_sessions " +
-                    "where bill.session_id = session.id " +
-                    "and session.id = bar_sessions.sessions_id " +
-                    "and bar_sessions.bar_id = ?1 " +
-                    "and bill.customer_id = ?2"
-    )
-    List<Bill> findByBarAndPerson(UUID barId, UUID personId);
+    @Query("select bill from Bill bill " +
+            "where bill.barId = ?1 " +
+            "and bill.customer.id = ?2")
+    List<Bill> findByBarAndCustomer(UUID barId, UUID customerId);
 }
@@ -1,9 +1,14 @@
 package com.tungstun.barapi.port.persistence.product;
 
 import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductPrice;
 import com.tungstun.barapi.domain.product.ProductRepository;
+import com.tungstun.common.money.Money;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,4 +39,14 @@ public class DefaultProductRepository implements ProductRepository {
     public Optional<Product> findById(UUID id) {
         return repository.findById(id);
     }
+
+    @Override
+    public Optional<Money> findPriceAtDate(UUID productId, LocalDateTime date) {
+        return repository.findPriceAtDate(productId, date);
+    }
+
+    @Override
+    public List<ProductPrice> findPricesAtDate(Collection<UUID> productIds, LocalDateTime date) {
+        return repository.findPricesAtDate(productIds, date);
+    }
 }
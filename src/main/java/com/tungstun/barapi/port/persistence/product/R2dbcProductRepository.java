@@ -0,0 +1,61 @@
+package com.tungstun.barapi.port.persistence.product;
+
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductType;
+import com.tungstun.barapi.domain.product.ReactiveProductRepository;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.Money;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Repository
+@ConditionalOnReactiveReads
+public class R2dbcProductRepository implements ReactiveProductRepository {
+    private static final String SELECT_PRODUCTS_OF_BAR = "select p.id, p.name, p.brand, p.size, p.is_favorite, p.type, " +
+            "c.id as category_id, c.name as category_name, pr.money_amount, pr.currency_code, pr.currency_symbol " +
+            "from product p " +
+            "join product_price pp on pp.product_id = p.id " +
+            "join price pr on pr.id = pp.price_id and pr.to_date is null " +
+            "left join category c on c.id = p.category_id " +
+            "where p.bar_id = :barId and p.deleted = false";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<Product> findAllOfBar(UUID barId) {
+        return databaseClient.sql(SELECT_PRODUCTS_OF_BAR)
+                .bind("barId", barId)
+                .map(R2dbcProductRepository::toProduct)
+                .all();
+    }
+
+    private static Product toProduct(Row row) {
+        UUID categoryId = row.get("category_id", UUID.class);
+        Category category = categoryId == null ? null : new Category(categoryId, row.get("category_name", String.class));
+        Money price = new Money(
+                row.get("money_amount", BigDecimal.class),
+                new Currency(row.get("currency_symbol", String.class), row.get("currency_code", String.class))
+        );
+        return new Product(
+                row.get("id", UUID.class),
+                row.get("name", String.class),
+                row.get("brand", String.class),
+                row.get("size", Double.class),
+                row.get("is_favorite", Boolean.class),
+                ProductType.valueOf(row.get("type", String.class)),
+                price,
+                category
+        );
+    }
+}
@@ -1,9 +1,29 @@
 package com.tungstun.barapi.port.persistence.product;
 
 import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductPrice;
+import com.tungstun.common.money.Money;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface SpringProductRepository extends JpaRepository<Product, UUID> {
+    @Query("select price.money from Product product join product.prices price " +
+            "where product.id = :productId " +
+            "and price.fromDate < :date " +
+            "and (price.toDate is null or price.toDate > :date)")
+    Optional<Money> findPriceAtDate(@Param("productId") UUID productId, @Param("date") LocalDateTime date);
+
+    @Query("select new com.tungstun.barapi.domain.product.ProductPrice(product.id, price.money) " +
+            "from Product product join product.prices price " +
+            "where product.id in :productIds " +
+            "and price.fromDate < :date " +
+            "and (price.toDate is null or price.toDate > :date)")
+    List<ProductPrice> findPricesAtDate(@Param("productIds") Collection<UUID> productIds, @Param("date") LocalDateTime date);
 }
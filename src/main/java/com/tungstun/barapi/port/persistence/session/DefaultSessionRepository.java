@@ -2,6 +2,7 @@ package com.tungstun.barapi.port.persistence.session;
 
 import com.tungstun.barapi.domain.session.Session;
 import com.tungstun.barapi.domain.session.SessionRepository;
+import com.tungstun.barapi.port.persistence.bar.BarPartitionFilter;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,9 +11,11 @@ import java.util.UUID;
 @Repository
 public class DefaultSessionRepository implements SessionRepository {
     private final SpringSessionRepository repository;
+    private final BarPartitionFilter partitionFilter;
 
-    public DefaultSessionRepository(SpringSessionRepository repository) {
+    public DefaultSessionRepository(SpringSessionRepository repository, BarPartitionFilter partitionFilter) {
         this.repository = repository;
+        this.partitionFilter = partitionFilter;
     }
 
     @Override
@@ -32,6 +35,13 @@ public class DefaultSessionRepository implements SessionRepository {
 
     @Override
     public Optional<Session> findById(UUID id) {
-        return repository.findById(id);
+        Optional<Session> session = repository.findById(id);
+        session.ifPresent(found -> partitionFilter.route(found.getBarId()));
+        return session;
+    }
+
+    @Override
+    public long countActive() {
+        return repository.countByEndDateIsNullAndEndedFalse();
     }
 }
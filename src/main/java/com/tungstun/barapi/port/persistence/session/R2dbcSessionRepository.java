@@ -0,0 +1,142 @@
+package com.tungstun.barapi.port.persistence.session;
+
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.bill.Order;
+import com.tungstun.barapi.domain.bill.OrderProduct;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.session.ReactiveSessionRepository;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.Money;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import com.tungstun.security.domain.user.User;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Reads sessions with a single query that returns a row per order, ordered by session and bill.
+ * Rows are grouped into sessions while they are streamed, so only one session is assembled at a time.
+ */
+@Repository
+@ConditionalOnReactiveReads
+public class R2dbcSessionRepository implements ReactiveSessionRepository {
+    private static final String SELECT_SESSIONS = "select s.id as session_id, s.bar_id, s.name as session_name, s.creation_date, s.end_date, " +
+            "b.id as bill_id, b.is_payed, c.id as customer_id, c.name as customer_name, u.id as user_id, u.username, " +
+            "o.id as order_id, o.amount, o.product_id, o.name as product_name, o.brand as product_brand, " +
+            "o.money_amount, o.currency_code, o.currency_symbol " +
+            "from session s " +
+            "left join bill b on b.session_id = s.id and b.deleted = false " +
+            "left join person c on c.id = b.customer_id " +
+            "left join \"user\" u on u.id = c.\"user_id\" " +
+            "left join \"order\" o on o.bill_id = b.id " +
+            "where s.bar_id in (:barIds) and s.deleted = false";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcSessionRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<Session> findAllOfBars(Collection<UUID> barIds, LocalDate from, LocalDate to) {
+        if (barIds.isEmpty()) return Flux.empty();
+
+        StringBuilder sql = new StringBuilder(SELECT_SESSIONS);
+        if (from != null) sql.append(" and s.creation_date >= :from");
+        if (to != null) sql.append(" and s.creation_date < :to");
+        sql.append(" order by s.id, b.id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("barIds", barIds);
+        if (from != null) spec = spec.bind("from", from.atStartOfDay());
+        if (to != null) spec = spec.bind("to", to.plusDays(1).atStartOfDay());
+        return spec.map(R2dbcSessionRepository::toRow)
+                .all()
+                .bufferUntilChanged(SessionRow::sessionId)
+                .map(R2dbcSessionRepository::toSession);
+    }
+
+    private static SessionRow toRow(Row row) {
+        return new SessionRow(
+                row.get("session_id", UUID.class),
+                row.get("bar_id", UUID.class),
+                row.get("session_name", String.class),
+                row.get("creation_date", LocalDateTime.class),
+                row.get("end_date", LocalDateTime.class),
+                row.get("bill_id", UUID.class),
+                Boolean.TRUE.equals(row.get("is_payed", Boolean.class)),
+                row.get("customer_id", UUID.class),
+                row.get("customer_name", String.class),
+                row.get("user_id", UUID.class),
+                row.get("username", String.class),
+                row.get("order_id", UUID.class),
+                row.get("amount", Integer.class),
+                row.get("product_id", UUID.class),
+                row.get("product_name", String.class),
+                row.get("product_brand", String.class),
+                row.get("money_amount", BigDecimal.class),
+                row.get("currency_code", String.class),
+                row.get("currency_symbol", String.class)
+        );
+    }
+
+    private static Session toSession(List<SessionRow> rows) {
+        SessionRow first = rows.get(0);
+        List<Bill> bills = new ArrayList<>();
+        Session session = new Session(first.sessionId(), first.barId(), first.sessionName(), first.creationDate(), first.endDate(), bills);
+
+        Map<UUID, List<SessionRow>> rowsPerBill = new LinkedHashMap<>();
+        for (SessionRow row : rows) {
+            if (row.billId() != null) {
+                rowsPerBill.computeIfAbsent(row.billId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+        rowsPerBill.forEach((billId, billRows) -> bills.add(toBill(session, billRows)));
+        return session;
+    }
+
+    private static Bill toBill(Session session, List<SessionRow> rows) {
+        SessionRow first = rows.get(0);
+        User user = first.userId() == null
+                ? null
+                : new User(first.userId(), first.username(), null, null, null, null, null, List.of());
+        Person customer = new Person(first.customerId(), first.customerName(), user);
+
+        List<Order> orders = new ArrayList<>();
+        for (SessionRow row : rows) {
+            if (row.orderId() == null) continue;
+            Money price = new Money(row.moneyAmount(), new Currency(row.currencySymbol(), row.currencyCode()));
+            OrderProduct product = new OrderProduct(row.productId(), row.productName(), row.productBrand(), price);
+            orders.add(new Order(row.orderId(), product, row.amount(), null));
+        }
+        return new Bill(first.billId(), session, first.isPayed(), customer, orders);
+    }
+
+    private record SessionRow(
+            UUID sessionId,
+            UUID barId,
+            String sessionName,
+            LocalDateTime creationDate,
+            LocalDateTime endDate,
+            UUID billId,
+            boolean isPayed,
+            UUID customerId,
+            String customerName,
+            UUID userId,
+            String username,
+            UUID orderId,
+            Integer amount,
+            UUID productId,
+            String productName,
+            String productBrand,
+            BigDecimal moneyAmount,
+            String currencyCode,
+            String currencySymbol) {
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
@@ -33,11 +34,13 @@ public class BarController {
     private final BarQueryHandler barQueryHandler;
     private final BarCommandHandler barCommandHandler;
     private final BarConverter converter;
+    private final BarVersionChecker barVersionChecker;
 
-    public BarController(BarQueryHandler barQueryHandler, BarCommandHandler barCommandHandler, BarConverter converter) {
+    public BarController(BarQueryHandler barQueryHandler, BarCommandHandler barCommandHandler, BarConverter converter, BarVersionChecker barVersionChecker) {
         this.barQueryHandler = barQueryHandler;
         this.barCommandHandler = barCommandHandler;
         this.converter = converter;
+        this.barVersionChecker = barVersionChecker;
     }
 
     @GetMapping("/owned")
@@ -67,7 +70,6 @@ public class BarController {
     }
 
     @GetMapping("/{barId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER', 'BARTENDER', 'CUSTOMER'})")
     @Operation(
             summary = "Finds bar by id",
@@ -75,8 +77,10 @@ public class BarController {
             tags = "Bar"
     )
     public BarResponse getBar(
-            @Parameter(description = "Id value of the bar you want to retrieve") @PathVariable("barId") UUID barId
+            @Parameter(description = "Id value of the bar you want to retrieve") @PathVariable("barId") UUID barId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Bar bar = barQueryHandler.handle(new GetBar(barId));
         return converter.convert(bar);
     }
@@ -0,0 +1,47 @@
+package com.tungstun.barapi.port.web.bar;
+
+import com.tungstun.barapi.application.bar.BarQueryHandler;
+import com.tungstun.barapi.application.bar.query.GetBarVersion;
+import com.tungstun.barapi.domain.bar.BarVersion;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Answers conditional GET requests of the resources of a bar with the version of the bar.<br>
+ * Responses get an ETag and a Last-Modified header of the bar's version. A request with a matching
+ * {@code If-None-Match} or {@code If-Modified-Since} header is answered with 304 Not Modified,
+ * after reading only the version of the bar, so the bar is not loaded and the response is not converted.
+ * Controllers return {@code null} when {@link #isNotModified(UUID, WebRequest)} is true.
+ */
+@Component
+public class BarVersionChecker {
+    private final BarQueryHandler barQueryHandler;
+
+    public BarVersionChecker(BarQueryHandler barQueryHandler) {
+        this.barQueryHandler = barQueryHandler;
+    }
+
+    /**
+     * A bar that does not exist is never unmodified, so the controller can respond as usual.
+     */
+    public boolean isNotModified(UUID barId, WebRequest request) {
+        return barQueryHandler.handle(new GetBarVersion(barId))
+                .map(version -> isNotModified(version, request))
+                .orElse(false);
+    }
+
+    private static boolean isNotModified(BarVersion version, WebRequest request) {
+        String etag = String.format("W/\"%d\"", version.version());
+        if (version.lastModified() == null) {
+            return request.checkNotModified(etag);
+        }
+        long lastModified = version.lastModified()
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+        return request.checkNotModified(etag, lastModified);
+    }
+}
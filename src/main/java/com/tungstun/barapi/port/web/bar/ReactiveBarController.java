@@ -0,0 +1,61 @@
+package com.tungstun.barapi.port.web.bar;
+
+import com.tungstun.barapi.application.bar.ReactiveBarQueryHandler;
+import com.tungstun.barapi.application.bar.query.ListConnectedBars;
+import com.tungstun.barapi.application.bar.query.ListOwnedBars;
+import com.tungstun.barapi.port.web.bar.converter.BarConverter;
+import com.tungstun.barapi.port.web.bar.response.BarResponse;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams the bars of the {@link BarController} listings as newline delimited JSON.
+ */
+@RestController
+@ConditionalOnReactiveReads
+@RequestMapping("/api/bars")
+public class ReactiveBarController {
+    private final ReactiveBarQueryHandler barQueryHandler;
+    private final BarConverter converter;
+
+    public ReactiveBarController(ReactiveBarQueryHandler barQueryHandler, BarConverter converter) {
+        this.barQueryHandler = barQueryHandler;
+        this.converter = converter;
+    }
+
+    @GetMapping(value = "/owned", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Streams all owned bars",
+            description = "Streams all bars that are owned by the logged in user",
+            tags = "Bar"
+    )
+    public Flux<BarResponse> streamAllBarOwnerBars(@Parameter(hidden = true) Authentication authentication) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return barQueryHandler.handle(new ListOwnedBars(userDetails.getUsername()))
+                .map(converter::convert);
+    }
+
+    @GetMapping(value = "/connected", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Streams all connected bars",
+            description = "Streams all bars that are connected by the logged in user",
+            tags = "Bar"
+    )
+    public Flux<BarResponse> streamAllConnectedBars(@Parameter(hidden = true) Authentication authentication) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return barQueryHandler.handle(new ListConnectedBars(userDetails.getUsername()))
+                .map(converter::convert);
+    }
+}
@@ -7,10 +7,13 @@ import com.tungstun.barapi.application.bill.command.DeleteBill;
 import com.tungstun.barapi.application.bill.command.PayBill;
 import com.tungstun.barapi.application.bill.query.*;
 import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.port.web.bar.BarVersionChecker;
 import com.tungstun.barapi.port.web.bill.converter.BillConverter;
 import com.tungstun.barapi.port.web.bill.request.CreateBillRequest;
 import com.tungstun.barapi.port.web.bill.response.BillResponse;
 import com.tungstun.barapi.port.web.bill.response.BillSummaryResponse;
+import com.tungstun.common.idempotency.IdempotentRequests;
+import com.tungstun.common.money.Currency;
 import com.tungstun.security.config.filter.Authorization;
 import com.tungstun.security.config.filter.UserProfile;
 import com.tungstun.security.domain.user.Role;
@@ -20,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
@@ -32,15 +36,18 @@ public class BillController {
     private final BillCommandHandler billCommandHandler;
     private final BillQueryHandler billQueryHandler;
     private final BillConverter converter;
+    private final BarVersionChecker barVersionChecker;
+    private final IdempotentRequests idempotentRequests;
 
-    public BillController(BillCommandHandler billCommandHandler, BillQueryHandler billQueryHandler, BillConverter converter) {
+    public BillController(BillCommandHandler billCommandHandler, BillQueryHandler billQueryHandler, BillConverter converter, BarVersionChecker barVersionChecker, IdempotentRequests idempotentRequests) {
         this.billCommandHandler = billCommandHandler;
         this.billQueryHandler = billQueryHandler;
         this.converter = converter;
+        this.barVersionChecker = barVersionChecker;
+        this.idempotentRequests = idempotentRequests;
     }
 
     @GetMapping("/sessions/{sessionId}/bills/{billId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER', 'CUSTOMER'})")
     @Operation(
             summary = "Finds bill of bar",
@@ -51,8 +58,11 @@ public class BillController {
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
             @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
-            @Parameter(hidden = true) Authentication authentication
+            @Parameter(description = "(Optional) ISO currency code to show the prices in") @RequestParam(value = "currency", required = false) String currency,
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (currency == null && barVersionChecker.isNotModified(barId, request)) return null;
         UserProfile user = (UserProfile) authentication.getPrincipal();
         Role role = user.authorizations()
                 .stream()
@@ -61,16 +71,16 @@ public class BillController {
                 .map(Role::getRole)
                 .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("No bill found for id: " + billId));
-        if (role.equals(Role.CUSTOMER)) {
-            Bill bill = billQueryHandler.handle(new GetBillAsCustomer(barId, sessionId, billId, user.getId()));
-            return converter.convert(bill);
+        Bill bill = role.equals(Role.CUSTOMER)
+                ? billQueryHandler.handle(new GetBillAsCustomer(barId, sessionId, billId, user.getId()))
+                : billQueryHandler.handle(new GetBill(barId, sessionId, billId));
+        if (currency != null) {
+            return converter.convert(bill, Currency.of(currency));
         }
-        Bill bill = billQueryHandler.handle(new GetBill(barId, sessionId, billId));
         return converter.convert(bill);
     }
 
     @GetMapping("/people/{personId}/bills")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds bills of customer",
@@ -79,8 +89,10 @@ public class BillController {
     )
     public List<BillSummaryResponse> getBillsOfCustomerOfBar(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
-            @Parameter(description = "Id value of the customer") @PathVariable("personId") UUID personId
+            @Parameter(description = "Id value of the customer") @PathVariable("personId") UUID personId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<Bill> bills = billQueryHandler.handle(new ListBillsOfCustomer(barId, personId));
         return converter.convertAllToSummary(bills);
     }
@@ -130,10 +142,11 @@ public class BillController {
     public UUID createBillForBar(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
-            @Valid @RequestBody CreateBillRequest createBillRequest
+            @Valid @RequestBody CreateBillRequest createBillRequest,
+            @Parameter(description = "(Optional) Unique key of the request, a retry with the same key returns the result of the first request") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey
     ) throws EntityNotFoundException {
         AddCustomerToSession command = new AddCustomerToSession(barId, sessionId, createBillRequest.personId());
-        return billCommandHandler.handle(command);
+        return idempotentRequests.execute(idempotencyKey, command, UUID.class, () -> billCommandHandler.handle(command));
     }
 
     @PatchMapping("/sessions/{sessionId}/bills/{billId}/pay")
@@ -147,10 +160,11 @@ public class BillController {
     public void payOfBillOfBar(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
-            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId
+            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
+            @Parameter(description = "(Optional) Unique key of the request, a retry with the same key returns the result of the first request") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey
     ) throws EntityNotFoundException {
         PayBill command = new PayBill(barId, sessionId, billId);
-        billCommandHandler.handle(command);
+        idempotentRequests.execute(idempotencyKey, command, () -> billCommandHandler.handle(command));
     }
 
     @DeleteMapping("/sessions/{sessionId}/bills/{billId}")
@@ -164,9 +178,10 @@ public class BillController {
     public void deleteBill(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
-            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId
+            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
+            @Parameter(description = "(Optional) Unique key of the request, a retry with the same key returns the result of the first request") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey
     ) throws EntityNotFoundException {
         DeleteBill command = new DeleteBill(barId, sessionId, billId);
-        billCommandHandler.handle(command);
+        idempotentRequests.execute(idempotencyKey, command, () -> billCommandHandler.handle(command));
     }
 }
@@ -6,6 +6,10 @@ import com.tungstun.barapi.port.web.bill.response.BillSummaryResponse;
 import com.tungstun.barapi.port.web.order.converter.OrderConverter;
 import com.tungstun.barapi.port.web.person.converter.PersonConverter;
 import com.tungstun.barapi.port.web.session.converter.SessionConverter;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.CurrencyConverter;
+import com.tungstun.common.money.Money;
+import com.tungstun.common.response.ConversionContext;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
@@ -17,43 +21,76 @@ public class BillConverter {
     private final OrderConverter orderConverter;
     private final SessionConverter sessionConverter;
     private final PersonConverter personConverter;
+    private final CurrencyConverter currencyConverter;
 
-    public BillConverter(OrderConverter orderConverter, @Lazy SessionConverter sessionConverter, PersonConverter personConverter) {
+    public BillConverter(OrderConverter orderConverter, @Lazy SessionConverter sessionConverter, PersonConverter personConverter, CurrencyConverter currencyConverter) {
         this.orderConverter = orderConverter;
         this.sessionConverter = sessionConverter;
         this.personConverter = personConverter;
+        this.currencyConverter = currencyConverter;
     }
 
     public BillResponse convert(Bill bill) {
+        return convert(bill, new ConversionContext());
+    }
+
+    /**
+     * Converts the bill with all prices in the given currency,
+     * resolving the conversion rate once for all orders of the bill.
+     */
+    public BillResponse convert(Bill bill, Currency currency) {
+        return convert(bill, new ConversionContext(currencyConverter.converterTo(currency)));
+    }
+
+    public BillResponse convert(Bill bill, ConversionContext context) {
         return new BillResponse(
                 bill.getId(),
                 bill.isPayed(),
-                personConverter.convert(bill.getCustomer()),
-                bill.calculateTotalPrice(),
-                orderConverter.convertAll(bill.getOrders()),
-                sessionConverter.convertToSummary(bill.getSession())
+                personConverter.convert(bill.getCustomer(), context),
+                totalPrice(bill, context),
+                orderConverter.convertAll(bill.getOrders(), context),
+                sessionConverter.convertToSummary(bill.getSession(), context)
         );
     }
 
     public List<BillResponse> convertAll(List<Bill> bills) {
+        ConversionContext context = new ConversionContext();
         return bills.stream()
-                .map(this::convert)
+                .map(bill -> convert(bill, context))
                 .collect(Collectors.toList());
     }
 
     public BillSummaryResponse convertToSummary(Bill bill) {
+        return convertToSummary(bill, new ConversionContext());
+    }
+
+    public BillSummaryResponse convertToSummary(Bill bill, ConversionContext context) {
         return new BillSummaryResponse(
                 bill.getId(),
                 bill.isPayed(),
-                bill.calculateTotalPrice(),
-                sessionConverter.convertToSummary(bill.getSession()),
-                personConverter.convert(bill.getCustomer())
+                totalPrice(bill, context),
+                sessionConverter.convertToSummary(bill.getSession(), context),
+                personConverter.convert(bill.getCustomer(), context)
         );
     }
 
+    /**
+     * Converts all bills with one context, so the shared session and people are converted once.
+     */
     public List<BillSummaryResponse> convertAllToSummary(List<Bill> bills) {
+        ConversionContext context = new ConversionContext();
         return bills.stream()
-                .map(this::convertToSummary)
+                .map(bill -> convertToSummary(bill, context))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * The total price of the bill, as calculated by the bill itself, in the currency of the context.
+     * It is calculated once per context.
+     */
+    private double totalPrice(Bill bill, ConversionContext context) {
+        return context.convert(Double.class, bill.getId(), () -> context.convertPrice(new Money(bill.calculateTotalPrice()))
+                .amount()
+                .doubleValue());
+    }
 }
@@ -8,6 +8,7 @@ import com.tungstun.barapi.application.category.command.UpdateCategory;
 import com.tungstun.barapi.application.category.query.GetCategory;
 import com.tungstun.barapi.application.category.query.ListCategoriesOfBar;
 import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.port.web.bar.BarVersionChecker;
 import com.tungstun.barapi.port.web.category.converter.CategoryConverter;
 import com.tungstun.barapi.port.web.category.request.CreateCategoryRequest;
 import com.tungstun.barapi.port.web.category.request.UpdateCategoryRequest;
@@ -19,6 +20,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
@@ -31,15 +33,16 @@ public class CategoryController {
     private final CategoryQueryHandler categoryQueryHandler;
     private final CategoryCommandHandler categoryCommandHandler;
     private final CategoryConverter converter;
+    private final BarVersionChecker barVersionChecker;
 
-    public CategoryController(CategoryQueryHandler categoryQueryHandler, CategoryCommandHandler categoryCommandHandler, CategoryConverter converter) {
+    public CategoryController(CategoryQueryHandler categoryQueryHandler, CategoryCommandHandler categoryCommandHandler, CategoryConverter converter, BarVersionChecker barVersionChecker) {
         this.categoryQueryHandler = categoryQueryHandler;
         this.categoryCommandHandler = categoryCommandHandler;
         this.converter = converter;
+        this.barVersionChecker = barVersionChecker;
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds all categories of bar",
@@ -47,14 +50,15 @@ public class CategoryController {
             tags = "Category"
     )
     public List<CategoryResponse> getCategoriesOfBar(
-            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId
+            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<Category> categories = categoryQueryHandler.handle(new ListCategoriesOfBar(barId));
         return converter.convertAll(categories);
     }
 
     @GetMapping("/{categoryId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds category",
@@ -63,8 +67,10 @@ public class CategoryController {
     )
     public CategoryResponse getCategoryOfBar(
             @Param(value = "Id value of the bar") @PathVariable("barId") UUID barId,
-            @Param(value = "Id value of the category") @PathVariable("categoryId") UUID categoryId
+            @Param(value = "Id value of the category") @PathVariable("categoryId") UUID categoryId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Category category = categoryQueryHandler.handle(new GetCategory(barId, categoryId));
         return converter.convert(category);
     }
@@ -113,7 +119,7 @@ public class CategoryController {
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the category") @PathVariable("categoryId") UUID categoryId
     ) throws EntityNotFoundException {
-        DeleteCategory command = new DeleteCategory(categoryId);
+        DeleteCategory command = new DeleteCategory(barId, categoryId);
         categoryCommandHandler.handle(command);
     }
 }
@@ -7,11 +7,13 @@ import com.tungstun.barapi.application.order.command.RemoveOrder;
 import com.tungstun.barapi.application.order.query.*;
 import com.tungstun.barapi.domain.bill.Order;
 import com.tungstun.barapi.domain.bill.OrderHistoryEntry;
+import com.tungstun.barapi.port.web.bar.BarVersionChecker;
 import com.tungstun.barapi.port.web.order.converter.OrderConverter;
 import com.tungstun.barapi.port.web.order.converter.OrderHistoryEntryConverter;
 import com.tungstun.barapi.port.web.order.request.CreateOrderRequest;
 import com.tungstun.barapi.port.web.order.response.OrderHistoryEntryResponse;
 import com.tungstun.barapi.port.web.order.response.OrderResponse;
+import com.tungstun.common.idempotency.IdempotentRequests;
 import com.tungstun.common.response.UuidResponse;
 import com.tungstun.security.config.filter.UserProfile;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,11 +22,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/bars/{barId}/")
@@ -33,82 +37,89 @@ public class OrderController {
     private final OrderCommandHandler orderCommandHandler;
     private final OrderConverter orderConverter;
     private final OrderHistoryEntryConverter orderHistoryEntryConverter;
+    private final BarVersionChecker barVersionChecker;
+    private final IdempotentRequests idempotentRequests;
 
-    public OrderController(OrderQueryHandler orderQueryHandler, OrderCommandHandler orderCommandHandler, OrderConverter orderConverter, OrderHistoryEntryConverter orderHistoryEntryConverter) {
+    public OrderController(OrderQueryHandler orderQueryHandler, OrderCommandHandler orderCommandHandler, OrderConverter orderConverter, OrderHistoryEntryConverter orderHistoryEntryConverter, BarVersionChecker barVersionChecker, IdempotentRequests idempotentRequests) {
         this.orderQueryHandler = orderQueryHandler;
         this.orderCommandHandler = orderCommandHandler;
         this.orderConverter = orderConverter;
         this.orderHistoryEntryConverter = orderHistoryEntryConverter;
+        this.barVersionChecker = barVersionChecker;
+        this.idempotentRequests = idempotentRequests;
     }
 
     @GetMapping("sessions/{sessionId}/order-history")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds the order history of a session",
             description = "Find the full order history of all orders added and removed during the session",
             tags = "Order"
     )
-    public List<OrderHistoryEntryResponse> getSessionOrderHistory(
+    public Stream<OrderHistoryEntryResponse> getSessionOrderHistory(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
-            @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId
+            @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<OrderHistoryEntry> orderHistory = orderQueryHandler.handle(new ListOrderHistoryOfSession(barId, sessionId));
-        return orderHistoryEntryConverter.convertAll(orderHistory);
+        return orderHistoryEntryConverter.stream(orderHistory);
     }
 
     @GetMapping("sessions/{sessionId}/bills/{billId}/order-history")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds the order history of a bill",
             description = "Find the full order history of all orders added to and removed from a bill during its session",
             tags = "Order"
     )
-    public List<OrderHistoryEntryResponse> getBillOrderHistory(
+    public Stream<OrderHistoryEntryResponse> getBillOrderHistory(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
-            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId
+            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<OrderHistoryEntry> orderHistory = orderQueryHandler.handle(new ListOrderHistory(barId, sessionId, billId));
-        return orderHistoryEntryConverter.convertAll(orderHistory);
+        return orderHistoryEntryConverter.stream(orderHistory);
     }
 
     @GetMapping("sessions/{sessionId}/orders")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds orders of a session",
             description = "Find all orders of a session of a bar with the given id's",
             tags = "Order"
     )
-    public List<OrderResponse> getAllSessionOrders(
+    public Stream<OrderResponse> getAllSessionOrders(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
-            @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId
+            @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<Order> orders = orderQueryHandler.handle(new ListOrdersOfSession(barId, sessionId));
-        return orderConverter.convertAll(orders);
+        return orderConverter.stream(orders);
     }
 
     @GetMapping("sessions/{sessionId}/bills/{billId}/orders")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds orders of bill",
             description = "Finds all orders of a bill of a session of a bar with the given id's",
             tags = "Order"
     )
-    public List<OrderResponse> getAllBillOrders(
+    public Stream<OrderResponse> getAllBillOrders(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
-            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId
+            @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<Order> orders = orderQueryHandler.handle(new ListOrdersOfBill(barId, sessionId, billId));
-        return orderConverter.convertAll(orders);
+        return orderConverter.stream(orders);
     }
 
     @GetMapping("sessions/{sessionId}/bills/{billId}/orders/{orderId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds an order",
@@ -119,8 +130,10 @@ public class OrderController {
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id values of the session") @PathVariable("sessionId") UUID sessionId,
             @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
-            @Parameter(description = "Id value of the order") @PathVariable("orderId") UUID orderId
+            @Parameter(description = "Id value of the order") @PathVariable("orderId") UUID orderId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Order order = orderQueryHandler.handle(new GetOrder(barId, sessionId, billId, orderId));
         return orderConverter.convert(order);
     }
@@ -138,6 +151,7 @@ public class OrderController {
             @Parameter(description = "Id values of the session") @PathVariable("sessionId") UUID sessionId,
             @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
             @Valid @RequestBody CreateOrderRequest request,
+            @Parameter(description = "(Optional) Unique key of the request, a retry with the same key returns the result of the first request") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey,
             @Parameter(hidden = true) Authentication authentication
     ) throws EntityNotFoundException {
         UserProfile userProfile = (UserProfile) authentication.getPrincipal();
@@ -149,7 +163,8 @@ public class OrderController {
                 request.amount(),
                 userProfile.getId()
         );
-        return new UuidResponse(orderCommandHandler.handle(command));
+        return idempotentRequests.execute(idempotencyKey, command, UuidResponse.class,
+                () -> new UuidResponse(orderCommandHandler.handle(command)));
     }
 
     @DeleteMapping("sessions/{sessionId}/bills/{billId}/orders/{orderId}")
@@ -164,9 +179,10 @@ public class OrderController {
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id values of the session") @PathVariable("sessionId") UUID sessionId,
             @Parameter(description = "Id value of the bill") @PathVariable("billId") UUID billId,
-            @Parameter(description = "Id value of the order") @PathVariable("orderId") UUID orderId
+            @Parameter(description = "Id value of the order") @PathVariable("orderId") UUID orderId,
+            @Parameter(description = "(Optional) Unique key of the request, a retry with the same key returns the result of the first request") @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey
     ) throws EntityNotFoundException {
         RemoveOrder command = new RemoveOrder(barId, sessionId, billId, orderId);
-        orderCommandHandler.handle(command);
+        idempotentRequests.execute(idempotencyKey, command, () -> orderCommandHandler.handle(command));
     }
 }
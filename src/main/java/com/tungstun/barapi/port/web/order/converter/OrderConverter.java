@@ -3,10 +3,12 @@ package com.tungstun.barapi.port.web.order.converter;
 import com.tungstun.barapi.domain.bill.Order;
 import com.tungstun.barapi.port.web.order.response.OrderResponse;
 import com.tungstun.barapi.port.web.person.converter.PersonConverter;
+import com.tungstun.common.response.ConversionContext;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class OrderConverter {
@@ -19,17 +21,36 @@ public class OrderConverter {
     }
 
     public OrderResponse convert(Order order) {
+        return convert(order, new ConversionContext());
+    }
+
+    public OrderResponse convert(Order order, ConversionContext context) {
         return new OrderResponse(
                 order.getId(),
                 order.getAmount(),
                 order.getCreationDate(),
-                orderProductConverter.convert(order.getProduct()),
-                personConverter.convert(order.getBartender())
+                orderProductConverter.convert(order.getProduct(), context),
+                personConverter.convert(order.getBartender(), context)
         );
     }
+
     public List<OrderResponse> convertAll(List<Order> orders) {
+        return convertAll(orders, new ConversionContext());
+    }
+
+    public List<OrderResponse> convertAll(List<Order> orders, ConversionContext context) {
         return orders.stream()
-                .map(this::convert)
+                .map(order -> convert(order, context))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Converts the orders lazily while the response is written,
+     * so a large list of orders is never held as responses in memory at once.
+     */
+    public Stream<OrderResponse> stream(List<Order> orders) {
+        ConversionContext context = new ConversionContext();
+        return orders.stream()
+                .map(order -> convert(order, context));
+    }
 }
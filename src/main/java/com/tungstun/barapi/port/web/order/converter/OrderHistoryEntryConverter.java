@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class OrderHistoryEntryConverter {
@@ -28,9 +29,15 @@ public class OrderHistoryEntryConverter {
                 personConverter.convert(entry.getBartender())
         );
     }
+
     public List<OrderHistoryEntryResponse> convertAll(List<OrderHistoryEntry> orders) {
         return orders.stream()
                 .map(this::convert)
                 .collect(Collectors.toList());
     }
+
+    public Stream<OrderHistoryEntryResponse> stream(List<OrderHistoryEntry> entries) {
+        return entries.stream()
+                .map(this::convert);
+    }
 }
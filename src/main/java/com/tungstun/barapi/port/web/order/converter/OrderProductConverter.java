@@ -2,24 +2,43 @@ package com.tungstun.barapi.port.web.order.converter;
 
 import com.tungstun.barapi.domain.bill.OrderProduct;
 import com.tungstun.barapi.port.web.order.response.OrderProductResponse;
+import com.tungstun.common.money.Money;
+import com.tungstun.common.response.ConversionContext;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class OrderProductConverter {
     public OrderProductResponse convert(OrderProduct orderProduct) {
-        return new OrderProductResponse(
-                orderProduct.getId(),
-                orderProduct.getName(),
-                orderProduct.getBrand(),
-                orderProduct.getPrice().amount().doubleValue()
+        return convert(orderProduct, new ConversionContext());
+    }
+
+    /**
+     * Converts the ordered product once per context and snapshot,
+     * as an ordered product keeps the name, brand and price of the product at the time of the order.
+     */
+    public OrderProductResponse convert(OrderProduct orderProduct, ConversionContext context) {
+        return context.convert(
+                OrderProductResponse.class,
+                new OrderedProduct(orderProduct.getId(), orderProduct.getName(), orderProduct.getBrand(), orderProduct.getPrice()),
+                () -> new OrderProductResponse(
+                        orderProduct.getId(),
+                        orderProduct.getName(),
+                        orderProduct.getBrand(),
+                        context.convertPrice(orderProduct.getPrice()).amount().doubleValue()
+                )
         );
     }
+
     public List<OrderProductResponse> convertAll(List<OrderProduct> orderProducts) {
         return orderProducts.stream()
                 .map(this::convert)
                 .collect(Collectors.toList());
     }
+
+    private record OrderedProduct(UUID productId, String name, String brand, Money price) {
+    }
 }
@@ -6,6 +6,7 @@ import com.tungstun.barapi.application.person.command.*;
 import com.tungstun.barapi.application.person.query.GetPerson;
 import com.tungstun.barapi.application.person.query.ListPeopleOfBar;
 import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.port.web.bar.BarVersionChecker;
 import com.tungstun.barapi.port.web.person.converter.PersonConverter;
 import com.tungstun.barapi.port.web.person.request.ConnectUserToPersonRequest;
 import com.tungstun.barapi.port.web.person.request.CreatePersonRequest;
@@ -22,6 +23,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
@@ -36,16 +38,17 @@ public class PersonController {
     private final PersonCommandHandler personCommandHandler;
     private final PersonConverter converter;
     private final UserQueryHandler userQueryHandler;
+    private final BarVersionChecker barVersionChecker;
 
-    public PersonController(PersonQueryHandler personQueryHandler, PersonCommandHandler personCommandHandler, PersonConverter converter, UserQueryHandler userQueryHandler) {
+    public PersonController(PersonQueryHandler personQueryHandler, PersonCommandHandler personCommandHandler, PersonConverter converter, UserQueryHandler userQueryHandler, BarVersionChecker barVersionChecker) {
         this.personQueryHandler = personQueryHandler;
         this.personCommandHandler = personCommandHandler;
         this.converter = converter;
         this.userQueryHandler = userQueryHandler;
+        this.barVersionChecker = barVersionChecker;
     }
 
     @GetMapping("/bars/{barId}/people")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds people of a bar",
@@ -53,14 +56,15 @@ public class PersonController {
             tags = "Person"
     )
     public List<PersonResponse> getAllPeopleOfBar(
-            @Parameter(description = "Id value of the bar") @PathVariable UUID barId
+            @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<Person> allPeople = personQueryHandler.handle(new ListPeopleOfBar(barId));
         return converter.convertAll(allPeople);
     }
 
     @GetMapping(path = "/bars/{barId}/people/{personId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds person of a bar",
@@ -69,8 +73,10 @@ public class PersonController {
     )
     public PersonResponse getPersonOfBar(
             @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
-            @Parameter(description = "Id value of the person") @PathVariable("personId") UUID personId
+            @Parameter(description = "Id value of the person") @PathVariable("personId") UUID personId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Person person = personQueryHandler.handle(new GetPerson(barId, personId));
         return converter.convert(person);
     }
@@ -153,7 +159,7 @@ public class PersonController {
             @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
             @Parameter(description = "Id value of the person") @PathVariable("personId") UUID personId
     ) throws EntityNotFoundException {
-        DeletePerson command = new DeletePerson(personId);
+        DeletePerson command = new DeletePerson(barId, personId);
         personCommandHandler.handle(command);
     }
 }
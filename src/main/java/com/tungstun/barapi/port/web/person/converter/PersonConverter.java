@@ -2,6 +2,7 @@ package com.tungstun.barapi.port.web.person.converter;
 
 import com.tungstun.barapi.domain.person.Person;
 import com.tungstun.barapi.port.web.person.response.PersonResponse;
+import com.tungstun.common.response.ConversionContext;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -25,6 +26,13 @@ public class PersonConverter {
         );
     }
 
+    /**
+     * Converts the person once per context, as the same people are the customer or bartender of many bills and orders.
+     */
+    public PersonResponse convert(Person person, ConversionContext context) {
+        return context.convert(PersonResponse.class, person.getId(), () -> convert(person));
+    }
+
     public List<PersonResponse> convertAll(List<Person> people) {
         return people.stream()
                 .map(this::convert)
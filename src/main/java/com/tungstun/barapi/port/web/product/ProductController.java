@@ -8,21 +8,25 @@ import com.tungstun.barapi.application.product.command.UpdateProduct;
 import com.tungstun.barapi.application.product.query.GetProduct;
 import com.tungstun.barapi.application.product.query.ListProductsOfBar;
 import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.port.web.bar.BarVersionChecker;
 import com.tungstun.barapi.port.web.product.converter.ProductConverter;
 import com.tungstun.barapi.port.web.product.request.CreateProductRequest;
 import com.tungstun.barapi.port.web.product.request.UpdateProductRequest;
 import com.tungstun.barapi.port.web.product.response.ProductResponse;
+import com.tungstun.common.money.Currency;
 import com.tungstun.common.response.UuidResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/bars/{barId}/products")
@@ -30,28 +34,32 @@ public class ProductController {
     private final ProductCommandHandler productCommandHandler;
     private final ProductQueryHandler productQueryHandler;
     private final ProductConverter converter;
+    private final BarVersionChecker barVersionChecker;
 
-    public ProductController(ProductCommandHandler productCommandHandler, ProductQueryHandler productQueryHandler, ProductConverter converter) {
+    public ProductController(ProductCommandHandler productCommandHandler, ProductQueryHandler productQueryHandler, ProductConverter converter, BarVersionChecker barVersionChecker) {
         this.productCommandHandler = productCommandHandler;
         this.productQueryHandler = productQueryHandler;
         this.converter = converter;
+        this.barVersionChecker = barVersionChecker;
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds products of a bar",
             description = "Find all products of a bar with the given id, which can be filtered by: product type, category, favorites and any provided search term",
             tags = "Product"
     )
-    public List<ProductResponse> getAllProductsOfBar(
+    public Stream<ProductResponse> getAllProductsOfBar(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "(Optional) String value to filter on product type") @RequestParam(value = "productType", required = false) String productType,
             @Parameter(description = "(Optional) UUID value to filter on category with categoryId") @RequestParam(value = "categoryId", required = false) UUID categoryId,
             @Parameter(description = "(Optional) Boolean value to filter on favorites") @RequestParam(value = "onlyFavorites", required = false) Boolean onlyFavorites,
-            @Parameter(description = "(Optional) String value of search term to filter on") @Valid @RequestParam(value = "searchText", required = false) String searchText
+            @Parameter(description = "(Optional) String value of search term to filter on") @Valid @RequestParam(value = "searchText", required = false) String searchText,
+            @Parameter(description = "(Optional) ISO currency code to show the prices in") @RequestParam(value = "currency", required = false) String currency,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (currency == null && barVersionChecker.isNotModified(barId, request)) return null;
         List<Product> products = productQueryHandler.handle(new ListProductsOfBar(
                 barId,
                 categoryId,
@@ -59,11 +67,13 @@ public class ProductController {
                 productType,
                 searchText
         ));
-        return converter.convertAll(products);
+        if (currency != null) {
+            return converter.stream(products, Currency.of(currency));
+        }
+        return converter.stream(products);
     }
 
     @GetMapping("/{productId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds product of a bar",
@@ -72,8 +82,10 @@ public class ProductController {
     )
     public ProductResponse getProductOfBar(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
-            @Parameter(description = "Id value of the product") @PathVariable("productId") UUID productId
+            @Parameter(description = "Id value of the product") @PathVariable("productId") UUID productId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Product product = productQueryHandler.handle(new GetProduct(barId, productId));
         return converter.convert(product);
     }
@@ -142,7 +154,7 @@ public class ProductController {
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the product") @PathVariable("productId") UUID productId
     ) throws EntityNotFoundException {
-        DeleteProduct command = new DeleteProduct(productId);
+        DeleteProduct command = new DeleteProduct(barId, productId);
         productCommandHandler.handle(command);
     }
 }
@@ -0,0 +1,61 @@
+package com.tungstun.barapi.port.web.product;
+
+import com.tungstun.barapi.application.product.ReactiveProductQueryHandler;
+import com.tungstun.barapi.application.product.query.ListProductsOfBar;
+import com.tungstun.barapi.port.web.product.converter.ProductConverter;
+import com.tungstun.barapi.port.web.product.response.ProductResponse;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.CurrencyConverter;
+import com.tungstun.common.money.Money;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Streams the products of the {@link ProductController} listing as newline delimited JSON.
+ */
+@RestController
+@ConditionalOnReactiveReads
+@RequestMapping("/api/bars/{barId}/products")
+public class ReactiveProductController {
+    private final ReactiveProductQueryHandler productQueryHandler;
+    private final ProductConverter converter;
+    private final CurrencyConverter currencyConverter;
+
+    public ReactiveProductController(ReactiveProductQueryHandler productQueryHandler, ProductConverter converter, CurrencyConverter currencyConverter) {
+        this.productQueryHandler = productQueryHandler;
+        this.converter = converter;
+        this.currencyConverter = currencyConverter;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
+    @Operation(
+            summary = "Streams products of a bar",
+            description = "Stream all products of a bar with the given id, which can be filtered by: product type, category, favorites and any provided search term",
+            tags = "Product"
+    )
+    public Flux<ProductResponse> streamAllProductsOfBar(
+            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
+            @Parameter(description = "(Optional) String value to filter on product type") @RequestParam(value = "productType", required = false) String productType,
+            @Parameter(description = "(Optional) UUID value to filter on category with categoryId") @RequestParam(value = "categoryId", required = false) UUID categoryId,
+            @Parameter(description = "(Optional) Boolean value to filter on favorites") @RequestParam(value = "onlyFavorites", required = false) Boolean onlyFavorites,
+            @Parameter(description = "(Optional) String value of search term to filter on") @RequestParam(value = "searchText", required = false) String searchText,
+            @Parameter(description = "(Optional) ISO currency code to show the prices in") @RequestParam(value = "currency", required = false) String currency
+    ) {
+        UnaryOperator<Money> priceConversion = currency == null
+                ? UnaryOperator.identity()
+                : currencyConverter.converterTo(Currency.of(currency));
+        return productQueryHandler.handle(new ListProductsOfBar(barId, categoryId, onlyFavorites, productType, searchText))
+                .map(product -> converter.convert(product, priceConversion));
+    }
+}
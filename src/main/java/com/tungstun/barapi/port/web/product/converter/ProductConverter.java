@@ -3,26 +3,37 @@ package com.tungstun.barapi.port.web.product.converter;
 import com.tungstun.barapi.domain.product.Product;
 import com.tungstun.barapi.port.web.category.converter.CategoryConverter;
 import com.tungstun.barapi.port.web.product.response.ProductResponse;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.CurrencyConverter;
+import com.tungstun.common.money.Money;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class ProductConverter {
     private final CategoryConverter categoryConverter;
+    private final CurrencyConverter currencyConverter;
 
-    public ProductConverter(CategoryConverter categoryConverter) {
+    public ProductConverter(CategoryConverter categoryConverter, CurrencyConverter currencyConverter) {
         this.categoryConverter = categoryConverter;
+        this.currencyConverter = currencyConverter;
     }
 
     public ProductResponse convert(Product product) {
+        return convert(product, UnaryOperator.identity());
+    }
+
+    public ProductResponse convert(Product product, UnaryOperator<Money> priceConversion) {
         return new ProductResponse(
                 product.getId(),
                 product.getName(),
                 product.getBrand(),
                 product.getSize(),
-                product.getPrice().amount().doubleValue(),
+                priceConversion.apply(product.getPrice()).amount().doubleValue(),
                 product.isFavorite(),
                 product.getType().toString(),
                 categoryConverter.convert(product.getCategory())
@@ -34,4 +45,37 @@ public class ProductConverter {
                 .map(this::convert)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Converts the products with their prices in the given currency,
+     * resolving the conversion rate once for the whole list.
+     */
+    public List<ProductResponse> convertAll(List<Product> products, Currency currency) {
+        UnaryOperator<Money> priceConversion = currencyConverter.converterTo(currency);
+        return products.stream()
+                .map(product -> convert(product, priceConversion))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts the products lazily while the response is written,
+     * so a large menu is never held as responses in memory at once.
+     */
+    public Stream<ProductResponse> stream(List<Product> products) {
+        return products.stream()
+                .map(this::convert);
+    }
+
+    /**
+     * Converts the products lazily with their prices in the given currency.
+     * The conversion rates are resolved before the stream is returned,
+     * so a missing rate is reported as an error instead of breaking off the written response.
+     */
+    public Stream<ProductResponse> stream(List<Product> products, Currency currency) {
+        UnaryOperator<Money> priceConversion = currencyConverter.converterTo(currency, products.stream()
+                .map(product -> product.getPrice().currency())
+                .collect(Collectors.toSet()));
+        return products.stream()
+                .map(product -> convert(product, priceConversion));
+    }
 }
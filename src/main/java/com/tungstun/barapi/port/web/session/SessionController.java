@@ -10,6 +10,7 @@ import com.tungstun.barapi.application.session.query.GetActiveSession;
 import com.tungstun.barapi.application.session.query.GetSession;
 import com.tungstun.barapi.application.session.query.ListSessionsOfBar;
 import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.web.bar.BarVersionChecker;
 import com.tungstun.barapi.port.web.session.converter.SessionConverter;
 import com.tungstun.barapi.port.web.session.request.CreateSessionRequest;
 import com.tungstun.barapi.port.web.session.request.UpdateSessionRequest;
@@ -20,6 +21,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
@@ -32,15 +34,16 @@ public class SessionController {
     private final SessionCommandHandler sessionCommandHandler;
     private final SessionQueryHandler sessionQueryHandler;
     private final SessionConverter converter;
+    private final BarVersionChecker barVersionChecker;
 
-    public SessionController(SessionCommandHandler sessionCommandHandler, SessionQueryHandler sessionQueryHandler, SessionConverter converter) {
+    public SessionController(SessionCommandHandler sessionCommandHandler, SessionQueryHandler sessionQueryHandler, SessionConverter converter, BarVersionChecker barVersionChecker) {
         this.sessionCommandHandler = sessionCommandHandler;
         this.sessionQueryHandler = sessionQueryHandler;
         this.converter = converter;
+        this.barVersionChecker = barVersionChecker;
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds sessions of a bar",
@@ -48,14 +51,15 @@ public class SessionController {
             tags = "Session"
     )
     public List<SessionResponse> getAllBarSessions(
-            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId
+            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         List<Session> allSessions = sessionQueryHandler.handle(new ListSessionsOfBar(barId));
         return converter.convertAll(allSessions);
     }
 
     @GetMapping(path = "/active")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds active session of a bar",
@@ -63,14 +67,15 @@ public class SessionController {
             tags = "Session"
     )
     public SessionResponse getActiveBarSessions(
-            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId
+            @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Session session = sessionQueryHandler.handle(new GetActiveSession(barId));
         return converter.convert(session);
     }
 
     @GetMapping(path = "/{sessionId}")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER'})")
     @Operation(
             summary = "Finds session of a bar",
@@ -79,8 +84,10 @@ public class SessionController {
     )
     public SessionResponse getBarSessionsById(
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
-            @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId
+            @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId,
+            @Parameter(hidden = true) WebRequest request
     ) throws EntityNotFoundException {
+        if (barVersionChecker.isNotModified(barId, request)) return null;
         Session session = sessionQueryHandler.handle(new GetSession(barId, sessionId));
         return converter.convert(session);
     }
@@ -146,7 +153,7 @@ public class SessionController {
             @Parameter(description = "Id value of the bar") @PathVariable("barId") UUID barId,
             @Parameter(description = "Id value of the session") @PathVariable("sessionId") UUID sessionId
     ) throws EntityNotFoundException {
-        DeleteSession command = new DeleteSession(sessionId);
+        DeleteSession command = new DeleteSession(barId, sessionId);
         sessionCommandHandler.handle(command);
     }
 }
@@ -4,6 +4,7 @@ import com.tungstun.barapi.domain.session.Session;
 import com.tungstun.barapi.port.web.bill.converter.BillConverter;
 import com.tungstun.barapi.port.web.session.response.SessionResponse;
 import com.tungstun.barapi.port.web.session.response.SessionSummaryResponse;
+import com.tungstun.common.response.ConversionContext;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -42,6 +43,13 @@ public class SessionConverter {
         );
     }
 
+    /**
+     * Converts the session summary once per context, as all bills of a session refer to the same session.
+     */
+    public SessionSummaryResponse convertToSummary(Session session, ConversionContext context) {
+        return context.convert(SessionSummaryResponse.class, session.getId(), () -> convertToSummary(session));
+    }
+
     public List<SessionSummaryResponse> convertAllToSummary(List<Session> sessions) {
         return sessions.stream()
                 .map(this::convertToSummary)
@@ -0,0 +1,46 @@
+package com.tungstun.common.execution;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Runs Tomcat requests and the application task executor on virtual threads in the virtual {@link ExecutionMode}.<br>
+ * Requests mostly wait on JDBC, with a virtual thread per request these waits no longer occupy a worker of
+ * Tomcat's bounded pool. The amount of concurrent database work stays bounded by the connection pool.
+ * The application task executor is used for asynchronous MVC requests, {@code @Async} methods and asynchronous event listeners.<br>
+ * None of the application's request and scheduler code blocks inside {@code synchronized},
+ * which would pin a virtual thread to its carrier thread. Pinning by libraries can be traced by starting
+ * the JVM with {@code -Djdk.tracePinnedThreads=short}.
+ */
+@Configuration
+public class ExecutionConfig {
+    private final ExecutionSettings settings;
+
+    public ExecutionConfig(ExecutionSettings settings) {
+        this.settings = settings;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (settings.isVirtual()) {
+                protocolHandler.setExecutor(settings.threadPerTaskExecutor("http-"));
+            }
+        };
+    }
+
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        if (settings.isVirtual()) {
+            return new TaskExecutorAdapter(settings.threadPerTaskExecutor("task-"));
+        }
+        return builder.build();
+    }
+}
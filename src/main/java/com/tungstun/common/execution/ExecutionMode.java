@@ -0,0 +1,11 @@
+package com.tungstun.common.execution;
+
+/**
+ * Kind of threads used to handle requests and asynchronous work.
+ */
+public enum ExecutionMode {
+    /** Pooled operating system threads, the default of Tomcat and Spring */
+    PLATFORM,
+    /** A new virtual thread per task, requires Java 21 or higher */
+    VIRTUAL
+}
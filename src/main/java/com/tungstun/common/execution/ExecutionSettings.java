@@ -0,0 +1,62 @@
+package com.tungstun.common.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Mode of the threads that handle requests and asynchronous work,
+ * set with {@code com.tungstun.bartap.execution.mode} ({@code platform} or {@code virtual}).<br>
+ * The virtual mode falls back to platform threads when the JVM does not support virtual threads.
+ */
+@Component
+public class ExecutionSettings {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionSettings.class);
+
+    private final ExecutionMode mode;
+
+    public ExecutionSettings(@Value("${com.tungstun.bartap.execution.mode:platform}") ExecutionMode mode) {
+        if (mode == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+            LOG.warn("Virtual threads are not supported by Java {}, falling back to platform threads", Runtime.version().feature());
+            mode = ExecutionMode.PLATFORM;
+        }
+        this.mode = mode;
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public boolean isVirtual() {
+        return mode == ExecutionMode.VIRTUAL;
+    }
+
+    /**
+     * Factory for the threads of a scheduler or executor of the application.
+     * Platform threads are daemon threads, so they never keep the application from stopping.
+     */
+    public ThreadFactory threadFactory(String prefix) {
+        if (isVirtual()) {
+            return VirtualThreads.factory(prefix);
+        }
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    /**
+     * Executor that starts a new thread for every task, only meant for virtual threads.
+     */
+    public Executor threadPerTaskExecutor(String prefix) {
+        if (!isVirtual()) {
+            throw new IllegalStateException("A thread per task executor requires virtual threads");
+        }
+        ThreadFactory factory = threadFactory(prefix);
+        return task -> factory.newThread(task).start();
+    }
+}
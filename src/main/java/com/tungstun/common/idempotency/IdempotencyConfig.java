@@ -0,0 +1,38 @@
+package com.tungstun.common.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configures the {@link IdempotencyStore} of requests with an {@code Idempotency-Key} header.<br>
+ * Keys are kept in memory by default, set {@code com.tungstun.bartap.idempotency.store} to {@code jdbc}
+ * to share them between instances through the {@code idempotent_request} table.
+ * Keys expire after {@code com.tungstun.bartap.idempotency.ttl}, the in-memory store holds at most
+ * {@code com.tungstun.bartap.idempotency.size} keys. A key that is reserved but never completed can be taken over
+ * after {@code com.tungstun.bartap.idempotency.lease}, which should be longer than handling a request takes.
+ */
+@Configuration
+public class IdempotencyConfig {
+    @Value("${com.tungstun.bartap.idempotency.ttl:24h}")
+    private Duration timeToLive;
+    @Value("${com.tungstun.bartap.idempotency.lease:30s}")
+    private Duration lease;
+
+    @Bean
+    @ConditionalOnProperty(name = "com.tungstun.bartap.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${com.tungstun.bartap.idempotency.size:10000}") int maxSize) {
+        return new InMemoryIdempotencyStore(maxSize, timeToLive, lease, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "com.tungstun.bartap.idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate, timeToLive, lease, Clock.systemUTC());
+    }
+}
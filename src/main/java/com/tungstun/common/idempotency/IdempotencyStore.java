@@ -0,0 +1,27 @@
+package com.tungstun.common.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Store of the results of requests made with an {@code Idempotency-Key} header.<br>
+ * A key is reserved before the request is handled and completed with its result afterwards.
+ * Keys expire after the configured time to live, after which they can be used again.
+ * A reservation that is not completed within the configured lease, because completing it failed or its instance
+ * stopped, can be taken over by another request with the same key.
+ */
+public interface IdempotencyStore {
+    /**
+     * Reserves the key for the request with the given fingerprint.
+     * Returns false when the key is already completed and not yet expired, or reserved and its lease has not yet passed.
+     */
+    boolean reserve(String key, String fingerprint);
+
+    Optional<IdempotentResult> find(String key);
+
+    void complete(String key, String result);
+
+    /**
+     * Removes the reservation of a request that failed, so it can be retried with the same key.
+     */
+    void release(String key);
+}
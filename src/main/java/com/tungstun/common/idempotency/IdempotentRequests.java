@@ -0,0 +1,102 @@
+package com.tungstun.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tungstun.exception.IdempotencyKeyInUseException;
+import com.tungstun.exception.IdempotencyKeyMismatchException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Handles commands sent with an {@code Idempotency-Key} header at most once.<br>
+ * A retried request with the same key gets the stored result of the first request,
+ * without the command being handled again. The command itself is the fingerprint of the request,
+ * a key that is reused for another command is rejected. A key of a request that is still being handled
+ * is rejected as well, a request that failed releases its key so it can be retried.
+ * Keys are scoped to the authenticated user, so users cannot replay or block each other's requests.
+ * When the result cannot be stored, the request still gets its result and the reservation is left to its lease.
+ * Requests without the header are handled as usual.
+ */
+@Component
+public class IdempotentRequests {
+    public static final String HEADER = "Idempotency-Key";
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotentRequests.class);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public IdempotentRequests(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T execute(String key, Object command, Class<T> resultType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String storedKey = scoped(key);
+        String fingerprint = command.toString();
+        if (!store.reserve(storedKey, fingerprint)) {
+            return replay(storedKey, key, fingerprint, resultType);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            store.release(storedKey);
+            throw e;
+        }
+        try {
+            store.complete(storedKey, write(result));
+        } catch (RuntimeException e) {
+            LOG.warn("Result of request with idempotency key '{}' could not be stored", key, e);
+        }
+        return result;
+    }
+
+    public void execute(String key, Object command, Runnable action) {
+        execute(key, command, Void.class, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static String scoped(String key) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String user = authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? ""
+                : authentication.getName();
+        return user + ":" + key;
+    }
+
+    private <T> T replay(String storedKey, String key, String fingerprint, Class<T> resultType) {
+        IdempotentResult stored = store.find(storedKey)
+                .orElseThrow(() -> new IdempotencyKeyInUseException(String.format("Request with idempotency key '%s' is still being handled", key)));
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(String.format("Idempotency key '%s' was already used for another request", key));
+        }
+        if (!stored.isCompleted()) {
+            throw new IdempotencyKeyInUseException(String.format("Request with idempotency key '%s' is still being handled", key));
+        }
+        try {
+            return objectMapper.readValue(stored.result(), resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored result of idempotency key cannot be read", e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Result of idempotent request cannot be stored", e);
+        }
+    }
+}
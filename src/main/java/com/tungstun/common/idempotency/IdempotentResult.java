@@ -0,0 +1,11 @@
+package com.tungstun.common.idempotency;
+
+/**
+ * Fingerprint of the request that reserved a key and its result as JSON,
+ * the result is null while the request is still being handled.
+ */
+public record IdempotentResult(String fingerprint, String result) {
+    public boolean isCompleted() {
+        return result != null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.tungstun.common.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Idempotency store of a single instance, holding at most the configured amount of keys.
+ * When full, the oldest key is evicted first.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private record Entry(String fingerprint, String result, Instant reservedUntil, Instant expiresAt) {
+    }
+
+    private final Duration timeToLive;
+    private final Duration lease;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(int maxSize, Duration timeToLive, Duration lease, Clock clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Store size cannot be negative");
+        }
+        this.timeToLive = timeToLive;
+        this.lease = lease;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized boolean reserve(String key, String fingerprint) {
+        Instant now = clock.instant();
+        Entry entry = get(key);
+        if (entry != null && (entry.result() != null || entry.reservedUntil().isAfter(now))) return false;
+        entries.put(key, new Entry(fingerprint, null, now.plus(lease), now.plus(timeToLive)));
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResult> find(String key) {
+        return Optional.ofNullable(get(key))
+                .map(entry -> new IdempotentResult(entry.fingerprint(), entry.result()));
+    }
+
+    @Override
+    public synchronized void complete(String key, String result) {
+        entries.computeIfPresent(key, (k, entry) -> entry.result() != null
+                ? entry
+                : new Entry(entry.fingerprint(), result, entry.reservedUntil(), entry.expiresAt()));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    private Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
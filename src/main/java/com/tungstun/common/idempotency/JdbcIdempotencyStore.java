@@ -0,0 +1,80 @@
+package com.tungstun.common.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency store shared by all instances, kept in the {@code idempotent_request} table.<br>
+ * The primary key on the key makes sure only one instance reserves it. Expired keys are deleted
+ * by the reservations, at most once per {@link #PURGE_INTERVAL}, which keeps the table bounded by the time to live.
+ * A reservation without result is deleted once its {@code reserved_until} has passed, so the key can be reserved again.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration timeToLive;
+    private final Duration lease;
+    private final Clock clock;
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration timeToLive, Duration lease, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeToLive = timeToLive;
+        this.lease = lease;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean reserve(String key, String fingerprint) {
+        Instant now = clock.instant();
+        purgeExpired(now);
+        jdbcTemplate.update(
+                "delete from idempotent_request where idempotency_key = ? and (expires_at <= ? or (result is null and reserved_until <= ?))",
+                key, Timestamp.from(now), Timestamp.from(now)
+        );
+        try {
+            jdbcTemplate.update(
+                    "insert into idempotent_request (idempotency_key, fingerprint, reserved_until, expires_at) values (?, ?, ?, ?)",
+                    key, fingerprint, Timestamp.from(now.plus(lease)), Timestamp.from(now.plus(timeToLive))
+            );
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<IdempotentResult> find(String key) {
+        return jdbcTemplate.query(
+                "select fingerprint, result from idempotent_request where idempotency_key = ? and expires_at > ?",
+                (rs, rowNum) -> new IdempotentResult(rs.getString("fingerprint"), rs.getString("result")),
+                key, Timestamp.from(clock.instant())
+        ).stream().findFirst();
+    }
+
+    @Override
+    public void complete(String key, String result) {
+        jdbcTemplate.update("update idempotent_request set result = ? where idempotency_key = ? and result is null", result, key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotent_request where idempotency_key = ?", key);
+    }
+
+    private void purgeExpired(Instant now) {
+        long last = lastPurge.get();
+        if (now.toEpochMilli() - last < PURGE_INTERVAL.toMillis() || !lastPurge.compareAndSet(last, now.toEpochMilli())) {
+            return;
+        }
+        jdbcTemplate.update("delete from idempotent_request where expires_at <= ?", Timestamp.from(now));
+    }
+}
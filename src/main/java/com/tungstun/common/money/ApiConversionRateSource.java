@@ -0,0 +1,32 @@
+package com.tungstun.common.money;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the latest conversion rates from the exchange rates api.
+ */
+public class ApiConversionRateSource implements ConversionRateSource {
+    private static final int TIMEOUT_IN_MILLISECONDS = 10_000;
+
+    private final ConversionApiDetails apiDetails;
+
+    public ApiConversionRateSource(ConversionApiDetails apiDetails) {
+        this.apiDetails = apiDetails;
+    }
+
+    @Override
+    public ConversionRates fetch() throws IOException {
+        HttpURLConnection request = (HttpURLConnection) apiDetails.getUrl().openConnection();
+        request.setConnectTimeout(TIMEOUT_IN_MILLISECONDS);
+        request.setReadTimeout(TIMEOUT_IN_MILLISECONDS);
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return ConversionRatesJson.parse(reader);
+        } finally {
+            request.disconnect();
+        }
+    }
+}
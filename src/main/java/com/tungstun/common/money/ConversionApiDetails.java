@@ -11,15 +11,19 @@ import java.net.URL;
 * */
 @Configuration
 public class ConversionApiDetails {
-    private static final String BASE_URL = "https://api.apilayer.com/exchangerates_data/latest";
+    private static final String BASE_URL = "https://api.apilayer.com/exchangerates_data";
     private static final String VERSION = "latest";
 
-    @Value("{com.tungstun.bartap.currency.conversion.api-key}")
+    @Value("${com.tungstun.bartap.currency.conversion.api-key:}")
     private String apiKey;
-    @Value("{com.tungstun.bartap.currency.conversion.base:EUR}")
+    @Value("${com.tungstun.bartap.currency.conversion.base:EUR}")
     private String baseCurrency;
     @Value("${com.tungstun.bartap.currency.conversion.apiUpdateDelay:86400000}")
     private Integer updateDelayInMilliseconds;
+    @Value("${com.tungstun.bartap.currency.conversion.apiRetryDelay:60000}")
+    private Integer retryDelayInMilliseconds;
+    @Value("${com.tungstun.bartap.currency.conversion.fallback-rates:classpath:currency/conversion-rates.json}")
+    private String fallbackRatesLocation;
 
     /**
      * URL used for the conversion rate api.<br>
@@ -35,4 +39,19 @@ public class ConversionApiDetails {
     public Integer getUpdateDelay() {
         return updateDelayInMilliseconds;
     }
+
+    /**
+     * Initial delay before retrying a failed update, doubled after every consecutive failure
+     * up to the regular update delay.<br>
+     * */
+    public Integer getRetryDelay() {
+        return retryDelayInMilliseconds;
+    }
+
+    /**
+     * Location of the local conversion rates used until the api has been reached.<br>
+     * */
+    public String getFallbackRatesLocation() {
+        return fallbackRatesLocation;
+    }
 }
@@ -0,0 +1,10 @@
+package com.tungstun.common.money;
+
+import java.io.IOException;
+
+/**
+ * Source that can provide a snapshot of the latest known conversion rates.
+ */
+public interface ConversionRateSource {
+    ConversionRates fetch() throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.tungstun.common.money;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable snapshot of conversion rates relative to a single base currency.<br>
+ * Cross-rates between two currencies are computed once per snapshot and cached,
+ * so repeated conversions only cost a lookup and a multiplication.
+ */
+public final class ConversionRates {
+    private final String base;
+    private final Map<String, BigDecimal> rates;
+    private final Instant timestamp;
+    private final Map<String, Map<String, BigDecimal>> crossRates = new ConcurrentHashMap<>();
+
+    public ConversionRates(String base, Map<String, BigDecimal> rates, Instant timestamp) {
+        this.base = base;
+        this.rates = Map.copyOf(rates);
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Rate to multiply an amount in currency {@code from} with to get the amount in currency {@code to}.
+     *
+     * @throws IllegalArgumentException if no rate is known for one of the currencies
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        if (from.equals(to)) return BigDecimal.ONE;
+        return crossRates.computeIfAbsent(from.code(), code -> new ConcurrentHashMap<>())
+                .computeIfAbsent(to.code(), code -> requireRate(code).divide(requireRate(from.code()), MathContext.DECIMAL64));
+    }
+
+    public Money convert(Money money, Currency currency) {
+        return new Money(money.amount().multiply(rate(money.currency(), currency)), currency);
+    }
+
+    /**
+     * Conversion function that resolves the rate once and only multiplies for every converted value.
+     */
+    public UnaryOperator<Money> converter(Currency from, Currency to) {
+        BigDecimal rate = rate(from, to);
+        return money -> money.currency().equals(from)
+                ? new Money(money.amount().multiply(rate), to)
+                : convert(money, to);
+    }
+
+    private BigDecimal requireRate(String code) {
+        BigDecimal rate = rates.get(code);
+        if (rate == null) {
+            throw new IllegalArgumentException(String.format("No conversion rate known for currency '%s'", code));
+        }
+        return rate;
+    }
+
+    public String base() {
+        return base;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public int size() {
+        return rates.size();
+    }
+
+    int cachedCrossRates() {
+        return crossRates.values().stream().mapToInt(Map::size).sum();
+    }
+}
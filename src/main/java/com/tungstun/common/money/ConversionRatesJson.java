@@ -0,0 +1,38 @@
+package com.tungstun.common.money;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses conversion rates in the format of the exchange rates api.<br>
+ * See the api <a href="https://exchangeratesapi.io/documentation/">documentation</a>.
+ */
+final class ConversionRatesJson {
+    private ConversionRatesJson() {
+    }
+
+    static ConversionRates parse(Reader reader) throws IOException {
+        JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+        if (json.has("success") && !json.get("success").getAsBoolean()) {
+            JsonObject error = json.getAsJsonObject("error");
+            throw new IOException(String.format("API error: code: %s. Message: %s.", error.get("code"), error.get("info")));
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("rates").entrySet()) {
+            rates.put(entry.getKey(), entry.getValue().getAsBigDecimal());
+        }
+        Instant timestamp = json.has("timestamp")
+                ? Instant.ofEpochSecond(json.get("timestamp").getAsLong())
+                : Instant.now();
+        return new ConversionRates(json.get("base").getAsString(), rates, timestamp);
+    }
+}
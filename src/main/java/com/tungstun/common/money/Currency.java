@@ -2,6 +2,7 @@ package com.tungstun.common.money;
 
 import javax.persistence.Column;
 import javax.persistence.Embeddable;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -23,6 +24,18 @@ public class Currency implements Comparable<Currency> {
         this.code = code;
     }
 
+    /**
+     * Creates the currency for an ISO 4217 currency code. (e.g. 'EUR' for the euro)
+     */
+    public static Currency of(String code) {
+        try {
+            java.util.Currency currency = java.util.Currency.getInstance(code.strip().toUpperCase(Locale.ROOT));
+            return new Currency(currency.getSymbol(Locale.US), currency.getCurrencyCode());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not an existing currency code", code), e);
+        }
+    }
+
     public String symbol() {
         return symbol;
     }
@@ -1,8 +1,52 @@
 package com.tungstun.common.money;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
 /**
  * Interface used to convert money to another currency.
  * */
 public interface CurrencyConverter {
     Money convert(Money money, Currency currency);
+
+    /**
+     * Conversion function from one currency to another.<br>
+     * Implementations may resolve the conversion rate once, so the function can be reused for many values.
+     * */
+    default UnaryOperator<Money> converter(Currency from, Currency to) {
+        return money -> convert(money, to);
+    }
+
+    /**
+     * Conversion function to the given currency that accepts money in any currency.<br>
+     * The conversion for every source currency is resolved once and reused for subsequent values.
+     * The returned function is not thread-safe and is meant to be used for a single batch.
+     * */
+    default UnaryOperator<Money> converterTo(Currency currency) {
+        Map<Currency, UnaryOperator<Money>> conversions = new HashMap<>();
+        return money -> conversions.computeIfAbsent(money.currency(), from -> converter(from, currency))
+                .apply(money);
+    }
+
+    /**
+     * Conversion function to the given currency, like {@link #converterTo(Currency)},
+     * that resolves the conversion for the given source currencies right away.<br>
+     * A missing conversion rate fails when the function is created instead of when a value is converted,
+     * which matters for responses that are converted while they are written.
+     * */
+    default UnaryOperator<Money> converterTo(Currency currency, Collection<Currency> sources) {
+        Map<Currency, UnaryOperator<Money>> conversions = new HashMap<>();
+        sources.forEach(from -> conversions.computeIfAbsent(from, source -> converter(source, currency)));
+        return money -> conversions.computeIfAbsent(money.currency(), from -> converter(from, currency))
+                .apply(money);
+    }
+
+    default List<Money> convertAll(Collection<Money> money, Currency currency) {
+        return money.stream()
+                .map(converterTo(currency))
+                .toList();
+    }
 }
@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.util.function.UnaryOperator;
+
 /**
  * Mock currency converter for use in development runtime.<br>
  * Convert() returns the same value in the specified currency.
@@ -17,4 +19,9 @@ public class MockCurrencyConverter implements CurrencyConverter {
     public Money convert(Money money, Currency currency) {
         return new Money(money.amount(), currency);
     }
+
+    @Override
+    public UnaryOperator<Money> converter(Currency from, Currency to) {
+        return money -> new Money(money.amount(), to);
+    }
 }
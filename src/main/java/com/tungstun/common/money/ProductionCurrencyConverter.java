@@ -1,97 +1,141 @@
 package com.tungstun.common.money;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.reflect.TypeToken;
+import com.tungstun.common.execution.ExecutionSettings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
-import java.math.BigDecimal;
-import java.net.HttpURLConnection;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Production currency converter for use in production deploys.<br>
- * Converter loads the latest currency conversion rates and stores them for local conversion.<br>
+ * Converter keeps an immutable snapshot of the latest currency conversion rates for local conversion.
+ * The snapshot is initially loaded from a local fallback source and refreshed from the api on a scheduler.<br>
  * Rates get updated daily by default, but can be changed in the {@code ConversionApiDetails}.
- * {@code Convert()} returns the same value in the specified currency.<br>
+ * Failed updates are retried with an exponential backoff and never stop the refreshing.<br>
  * */
 @Component
 @Scope(value = ConfigurableBeanFactory.SCOPE_SINGLETON)
 @Profile("prod")
-public class ProductionCurrencyConverter implements CurrencyConverter {
+public class ProductionCurrencyConverter implements CurrencyConverter, MeterBinder {
     private static final Logger LOG = LoggerFactory.getLogger(ProductionCurrencyConverter.class);
 
-    private final ConversionApiDetails apiDetails;
-    private Map<String, Double> conversionRates= new HashMap<>();
+    private final ConversionRateSource source;
+    private final ConversionRateSource fallbackSource;
+    private final TaskScheduler scheduler;
+    private final Duration updateDelay;
+    private final Duration retryDelay;
+    private final AtomicReference<ConversionRates> rates = new AtomicReference<>();
+    private int consecutiveFailures;
 
-    public ProductionCurrencyConverter(ConversionApiDetails apiDetails) {
-        this.apiDetails = apiDetails;
-        new AsyncConversionRateUpdater(0, this);
+    @Autowired
+    public ProductionCurrencyConverter(ConversionApiDetails apiDetails, ResourceLoader resourceLoader, ExecutionSettings executionSettings) {
+        this(
+                new ApiConversionRateSource(apiDetails),
+                new ResourceConversionRateSource(resourceLoader.getResource(apiDetails.getFallbackRatesLocation())),
+                createScheduler(executionSettings.threadFactory("conversion-rates-")),
+                Duration.ofMillis(apiDetails.getUpdateDelay()),
+                Duration.ofMillis(apiDetails.getRetryDelay())
+        );
     }
 
-    @Override
-    public Money convert(Money money, Currency currency) {
-        double moneyConversionRate = conversionRates.get(money.currency().code());
-        double newCurrencyConversionRate = conversionRates.get(currency.code());
-        BigDecimal value =  money.amount()
-                .multiply(BigDecimal.valueOf(1 / moneyConversionRate))
-                .multiply(BigDecimal.valueOf(newCurrencyConversionRate));
-        return new Money(value, currency);
+    public ProductionCurrencyConverter(ConversionRateSource source, ConversionRateSource fallbackSource, TaskScheduler scheduler, Duration updateDelay, Duration retryDelay) {
+        this.source = source;
+        this.fallbackSource = fallbackSource;
+        this.scheduler = scheduler;
+        this.updateDelay = updateDelay;
+        this.retryDelay = retryDelay;
     }
 
-    private void updateConversionRates() throws IOException {
-        HttpURLConnection request = (HttpURLConnection) apiDetails.getUrl().openConnection();
-        request.connect();
-        JsonElement root = JsonParser.parseReader(new InputStreamReader((InputStream) request.getContent()));
-        JsonObject json = root.getAsJsonObject();
+    private static ThreadPoolTaskScheduler createScheduler(ThreadFactory threadFactory) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadFactory(threadFactory);
+        scheduler.initialize();
+        return scheduler;
+    }
 
-        if (json.get("success").getAsBoolean()) {
-            handleSuccess(json);
-        } else {
-            logError(json);
+    @PostConstruct
+    public void start() {
+        try {
+            rates.compareAndSet(null, fallbackSource.fetch());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not load fallback conversion rates: {}", e.getMessage());
         }
+        scheduler.schedule(this::refresh, Instant.now());
     }
 
-    private void logError(JsonObject json) {
-        JsonObject errorBody = (JsonObject) json.get("error");
-        LOG.warn("API error: code: {}. Message: {}}.",
-                errorBody.get("code").getAsInt(),
-                errorBody.get("info").getAsString());
+    @PreDestroy
+    public void stop() {
+        if (scheduler instanceof ThreadPoolTaskScheduler threadPoolTaskScheduler) {
+            threadPoolTaskScheduler.shutdown();
+        }
     }
 
-    private void handleSuccess(JsonObject json) {
-        JsonObject conversionsJson = json.get("rates").getAsJsonObject();
-        Type doubleMapType = new TypeToken<Map<String, Double>>() {
-        }.getType();
-        conversionRates = new Gson().fromJson(conversionsJson, doubleMapType);
+    @Override
+    public Money convert(Money money, Currency currency) {
+        return currentRates().convert(money, currency);
+    }
 
-        new AsyncConversionRateUpdater(apiDetails.getUpdateDelay(), this);
+    @Override
+    public UnaryOperator<Money> converter(Currency from, Currency to) {
+        return currentRates().converter(from, to);
     }
 
-    private record AsyncConversionRateUpdater(int interval, ProductionCurrencyConverter currencyConverter) implements Runnable {
-        private AsyncConversionRateUpdater {
-            new Thread(this).start();
+    ConversionRates currentRates() {
+        ConversionRates snapshot = rates.get();
+        if (snapshot == null) {
+            throw new IllegalStateException("No conversion rates have been loaded yet");
         }
+        return snapshot;
+    }
 
-        public void run() {
-            try {
-                Thread.sleep(interval);
-                currencyConverter.updateConversionRates();
-            } catch (InterruptedException | IOException e) {
-                Thread.currentThread().interrupt();
-            }
+    void refresh() {
+        Duration nextDelay;
+        try {
+            rates.set(source.fetch());
+            consecutiveFailures = 0;
+            nextDelay = updateDelay;
+        } catch (IOException | RuntimeException e) {
+            consecutiveFailures++;
+            nextDelay = backoffDelay();
+            LOG.warn("Updating conversion rates failed ({} times in a row), retrying in {}: {}",
+                    consecutiveFailures, nextDelay, e.getMessage());
         }
+        scheduler.schedule(this::refresh, Instant.now().plus(nextDelay));
+    }
+
+    private Duration backoffDelay() {
+        int exponent = Math.min(consecutiveFailures - 1, 30);
+        Duration delay = retryDelay.multipliedBy(1L << exponent);
+        return delay.compareTo(updateDelay) > 0 ? updateDelay : delay;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bartap.cache.size", rates, ref -> ref.get() == null ? 0 : ref.get().size())
+                .description("Amount of entries in an in-memory cache")
+                .tag("cache", "conversion-rates")
+                .register(registry);
+        Gauge.builder("bartap.cache.size", rates, ref -> ref.get() == null ? 0 : ref.get().cachedCrossRates())
+                .description("Amount of entries in an in-memory cache")
+                .tag("cache", "conversion-cross-rates")
+                .register(registry);
     }
 }
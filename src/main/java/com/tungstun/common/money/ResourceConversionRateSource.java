@@ -0,0 +1,27 @@
+package com.tungstun.common.money;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads conversion rates from a local file or classpath resource in the format of the exchange rates api.<br>
+ * Usable offline, as fallback for the api and in tests.
+ */
+public class ResourceConversionRateSource implements ConversionRateSource {
+    private final Resource resource;
+
+    public ResourceConversionRateSource(Resource resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public ConversionRates fetch() throws IOException {
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return ConversionRatesJson.parse(reader);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.tungstun.common.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.*;
+
+/**
+ * Only registers the annotated component when the reactive read path is enabled
+ * with {@code com.tungstun.bartap.reactive.url}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(prefix = "com.tungstun.bartap.reactive", name = "url")
+public @interface ConditionalOnReactiveReads {
+}
@@ -0,0 +1,73 @@
+package com.tungstun.common.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Optional non-blocking read path for the listing and statistics endpoints of polling clients, like bar tablets.<br>
+ * Enabled by setting {@code com.tungstun.bartap.reactive.url} to an R2DBC url of the database,
+ * e.g. {@code r2dbc:postgresql://localhost:5432/bartap}. The endpoints then also answer requests that accept
+ * {@code application/x-ndjson} with a stream of results. Rows are read by the R2DBC driver's event loop,
+ * so waiting on the database does not hold a request thread. Rows are converted to responses on a
+ * small fixed pool of threads, so the event loop is never blocked by the conversion or by writing the response.<br>
+ * The database credentials are the {@code spring.datasource} credentials, unless {@code com.tungstun.bartap.reactive.username}
+ * and {@code password} are set. Writes and all other reads stay on JPA, the reactive path reads without transactions.
+ */
+@Configuration
+@ConditionalOnReactiveReads
+public class ReactiveReadConfig {
+    @Value("${com.tungstun.bartap.reactive.url}")
+    private String url;
+    @Value("${com.tungstun.bartap.reactive.username:#{null}}")
+    private String username;
+    @Value("${com.tungstun.bartap.reactive.password:#{null}}")
+    private String password;
+    @Value("${com.tungstun.bartap.reactive.pool.max-size:10}")
+    private int maxPoolSize;
+    @Value("${com.tungstun.bartap.reactive.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * The connection pool is deliberately not a bean, as a {@link ConnectionFactory} bean
+     * would make Spring Boot back off from configuring the JDBC data source of JPA.
+     */
+    @Bean
+    public DatabaseClient databaseClient(DataSourceProperties dataSourceProperties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username != null ? username : dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, password != null ? password : dataSourceProperties.determinePassword())
+                .build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive-read")
+                .initialSize(0)
+                .maxSize(maxPoolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) connectionPool.dispose();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler reactiveReadScheduler() {
+        return Schedulers.newParallel("reactive-read", threads, true);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tungstun.common.response;
+
+import com.tungstun.common.money.Money;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Conversions of a single response.<br>
+ * Remembers the converted values of entities that occur many times within one response,
+ * like the bartender of every order or the session of every bill, so each of them is converted and allocated once.
+ * It also holds the price conversion that applies to all prices of the response.<br>
+ * A context is not thread-safe and should not be used for more than one response.
+ */
+public class ConversionContext {
+    private final UnaryOperator<Money> priceConversion;
+    private final Map<Key, Object> conversions = new HashMap<>();
+
+    public ConversionContext() {
+        this(UnaryOperator.identity());
+    }
+
+    public ConversionContext(UnaryOperator<Money> priceConversion) {
+        this.priceConversion = priceConversion;
+    }
+
+    public Money convertPrice(Money price) {
+        return priceConversion.apply(price);
+    }
+
+    /**
+     * Returns the value of the given type that was converted earlier for the id,
+     * or converts it once with the given conversion.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Class<T> type, Object id, Supplier<T> conversion) {
+        Key key = new Key(type, id);
+        Object converted = conversions.get(key);
+        if (converted == null) {
+            converted = conversion.get();
+            conversions.put(key, converted);
+        }
+        return (T) converted;
+    }
+
+    private record Key(Class<?> type, Object id) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.tungstun.common.serialization;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Tunes the serialization of responses.<br>
+ * The {@link BlackbirdModule} replaces the reflective calls Jackson makes to the accessors of the response records
+ * with generated lambdas, which lowers the serialization CPU of large lists. It can be turned off by setting
+ * {@code com.tungstun.bartap.serialization.blackbird} to false.<br>
+ * The list endpoints of orders, order histories and products return their responses as a {@link java.util.stream.Stream},
+ * which is converted while it is written. Responses of at least {@code server.compression.min-response-size}
+ * are compressed with gzip by Tomcat when the client accepts it.<br>
+ * Clients like bar terminals can opt in to CBOR, a compact binary encoding of the same responses, by sending
+ * {@code Accept: application/cbor}. Request bodies can be sent as CBOR with {@code Content-Type: application/cbor}.
+ * JSON stays the default.
+ */
+@Configuration
+public class SerializationConfig {
+    @Bean
+    @ConditionalOnProperty(name = "com.tungstun.bartap.serialization.blackbird", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Replaces Spring's default CBOR converter with one that uses the object mapper settings and modules of the JSON responses,
+     * so both encodings contain the same fields in the same format.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,17 @@
+package com.tungstun.common.transaction;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Gives the transaction advisor an explicit order, so aspects around the command and query handlers
+ * can be ordered outside ({@link #OUTSIDE}) or inside ({@link #INSIDE}) of the handler's transaction.
+ */
+@Configuration
+@EnableTransactionManagement(proxyTargetClass = true, order = TransactionConfig.ORDER)
+public class TransactionConfig {
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+    public static final int OUTSIDE = ORDER - 1;
+    public static final int INSIDE = ORDER + 1;
+}
@@ -0,0 +1,7 @@
+package com.tungstun.exception;
+
+public class PersonAlreadyConnectedException extends IllegalStateException {
+    public PersonAlreadyConnectedException(String message) {
+        super(message);
+    }
+}
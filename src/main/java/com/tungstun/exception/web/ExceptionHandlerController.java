@@ -1,13 +1,19 @@
 package com.tungstun.exception.web;
 
 import com.sun.jdi.request.DuplicateRequestException;
+import com.tungstun.exception.DuplicateActiveSessionException;
+import com.tungstun.exception.IdempotencyKeyInUseException;
+import com.tungstun.exception.IdempotencyKeyMismatchException;
+import com.tungstun.exception.InvalidSessionStateException;
 import com.tungstun.exception.NotAuthenticatedException;
 import com.tungstun.exception.NotAuthorizedException;
+import com.tungstun.exception.PasswordHashingUnavailableException;
+import com.tungstun.exception.PersonAlreadyConnectedException;
 import com.tungstun.exception.UserNotFoundException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -21,7 +27,6 @@ import javax.security.auth.login.LoginException;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.nio.file.AccessDeniedException;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,36 +36,43 @@ import java.util.List;
 @ControllerAdvice
 @RestController
 public class ExceptionHandlerController extends ResponseEntityExceptionHandler {
-    private static final Logger LOG = LoggerFactory.getLogger(ExceptionHandlerController.class);
+    private final ExceptionReporter exceptionReporter;
+
+    public ExceptionHandlerController(ExceptionReporter exceptionReporter) {
+        this.exceptionReporter = exceptionReporter;
+    }
 
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     @ExceptionHandler(value = {NotAuthenticatedException.class})
     public ExceptionResponse handleNotAuthenticatedExceptions(NotAuthenticatedException e) {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.UNAUTHORIZED);
         return ExceptionResponse.with("User not authenticated", e.getLocalizedMessage());
     }
 
     @ExceptionHandler(value = {NotAuthorizedException.class, AccessDeniedException.class})
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ExceptionResponse handleNotAuthorizedExceptions(RuntimeException e) {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.FORBIDDEN);
         return ExceptionResponse.with("User not authorized for action or resource", e.getLocalizedMessage());
     }
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(value = {EntityNotFoundException.class,})
     public ExceptionResponse mainHandler(Exception e) {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.NOT_FOUND);
         return ExceptionResponse.with("Error", e.getLocalizedMessage());
     }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(value = {
             InvalidAttributesException.class,
-            DuplicateRequestException.class
+            DuplicateRequestException.class,
+            DuplicateActiveSessionException.class,
+            InvalidSessionStateException.class,
+            PersonAlreadyConnectedException.class
     })
     public ExceptionResponse invalidArgsHandler(RuntimeException e) {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("Error", e.getLocalizedMessage());
     }
 
@@ -71,45 +83,85 @@ public class ExceptionHandlerController extends ResponseEntityExceptionHandler {
                 .stream()
                 .map(ConstraintViolation::getMessage)
                 .toList();
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("Incorrect input", violationMessages);
     }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(value = {UserNotFoundException.class})
     public ExceptionResponse handleUserNotFoundException(UserNotFoundException e) {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("User not found", e.getLocalizedMessage());
     }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(value = {LoginException.class})
     public ExceptionResponse handleLoginException(LoginException e) {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("Login failed", e.getLocalizedMessage());
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(value = {IdempotencyKeyInUseException.class})
+    public ExceptionResponse handleIdempotencyKeyInUseException(IdempotencyKeyInUseException e) {
+        exceptionReporter.expected(e, HttpStatus.CONFLICT);
+        return ExceptionResponse.with("Request in progress", e.getLocalizedMessage());
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(value = {IdempotencyKeyMismatchException.class})
+    public ExceptionResponse handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException e) {
+        exceptionReporter.expected(e, HttpStatus.UNPROCESSABLE_ENTITY);
+        return ExceptionResponse.with("Idempotency key reused", e.getLocalizedMessage());
+    }
 
+    @ExceptionHandler(value = {PasswordHashingUnavailableException.class})
+    public ResponseEntity<ExceptionResponse> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException e) {
+        exceptionReporter.expected(e, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ExceptionResponse.with("Service busy", e.getLocalizedMessage()));
+    }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(value = {DataIntegrityViolationException.class})
     public ExceptionResponse handleConstraintViolations(DataIntegrityViolationException e) {
-        LOG.error(Arrays.toString(e.getStackTrace()));
+        exceptionReporter.unexpected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("Incorrect input", List.of("Something went wrong during persistence"));
     }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(value = {AccountException.class})
     public ExceptionResponse handleAccountException(AccountException e) {
-        LOG.error(Arrays.toString(e.getStackTrace()));
+        exceptionReporter.expected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("Account exception", e.getLocalizedMessage());
     }
 
+    /**
+     * Thrown for invalid input, like an unknown currency code or an amount below zero.
+     */
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = {IllegalArgumentException.class})
+    public ExceptionResponse handleIllegalArgumentException(IllegalArgumentException e) {
+        exceptionReporter.expected(e, HttpStatus.BAD_REQUEST);
+        return ExceptionResponse.with("Incorrect input", e.getLocalizedMessage());
+    }
+
+    /**
+     * Thrown when the application itself is not in a usable state, like conversion rates that were never loaded.
+     * States of the domain that do not allow an action have their own exception types.
+     */
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    @ExceptionHandler(value = {IllegalStateException.class})
+    public ExceptionResponse handleIllegalStateException(IllegalStateException e) {
+        exceptionReporter.unexpected(e, HttpStatus.INTERNAL_SERVER_ERROR);
+        return ExceptionResponse.with("Unexpected error", List.of("Something went wrong while handling the request"));
+    }
 
     @ExceptionHandler(value = {Exception.class, RuntimeException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
     public ExceptionResponse handleRuntimeException(RuntimeException e) {
-        e.printStackTrace();
+        exceptionReporter.unexpected(e, HttpStatus.CONFLICT);
         return ExceptionResponse.with("Unexpected error", e.getMessage());
     }
 }
@@ -0,0 +1,76 @@
+package com.tungstun.exception.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts and logs the exceptions that are answered with an error response.<br>
+ * Every exception is counted in the {@code bartap.exceptions} metric, tagged by exception type and status.
+ * Expected exceptions, like a missing entity or an expired token, are logged as a single structured line without
+ * stack trace, and only the first and then every {@code com.tungstun.bartap.exceptions.log-sample-rate}th occurrence
+ * of each exception type and status. Unexpected exceptions are always logged with their stack trace.<br>
+ * Its logger writes through an asynchronous appender that drops lines instead of blocking when its queue is full,
+ * see {@code logback-spring.xml}, so a burst of errors never makes request threads wait on the console.
+ */
+@Component
+public class ExceptionReporter {
+    private static final Logger LOG = LoggerFactory.getLogger(ExceptionReporter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long sampleRate;
+    private final Map<Key, Occurrences> occurrences = new ConcurrentHashMap<>();
+
+    public ExceptionReporter(MeterRegistry meterRegistry,
+                             @Value("${com.tungstun.bartap.exceptions.log-sample-rate:100}") long sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    public void expected(Throwable e, HttpStatus status) {
+        long count = occurrences(e, status, true).increment();
+        if ((count - 1) % sampleRate == 0) {
+            LOG.info("exception={} status={} occurrences={} message=\"{}\"",
+                    e.getClass().getSimpleName(), status.value(), count, e.getMessage());
+        }
+    }
+
+    public void unexpected(Throwable e, HttpStatus status) {
+        long count = occurrences(e, status, false).increment();
+        LOG.error("exception={} status={} occurrences={} message=\"{}\"",
+                e.getClass().getSimpleName(), status.value(), count, e.getMessage(), e);
+    }
+
+    private Occurrences occurrences(Throwable e, HttpStatus status, boolean expected) {
+        return occurrences.computeIfAbsent(new Key(e.getClass(), status, expected), key -> new Occurrences(
+                Counter.builder("bartap.exceptions")
+                        .description("Exceptions answered with an error response")
+                        .tag("exception", key.type().getSimpleName())
+                        .tag("status", String.valueOf(key.status().value()))
+                        .tag("expected", String.valueOf(key.expected()))
+                        .register(meterRegistry)
+        ));
+    }
+
+    private record Key(Class<?> type, HttpStatus status, boolean expected) {
+    }
+
+    private record Occurrences(Counter counter, AtomicLong count) {
+        Occurrences(Counter counter) {
+            this(counter, new AtomicLong());
+        }
+
+        long increment() {
+            counter.increment();
+            return count.incrementAndGet();
+        }
+    }
+}
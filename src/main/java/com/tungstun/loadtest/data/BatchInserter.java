@@ -0,0 +1,46 @@
+package com.tungstun.loadtest.data;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers rows per insert statement and writes them with JDBC batch updates.<br>
+ * Buffers are flushed in the order their statements were first used, so rows of parent tables
+ * are always written before the rows referencing them.
+ */
+class BatchInserter {
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<String, List<Object[]>> buffers = new LinkedHashMap<>();
+    private final Map<String, Long> insertedRows = new LinkedHashMap<>();
+
+    BatchInserter(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    void insert(String table, String sql, Object... row) {
+        List<Object[]> buffer = buffers.computeIfAbsent(sql, key -> new ArrayList<>(batchSize));
+        buffer.add(row);
+        insertedRows.merge(table, 1L, Long::sum);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() {
+        buffers.forEach((sql, rows) -> {
+            if (rows.isEmpty()) return;
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        });
+    }
+
+    Map<String, Long> getInsertedRows() {
+        return insertedRows;
+    }
+}
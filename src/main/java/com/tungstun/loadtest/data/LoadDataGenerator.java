@@ -0,0 +1,198 @@
+package com.tungstun.loadtest.data;
+
+import com.tungstun.barapi.domain.bill.OrderHistoryType;
+import com.tungstun.barapi.domain.product.ProductType;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.Money;
+import com.tungstun.security.domain.user.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Fills the database with generated bars, people, products, sessions, bills and orders for load tests.<br>
+ * Rows are written directly with batched JDBC inserts, one transaction per bar.
+ * Orders are skewed like in a real bar: a few products and regulars account for most orders.<br>
+ * Run with the {@value PROFILE} profile, e.g. {@code mvn spring-boot:run -Dspring-boot.run.profiles=generate-data}.
+ * Every bar gets an owner that can log in with {@link LoadDataSettings#getUsername(int)} and the configured password.
+ * */
+@Component
+@Profile(LoadDataGenerator.PROFILE)
+public class LoadDataGenerator implements ApplicationRunner {
+    public static final String PROFILE = "generate-data";
+    private static final Logger LOG = LoggerFactory.getLogger(LoadDataGenerator.class);
+
+    private static final String INSERT_USER = "insert into \"user\" (id, created_on, username, password, mail, first_name, last_name, phone_number, authorization_version) values (?, ?, ?, ?, ?, ?, ?, ?, 1)";
+    private static final String INSERT_BAR = "insert into bar (id, deleted, name, address, mail, phone_number, change_version) values (?, false, ?, ?, ?, ?, 0)";
+    private static final String INSERT_PERSON = "insert into person (id, name, \"user_id\", bar_id) values (?, ?, ?, ?)";
+    private static final String INSERT_AUTHORIZATION = "insert into \"authorization\" (id, bar_id, role, person_id) values (?, ?, ?, ?)";
+    private static final String INSERT_USER_AUTHORIZATION = "insert into \"user_authorizations\" (\"user_id\", \"authorizations_id\") values (?, ?)";
+    private static final String INSERT_CATEGORY = "insert into category (id, deleted, name, bar_id) values (?, false, ?, ?)";
+    private static final String INSERT_PRODUCT = "insert into product (id, deleted, name, brand, size, is_favorite, type, category_id, bar_id) values (?, false, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRICE = "insert into price (id, money_amount, currency_code, currency_symbol, from_date, to_date) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_PRICE = "insert into product_price (product_id, price_id) values (?, ?)";
+    private static final String INSERT_SESSION = "insert into session (id, deleted, name, creation_date, end_date, locked, bar_id) values (?, false, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BILL = "insert into bill (id, deleted, is_payed, customer_id, session_id, bar_id) values (?, false, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER = "insert into \"order\" (id, creation_date, product_id, name, brand, money_amount, currency_code, currency_symbol, amount, bartender_id, bill_id, bar_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HISTORY = "insert into order_history_entry (id, order_history_type, order_date, product_id, product_name, amount, customer_id, bartender_id, bill_id, bar_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] BRANDS = {"Heineken", "Grolsch", "Hertog Jan", "Amstel", "Brand", "Bavaria", "La Chouffe", "Duvel"};
+    private static final String[] NAMES = {"Pils", "Weizen", "Tripel", "Cola", "Tonic", "Wine", "Bitterballen", "Nachos", "Coffee", "Water"};
+    private static final double[] SIZES = {200, 250, 330, 500};
+
+    private final LoadDataSettings settings;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public LoadDataGenerator(LoadDataSettings settings, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, PasswordEncoder passwordEncoder) {
+        this.settings = settings;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generates all bars and returns the amount of inserted rows per table.
+     * */
+    public Map<String, Long> generate() {
+        long start = System.nanoTime();
+        SkewedRandom random = new SkewedRandom(settings.getSeed(), settings.getSkew());
+        BatchInserter inserter = new BatchInserter(jdbcTemplate, settings.getBatchSize());
+        String passwordHash = passwordEncoder.encode(settings.getPassword());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        for (int bar = 0; bar < settings.getBars(); bar++) {
+            int barNumber = bar;
+            transactionTemplate.executeWithoutResult(status -> {
+                generateBar(barNumber, random, inserter, passwordHash, now);
+                inserter.flush();
+            });
+            LOG.info("Generated bar {}/{}", bar + 1, settings.getBars());
+        }
+
+        Map<String, Long> insertedRows = inserter.getInsertedRows();
+        LOG.info("Generated load test data in {} ms: {}", (System.nanoTime() - start) / 1_000_000, insertedRows);
+        return insertedRows;
+    }
+
+    private void generateBar(int bar, SkewedRandom random, BatchInserter inserter, String passwordHash, LocalDateTime now) {
+        UUID barId = random.uuid();
+        UUID userId = random.uuid();
+        UUID ownerId = random.uuid();
+        UUID authorizationId = random.uuid();
+        String username = settings.getUsername(bar);
+        inserter.insert("user", INSERT_USER, userId, now, username, passwordHash, username + "@loadtest.local", "Load", "Test " + bar, "+310612345678");
+        inserter.insert("bar", INSERT_BAR, barId, "Bar " + bar, "Loadteststraat " + bar, "bar" + bar + "@loadtest.local", "+310612345678");
+        inserter.insert("person", INSERT_PERSON, ownerId, "Owner " + bar, userId, barId);
+        inserter.insert("authorization", INSERT_AUTHORIZATION, authorizationId, barId, Role.OWNER.name(), ownerId);
+        inserter.insert("user_authorizations", INSERT_USER_AUTHORIZATION, userId, authorizationId);
+
+        List<UUID> people = new ArrayList<>(settings.getPeople());
+        for (int i = 0; i < settings.getPeople(); i++) {
+            UUID personId = random.uuid();
+            people.add(personId);
+            inserter.insert("person", INSERT_PERSON, personId, "Customer " + i, null, barId);
+        }
+        List<UUID> bartenders = new ArrayList<>(List.of(ownerId));
+        bartenders.addAll(people.subList(0, settings.getPeople() / 20));
+
+        List<UUID> categories = new ArrayList<>(settings.getCategories());
+        for (int i = 0; i < settings.getCategories(); i++) {
+            UUID categoryId = random.uuid();
+            categories.add(categoryId);
+            inserter.insert("category", INSERT_CATEGORY, categoryId, "Category " + i, barId);
+        }
+
+        LocalDateTime firstSession = now.minusWeeks(settings.getSessions()).withHour(20).withMinute(0).withSecond(0);
+        List<GeneratedProduct> products = new ArrayList<>(settings.getProducts());
+        for (int i = 0; i < settings.getProducts(); i++) {
+            products.add(generateProduct(i, barId, categories, firstSession, random, inserter));
+        }
+
+        for (int session = 0; session < settings.getSessions(); session++) {
+            boolean active = session == settings.getSessions() - 1;
+            LocalDateTime creationDate = firstSession.plusWeeks(session + 1L);
+            generateSession(session, active, creationDate, barId, people, bartenders, products, random, inserter);
+        }
+    }
+
+    private GeneratedProduct generateProduct(int number, UUID barId, List<UUID> categories, LocalDateTime firstSession, SkewedRandom random, BatchInserter inserter) {
+        UUID productId = random.uuid();
+        String name = NAMES[number % NAMES.length] + (number >= NAMES.length ? " " + number : "");
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        UUID categoryId = categories.isEmpty() ? null : categories.get(number % categories.size());
+        ProductType type = ProductType.values()[number % ProductType.values().length];
+        inserter.insert("product", INSERT_PRODUCT, productId, name, brand, SIZES[random.nextInt(SIZES.length)], number < 5, type.name(), categoryId, barId);
+
+        Money price = new Money(1.5 + random.nextDouble() * 4.5);
+        LocalDateTime priceFrom = firstSession.minusDays(1);
+        if (random.chance(0.3)) {
+            LocalDateTime previousFrom = priceFrom.minusDays(60);
+            insertPrice(productId, price.decrease(0.25), previousFrom, priceFrom, random, inserter);
+        }
+        insertPrice(productId, price, priceFrom, null, random, inserter);
+        return new GeneratedProduct(productId, name, brand, price);
+    }
+
+    private void insertPrice(UUID productId, Money price, LocalDateTime from, LocalDateTime to, SkewedRandom random, BatchInserter inserter) {
+        UUID priceId = random.uuid();
+        Currency currency = price.currency();
+        inserter.insert("price", INSERT_PRICE, priceId, price.amount(), currency.code(), currency.symbol(), from, to);
+        inserter.insert("product_price", INSERT_PRODUCT_PRICE, productId, priceId);
+    }
+
+    private void generateSession(int number, boolean active, LocalDateTime creationDate, UUID barId, List<UUID> people,
+                                 List<UUID> bartenders, List<GeneratedProduct> products, SkewedRandom random, BatchInserter inserter) {
+        UUID sessionId = random.uuid();
+        LocalDateTime endDate = active ? null : creationDate.plusHours(6);
+        inserter.insert("session", INSERT_SESSION, sessionId, "Session " + number, creationDate, endDate, !active, barId);
+
+        Set<Integer> customers = new LinkedHashSet<>();
+        int attempts = 0;
+        while (customers.size() < settings.getBillsPerSession() && attempts++ < settings.getBillsPerSession() * 10) {
+            customers.add(random.zipf(people.size()));
+        }
+        for (int i = 0; customers.size() < settings.getBillsPerSession(); i++) {
+            customers.add(i);
+        }
+
+        for (int customer : customers) {
+            UUID billId = random.uuid();
+            UUID customerId = people.get(customer);
+            inserter.insert("bill", INSERT_BILL, billId, !active, customerId, sessionId, barId);
+            if (products.isEmpty()) continue;
+
+            int orders = random.geometric(settings.getOrdersPerBill());
+            for (int i = 0; i < orders; i++) {
+                GeneratedProduct product = products.get(random.zipf(products.size()));
+                UUID bartenderId = bartenders.get(random.nextInt(bartenders.size()));
+                int amount = random.chance(0.2) ? 2 : 1;
+                LocalDateTime orderDate = creationDate.plusSeconds(random.nextInt(6 * 60 * 60));
+                Currency currency = product.price().currency();
+                inserter.insert("order", INSERT_ORDER, random.uuid(), orderDate, product.id(), product.name(), product.brand(),
+                        product.price().amount(), currency.code(), currency.symbol(), amount, bartenderId, billId, barId);
+                inserter.insert("order_history_entry", INSERT_HISTORY, random.uuid(), OrderHistoryType.ADD.name(), orderDate, product.id(),
+                        String.format("%s %s", product.brand(), product.name()), amount, customerId, bartenderId, billId, barId);
+            }
+        }
+    }
+
+    private record GeneratedProduct(UUID id, String name, String brand, Money price) {
+    }
+}
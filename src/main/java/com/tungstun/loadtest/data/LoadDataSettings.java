@@ -0,0 +1,96 @@
+package com.tungstun.loadtest.data;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Volumes and shape of the data created by the {@link LoadDataGenerator}.<br>
+ * Counts are per bar, except for bills and orders which are per session and per bill.
+ * */
+@Configuration
+@Profile(LoadDataGenerator.PROFILE)
+public class LoadDataSettings {
+    @Value("${com.tungstun.bartap.loadtest.data.bars:10}")
+    private int bars;
+    @Value("${com.tungstun.bartap.loadtest.data.people:50}")
+    private int people;
+    @Value("${com.tungstun.bartap.loadtest.data.categories:5}")
+    private int categories;
+    @Value("${com.tungstun.bartap.loadtest.data.products:40}")
+    private int products;
+    @Value("${com.tungstun.bartap.loadtest.data.sessions:30}")
+    private int sessions;
+    @Value("${com.tungstun.bartap.loadtest.data.bills-per-session:20}")
+    private int billsPerSession;
+    @Value("${com.tungstun.bartap.loadtest.data.orders-per-bill:8}")
+    private double ordersPerBill;
+    @Value("${com.tungstun.bartap.loadtest.data.skew:1.1}")
+    private double skew;
+    @Value("${com.tungstun.bartap.loadtest.data.seed:42}")
+    private long seed;
+    @Value("${com.tungstun.bartap.loadtest.data.batch-size:1000}")
+    private int batchSize;
+    @Value("${com.tungstun.bartap.loadtest.data.username-prefix:loadtest-owner-}")
+    private String usernamePrefix;
+    @Value("${com.tungstun.bartap.loadtest.data.password:loadtest}")
+    private String password;
+
+    public int getBars() {
+        return bars;
+    }
+
+    public int getPeople() {
+        return people;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Every customer has at most one bill per session, so this is capped at the amount of people.
+     * */
+    public int getBillsPerSession() {
+        return Math.min(billsPerSession, people);
+    }
+
+    /**
+     * Average amount of orders on a bill, the actual amount follows a geometric distribution.
+     * */
+    public double getOrdersPerBill() {
+        return ordersPerBill;
+    }
+
+    /**
+     * Exponent of the Zipf distribution used to pick products and customers.<br>
+     * 0 picks uniformly, higher values concentrate the orders on fewer products and regulars.
+     * */
+    public double getSkew() {
+        return skew;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public String getUsername(int bar) {
+        return usernamePrefix + bar;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+}
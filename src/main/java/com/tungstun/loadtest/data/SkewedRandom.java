@@ -0,0 +1,68 @@
+package com.tungstun.loadtest.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeded random source for generated data, so the same settings always produce the same data set.
+ */
+class SkewedRandom {
+    private final Random random;
+    private final double skew;
+    private final Map<Integer, double[]> cumulativeWeights = new HashMap<>();
+
+    SkewedRandom(long seed, double skew) {
+        this.random = new Random(seed);
+        this.skew = skew;
+    }
+
+    UUID uuid() {
+        long most = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    /**
+     * Picks an index in {@code [0, size)} following a Zipf distribution, index 0 being the most popular.
+     */
+    int zipf(int size) {
+        double[] weights = cumulativeWeights.computeIfAbsent(size, this::createCumulativeWeights);
+        double target = random.nextDouble() * weights[size - 1];
+        int index = Arrays.binarySearch(weights, target);
+        return index >= 0 ? index : Math.min(-index - 1, size - 1);
+    }
+
+    private double[] createCumulativeWeights(int size) {
+        double[] weights = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1 / Math.pow(i + 1d, skew);
+            weights[i] = total;
+        }
+        return weights;
+    }
+
+    /**
+     * Picks a count of at least 1 following a geometric distribution with the given mean.
+     */
+    int geometric(double mean) {
+        if (mean <= 1) return 1;
+        double p = 1 / mean;
+        return 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    double nextDouble() {
+        return random.nextDouble();
+    }
+
+    boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+}
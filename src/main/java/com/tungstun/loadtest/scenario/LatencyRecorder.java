@@ -0,0 +1,50 @@
+package com.tungstun.loadtest.scenario;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of a single scenario step and reports their percentiles.
+ */
+public class LatencyRecorder {
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(Duration latency, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latency.toNanos();
+        if (!success) errors++;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the latency below which the given percentage (0-100) of the recorded calls completed,
+     * using the nearest-rank method.
+     */
+    public synchronized Duration percentile(double percentage) {
+        if (count == 0) return Duration.ZERO;
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentage / 100 * count);
+        return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+    }
+}
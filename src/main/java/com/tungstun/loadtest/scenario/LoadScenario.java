@@ -0,0 +1,184 @@
+package com.tungstun.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scripted HTTP load scenario against a running application filled by the
+ * {@link com.tungstun.loadtest.data.LoadDataGenerator}.<br>
+ * Every virtual user owns a generated bar and repeatedly logs in, searches products, adds an order to a bill
+ * of the active session, and every few iterations pays a bill and requests the bar statistics.
+ * Afterwards the throughput and the p50/p95/p99 latencies are reported per step.<br>
+ * Settings are read from system properties: {@code loadtest.url}, {@code loadtest.users}, {@code loadtest.iterations},
+ * {@code loadtest.bars}, {@code loadtest.username-prefix} and {@code loadtest.password}.<br>
+ * Run with {@code java -cp bar-api.jar -Dloader.main=com.tungstun.loadtest.scenario.LoadScenario org.springframework.boot.loader.PropertiesLauncher}.<br>
+ * To compare platform with virtual request threads, run the scenario twice with the same settings against the application
+ * started with {@code com.tungstun.bartap.execution.mode=platform} and with {@code com.tungstun.bartap.execution.mode=virtual} (Java 21 or higher),
+ * using more users than Tomcat's 200 worker threads and compare the throughput and p99 of every step.
+ */
+public class LoadScenario {
+    private static final String[] SEARCH_TERMS = {"pils", "cola", "wine", "heineken", "tripel", "water"};
+    private static final int PAY_BILL_EVERY = 5;
+    private static final int STATISTICS_EVERY = 10;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String usernamePrefix;
+    private final String password;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private Duration elapsed = Duration.ZERO;
+
+    public LoadScenario(String baseUrl, String usernamePrefix, String password) {
+        this.baseUrl = baseUrl;
+        this.usernamePrefix = usernamePrefix;
+        this.password = password;
+        for (String step : List.of("login", "product search", "add order", "pay bill", "statistics")) {
+            recorders.put(step, new LatencyRecorder(step));
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadScenario scenario = new LoadScenario(
+                System.getProperty("loadtest.url", "http://localhost:8080"),
+                System.getProperty("loadtest.username-prefix", "loadtest-owner-"),
+                System.getProperty("loadtest.password", "loadtest")
+        );
+        scenario.run(
+                Integer.getInteger("loadtest.users", 10),
+                Integer.getInteger("loadtest.iterations", 50),
+                Integer.getInteger("loadtest.bars", 10)
+        );
+        scenario.printReport(System.out);
+    }
+
+    public void run(int users, int iterations, int bars) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        for (int user = 0; user < users; user++) {
+            String username = usernamePrefix + (user % bars);
+            executor.execute(() -> runUser(username, iterations));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.DAYS);
+        elapsed = Duration.ofNanos(System.nanoTime() - start);
+        System.out.printf("Ran %d users x %d iterations in %d ms%n", users, iterations, elapsed.toMillis());
+    }
+
+    private void runUser(String username, int iterations) {
+        try {
+            Map<String, String> token = login(username);
+            String barId = get("/api/bars/owned", token).get(0).get("id").asText();
+            JsonNode session = get(String.format("/api/bars/%s/sessions/active", barId), token);
+            String sessionId = session.get("id").asText();
+            List<String> bills = new ArrayList<>();
+            session.get("bills").forEach(bill -> bills.add(bill.get("id").asText()));
+
+            for (int iteration = 1; iteration <= iterations; iteration++) {
+                token = login(username);
+                String term = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+                JsonNode products = timed("product search", "GET", String.format("/api/bars/%s/products?searchText=%s", barId, term), token, null);
+                if (products == null || products.isEmpty() || bills.isEmpty()) continue;
+
+                String productId = products.get(0).get("id").asText();
+                String billId = bills.get(ThreadLocalRandom.current().nextInt(bills.size()));
+                String order = mapper.createObjectNode().put("productId", productId).put("amount", 1).toString();
+                timed("add order", "PUT", String.format("/api/bars/%s/sessions/%s/bills/%s", barId, sessionId, billId), token, order);
+                if (iteration % PAY_BILL_EVERY == 0) {
+                    timed("pay bill", "PATCH", String.format("/api/bars/%s/sessions/%s/bills/%s/pay", barId, sessionId, billId), token, "");
+                }
+                if (iteration % STATISTICS_EVERY == 0) {
+                    timed("statistics", "GET", String.format("/api/bars/%s/statistics", barId), token, null);
+                }
+            }
+        } catch (IOException e) {
+            System.err.printf("User %s stopped: %s%n", username, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, String> login(String username) throws IOException, InterruptedException {
+        String body = mapper.createObjectNode().put("username", username).put("password", password).toString();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        recorders.get("login").record(Duration.ofNanos(System.nanoTime() - start), response.statusCode() == 200);
+        if (response.statusCode() != 200) {
+            throw new IOException(String.format("Login of %s failed with status %d", username, response.statusCode()));
+        }
+        return Map.of(
+                "token_type", response.headers().firstValue("token_type").orElse("bearer"),
+                "access_token", response.headers().firstValue("access_token").orElseThrow()
+        );
+    }
+
+    private JsonNode get(String path, Map<String, String> token) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request("GET", path, token, null), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(String.format("GET %s failed with status %d", path, response.statusCode()));
+        }
+        return mapper.readTree(response.body());
+    }
+
+    private JsonNode timed(String step, String method, String path, Map<String, String> token, String body) throws InterruptedException {
+        HttpRequest request = request(method, path, token, body);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() < 400;
+            recorders.get(step).record(Duration.ofNanos(System.nanoTime() - start), success);
+            return success && !response.body().isEmpty() ? mapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            recorders.get(step).record(Duration.ofNanos(System.nanoTime() - start), false);
+            return null;
+        }
+    }
+
+    private HttpRequest request(String method, String path, Map<String, String> token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        token.forEach(builder::header);
+        return builder.build();
+    }
+
+    public Collection<LatencyRecorder> getRecorders() {
+        return recorders.values();
+    }
+
+    public void printReport(PrintStream out) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        out.printf("%-16s %8s %8s %10s %10s %10s %10s%n", "step", "calls", "errors", "calls/s", "p50 (ms)", "p95 (ms)", "p99 (ms)");
+        for (LatencyRecorder recorder : recorders.values()) {
+            out.printf("%-16s %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    recorder.getName(),
+                    recorder.getCount(),
+                    recorder.getErrors(),
+                    recorder.getCount() / seconds,
+                    recorder.percentile(50).toNanos() / 1e6,
+                    recorder.percentile(95).toNanos() / 1e6,
+                    recorder.percentile(99).toNanos() / 1e6
+            );
+        }
+    }
+}
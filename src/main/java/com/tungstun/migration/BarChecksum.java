@@ -0,0 +1,63 @@
+package com.tungstun.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+/**
+ * Aggregated contents of a single bar, computed on both the v1.0.1 source and the v2 target
+ * to verify that a bar was migrated completely.
+ */
+record BarChecksum(long people, long categories, long products, long sessions, long bills,
+                   long orders, long orderedItems, BigDecimal revenue) {
+    private static final String SOURCE_ORDERS = "select count(o.id), coalesce(sum(o.amount), 0), coalesce(sum(o.amount * round(cast(p.price as numeric), 2)), 0) " +
+            "from \"order\" o " +
+            "join bill_orders bo on bo.orders_id = o.id " +
+            "join bill b on b.id = bo.bill_id " +
+            "join bar_sessions bs on bs.sessions_id = b.session_id " +
+            "join product p on p.id = o.product_id " +
+            "where bs.bar_id = ?";
+    private static final String TARGET_ORDERS = "select count(o.id), coalesce(sum(o.amount), 0), coalesce(sum(o.amount * o.money_amount), 0) " +
+            "from \"order\" o " +
+            "join bill_orders bo on bo.orders_id = o.id " +
+            "join bill b on b.id = bo.bill_id " +
+            "join bar_sessions bs on bs.sessions_id = b.session_id " +
+            "where bs.bar_id = ?";
+
+    BarChecksum {
+        revenue = revenue.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BarChecksum ofSource(JdbcTemplate source, long barId) {
+        return of(source, barId, SOURCE_ORDERS);
+    }
+
+    static BarChecksum ofTarget(JdbcTemplate target, UUID barId) {
+        return of(target, barId, TARGET_ORDERS);
+    }
+
+    private static BarChecksum of(JdbcTemplate jdbc, Object barId, String ordersQuery) {
+        long people = count(jdbc, "select count(*) from bar_people where bar_id = ?", barId);
+        long categories = count(jdbc, "select count(*) from bar_categories where bar_id = ?", barId);
+        long products = count(jdbc, "select count(*) from bar_products where bar_id = ?", barId);
+        long sessions = count(jdbc, "select count(*) from bar_sessions where bar_id = ?", barId);
+        long bills = count(jdbc, "select count(*) from bill b join bar_sessions bs on bs.sessions_id = b.session_id where bs.bar_id = ?", barId);
+        return jdbc.queryForObject(ordersQuery, (rs, row) -> new BarChecksum(
+                people, categories, products, sessions, bills,
+                rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3)
+        ), barId);
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql, Object barId) {
+        Long count = jdbc.queryForObject(sql, Long.class, barId);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("people=%d;categories=%d;products=%d;sessions=%d;bills=%d;orders=%d;items=%d;revenue=%s",
+                people, categories, products, sessions, bills, orders, orderedItems, revenue.toPlainString());
+    }
+}
@@ -0,0 +1,257 @@
+package com.tungstun.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.tungstun.migration.IdMapping.uuid;
+import static com.tungstun.migration.IdMapping.uuidOrNull;
+
+/**
+ * Copies the categories, products, authorizations, sessions, bills and orders of a single bar
+ * from the v1.0.1 source to the v2 target.<br>
+ * Everything but the orders is copied in one transaction, orders are copied in chunks that each
+ * commit together with the id of their last order, so a restarted copy continues after that order.
+ * Inserts skip rows that already exist.
+ */
+class BarMigrator {
+    private static final LocalDateTime INITIAL_PRICE_DATE = LocalDateTime.of(2021, 1, 1, 12, 0);
+    private static final String CURRENCY_CODE = "EUR";
+    private static final String CURRENCY_SYMBOL = "€";
+
+    private final JdbcTemplate source;
+    private final JdbcTemplate target;
+    private final TransactionTemplate targetTransaction;
+    private final MigrationProgress progress;
+    private final int chunkSize;
+
+    BarMigrator(JdbcTemplate source, JdbcTemplate target, TransactionTemplate targetTransaction, MigrationProgress progress, int chunkSize) {
+        this.source = source;
+        this.target = target;
+        this.targetTransaction = targetTransaction;
+        this.progress = progress;
+        this.chunkSize = chunkSize;
+    }
+
+    void copy(long barId, long lastOrderId) {
+        UUID bar = uuid("bar", barId);
+        targetTransaction.executeWithoutResult(status -> {
+            copyCategories(barId, bar);
+            copyProducts(barId, bar);
+            copyAuthorizations(barId, bar);
+            copySessions(barId, bar);
+            copyBills(barId);
+        });
+
+        long lastId = lastOrderId;
+        while (true) {
+            long after = lastId;
+            Long copiedUntil = targetTransaction.execute(status -> copyOrderChunk(barId, after));
+            if (copiedUntil == null) break;
+            lastId = copiedUntil;
+        }
+    }
+
+    private void copyCategories(long barId, UUID bar) {
+        List<Object[]> categories = new ArrayList<>();
+        List<Object[]> barCategories = new ArrayList<>();
+        source.query("select c.id, c.deleted, c.name from category c " +
+                        "join bar_categories bc on bc.categories_id = c.id where bc.bar_id = ?",
+                rs -> {
+                    UUID category = uuid("category", rs.getLong("id"));
+                    categories.add(new Object[]{category, rs.getBoolean("deleted"), rs.getString("name")});
+                    barCategories.add(new Object[]{bar, category});
+                }, barId);
+        target.batchUpdate("insert into category (id, deleted, name) values (?, ?, ?) on conflict do nothing", categories);
+        target.batchUpdate("insert into bar_categories (bar_id, categories_id) values (?, ?) on conflict do nothing", barCategories);
+    }
+
+    private void copyProducts(long barId, UUID bar) {
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> prices = new ArrayList<>();
+        List<Object[]> productPrices = new ArrayList<>();
+        List<Object[]> barProducts = new ArrayList<>();
+        source.query("select p.id, p.brand, p.deleted, p.is_favorite, p.name, p.price, p.size, p.category_id, c.product_type " +
+                        "from product p " +
+                        "join bar_products bp on bp.products_id = p.id " +
+                        "left join category c on c.id = p.category_id " +
+                        "where bp.bar_id = ?",
+                rs -> {
+                    long id = rs.getLong("id");
+                    UUID product = uuid("product", id);
+                    UUID price = uuid("price", id);
+                    products.add(new Object[]{product, rs.getString("brand"), rs.getBoolean("deleted"), rs.getBoolean("is_favorite"),
+                            rs.getString("name"), rs.getDouble("size"), uuidOrNull("category", getLong(rs, "category_id")), rs.getString("product_type")});
+                    prices.add(new Object[]{price, INITIAL_PRICE_DATE, money(rs, "price"), CURRENCY_CODE, CURRENCY_SYMBOL});
+                    productPrices.add(new Object[]{product, price});
+                    barProducts.add(new Object[]{bar, product});
+                }, barId);
+        target.batchUpdate("insert into product (id, brand, deleted, is_favorite, name, size, category_id, type) values (?, ?, ?, ?, ?, ?, ?, ?) on conflict do nothing", products);
+        target.batchUpdate("insert into price (id, from_date, money_amount, currency_code, currency_symbol, to_date) values (?, ?, ?, ?, ?, null) on conflict do nothing", prices);
+        target.batchUpdate("insert into product_price (product_id, price_id) values (?, ?) on conflict do nothing", productPrices);
+        target.batchUpdate("insert into bar_products (bar_id, products_id) values (?, ?) on conflict do nothing", barProducts);
+    }
+
+    /**
+     * Authorizations of v1.0.1 reference a user, in v2 they reference the person of that user in the bar.
+     */
+    private void copyAuthorizations(long barId, UUID bar) {
+        List<Object[]> authorizations = new ArrayList<>();
+        List<Object[]> userAuthorizations = new ArrayList<>();
+        source.query("select a.id, a.role, a.user_id, " +
+                        "(select min(p.id) from person p join bar_people bp on bp.people_id = p.id " +
+                        " where bp.bar_id = a.bar_id and p.user_id = a.user_id) as person_id " +
+                        "from user_bar_authorization a where a.bar_id = ?",
+                rs -> {
+                    UUID authorization = uuid("authorization", rs.getLong("id"));
+                    authorizations.add(new Object[]{authorization, bar, role(rs.getString("role")), uuidOrNull("person", getLong(rs, "person_id"))});
+                    userAuthorizations.add(new Object[]{uuid("user", rs.getLong("user_id")), authorization});
+                }, barId);
+        target.batchUpdate("insert into \"authorization\" (id, bar_id, role, person_id) values (?, ?, ?, ?) on conflict do nothing", authorizations);
+        target.batchUpdate("insert into \"user_authorizations\" (\"user_id\", \"authorizations_id\") values (?, ?) on conflict do nothing", userAuthorizations);
+    }
+
+    private void copySessions(long barId, UUID bar) {
+        List<Object[]> sessions = new ArrayList<>();
+        List<Object[]> barSessions = new ArrayList<>();
+        source.query("select s.id, s.creation_date, s.closed_date, s.locked, s.name from session s " +
+                        "join bar_sessions bs on bs.sessions_id = s.id where bs.bar_id = ?",
+                rs -> {
+                    UUID session = uuid("session", rs.getLong("id"));
+                    sessions.add(new Object[]{session, rs.getObject("creation_date", LocalDateTime.class),
+                            rs.getObject("closed_date", LocalDateTime.class), rs.getBoolean("locked"), rs.getString("name")});
+                    barSessions.add(new Object[]{bar, session});
+                }, barId);
+        target.batchUpdate("insert into session (id, creation_date, deleted, end_date, locked, name) values (?, ?, false, ?, ?, ?) on conflict do nothing", sessions);
+        target.batchUpdate("insert into bar_sessions (bar_id, sessions_id) values (?, ?) on conflict do nothing", barSessions);
+    }
+
+    private void copyBills(long barId) {
+        List<Object[]> bills = new ArrayList<>();
+        source.query("select b.id, b.is_payed, b.customer_id, b.session_id from bill b " +
+                        "join bar_sessions bs on bs.sessions_id = b.session_id where bs.bar_id = ?",
+                rs -> {
+                    bills.add(new Object[]{uuid("bill", rs.getLong("id")), rs.getBoolean("is_payed"),
+                            uuidOrNull("person", getLong(rs, "customer_id")), uuid("session", rs.getLong("session_id"))});
+                }, barId);
+        target.batchUpdate("insert into bill (id, deleted, is_payed, customer_id, session_id) values (?, false, ?, ?, ?) on conflict do nothing", bills);
+    }
+
+    /**
+     * Copies the next chunk of orders of the bar with their history entries.
+     * @return id of the last copied order, or null if there were no orders left
+     */
+    private Long copyOrderChunk(long barId, long afterOrderId) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> billOrders = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        List<Object[]> billHistory = new ArrayList<>();
+        long[] lastId = {afterOrderId};
+        source.query("select o.id, o.amount, o.creation_date, o.bartender_id, o.product_id, p.brand, p.name, p.price, b.id as bill_id, b.customer_id " +
+                        "from \"order\" o " +
+                        "join bill_orders bo on bo.orders_id = o.id " +
+                        "join bill b on b.id = bo.bill_id " +
+                        "join bar_sessions bs on bs.sessions_id = b.session_id " +
+                        "join product p on p.id = o.product_id " +
+                        "where bs.bar_id = ? and o.id > ? " +
+                        "order by o.id " +
+                        "limit ?",
+                rs -> {
+                    long id = rs.getLong("id");
+                    UUID order = uuid("order", id);
+                    UUID entry = uuid("order_history_entry", id);
+                    UUID bill = uuid("bill", rs.getLong("bill_id"));
+                    UUID product = uuid("product", rs.getLong("product_id"));
+                    UUID bartender = uuidOrNull("person", getLong(rs, "bartender_id"));
+                    LocalDateTime date = rs.getObject("creation_date", LocalDateTime.class);
+                    int amount = rs.getInt("amount");
+                    String brand = rs.getString("brand");
+                    String name = rs.getString("name");
+                    orders.add(new Object[]{order, amount, date, bartender, product, brand, name, money(rs, "price"), CURRENCY_CODE, CURRENCY_SYMBOL});
+                    billOrders.add(new Object[]{bill, order});
+                    history.add(new Object[]{entry, amount, date, product, brand + " " + name, "ADD", bartender, uuidOrNull("person", getLong(rs, "customer_id"))});
+                    billHistory.add(new Object[]{bill, entry});
+                    lastId[0] = id;
+                }, barId, afterOrderId, chunkSize);
+        if (orders.isEmpty()) return null;
+
+        target.batchUpdate("insert into \"order\" (id, amount, creation_date, bartender_id, product_id, brand, name, money_amount, currency_code, currency_symbol) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) on conflict do nothing", orders);
+        target.batchUpdate("insert into bill_orders (bill_id, orders_id) values (?, ?) on conflict do nothing", billOrders);
+        target.batchUpdate("insert into order_history_entry (id, amount, order_date, product_id, product_name, order_history_type, bartender_id, customer_id) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?) on conflict do nothing", history);
+        target.batchUpdate("insert into bill_history (bill_id, history_id) values (?, ?) on conflict do nothing", billHistory);
+        progress.ordersCopied(barId, lastId[0], orders.size());
+        return lastId[0];
+    }
+
+    /**
+     * Removes everything {@link #copy(long, long)} wrote for the bar, so it can be copied again.
+     * The bar itself and its people are kept, as people can be referenced by other bars.
+     */
+    void deleteTarget(long barId) {
+        UUID bar = uuid("bar", barId);
+        targetTransaction.executeWithoutResult(status -> {
+            List<UUID> sessions = ids("select sessions_id from bar_sessions where bar_id = ?", bar);
+            List<UUID> bills = ids("select b.id from bill b join bar_sessions bs on bs.sessions_id = b.session_id where bs.bar_id = ?", bar);
+            List<UUID> orders = ids("select bo.orders_id from bill_orders bo join bill b on b.id = bo.bill_id " +
+                    "join bar_sessions bs on bs.sessions_id = b.session_id where bs.bar_id = ?", bar);
+            List<UUID> history = ids("select bh.history_id from bill_history bh join bill b on b.id = bh.bill_id " +
+                    "join bar_sessions bs on bs.sessions_id = b.session_id where bs.bar_id = ?", bar);
+            List<UUID> products = ids("select products_id from bar_products where bar_id = ?", bar);
+            List<UUID> prices = ids("select pp.price_id from product_price pp join bar_products bp on bp.products_id = pp.product_id where bp.bar_id = ?", bar);
+            List<UUID> categories = ids("select categories_id from bar_categories where bar_id = ?", bar);
+            List<UUID> authorizations = ids("select id from \"authorization\" where bar_id = ?", bar);
+
+            delete("delete from bill_history where bill_id = ?", bills);
+            delete("delete from order_history_entry where id = ?", history);
+            delete("delete from bill_orders where bill_id = ?", bills);
+            delete("delete from \"order\" where id = ?", orders);
+            delete("delete from bill where id = ?", bills);
+            target.update("delete from bar_sessions where bar_id = ?", bar);
+            delete("delete from session where id = ?", sessions);
+            delete("delete from product_price where product_id = ?", products);
+            delete("delete from price where id = ?", prices);
+            target.update("delete from bar_products where bar_id = ?", bar);
+            delete("delete from product where id = ?", products);
+            target.update("delete from bar_categories where bar_id = ?", bar);
+            delete("delete from category where id = ?", categories);
+            delete("delete from \"user_authorizations\" where \"authorizations_id\" = ?", authorizations);
+            delete("delete from \"authorization\" where id = ?", authorizations);
+        });
+    }
+
+    private List<UUID> ids(String sql, UUID bar) {
+        return target.queryForList(sql, UUID.class, bar);
+    }
+
+    private void delete(String sql, List<UUID> ids) {
+        target.batchUpdate(sql, ids.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static BigDecimal money(ResultSet rs, String column) throws SQLException {
+        return BigDecimal.valueOf(rs.getDouble(column)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String role(String role) {
+        return switch (role) {
+            case "ROLE_BAR_OWNER" -> "OWNER";
+            case "ROLE_BARTENDER" -> "BARTENDER";
+            case "ROLE_CUSTOMER" -> "CUSTOMER";
+            default -> role;
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.tungstun.migration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Migration progress of a single bar of the v1.0.1 source.
+ */
+public record BarProgress(long barId, MigrationStatus status, long lastOrderId, long migratedOrders,
+                          String checksum, String message, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,22 @@
+package com.tungstun.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Maps the numeric ids of the v1.0.1 schema to the UUIDs of the v2 schema.<br>
+ * The UUIDs are derived from the table and id, so a migration that is rerun produces the same ids
+ * and can skip rows that were already copied.
+ */
+final class IdMapping {
+    private IdMapping() {
+    }
+
+    static UUID uuid(String table, long id) {
+        return UUID.nameUUIDFromBytes((table + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static UUID uuidOrNull(String table, Long id) {
+        return id == null ? null : uuid(table, id);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tungstun.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores the progress of every bar in the {@value TABLE} table of the target database,
+ * so an interrupted migration continues where it stopped.
+ */
+class MigrationProgress {
+    static final String TABLE = "migration_progress";
+    private static final RowMapper<BarProgress> ROW_MAPPER = (rs, row) -> new BarProgress(
+            rs.getLong("bar_id"),
+            MigrationStatus.valueOf(rs.getString("status")),
+            rs.getLong("last_order_id"),
+            rs.getLong("migrated_orders"),
+            rs.getString("checksum"),
+            rs.getString("message"),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+
+    private final JdbcTemplate target;
+
+    MigrationProgress(JdbcTemplate target) {
+        this.target = target;
+    }
+
+    void createTable() {
+        target.execute("create table if not exists " + TABLE + " (" +
+                "bar_id int8 not null primary key, " +
+                "status varchar(32) not null, " +
+                "last_order_id int8 not null default 0, " +
+                "migrated_orders int8 not null default 0, " +
+                "checksum varchar(512), " +
+                "message varchar(1024), " +
+                "updated_at timestamp)");
+    }
+
+    Optional<BarProgress> find(long barId) {
+        return target.query("select * from " + TABLE + " where bar_id = ?", ROW_MAPPER, barId)
+                .stream()
+                .findFirst();
+    }
+
+    List<BarProgress> findAll() {
+        return target.query("select * from " + TABLE + " order by bar_id", ROW_MAPPER);
+    }
+
+    void start(long barId) {
+        int updated = target.update("update " + TABLE + " set status = ?, message = null, updated_at = ? where bar_id = ?",
+                MigrationStatus.COPYING.name(), LocalDateTime.now(), barId);
+        if (updated == 0) {
+            target.update("insert into " + TABLE + " (bar_id, status, updated_at) values (?, ?, ?)",
+                    barId, MigrationStatus.COPYING.name(), LocalDateTime.now());
+        }
+    }
+
+    void restart(long barId) {
+        target.update("update " + TABLE + " set status = ?, last_order_id = 0, migrated_orders = 0, message = null, updated_at = ? where bar_id = ?",
+                MigrationStatus.COPYING.name(), LocalDateTime.now(), barId);
+    }
+
+    /**
+     * Records the last copied order, must be called in the transaction that copied the orders.
+     */
+    void ordersCopied(long barId, long lastOrderId, int orders) {
+        target.update("update " + TABLE + " set last_order_id = ?, migrated_orders = migrated_orders + ?, updated_at = ? where bar_id = ?",
+                lastOrderId, orders, LocalDateTime.now(), barId);
+    }
+
+    void finish(long barId, MigrationStatus status, String checksum, String message) {
+        int updated = target.update("update " + TABLE + " set status = ?, checksum = ?, message = ?, updated_at = ? where bar_id = ?",
+                status.name(), checksum, message, LocalDateTime.now(), barId);
+        if (updated == 0) {
+            target.update("insert into " + TABLE + " (bar_id, status, checksum, message, updated_at) values (?, ?, ?, ?, ?)",
+                    barId, status.name(), checksum, message, LocalDateTime.now());
+        }
+    }
+}
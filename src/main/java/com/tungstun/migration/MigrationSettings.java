@@ -0,0 +1,70 @@
+package com.tungstun.migration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Connection details and tuning of the {@link V1ToV2Migrator}.
+ * */
+@Configuration
+@Profile(V1ToV2Migrator.PROFILE)
+public class MigrationSettings {
+    @Value("${com.tungstun.bartap.migration.source.url}")
+    private String sourceUrl;
+    @Value("${com.tungstun.bartap.migration.source.username:}")
+    private String sourceUsername;
+    @Value("${com.tungstun.bartap.migration.source.password:}")
+    private String sourcePassword;
+    @Value("${com.tungstun.bartap.migration.target.url}")
+    private String targetUrl;
+    @Value("${com.tungstun.bartap.migration.target.username:}")
+    private String targetUsername;
+    @Value("${com.tungstun.bartap.migration.target.password:}")
+    private String targetPassword;
+    @Value("${com.tungstun.bartap.migration.threads:4}")
+    private int threads;
+    @Value("${com.tungstun.bartap.migration.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${com.tungstun.bartap.migration.mode:MIGRATE}")
+    private V1ToV2Migration.Mode mode;
+
+    public String getSourceUrl() {
+        return sourceUrl;
+    }
+
+    public String getSourceUsername() {
+        return sourceUsername;
+    }
+
+    public String getSourcePassword() {
+        return sourcePassword;
+    }
+
+    public String getTargetUrl() {
+        return targetUrl;
+    }
+
+    public String getTargetUsername() {
+        return targetUsername;
+    }
+
+    public String getTargetPassword() {
+        return targetPassword;
+    }
+
+    /**
+     * Amount of bars that are copied at the same time, every thread uses a connection to both databases.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public V1ToV2Migration.Mode getMode() {
+        return mode;
+    }
+}
@@ -0,0 +1,9 @@
+package com.tungstun.migration;
+
+public enum MigrationStatus {
+    COPYING,
+    COPIED,
+    VERIFIED,
+    MISMATCH,
+    FAILED
+}
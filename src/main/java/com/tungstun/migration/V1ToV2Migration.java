@@ -0,0 +1,221 @@
+package com.tungstun.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.tungstun.migration.IdMapping.uuid;
+
+/**
+ * Copies the data of a v1.0.1 database into a database with the v2 schema.<br>
+ * Users, bars and people are copied first in chunks ordered by id. Afterwards the bars are copied in parallel,
+ * every bar on its own and with its orders in chunks. The progress of every bar is stored in the target,
+ * so a stopped migration continues where it left off. Once a bar is copied, the checksums of the bar
+ * in the source and the target are compared.<br>
+ * While the application keeps running on the source, the cut-over goes as follows:
+ * <ol>
+ *     <li>{@link Mode#MIGRATE} copies the bulk of the data</li>
+ *     <li>{@link Mode#VERIFY} reads every bar from both databases and marks changed bars as {@link MigrationStatus#MISMATCH}</li>
+ *     <li>writes to the source are stopped</li>
+ *     <li>{@link Mode#SYNC} copies new users and people, and copies every bar that is not verified again</li>
+ *     <li>once every bar is {@link MigrationStatus#VERIFIED}, the application is switched to the target</li>
+ * </ol>
+ * The v2 target can be upgraded further with {@code development/db/v3/migrate-v2-to-v3.sql}.
+ */
+public class V1ToV2Migration {
+    private static final Logger LOG = LoggerFactory.getLogger(V1ToV2Migration.class);
+
+    public enum Mode {
+        /** Copies every bar that is not verified yet, continuing after the last copied order */
+        MIGRATE,
+        /** Only compares the checksums of every bar */
+        VERIFY,
+        /** Copies changed bars again after comparing their checksums */
+        SYNC
+    }
+
+    private final JdbcTemplate source;
+    private final JdbcTemplate target;
+    private final TransactionTemplate targetTransaction;
+    private final MigrationProgress progress;
+    private final BarMigrator barMigrator;
+    private final int threads;
+    private final int chunkSize;
+
+    public V1ToV2Migration(DataSource source, DataSource target, int threads, int chunkSize) {
+        if (threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Threads and chunk size must be at least 1");
+        }
+        this.source = new JdbcTemplate(source);
+        this.target = new JdbcTemplate(target);
+        this.targetTransaction = new TransactionTemplate(new DataSourceTransactionManager(target));
+        this.progress = new MigrationProgress(this.target);
+        this.barMigrator = new BarMigrator(this.source, this.target, targetTransaction, progress, chunkSize);
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs the migration and returns the progress of every bar.
+     */
+    public List<BarProgress> run(Mode mode) throws InterruptedException {
+        long start = System.nanoTime();
+        progress.createTable();
+        if (mode != Mode.VERIFY) {
+            copyUsers();
+            copyBars();
+            copyPeople();
+        }
+
+        Map<Long, BarProgress> previous = progress.findAll().stream()
+                .collect(Collectors.toMap(BarProgress::barId, Function.identity()));
+        List<Long> bars = source.queryForList("select id from bar order by id", Long.class);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(bars.size());
+            for (Long barId : bars) {
+                BarProgress barProgress = previous.get(barId);
+                futures.add(executor.submit(() -> migrateBar(mode, barId, barProgress)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Migration of a bar failed unexpectedly", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<BarProgress> result = progress.findAll();
+        Map<MigrationStatus, Long> statuses = result.stream()
+                .collect(Collectors.groupingBy(BarProgress::status, Collectors.counting()));
+        LOG.info("Migration {} of {} bars finished in {} ms: {}", mode, bars.size(), (System.nanoTime() - start) / 1_000_000, statuses);
+        return result;
+    }
+
+    private void migrateBar(Mode mode, long barId, BarProgress previous) {
+        try {
+            switch (mode) {
+                case MIGRATE -> {
+                    if (previous != null && previous.status() == MigrationStatus.VERIFIED) return;
+                    progress.start(barId);
+                    barMigrator.copy(barId, previous == null ? 0 : previous.lastOrderId());
+                    verify(barId);
+                }
+                case VERIFY -> verify(barId);
+                case SYNC -> {
+                    if (verify(barId)) return;
+                    barMigrator.deleteTarget(barId);
+                    progress.start(barId);
+                    progress.restart(barId);
+                    barMigrator.copy(barId, 0);
+                    verify(barId);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Migration of bar {} failed", barId, e);
+            progress.finish(barId, MigrationStatus.FAILED, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Compares the checksums of the bar in the source and the target.
+     * @return true if the bar was migrated completely
+     */
+    private boolean verify(long barId) {
+        BarChecksum expected = BarChecksum.ofSource(source, barId);
+        BarChecksum actual = BarChecksum.ofTarget(target, uuid("bar", barId));
+        boolean verified = expected.equals(actual);
+        if (verified) {
+            progress.finish(barId, MigrationStatus.VERIFIED, actual.toString(), null);
+        } else {
+            progress.finish(barId, MigrationStatus.MISMATCH, actual.toString(), "Expected " + expected);
+        }
+        return verified;
+    }
+
+    private void copyUsers() {
+        String insert = "insert into \"user\" (id, created_on, first_name, last_name, mail, password, phone_number, username) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?) on conflict do nothing";
+        LocalDateTime now = LocalDateTime.now();
+        copyInChunks("select u.id, u.first_name, u.last_name, u.mail, u.password, u.username, " +
+                        "(select min(p.phone_number) from person p where p.user_id = u.id) as phone_number " +
+                        "from \"user\" u where u.id > ? order by u.id limit ?",
+                (chunk, rs) -> chunk.add(insert, uuid("user", rs.getLong("id")), now, rs.getString("first_name"),
+                        rs.getString("last_name"), rs.getString("mail"), rs.getString("password"),
+                        rs.getString("phone_number"), rs.getString("username")));
+    }
+
+    private void copyBars() {
+        String insert = "insert into bar (id, deleted, address, mail, name, phone_number) values (?, ?, ?, ?, ?, ?) on conflict do nothing";
+        copyInChunks("select id, deleted, address, mail, name, phone_number from bar where id > ? order by id limit ?",
+                (chunk, rs) -> chunk.add(insert, uuid("bar", rs.getLong("id")), rs.getBoolean("deleted"), rs.getString("address"),
+                        rs.getString("mail"), rs.getString("name"), rs.getString("phone_number")));
+    }
+
+    private void copyPeople() {
+        String insertPerson = "insert into person (id, name, user_id) values (?, ?, ?) on conflict do nothing";
+        String insertBarPerson = "insert into bar_people (bar_id, people_id) values (?, ?) on conflict do nothing";
+        copyInChunks("select p.id, p.name, p.user_id, bp.bar_id from person p " +
+                        "left join bar_people bp on bp.people_id = p.id " +
+                        "where p.id > ? order by p.id limit ?",
+                (chunk, rs) -> {
+                    UUID person = uuid("person", rs.getLong("id"));
+                    long userId = rs.getLong("user_id");
+                    UUID user = rs.wasNull() ? null : uuid("user", userId);
+                    chunk.add(insertPerson, person, rs.getString("name"), user);
+                    long barId = rs.getLong("bar_id");
+                    if (!rs.wasNull()) chunk.add(insertBarPerson, uuid("bar", barId), person);
+                });
+    }
+
+    /**
+     * Reads the source in chunks ordered by id and inserts every chunk in its own transaction.
+     * The query gets the last id of the previous chunk and the chunk size as parameters,
+     * the first column of the query must be the id.
+     */
+    private void copyInChunks(String query, ChunkRowMapper mapper) {
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            Chunk chunk = new Chunk();
+            long[] chunkLastId = {lastId};
+            source.query(query, rs -> {
+                mapper.map(chunk, rs);
+                chunkLastId[0] = rs.getLong(1);
+            }, lastId, chunkSize);
+            if (chunk.rows.isEmpty()) return;
+            targetTransaction.executeWithoutResult(status -> chunk.rows.forEach(target::batchUpdate));
+            lastId = chunkLastId[0];
+        }
+    }
+
+    /**
+     * Rows to insert per insert statement, in the order the statements were first used.
+     */
+    private static class Chunk {
+        private final Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+
+        void add(String insert, Object... values) {
+            rows.computeIfAbsent(insert, sql -> new ArrayList<>()).add(values);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkRowMapper {
+        void map(Chunk chunk, ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tungstun.migration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs the {@link V1ToV2Migration} with the {@link MigrationSettings} when the application is started
+ * with the {@value PROFILE} profile, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=migrate-v2 -Dspring-boot.run.arguments=--com.tungstun.bartap.migration.mode=VERIFY}.
+ * */
+@Component
+@Profile(V1ToV2Migrator.PROFILE)
+public class V1ToV2Migrator implements ApplicationRunner {
+    public static final String PROFILE = "migrate-v2";
+    private static final Logger LOG = LoggerFactory.getLogger(V1ToV2Migrator.class);
+
+    private final MigrationSettings settings;
+
+    public V1ToV2Migrator(MigrationSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        try (HikariDataSource source = dataSource(settings.getSourceUrl(), settings.getSourceUsername(), settings.getSourcePassword());
+             HikariDataSource target = dataSource(settings.getTargetUrl(), settings.getTargetUsername(), settings.getTargetPassword())) {
+            V1ToV2Migration migration = new V1ToV2Migration(source, target, settings.getThreads(), settings.getChunkSize());
+            List<BarProgress> bars = migration.run(settings.getMode());
+            bars.stream()
+                    .filter(bar -> bar.status() != MigrationStatus.VERIFIED)
+                    .forEach(bar -> LOG.warn("Bar {} is {}: {}", bar.barId(), bar.status(), bar.message()));
+        }
+    }
+
+    private HikariDataSource dataSource(String url, String username, String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setMaximumPoolSize(settings.getThreads() + 1);
+        return dataSource;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tungstun.monitoring.application;
+
+import com.tungstun.barapi.domain.session.SessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauge of the amount of sessions that are currently active over all bars.
+ */
+@Component
+public class ActiveSessionsMetrics implements MeterBinder {
+    private final SessionRepository sessionRepository;
+
+    public ActiveSessionsMetrics(SessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bartap.sessions.active", sessionRepository, SessionRepository::countActive)
+                .description("Sessions that have not been ended")
+                .register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tungstun.monitoring.application;
+
+import com.tungstun.common.transaction.TransactionConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times every {@code handle(...)} call of the command and query handlers.<br>
+ * Meters are tagged with the handler and the command/query type (e.g. AddOrder, GetBar),
+ * so latency percentiles and error rates can be observed per use case.
+ * Handlers of the reactive read path are measured until their result has been emitted.
+ * The aspect is ordered outside the transaction of the handler, so the commit is measured as well.
+ */
+@Aspect
+@Component
+@Order(TransactionConfig.OUTSIDE)
+public class HandlerMetricsAspect {
+    static final String TIMER_NAME = "bartap.handler";
+    static final String ERROR_COUNTER_NAME = "bartap.handler.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    public HandlerMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.tungstun..application..*Handler.handle(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String handler = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        Object[] args = joinPoint.getArgs();
+        String type = args.length > 0 && args[0] != null ? args[0].getClass().getSimpleName() : "none";
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            countError(handler, type, e);
+            stop(sample, handler, type, "error");
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return mono.doOnError(e -> countError(handler, type, e))
+                    .doFinally(signal -> stop(sample, handler, type, outcome(signal)));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.doOnError(e -> countError(handler, type, e))
+                    .doFinally(signal -> stop(sample, handler, type, outcome(signal)));
+        }
+        stop(sample, handler, type, "success");
+        return result;
+    }
+
+    /**
+     * Reactive handlers are measured until their result completes, fails or is cancelled.
+     */
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+
+    private void countError(String handler, String type, Throwable e) {
+        Counter.builder(ERROR_COUNTER_NAME)
+                .description("Exceptions thrown by command and query handlers")
+                .tags("handler", handler, "type", type, "exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void stop(Timer.Sample sample, String handler, String type, String outcome) {
+        sample.stop(Timer.builder(TIMER_NAME)
+                .description("Execution time of command and query handlers")
+                .tags("handler", handler, "type", type, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
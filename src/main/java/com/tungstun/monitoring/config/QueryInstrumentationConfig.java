@@ -0,0 +1,58 @@
+package com.tungstun.monitoring.config;
+
+import com.tungstun.monitoring.persistence.EntityLoadCountingInterceptor;
+import com.tungstun.monitoring.persistence.QueryCountingDataSource;
+import com.tungstun.monitoring.web.QueryStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the persistence instrumentation used to record the query budget of each request.<br>
+ * Can be turned off with {@code com.tungstun.bartap.monitoring.query.enabled=false}.
+ * Response headers are only exposed outside of the prod profile.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "com.tungstun.bartap.monitoring.query", name = "enabled", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.interceptor", new EntityLoadCountingInterceptor());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatisticsFilter> queryStatisticsFilter(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${com.tungstun.bartap.monitoring.query.response-headers:true}") boolean responseHeaders
+    ) {
+        boolean exposeHeaders = responseHeaders && !environment.acceptsProfiles(Profiles.of("prod"));
+        FilterRegistrationBean<QueryStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatisticsFilter(meterRegistry, exposeHeaders));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.tungstun.monitoring.persistence;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate interceptor that records every entity loaded into a persistence context
+ * into the {@link QueryStatistics} of the current thread.
+ */
+public class EntityLoadCountingInterceptor extends EmptyInterceptor {
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryStatistics.recordEntity();
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tungstun.monitoring.persistence;
+
+/**
+ * Size of a single partition of a partitioned table.
+ * The amount of rows is the estimate of the last analyze, which is cheap to read on large partitions.
+ */
+public record PartitionSize(String table, String partition, String bounds, long totalBytes, long estimatedRows) {
+}
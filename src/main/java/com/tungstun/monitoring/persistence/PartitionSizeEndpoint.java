@@ -0,0 +1,79 @@
+package com.tungstun.monitoring.persistence;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reports the size of the partitions of the bill, order and order history tables, largest first,
+ * to decide which bars get a partition of their own and which partitions can be detached.<br>
+ * Available at {@code /actuator/partitions} and {@code /actuator/partitions/{table}} on the management port only,
+ * because partition names contain the ids of bars and the sizes show their order volume.
+ * Only PostgreSQL databases are partitioned, on other databases no partitions are reported.
+ */
+@Component
+@Endpoint(id = "partitions")
+public class PartitionSizeEndpoint {
+    static final List<String> PARTITIONED_TABLES = List.of("bill", "order", "order_history_entry");
+    private static final String QUERY = "select parent.relname as parent_table, " +
+            "child.relname as partition_table, " +
+            "pg_get_expr(child.relpartbound, child.oid) as bounds, " +
+            "pg_total_relation_size(child.oid) as total_bytes, " +
+            "greatest(child.reltuples, 0)::bigint as estimated_rows " +
+            "from pg_inherits inheritance " +
+            "join pg_class parent on parent.oid = inheritance.inhparent " +
+            "join pg_class child on child.oid = inheritance.inhrelid " +
+            "where parent.relname = any (?) " +
+            "order by total_bytes desc";
+    private static final RowMapper<PartitionSize> ROW_MAPPER = (rs, row) -> new PartitionSize(
+            rs.getString("parent_table"),
+            rs.getString("partition_table"),
+            rs.getString("bounds"),
+            rs.getLong("total_bytes"),
+            rs.getLong("estimated_rows")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private Boolean postgres;
+
+    public PartitionSizeEndpoint(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @ReadOperation
+    public List<PartitionSize> partitions() {
+        return sizes(PARTITIONED_TABLES);
+    }
+
+    @ReadOperation
+    public List<PartitionSize> partitionsOfTable(@Selector String table) {
+        if (!PARTITIONED_TABLES.contains(table)) return List.of();
+        return sizes(List.of(table));
+    }
+
+    private List<PartitionSize> sizes(List<String> tables) {
+        if (!isPostgres()) return List.of();
+        return jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(QUERY);
+                    statement.setArray(1, connection.createArrayOf("text", tables.toArray()));
+                    return statement;
+                },
+                ROW_MAPPER
+        );
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL")));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tungstun.monitoring.persistence;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Persistence statistics of a single unit of work (e.g. one http request).<br>
+ * Statistics are bound to the current thread between {@code start()} and {@code stop()},
+ * work done on other threads (e.g. parallel streams) is not recorded.
+ */
+public final class QueryStatistics {
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long entities;
+    private long jdbcNanos;
+
+    private QueryStatistics() {
+    }
+
+    public static QueryStatistics start() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static Optional<QueryStatistics> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void recordStatement(long nanos) {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics == null) return;
+        statistics.statements++;
+        statistics.jdbcNanos += nanos;
+    }
+
+    static void recordRow() {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics != null) statistics.rows++;
+    }
+
+    static void recordEntity() {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics != null) statistics.entities++;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long entities() {
+        return entities;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+}
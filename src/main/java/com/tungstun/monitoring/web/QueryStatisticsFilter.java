@@ -0,0 +1,92 @@
+package com.tungstun.monitoring.web;
+
+import com.tungstun.monitoring.persistence.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records the persistence statistics of every request as metrics tagged by the handling controller method.<br>
+ * When enabled, the statistics are also added as response headers so tests and developers can
+ * check the query budget of an endpoint.
+ */
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Query-Statements";
+    public static final String ROWS_HEADER = "X-Query-Rows";
+    public static final String ENTITIES_HEADER = "X-Query-Entities";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeaders;
+
+    public QueryStatisticsFilter(MeterRegistry meterRegistry, boolean exposeHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            if (!exposeHeaders) {
+                chain.doFilter(request, response);
+            } else {
+                HttpServletResponse wrapper = new OnCommittedResponseWrapper(response) {
+                    @Override
+                    protected void onResponseCommitted() {
+                        writeHeaders(response, statistics);
+                    }
+                };
+                chain.doFilter(request, wrapper);
+                if (!response.isCommitted()) writeHeaders(response, statistics);
+            }
+            record(request, statistics);
+        } finally {
+            QueryStatistics.stop();
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, QueryStatistics statistics) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.statements()));
+        response.setHeader(ROWS_HEADER, String.valueOf(statistics.rows()));
+        response.setHeader(ENTITIES_HEADER, String.valueOf(statistics.entities()));
+        response.setHeader(TIME_HEADER, String.valueOf(statistics.jdbcTime().toMillis()));
+    }
+
+    private void record(HttpServletRequest request, QueryStatistics statistics) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        String tag = handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        DistributionSummary.builder("bartap.request.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tag("handler", tag)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        DistributionSummary.builder("bartap.request.jdbc.rows")
+                .description("JDBC rows fetched per request")
+                .tag("handler", tag)
+                .register(meterRegistry)
+                .record(statistics.rows());
+        DistributionSummary.builder("bartap.request.jdbc.entities")
+                .description("Entities loaded per request")
+                .tag("handler", tag)
+                .register(meterRegistry)
+                .record(statistics.entities());
+        Timer.builder("bartap.request.jdbc.time")
+                .description("Time spent in JDBC per request")
+                .tag("handler", tag)
+                .register(meterRegistry)
+                .record(statistics.jdbcTime());
+    }
+}
@@ -0,0 +1,70 @@
+package com.tungstun.replication;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers who committed a write, so their reads go to the primary until the replicas have caught up.<br>
+ * Writes are tracked per user and per thread. The user's writes cover their later requests,
+ * the thread's writes cover the rest of the current request, also for users that are not logged in.
+ * The thread's write is cleared by {@link ReadYourWritesFilter} when the request ends, so later requests
+ * that reuse the pooled thread are not sent to the primary.
+ */
+public class ReadYourWritesTracker {
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Duration window;
+    private final Clock clock;
+    private final Map<String, Instant> lastWriteOfUser = new ConcurrentHashMap<>();
+    private final ThreadLocal<Instant> lastWriteOfThread = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public void recordWrite() {
+        Instant now = clock.instant();
+        lastWriteOfThread.set(now);
+        String user = currentUser();
+        if (user != null) {
+            lastWriteOfUser.put(user, now);
+            if (lastWriteOfUser.size() > PRUNE_THRESHOLD) {
+                Instant expired = now.minus(window);
+                lastWriteOfUser.values().removeIf(write -> write.isBefore(expired));
+            }
+        }
+    }
+
+    public void clearThread() {
+        lastWriteOfThread.remove();
+    }
+
+    public boolean requiresPrimary() {
+        Instant threshold = clock.instant().minus(window);
+        Instant threadWrite = lastWriteOfThread.get();
+        if (threadWrite != null) {
+            if (threadWrite.isAfter(threshold)) return true;
+            lastWriteOfThread.remove();
+        }
+        String user = currentUser();
+        if (user == null) return false;
+        Instant userWrite = lastWriteOfUser.get(user);
+        return userWrite != null && userWrite.isAfter(threshold);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
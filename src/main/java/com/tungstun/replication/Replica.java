@@ -0,0 +1,46 @@
+package com.tungstun.replication;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica of the primary database with its last measured replication lag.
+ * A replica is only used while it is available, which the {@link ReplicaLagMonitor} decides.
+ */
+public class Replica {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean available;
+    private volatile Duration lag;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.available = false;
+        this.lag = null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Last measured lag, or null if the lag could not be measured.
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    void update(Duration lag, boolean available) {
+        this.lag = lag;
+        this.available = available;
+    }
+}
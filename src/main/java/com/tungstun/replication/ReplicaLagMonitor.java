@@ -0,0 +1,99 @@
+package com.tungstun.replication;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Measures the replication lag of every replica on a fixed delay.
+ * A replica is available while its lag could be measured and does not exceed the maximum lag,
+ * otherwise reads fall back to the primary until the replica has caught up.<br>
+ * The lag query returns the lag in seconds, a null result counts as no lag.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final TaskScheduler scheduler;
+    private final Duration checkDelay;
+
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag, TaskScheduler scheduler, Duration checkDelay) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.scheduler = scheduler;
+        this.checkDelay = checkDelay;
+    }
+
+    public static ThreadPoolTaskScheduler createScheduler(ThreadFactory threadFactory) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadFactory(threadFactory);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void start() {
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, checkDelay);
+    }
+
+    public void stop() {
+        if (scheduler instanceof ThreadPoolTaskScheduler threadPoolTaskScheduler) {
+            threadPoolTaskScheduler.shutdown();
+        }
+    }
+
+    public void check() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        boolean wasAvailable = replica.isAvailable();
+        try {
+            Double seconds = new JdbcTemplate(replica.getDataSource()).queryForObject(lagQuery, Double.class);
+            Duration lag = seconds == null ? Duration.ZERO : Duration.ofMillis(Math.round(seconds * 1000));
+            boolean available = lag.compareTo(maxLag) <= 0;
+            replica.update(lag, available);
+            if (wasAvailable && !available) {
+                LOG.warn("Replica {} lags {} behind, reading from the primary", replica.getName(), lag);
+            } else if (!wasAvailable && available) {
+                LOG.info("Replica {} is available with a lag of {}", replica.getName(), lag);
+            }
+        } catch (RuntimeException e) {
+            replica.update(null, false);
+            if (wasAvailable) {
+                LOG.warn("Replica {} is unavailable, reading from the primary: {}", replica.getName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("bartap.datasource.replica.lag", replica, r -> r.getLag() == null ? Double.NaN : r.getLag().toMillis() / 1000.0)
+                    .description("Replication lag of the replica in seconds")
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("bartap.datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("Whether reads are sent to the replica")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.tungstun.replication;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to an available replica and everything else to the primary.<br>
+ * A read goes to the primary as well when the current user or thread committed a write recently,
+ * see {@link ReadYourWritesTracker}, or when no replica is available.
+ * Replicas are used round robin.<br>
+ * The routing is decided when a connection is requested, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} to request the connection
+ * after the read-only state of the transaction is known.<br>
+ * Only statements that can change data, executed with {@code executeUpdate} or {@code executeBatch},
+ * count as a write. A read-write transaction that only reads does not send the later reads to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    private static final Set<String> WRITE_METHODS = Set.of("executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> STATEMENT_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesTracker tracker) {
+        this.replicas = replicas;
+        this.tracker = tracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (tracker.requiresPrimary()) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.isAvailable()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Records a write once a statement that can change data is executed on the connection,
+     * after the commit when it runs in a transaction and right away otherwise.
+     */
+    private Connection trackWrites(Connection connection) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        Runnable onWrite = tracker::recordWrite;
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            WriteSynchronization synchronization = new WriteSynchronization();
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+            onWrite = synchronization::written;
+        }
+        Runnable recordWrite = onWrite;
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (STATEMENT_METHODS.contains(method.getName())) {
+                return proxy(method.getReturnType(), result, (statement, statementMethod, statementArgs) -> {
+                    Object statementResult = invoke(statement, statementMethod, statementArgs);
+                    if (WRITE_METHODS.contains(statementMethod.getName())) {
+                        recordWrite.run();
+                    }
+                    return statementResult;
+                });
+            }
+            return result;
+        });
+    }
+
+    private class WriteSynchronization implements TransactionSynchronization {
+        private volatile boolean written;
+
+        void written() {
+            written = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            if (written) {
+                tracker.recordWrite();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args[0] instanceof Class<?> iface && iface.isInstance(proxy)) {
+                return proxy;
+            }
+            return handler.invoke(target, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
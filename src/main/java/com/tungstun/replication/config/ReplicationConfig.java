@@ -0,0 +1,131 @@
+package com.tungstun.replication.config;
+
+import com.tungstun.common.execution.ExecutionSettings;
+import com.tungstun.replication.ReadYourWritesFilter;
+import com.tungstun.replication.ReadYourWritesTracker;
+import com.tungstun.replication.Replica;
+import com.tungstun.replication.ReplicaLagMonitor;
+import com.tungstun.replication.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas when {@code com.tungstun.bartap.datasource.replica.urls} is set,
+ * as a comma separated list of JDBC urls. The primary is configured with the regular {@code spring.datasource} properties,
+ * replicas use the same credentials unless {@code com.tungstun.bartap.datasource.replica.username} and {@code password} are set.
+ * The {@code spring.datasource.hikari} pool settings apply to the primary and to every replica.
+ * The pools are published as {@code hikaricp.*} metrics tagged with their pool name, and closed when the application stops.<br>
+ * Hibernate releases its connection after every transaction, otherwise a connection that was
+ * routed to a replica would be reused for the rest of the request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "com.tungstun.bartap.datasource.replica", name = "urls")
+public class ReplicationConfig {
+    @Value("${com.tungstun.bartap.datasource.replica.urls}")
+    private List<String> urls;
+    @Value("${com.tungstun.bartap.datasource.replica.username:#{null}}")
+    private String username;
+    @Value("${com.tungstun.bartap.datasource.replica.password:#{null}}")
+    private String password;
+    @Value("${com.tungstun.bartap.datasource.replica.max-lag:5s}")
+    private Duration maxLag;
+    @Value("${com.tungstun.bartap.datasource.replica.check-delay:1s}")
+    private Duration checkDelay;
+    @Value("${com.tungstun.bartap.datasource.replica.read-your-writes-window:10s}")
+    private Duration readYourWritesWindow;
+    @Value("${com.tungstun.bartap.datasource.replica.lag-query:select extract(epoch from now() - pg_last_xact_replay_timestamp())}")
+    private String lagQuery;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(readYourWritesWindow, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesTracker));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, Environment environment, ExecutionSettings executionSettings) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = createPool(properties, environment, "replica-" + i);
+            dataSource.setJdbcUrl(urls.get(i).trim());
+            dataSource.setUsername(username != null ? username : properties.determineUsername());
+            dataSource.setPassword(password != null ? password : properties.determinePassword());
+            dataSource.setReadOnly(true);
+            replicas.add(new Replica("replica-" + i, dataSource));
+        }
+        return new ReplicaLagMonitor(replicas, lagQuery, maxLag, ReplicaLagMonitor.createScheduler(executionSettings.threadFactory("replica-lag-")), checkDelay);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = createPool(properties, environment, "primary");
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaLagMonitor.getReplicas(), readYourWritesTracker)
+        );
+    }
+
+    /**
+     * Builds a pool the way Spring Boot builds the single data source, including the {@code spring.datasource.hikari} settings.
+     */
+    private HikariDataSource createPool(DataSourceProperties properties, Environment environment, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        pools.add(dataSource);
+        return dataSource;
+    }
+
+    /**
+     * Publishes the pools once they are all created, like Spring Boot does for a pool that is a bean.
+     */
+    @Bean
+    public MeterBinder replicationPoolMetrics(DataSource dataSource, ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> pools.forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    /**
+     * The pools are no beans, so they are closed here once the beans using them have been destroyed.
+     */
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransactionCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
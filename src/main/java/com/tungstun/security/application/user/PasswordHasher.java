@@ -0,0 +1,94 @@
+package com.tungstun.security.application.user;
+
+import com.tungstun.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hashes and checks passwords on a dedicated bounded pool of threads, so a burst of logins
+ * does not occupy the request threads of every other endpoint while BCrypt runs.<br>
+ * At most {@code com.tungstun.bartap.security.password.threads} passwords are hashed at the same time,
+ * and at most {@code queue-capacity} wait for a thread. Any more fail right away with a
+ * {@link PasswordHashingUnavailableException}, which is answered with 503 and a Retry-After header.<br>
+ * The queue, active hashes and rejections are published as {@code bartap.password.hashing.*} metrics.
+ * Only hashing runs on the pool, callers continue on their own executor so slow queries never occupy a hashing thread.
+ */
+@Component
+public class PasswordHasher implements MeterBinder {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${com.tungstun.bartap.security.password.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+                          @Value("${com.tungstun.bartap.security.password.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public CompletableFuture<String> encode(CharSequence password) {
+        return submit(() -> passwordEncoder.encode(password));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence password, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(password, encodedPassword));
+    }
+
+    /**
+     * Whether the encoded password was hashed with a lower strength than the configured strength.
+     * Passwords that were not hashed by the password encoder are never rehashed.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        try {
+            return passwordEncoder.upgradeEncoding(encodedPassword);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingUnavailableException("Too many concurrent logins and registrations, try again later");
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bartap.password.hashing.queued", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(registry);
+        Gauge.builder("bartap.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes that are being computed")
+                .register(registry);
+        FunctionCounter.builder("bartap.password.hashing.rejected", rejected, AtomicLong::get)
+                .description("Password hashes rejected because the queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
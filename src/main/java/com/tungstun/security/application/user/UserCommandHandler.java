@@ -1,14 +1,20 @@
 package com.tungstun.security.application.user;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.tungstun.exception.PasswordHashingUnavailableException;
 import com.tungstun.security.application.user.command.*;
 import com.tungstun.security.application.user.query.GetUser;
+import com.tungstun.security.application.user.query.GetUserCredentials;
 import com.tungstun.security.domain.jwt.JwtTokenGenerator;
 import com.tungstun.security.domain.jwt.JwtValidator;
 import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserCredentials;
 import com.tungstun.security.domain.user.UserRepository;
 import com.tungstun.security.util.account.RegistrationValidator;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
 
 import javax.security.auth.login.AccountException;
@@ -17,43 +23,54 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserCommandHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(UserCommandHandler.class);
+
     private final UserQueryHandler userQueryHandler;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenGenerator jwtTokenGenerator;
     private final JwtValidator jwtValidator;
     private final RegistrationValidator registrationValidator;
+    private final Executor taskExecutor;
 
     public UserCommandHandler(UserQueryHandler userQueryHandler, UserRepository userRepository,
-                              PasswordEncoder passwordEncoder,
+                              PasswordHasher passwordHasher,
                               JwtTokenGenerator jwtTokenGenerator,
                               JwtValidator jwtValidator,
-                              RegistrationValidator registrationValidator
+                              RegistrationValidator registrationValidator,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor
     ) {
         this.userQueryHandler = userQueryHandler;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtTokenGenerator = jwtTokenGenerator;
         this.jwtValidator = jwtValidator;
         this.registrationValidator = registrationValidator;
+        this.taskExecutor = taskExecutor;
     }
 
-    public UUID registerUser(RegisterUser command) throws AccountException {
+    /**
+     * Registers the user once the password is hashed by the {@link PasswordHasher}.
+     * The user is saved on the application task executor, not on a hashing thread.
+     */
+    public CompletableFuture<UUID> registerUser(RegisterUser command) throws AccountException {
         registrationValidator.validateRegistrationDetails(command);
-        String encodedPassword = passwordEncoder.encode(command.password());
-        return userRepository.save(new User(
-                UUID.randomUUID(),
-                command.username(),
-                encodedPassword,
-                command.mail().strip(),
-                command.firstName(),
-                command.lastName(),
-                command.phoneNumber(),
-                new ArrayList<>()
-        )).getId();
+        return passwordHasher.encode(command.password())
+                .thenApplyAsync(encodedPassword -> userRepository.save(new User(
+                        UUID.randomUUID(),
+                        command.username(),
+                        encodedPassword,
+                        command.mail().strip(),
+                        command.firstName(),
+                        command.lastName(),
+                        command.phoneNumber(),
+                        new ArrayList<>()
+                )).getId(), taskExecutor);
     }
 
     public UUID handle(UpdateUser command) {
@@ -68,25 +85,47 @@ public class UserCommandHandler {
         userRepository.delete(command.id());
     }
 
-    public Map<String, String> handle(LogIn command) throws LoginException {
-        User user = (User) userQueryHandler.loadUserByUsername(command.username());
+    /**
+     * Logs in the user once the password is checked by the {@link PasswordHasher}.
+     * A password that was hashed with another work factor than the configured one is hashed again.
+     * Only the credentials and account status of the user are read, not the whole user.
+     */
+    public CompletableFuture<Map<String, String>> handle(LogIn command) {
+        UserCredentials user = userQueryHandler.handle(new GetUserCredentials(command.username()));
         user.canAuthenticate();
-        if (!passwordEncoder.matches(command.password(), user.getPassword())) {
-            throw new LoginException("Incorrect password");
-        }
+        return passwordHasher.matches(command.password(), user.password())
+                .thenCompose(matches -> matches
+                        ? rehashIfNeeded(user, command.password())
+                        : CompletableFuture.failedFuture(new LoginException("Incorrect password")))
+                .thenApply(ignored -> Map.of(
+                        "token_type", "bearer",
+                        "access_token", jwtTokenGenerator.createAccessToken(user),
+                        "refresh_token", jwtTokenGenerator.createRefreshToken()
+                ));
+    }
 
-        return Map.of(
-                "token_type", "bearer",
-                "access_token", jwtTokenGenerator.createAccessToken(user),
-                "refresh_token", jwtTokenGenerator.createRefreshToken()
-        );
+    private CompletableFuture<Void> rehashIfNeeded(UserCredentials user, String password) {
+        if (!passwordHasher.needsRehash(user.password())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return passwordHasher.encode(password)
+                    .thenAcceptAsync(encodedPassword -> userRepository.updatePassword(user.id(), encodedPassword), taskExecutor)
+                    .exceptionally(e -> {
+                        LOG.warn("Could not rehash password of user {}", user.id(), e);
+                        return null;
+                    });
+        } catch (PasswordHashingUnavailableException e) {
+            return CompletableFuture.completedFuture(null);
+        }
     }
 
     public Map<String, String> handle(RefreshAccessToken command) {
         jwtValidator.verifyToken(command.refreshToken());
         DecodedJWT accessTokenInfo = jwtValidator.verifyAccessTokenSignature(command.accessToken());
-        User userDetails = (User) userQueryHandler.loadUserByUsername(accessTokenInfo.getSubject());
-        String newAccessToken = jwtTokenGenerator.createAccessToken(userDetails);
+        UserCredentials user = userQueryHandler.handle(new GetUserCredentials(accessTokenInfo.getSubject()));
+        user.canAuthenticate();
+        String newAccessToken = jwtTokenGenerator.createAccessToken(user);
         return Collections.singletonMap("access_token", newAccessToken);
     }
 }
@@ -5,8 +5,10 @@ import com.tungstun.barapi.application.bar.query.ListOwnedBars;
 import com.tungstun.barapi.domain.bar.Bar;
 import com.tungstun.exception.UserNotFoundException;
 import com.tungstun.security.application.user.query.GetUser;
+import com.tungstun.security.application.user.query.GetUserCredentials;
 import com.tungstun.security.application.user.query.GetUserSummary;
 import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserCredentials;
 import com.tungstun.security.domain.user.UserRepository;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -31,6 +33,12 @@ public class UserQueryHandler implements UserDetailsService {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with username '%s' was not found", username)));
     }
+
+    public UserCredentials handle(GetUserCredentials query) throws UserNotFoundException {
+        return userRepository.findCredentialsByUsername(query.username())
+                .orElseThrow(() -> new UserNotFoundException(String.format("User with username '%s' was not found", query.username())));
+    }
+
     public User handle(GetUser query) throws UserNotFoundException {
         return userRepository.findById(query.userId())
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with id '%s' was not found", query.userId())));
@@ -0,0 +1,4 @@
+package com.tungstun.security.application.user.query;
+
+public record GetUserCredentials(String username) {
+}
@@ -2,6 +2,7 @@ package com.tungstun.security.config;
 
 import com.tungstun.security.application.user.UserQueryHandler;
 import com.tungstun.security.config.evaluator.BarApiPermissionEvaluator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -49,8 +50,12 @@ public class BarApiGlobalSecurityConfig extends GlobalMethodSecurityConfiguratio
         return expressionHandler;
     }
 
+    /**
+     * BCrypt with a work factor of {@code com.tungstun.bartap.security.password.strength}.
+     * Passwords hashed with a lower work factor are rehashed on the next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(4);
+    public PasswordEncoder passwordEncoder(@Value("${com.tungstun.bartap.security.password.strength:4}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -1,15 +1,23 @@
 package com.tungstun.security.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tungstun.exception.web.ExceptionReporter;
+import com.tungstun.security.config.filter.AuthorizationCache;
 import com.tungstun.security.config.filter.JwtAuthorizationFilter;
 import com.tungstun.security.domain.jwt.JwtValidator;
 import org.apache.commons.lang3.ArrayUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
 
 @Configuration
 @EnableWebSecurity
@@ -36,9 +44,19 @@ public class BarApiWebSecurityConfig extends WebSecurityConfigurerAdapter{
             // -- Simple swagger redirect URI
             "/swagger"
     };
+    private static final String[] ACTUATOR_PATHS = {
+            "/actuator/health"
+    };
+    private static final String MANAGEMENT_SERVER_NAMESPACE = "management";
 
     @Autowired
     private JwtValidator validator;
+    @Autowired
+    private AuthorizationCache authorizationCache;
+    @Autowired
+    private ExceptionReporter exceptionReporter;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -46,19 +64,23 @@ public class BarApiWebSecurityConfig extends WebSecurityConfigurerAdapter{
                 .csrf().disable()
                 .formLogin().disable()
                 .authorizeRequests()
-                .antMatchers(ArrayUtils.addAll(SWAGGER_PATHS,
+                .antMatchers(ArrayUtils.addAll(ArrayUtils.addAll(SWAGGER_PATHS, ACTUATOR_PATHS),
                         REGISTER_PATH,
                         LOGIN_PATH,
                         LOGIN_REFRESH_PATH
                 )).permitAll()
+                .requestMatchers(BarApiWebSecurityConfig::isManagementServerRequest).permitAll()
                 .antMatchers(SWAGGER_PATHS).permitAll()
                 .anyRequest().authenticated()
                 .and()
                 .addFilter(new JwtAuthorizationFilter(
                         authenticationManager(),
                         validator,
+                        authorizationCache,
+                        exceptionReporter,
+                        objectMapper,
                         ArrayUtils.addAll(
-                                SWAGGER_PATHS,
+                                ArrayUtils.addAll(SWAGGER_PATHS, ACTUATOR_PATHS),
                                 LOGIN_PATH,
                                 REGISTER_PATH,
                                 LOGIN_REFRESH_PATH
@@ -67,4 +89,13 @@ public class BarApiWebSecurityConfig extends WebSecurityConfigurerAdapter{
                 .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
     }
+
+    /**
+     * Actuator endpoints other than health, like metrics and partition sizes, are only open on the separate
+     * {@code management.server.port}, which is not published. On the application port they require authentication.
+     */
+    private static boolean isManagementServerRequest(HttpServletRequest request) {
+        ApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(request.getServletContext());
+        return context != null && WebServerApplicationContext.hasServerNamespace(context, MANAGEMENT_SERVER_NAMESPACE);
+    }
 }
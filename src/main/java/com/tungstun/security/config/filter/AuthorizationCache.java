@@ -0,0 +1,98 @@
+package com.tungstun.security.config.filter;
+
+import com.tungstun.exception.NotAuthenticatedException;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Least recently used cache of the authorizations of users, used to resolve the authorizations of compact access tokens.<br>
+ * An entry is refreshed when a token carries a newer authorization version than the cached one,
+ * which happens once a user got a new access token after their authorizations changed.
+ * Entries also expire after a while, so authorizations changed on another instance are picked up
+ * even when the user keeps using an older token.
+ */
+@Component
+public class AuthorizationCache {
+    private record Entry(long version, List<Authorization> authorizations, Instant expiresAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<UUID, Entry> entries;
+
+    @Autowired
+    public AuthorizationCache(UserRepository userRepository,
+                              @Value("${com.tungstun.bartap.security.authorization-cache.size:10000}") int maxSize,
+                              @Value("${com.tungstun.bartap.security.authorization-cache.ttl:5m}") Duration timeToLive) {
+        this(userRepository, maxSize, timeToLive, Clock.systemUTC());
+    }
+
+    AuthorizationCache(UserRepository userRepository, int maxSize, Duration timeToLive, Clock clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.userRepository = userRepository;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the authorizations of the user, loading them when they are not cached,
+     * expired or older than the given version.
+     */
+    public List<Authorization> getAuthorizations(UUID userId, long version) {
+        Entry entry = get(userId);
+        if (entry != null && entry.version() >= version) {
+            return entry.authorizations();
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotAuthenticatedException("Invalid token"));
+        List<Authorization> authorizations = user.getAuthorizations()
+                .entrySet()
+                .stream()
+                .map(authorization -> new Authorization(authorization.getKey(), authorization.getValue()))
+                .toList();
+        put(userId, new Entry(user.getAuthorizationVersion(), authorizations, clock.instant().plus(timeToLive)));
+        return authorizations;
+    }
+
+    private synchronized Entry get(UUID userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) return null;
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void put(UUID userId, Entry entry) {
+        Entry current = entries.get(userId);
+        if (current == null || current.version() <= entry.version()) {
+            entries.put(userId, entry);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -1,10 +1,11 @@
 package com.tungstun.security.config.filter;
 
 import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.tungstun.exception.NotAuthenticatedException;
+import com.tungstun.exception.web.ExceptionReporter;
 import com.tungstun.exception.web.ExceptionResponse;
 import com.tungstun.security.domain.jwt.JwtValidator;
 import org.springframework.http.HttpStatus;
@@ -25,19 +26,31 @@ import java.util.*;
 
 /**
  * Tries to authorize a user, based on the Bearer token (JWT) from
- * the Authorization header of the incoming request.
+ * the Authorization header of the incoming request.<br>
+ * Compact access tokens only carry the version of the user's authorizations,
+ * their authorizations are resolved through the {@link AuthorizationCache}.<br>
+ * Rejected tokens are reported as expected exceptions and answered with the shared object mapper of the application.
  */
 public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
     private final JwtValidator validator;
+    private final AuthorizationCache authorizationCache;
+    private final ExceptionReporter exceptionReporter;
+    private final ObjectMapper objectMapper;
     private final String[] ignoredPaths;
 
     public JwtAuthorizationFilter(
             AuthenticationManager authenticationManager,
             JwtValidator validator,
+            AuthorizationCache authorizationCache,
+            ExceptionReporter exceptionReporter,
+            ObjectMapper objectMapper,
             String[] ignoredPaths
     ) {
         super(authenticationManager);
         this.validator = validator;
+        this.authorizationCache = authorizationCache;
+        this.exceptionReporter = exceptionReporter;
+        this.objectMapper = objectMapper;
         this.ignoredPaths = ignoredPaths;
     }
 
@@ -57,6 +70,7 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
         if (accessToken == null || tokenType == null || accessToken.isEmpty() || !tokenType.equalsIgnoreCase("bearer")) {
             chain.doFilter(request, response);
+            return;
         }
 
         try {
@@ -66,12 +80,7 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
                     .orElseThrow(() -> new JWTDecodeException("No client_id in access token"));
 
             String username = decodedJWT.getSubject();
-            List<Authorization> authorizations = decodedJWT.getClaim("authorizations")
-                    .asMap()
-                    .entrySet()
-                    .stream()
-                    .map(entry -> new Authorization(UUID.fromString(entry.getKey()), (String) entry.getValue()))
-                    .toList();
+            List<Authorization> authorizations = authorizations(decodedJWT, userId);
             UserProfile principal = new UserProfile(userId, username, authorizations);
             Authentication auth = new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
             SecurityContextHolder.getContext().setAuthentication(auth);
@@ -80,12 +89,25 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
             returnUnAuthorizedResponse(response, e);
         }
     }
+
+    private List<Authorization> authorizations(DecodedJWT decodedJWT, UUID userId) {
+        Claim version = decodedJWT.getClaim("authorization_version");
+        if (!version.isMissing()) {
+            return authorizationCache.getAuthorizations(userId, version.asLong());
+        }
+        return decodedJWT.getClaim("authorizations")
+                .asMap()
+                .entrySet()
+                .stream()
+                .map(entry -> new Authorization(UUID.fromString(entry.getKey()), (String) entry.getValue()))
+                .toList();
+    }
+
     public void returnUnAuthorizedResponse(HttpServletResponse response, RuntimeException e) throws IOException {
-        e.printStackTrace();
+        exceptionReporter.expected(e, HttpStatus.UNAUTHORIZED);
         ExceptionResponse res = ExceptionResponse.with("Invalid token", e.getLocalizedMessage());
-        String value = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(res);
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
         response.setContentType(MediaType.APPLICATION_JSON.toString());
-        response.getWriter().write(value);
+        objectMapper.writeValue(response.getWriter(), res);
     }
 }
\ No newline at end of file
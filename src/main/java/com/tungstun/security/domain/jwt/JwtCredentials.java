@@ -1,9 +1,11 @@
 package com.tungstun.security.domain.jwt;
 
-import com.auth0.jwt.algorithms.Algorithm;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "com.tungstun.bartap.security.jwt")
 public class JwtCredentials {
@@ -13,10 +15,10 @@ public class JwtCredentials {
     private Long jwtPersonConnectExpirationInMs;
     private String[] jwtAudience;
     private String jwtIssuer;
-
-    public Algorithm algorithm() {
-        return Algorithm.HMAC256(jwtSecret);
-    }
+    private boolean jwtCompactAccessToken;
+    private String jwtAlgorithm = "HS256";
+    private String jwtSigningKeyId;
+    private List<JwtKey> jwtKeys = new ArrayList<>();
 
     public String getJwtSecret() {
         return jwtSecret;
@@ -65,4 +67,70 @@ public class JwtCredentials {
     public void setJwtIssuer(String jwtIssuer) {
         this.jwtIssuer = jwtIssuer;
     }
+
+    public boolean isJwtCompactAccessToken() {
+        return jwtCompactAccessToken;
+    }
+
+    public void setJwtCompactAccessToken(boolean jwtCompactAccessToken) {
+        this.jwtCompactAccessToken = jwtCompactAccessToken;
+    }
+
+    public String getJwtAlgorithm() {
+        return jwtAlgorithm;
+    }
+
+    public void setJwtAlgorithm(String jwtAlgorithm) {
+        this.jwtAlgorithm = jwtAlgorithm;
+    }
+
+    public String getJwtSigningKeyId() {
+        return jwtSigningKeyId;
+    }
+
+    public void setJwtSigningKeyId(String jwtSigningKeyId) {
+        this.jwtSigningKeyId = jwtSigningKeyId;
+    }
+
+    public List<JwtKey> getJwtKeys() {
+        return jwtKeys;
+    }
+
+    public void setJwtKeys(List<JwtKey> jwtKeys) {
+        this.jwtKeys = jwtKeys;
+    }
+
+    /**
+     * Key pair of the ES256 algorithm, read from PEM files.
+     * The private key is only needed for the key that signs new tokens.
+     */
+    public static class JwtKey {
+        private String id;
+        private String publicKey;
+        private String privateKey;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package com.tungstun.security.domain.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the algorithm and verifiers of the tokens once, so signing and verifying does not derive keys per token.<br>
+ * With {@code jwtAlgorithm=HS256} (default) tokens are signed with the {@code jwtSecret}.
+ * With {@code jwtAlgorithm=ES256} tokens are signed with the private key of {@code jwtSigningKeyId} and carry its id
+ * in the kid header, tokens are verified with the public key of their kid out of {@code jwtKeys}.<br>
+ * To rotate keys, add the new key pair to {@code jwtKeys} and make it the signing key,
+ * while keeping the public key of the old key until the tokens signed with it have expired.
+ */
+@Component
+public class JwtKeyManager {
+    private final Algorithm algorithm;
+    private final JWTVerifier accessTokenVerifier;
+    private final JWTVerifier tokenVerifier;
+
+    public JwtKeyManager(JwtCredentials credentials) {
+        this.algorithm = createAlgorithm(credentials);
+        this.accessTokenVerifier = JWT.require(algorithm)
+                .withIssuer(credentials.getJwtIssuer())
+                .withAudience(credentials.getJwtAudience())
+                .withClaimPresence("client_id")
+                .acceptLeeway(1)
+                .build();
+        this.tokenVerifier = JWT.require(algorithm)
+                .withIssuer(credentials.getJwtIssuer())
+                .withAudience(credentials.getJwtAudience())
+                .acceptLeeway(1)
+                .build();
+    }
+
+    private static Algorithm createAlgorithm(JwtCredentials credentials) {
+        return switch (credentials.getJwtAlgorithm().toUpperCase()) {
+            case "HS256" -> Algorithm.HMAC256(credentials.getJwtSecret());
+            case "ES256" -> Algorithm.ECDSA256(createKeyProvider(credentials));
+            default -> throw new IllegalStateException("Unsupported JWT algorithm: " + credentials.getJwtAlgorithm());
+        };
+    }
+
+    private static ECDSAKeyProvider createKeyProvider(JwtCredentials credentials) {
+        Map<String, ECPublicKey> publicKeys = new HashMap<>();
+        ECPrivateKey signingKey = null;
+        for (JwtCredentials.JwtKey key : credentials.getJwtKeys()) {
+            publicKeys.put(key.getId(), (ECPublicKey) readPublicKey(key.getPublicKey()));
+            if (key.getId().equals(credentials.getJwtSigningKeyId()) && key.getPrivateKey() != null) {
+                signingKey = (ECPrivateKey) readPrivateKey(key.getPrivateKey());
+            }
+        }
+        if (signingKey == null) {
+            throw new IllegalStateException("No private key configured for JWT signing key: " + credentials.getJwtSigningKeyId());
+        }
+        return new StaticKeyProvider(Collections.unmodifiableMap(publicKeys), credentials.getJwtSigningKeyId(), signingKey);
+    }
+
+    private static PublicKey readPublicKey(String path) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(readPem(path)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read JWT public key: " + path, e);
+        }
+    }
+
+    private static PrivateKey readPrivateKey(String path) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(readPem(path)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read JWT private key: " + path, e);
+        }
+    }
+
+    private static byte[] readPem(String path) {
+        try {
+            String pem = Files.readString(Path.of(path))
+                    .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "");
+            return Base64.getMimeDecoder().decode(pem.strip());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read JWT key file: " + path, e);
+        }
+    }
+
+    public Algorithm algorithm() {
+        return algorithm;
+    }
+
+    public JWTVerifier accessTokenVerifier() {
+        return accessTokenVerifier;
+    }
+
+    public JWTVerifier tokenVerifier() {
+        return tokenVerifier;
+    }
+
+    private record StaticKeyProvider(Map<String, ECPublicKey> publicKeys, String signingKeyId, ECPrivateKey signingKey)
+            implements ECDSAKeyProvider {
+        @Override
+        public ECPublicKey getPublicKeyById(String keyId) {
+            return publicKeys.get(keyId);
+        }
+
+        @Override
+        public ECPrivateKey getPrivateKey() {
+            return signingKey;
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return signingKeyId;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.tungstun.security.domain.jwt;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserCredentials;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
@@ -13,14 +14,32 @@ import java.util.stream.Collectors;
 @Component
 public class JwtTokenGenerator {
     private final JwtCredentials credentials;
+    private final JwtKeyManager keyManager;
 
-    public JwtTokenGenerator(JwtCredentials credentials) {
+    public JwtTokenGenerator(JwtCredentials credentials, JwtKeyManager keyManager) {
         this.credentials = credentials;
+        this.keyManager = keyManager;
     }
 
+    /**
+     * Creates an access token for the user.<br>
+     * A compact access token carries the version of the user's authorizations instead of the authorizations themselves,
+     * so its size does not grow with the amount of bars of the user. The authorizations are then resolved on the server.
+     */
     public String createAccessToken(User user) {
+        return createAccessToken(user.getId(), user.getUsername(), user.getAuthorizationVersion(), user.getAuthorizations());
+    }
+
+    public String createAccessToken(UserCredentials user) {
+        return createAccessToken(user.id(), user.username(), user.authorizationVersion(), user.authorizations());
+    }
+
+    private String createAccessToken(UUID userId, String username, long authorizationVersion, Map<UUID, String> userAuthorizations) {
+        if (credentials.isJwtCompactAccessToken()) {
+            return createCompactAccessToken(userId, username, authorizationVersion);
+        }
         try {
-            Map<String, String> authorizations = user.getAuthorizations()
+            Map<String, String> authorizations = userAuthorizations
                     .entrySet()
                     .stream()
                     .collect(Collectors.toMap(k -> String.valueOf(k.getKey()), Map.Entry::getValue));
@@ -28,10 +47,25 @@ public class JwtTokenGenerator {
                     .withIssuer(credentials.getJwtIssuer())
                     .withAudience(credentials.getJwtAudience())
                     .withExpiresAt(new Date(System.currentTimeMillis() + credentials.getJwtExpirationInMs()))
-                    .withSubject(user.getUsername())
-                    .withClaim("client_id", user.getId().toString())
+                    .withSubject(username)
+                    .withClaim("client_id", userId.toString())
                     .withClaim("authorizations", authorizations)
-                    .sign(credentials.algorithm());
+                    .sign(keyManager.algorithm());
+        } catch (JWTCreationException e) {
+            throw new JWTCreationException("Exception occurred during the creation of an access token", e);
+        }
+    }
+
+    private String createCompactAccessToken(UUID userId, String username, long authorizationVersion) {
+        try {
+            return JWT.create()
+                    .withIssuer(credentials.getJwtIssuer())
+                    .withAudience(credentials.getJwtAudience())
+                    .withExpiresAt(new Date(System.currentTimeMillis() + credentials.getJwtExpirationInMs()))
+                    .withSubject(username)
+                    .withClaim("client_id", userId.toString())
+                    .withClaim("authorization_version", authorizationVersion)
+                    .sign(keyManager.algorithm());
         } catch (JWTCreationException e) {
             throw new JWTCreationException("Exception occurred during the creation of an access token", e);
         }
@@ -43,7 +77,7 @@ public class JwtTokenGenerator {
                     .withIssuer(credentials.getJwtIssuer())
                     .withAudience(credentials.getJwtAudience())
                     .withExpiresAt(new Date(System.currentTimeMillis() + credentials.getJwtRefreshExpirationInMs()))
-                    .sign(credentials.algorithm());
+                    .sign(keyManager.algorithm());
         } catch (JWTCreationException e) {
             throw new JWTCreationException("Exception occurred during the creation of th refresh token", e);
         }
@@ -57,7 +91,7 @@ public class JwtTokenGenerator {
                     .withExpiresAt(new Date(System.currentTimeMillis() + credentials.getJwtPersonConnectExpirationInMs()))
                     .withClaim("bar_id", barId.toString())
                     .withClaim("person_id", personId.toString())
-                    .sign(credentials.algorithm());
+                    .sign(keyManager.algorithm());
         } catch (JWTCreationException e) {
             throw new JWTCreationException("Exception occurred during the creation of the person connection token", e);
         }
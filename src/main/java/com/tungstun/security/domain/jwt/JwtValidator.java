@@ -15,9 +15,11 @@ import java.util.List;
 @Component
 public class JwtValidator {
     private final JwtCredentials credentials;
+    private final JwtKeyManager keyManager;
 
-    public JwtValidator(JwtCredentials credentials) {
+    public JwtValidator(JwtCredentials credentials, JwtKeyManager keyManager) {
         this.credentials = credentials;
+        this.keyManager = keyManager;
     }
 
     private DecodedJWT verify(String token, JWTVerifier verifier) {
@@ -33,20 +35,17 @@ public class JwtValidator {
     }
 
     public DecodedJWT verifyAccessToken(String token) {
-        JWTVerifier verifier = JWT.require(credentials.algorithm())
-                .withIssuer(credentials.getJwtIssuer())
-                .withAudience(credentials.getJwtAudience())
-                .withClaimPresence("client_id")
-                .withClaimPresence("authorizations")
-                .acceptLeeway(1)
-                .build();
-        return verify(token, verifier);
+        DecodedJWT decodedJWT = verify(token, keyManager.accessTokenVerifier());
+        if (decodedJWT.getClaim("authorizations").isMissing() && decodedJWT.getClaim("authorization_version").isMissing()) {
+            throw new NotAuthenticatedException("Invalid token");
+        }
+        return decodedJWT;
     }
 
     public DecodedJWT verifyAccessTokenSignature(String token) {
         try {
             DecodedJWT decodedJWT = JWT.decode(token);
-            Algorithm algorithm = credentials.algorithm();
+            Algorithm algorithm = keyManager.algorithm();
 
             if (!algorithm.getName().equals(decodedJWT.getAlgorithm())) {
                 throw new NotAuthenticatedException("Invalid token");
@@ -68,11 +67,6 @@ public class JwtValidator {
     }
 
     public DecodedJWT verifyToken(String token) {
-        JWTVerifier verifier = JWT.require(credentials.algorithm())
-                .withIssuer(credentials.getJwtIssuer())
-                .withAudience(credentials.getJwtAudience())
-                .acceptLeeway(1)
-                .build();
-        return verify(token, verifier);
+        return verify(token, keyManager.tokenVerifier());
     }
 }
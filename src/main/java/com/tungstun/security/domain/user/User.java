@@ -43,6 +43,13 @@ public class User implements UserDetails {
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<Authorization> authorizations;
 
+    /**
+     * Incremented on every change of the authorizations, so compact access tokens
+     * and cached authorizations can tell whether they are outdated.
+     */
+    @Column(name = "authorization_version")
+    private long authorizationVersion;
+
     public User() {
     }
 
@@ -152,6 +159,7 @@ public class User implements UserDetails {
                 .ifPresentOrElse(
                         authorization -> authorization.updateRole(role),
                         () -> authorizations.add(new Authorization(UUID.randomUUID(), barId, role, person)));
+        authorizationVersion++;
         return true;
     }
 
@@ -168,7 +176,9 @@ public class User implements UserDetails {
 //    }
 
     private boolean revokeAuthorization(UUID barId) {
-        return authorizations.removeIf(authorization -> authorization.getBarId().equals(barId));
+        boolean revoked = authorizations.removeIf(authorization -> authorization.getBarId().equals(barId));
+        if (revoked) authorizationVersion++;
+        return revoked;
     }
 
     public Map<UUID, String> getAuthorizations() {
@@ -178,6 +188,10 @@ public class User implements UserDetails {
                         authorization -> authorization.getRole().name()));
     }
 
+    public long getAuthorizationVersion() {
+        return authorizationVersion;
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return true;
@@ -0,0 +1,34 @@
+package com.tungstun.security.domain.user;
+
+import com.tungstun.exception.CannotAuthenticateException;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The part of a {@link User} that is needed to log in and to create access tokens.<br>
+ * Read with a single query that does not load the personal details and the people of the user.
+ * Carries the account status of the user, so logging in checks it just like {@link User#canAuthenticate()}.
+ */
+public record UserCredentials(
+        UUID id,
+        String username,
+        String password,
+        long authorizationVersion,
+        Map<UUID, String> authorizations,
+        boolean accountNonExpired,
+        boolean accountNonLocked,
+        boolean credentialsNonExpired,
+        boolean enabled
+) {
+    public void canAuthenticate() {
+        if (!accountNonExpired)
+            throw new CannotAuthenticateException("Account expired. An expired account cannot be authenticated.");
+        if (!accountNonLocked)
+            throw new CannotAuthenticateException("Account locked. A locked account cannot be authenticated.");
+        if (!credentialsNonExpired)
+            throw new CannotAuthenticateException("Account credentials expired. Expired credentials prevent authentication.");
+        if (!enabled)
+            throw new CannotAuthenticateException("Account disabled. A disabled account cannot be authenticated.");
+    }
+}
@@ -2,6 +2,7 @@ package com.tungstun.security.domain.user;
 
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,6 +12,8 @@ public interface UserRepository {
 
     User update(User user);
 
+    void updatePassword(UUID id, String password);
+
     void delete(UUID id);
 
     void delete(User id);
@@ -20,4 +23,14 @@ public interface UserRepository {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByMail(String mail);
+
+    /**
+     * Finds the credentials of the user without loading the rest of the user.
+     */
+    Optional<UserCredentials> findCredentialsByUsername(String username);
+
+    /**
+     * Finds the usernames of the users that have the given username or the given mail, in a single query.
+     */
+    List<String> findUsernamesByUsernameOrMail(String username, String mail);
 }
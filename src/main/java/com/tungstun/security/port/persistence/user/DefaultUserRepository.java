@@ -1,9 +1,13 @@
 package com.tungstun.security.port.persistence.user;
 
 import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserCredentials;
 import com.tungstun.security.domain.user.UserRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +29,11 @@ public class DefaultUserRepository implements UserRepository {
         return repository.save(entity);
     }
 
+    @Override
+    public void updatePassword(UUID id, String password) {
+        repository.updatePassword(id, password);
+    }
+
     @Override
     public void delete(UUID id) {
         repository.deleteById(id);
@@ -50,4 +59,32 @@ public class DefaultUserRepository implements UserRepository {
         return repository.findByMail(mail);
     }
 
+    @Override
+    public Optional<UserCredentials> findCredentialsByUsername(String username) {
+        List<SpringUserRepository.CredentialsRow> rows = repository.findCredentialsByUsername(username);
+        if (rows.isEmpty()) return Optional.empty();
+
+        Map<UUID, String> authorizations = new HashMap<>();
+        for (SpringUserRepository.CredentialsRow row : rows) {
+            if (row.getBarId() != null) authorizations.put(row.getBarId(), row.getRole().name());
+        }
+        SpringUserRepository.CredentialsRow user = rows.get(0);
+        // The account status is not stored, every account is active just like in User
+        return Optional.of(new UserCredentials(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getAuthorizationVersion(),
+                authorizations,
+                true,
+                true,
+                true,
+                true
+        ));
+    }
+
+    @Override
+    public List<String> findUsernamesByUsernameOrMail(String username, String mail) {
+        return repository.findUsernamesByUsernameOrMail(username, mail);
+    }
 }
@@ -1,12 +1,48 @@
 package com.tungstun.security.port.persistence.user;
 
+import com.tungstun.security.domain.user.Role;
 import com.tungstun.security.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SpringUserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
     Optional<User> findByMail(String mail);
+
+    @Query("select u.id as id, u.username as username, u.password as password, u.authorizationVersion as authorizationVersion, " +
+            "a.barId as barId, a.role as role " +
+            "from User u left join u.authorizations a where u.username = :username")
+    List<CredentialsRow> findCredentialsByUsername(@Param("username") String username);
+
+    @Query("select u.username from User u where u.username = :username or u.mail = :mail")
+    List<String> findUsernamesByUsernameOrMail(@Param("username") String username, @Param("mail") String mail);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    void updatePassword(@Param("id") UUID id, @Param("password") String password);
+
+    /**
+     * A row of the credentials of a user, one per authorization of the user.
+     */
+    interface CredentialsRow {
+        UUID getId();
+
+        String getUsername();
+
+        String getPassword();
+
+        long getAuthorizationVersion();
+
+        UUID getBarId();
+
+        Role getRole();
+    }
 }
@@ -22,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.security.auth.login.AccountException;
 import javax.validation.Valid;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/account")
@@ -43,7 +44,7 @@ public class AccountController {
             description = "Create a new user account given the provided information",
             tags = "Account"
     )
-    public UuidResponse register(
+    public CompletableFuture<UuidResponse> register(
             @Valid @RequestBody UserRegistrationRequest userRegistrationRequest
     ) throws AccountException {
         RegisterUser command = new RegisterUser(
@@ -54,7 +55,8 @@ public class AccountController {
                 userRegistrationRequest.mail(),
                 userRegistrationRequest.phoneNumber()
         );
-        return new UuidResponse(userCommandHandler.registerUser(command));
+        return userCommandHandler.registerUser(command)
+                .thenApply(UuidResponse::new);
     }
 
     @PatchMapping("/{userId}")
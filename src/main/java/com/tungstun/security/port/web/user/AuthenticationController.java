@@ -13,9 +13,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.security.auth.login.LoginException;
 import javax.validation.Valid;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/authenticate")
@@ -38,10 +38,10 @@ public class AuthenticationController {
             description = "Log in using the provided login credentials and receive an access and refresh token",
             tags = "Account"
     )
-    public ResponseEntity<Void> login(@Valid @RequestBody LoginRequest loginRequest) throws LoginException {
+    public CompletableFuture<ResponseEntity<Void>> login(@Valid @RequestBody LoginRequest loginRequest) {
         LogIn command = new LogIn(loginRequest.username(), loginRequest.password());
-        Map<String, String> authorization = userCommandHandler.handle(command);
-        return createResponseWithHeaders(authorization);
+        return userCommandHandler.handle(command)
+                .thenApply(this::createResponseWithHeaders);
     }
 
     @PostMapping("/refresh")
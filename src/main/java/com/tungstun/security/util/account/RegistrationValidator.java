@@ -6,6 +6,7 @@ import com.tungstun.security.util.validation.NonSpaceValidator;
 import org.springframework.stereotype.Component;
 
 import javax.security.auth.login.AccountException;
+import java.util.List;
 
 @Component
 public class RegistrationValidator {
@@ -42,18 +43,12 @@ public class RegistrationValidator {
         if (!isValid) throw new IllegalArgumentException("Password cannot contain spaces");
     }
 
+    /**
+     * Checks the username and the mail with a single query on their unique indexes.
+     */
     private void validateUniqueAccount(RegisterUser userRegistrationRequest) throws AccountException {
-        validateUniqueUsername(userRegistrationRequest.username());
-        validateUniqueMail(userRegistrationRequest.mail());
-    }
-
-    private void validateUniqueUsername(String username) throws AccountException {
-        boolean exists = this.userRepository.findByUsername(username).isPresent();
-        if (exists) throw new AccountException("Account with username already exists");
-    }
-
-    private void validateUniqueMail(String mail) throws AccountException {
-        boolean exists = this.userRepository.findByMail(mail).isPresent();
-        if (exists) throw new AccountException("Account with mail already exists");
+        List<String> usernames = userRepository.findUsernamesByUsernameOrMail(userRegistrationRequest.username(), userRegistrationRequest.mail());
+        if (usernames.contains(userRegistrationRequest.username())) throw new AccountException("Account with username already exists");
+        if (!usernames.isEmpty()) throw new AccountException("Account with mail already exists");
     }
 }
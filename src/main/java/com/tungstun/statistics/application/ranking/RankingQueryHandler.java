@@ -0,0 +1,43 @@
+package com.tungstun.statistics.application.ranking;
+
+import com.tungstun.statistics.application.ranking.query.GetBarRankings;
+import com.tungstun.statistics.domain.orderline.OrderLineRepository;
+import com.tungstun.statistics.domain.ranking.RankingAggregator;
+import com.tungstun.statistics.domain.ranking.Rankings;
+import com.tungstun.statistics.domain.statistics.Filters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ranks the products, customers and bartenders of a bar from the orders in the range of the filters,
+ * where the to date is inclusive.<br>
+ * Every ranking keeps at most {@code com.tungstun.bartap.statistics.rankings.capacity} counters,
+ * so memory stays bounded for any range. The rankings are exact as long as no ranking has more items than that.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RankingQueryHandler {
+    private final OrderLineRepository orderLineRepository;
+    private final int capacity;
+
+    public RankingQueryHandler(OrderLineRepository orderLineRepository,
+                               @Value("${com.tungstun.bartap.statistics.rankings.capacity:1000}") int capacity) {
+        this.orderLineRepository = orderLineRepository;
+        this.capacity = capacity;
+    }
+
+    public Rankings handle(GetBarRankings query, Filters filters) {
+        if (query.k() < 1 || query.k() > capacity) {
+            throw new IllegalArgumentException(String.format("k must be between 1 and %s", capacity));
+        }
+        LocalDateTime from = filters.from() == null ? null : filters.from().atStartOfDay();
+        LocalDateTime to = filters.to() == null ? null : filters.to().plusDays(1).atStartOfDay();
+
+        RankingAggregator aggregator = new RankingAggregator(capacity);
+        orderLineRepository.forEachOrderLine(query.barId(), from, to, aggregator::add);
+        return aggregator.rankings(query.k());
+    }
+}
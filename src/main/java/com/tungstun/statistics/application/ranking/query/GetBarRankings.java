@@ -0,0 +1,8 @@
+package com.tungstun.statistics.application.ranking.query;
+
+import java.util.UUID;
+
+public record GetBarRankings(
+        UUID barId,
+        int k) {
+}
@@ -0,0 +1,84 @@
+package com.tungstun.statistics.application.statistics;
+
+import com.tungstun.barapi.domain.bar.BarRepository;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.common.execution.ExecutionSettings;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.statistics.PartialStatistics;
+import com.tungstun.statistics.domain.statistics.Statistics;
+import com.tungstun.statistics.domain.statistics.StatisticsGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Generates the statistics of multiple bars in parallel.<br>
+ * Every bar is loaded in its own read-only transaction and reduced to {@link PartialStatistics},
+ * after which its sessions are released. The partial statistics are merged afterwards.
+ * At most {@code com.tungstun.bartap.statistics.parallelism} bars are loaded at once, defaulting to the amount of processors.
+ * Every bar that is loaded holds a database connection, so the parallelism should stay below the size of the connection pool.
+ */
+@Component
+public class ParallelStatisticsGenerator {
+    private final BarRepository barRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    public ParallelStatisticsGenerator(BarRepository barRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       ExecutionSettings executionSettings,
+                                       @Value("${com.tungstun.bartap.statistics.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Statistics parallelism must be at least 1");
+        }
+        this.barRepository = barRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = Executors.newFixedThreadPool(parallelism, executionSettings.threadFactory("statistics-"));
+    }
+
+    /**
+     * Generates the statistics of the bills of the given bars that match the bill filter.
+     * Bars that do not exist are skipped.
+     */
+    public Statistics generate(Collection<UUID> barIds, Filters filters, Predicate<Bill> billFilter) {
+        List<CompletableFuture<PartialStatistics>> partials = barIds.stream()
+                .map(barId -> CompletableFuture.supplyAsync(() -> generate(barId, filters, billFilter), executor))
+                .toList();
+        try {
+            return partials.stream()
+                    .map(CompletableFuture::join)
+                    .reduce(PartialStatistics.empty(), PartialStatistics::merge)
+                    .toStatistics();
+        } catch (CompletionException e) {
+            partials.forEach(partial -> partial.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private PartialStatistics generate(UUID barId, Filters filters, Predicate<Bill> billFilter) {
+        return transactionTemplate.execute(status -> barRepository.findById(barId)
+                .map(bar -> new StatisticsGenerator(filters)
+                        .addBar(bar)
+                        .addBillFilter(billFilter)
+                        .generatePartial())
+                .orElseGet(PartialStatistics::empty));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
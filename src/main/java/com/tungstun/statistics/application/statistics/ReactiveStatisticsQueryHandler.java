@@ -0,0 +1,79 @@
+package com.tungstun.statistics.application.statistics;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.ReactiveBarRepository;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.session.ReactiveSessionRepository;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import com.tungstun.statistics.application.statistics.query.GetBarStatistics;
+import com.tungstun.statistics.application.statistics.query.GetCustomerStatistics;
+import com.tungstun.statistics.application.statistics.query.GetGlobalCustomerStatistics;
+import com.tungstun.statistics.application.statistics.query.GetUserCustomerStatistics;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.statistics.Statistics;
+import com.tungstun.statistics.domain.statistics.StatisticsGenerator;
+import com.tungstun.statistics.domain.statistics.filter.BillFromUserWithIdFilter;
+import com.tungstun.statistics.domain.statistics.filter.BillFromUserWithUsernameFilter;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Generates the same statistics as the {@link StatisticsQueryHandler}, from sessions that are streamed from the database.
+ * The date filters are already applied by the database.
+ */
+@Service
+@ConditionalOnReactiveReads
+public class ReactiveStatisticsQueryHandler {
+    private final ReactiveBarRepository barRepository;
+    private final ReactiveSessionRepository sessionRepository;
+    private final Scheduler reactiveReadScheduler;
+
+    public ReactiveStatisticsQueryHandler(ReactiveBarRepository barRepository, ReactiveSessionRepository sessionRepository, Scheduler reactiveReadScheduler) {
+        this.barRepository = barRepository;
+        this.sessionRepository = sessionRepository;
+        this.reactiveReadScheduler = reactiveReadScheduler;
+    }
+
+    public Mono<Statistics> handle(GetBarStatistics query, Filters filters) {
+        return generate(sessionsOfBar(query.barId(), filters), filters, bill -> true);
+    }
+
+    public Mono<Statistics> handle(GetCustomerStatistics query, Filters filters) {
+        return generate(sessionsOfBar(query.barId(), filters), filters,
+                bill -> bill.getCustomer().getId().equals(query.customerId()));
+    }
+
+    public Mono<Statistics> handle(GetUserCustomerStatistics query, Filters filters) {
+        return generate(sessionsOfBar(query.barId(), filters), filters, new BillFromUserWithIdFilter(query.userId()));
+    }
+
+    public Mono<Statistics> handle(GetGlobalCustomerStatistics query, Filters filters) {
+        Flux<Session> sessions = barRepository.findAllConnectedTo(query.username())
+                .map(Bar::getId)
+                .collectList()
+                .flatMapMany(barIds -> sessionRepository.findAllOfBars(barIds, filters.from(), filters.to()));
+        return generate(sessions, filters, new BillFromUserWithUsernameFilter(query.username()));
+    }
+
+    private Flux<Session> sessionsOfBar(UUID barId, Filters filters) {
+        return barRepository.existsById(barId)
+                .flatMapMany(exists -> exists
+                        ? sessionRepository.findAllOfBars(List.of(barId), filters.from(), filters.to())
+                        : Flux.error(new EntityNotFoundException(String.format("Bar with id %s doesn't exist", barId))));
+    }
+
+    private Mono<Statistics> generate(Flux<Session> sessions, Filters filters, Predicate<Bill> billFilter) {
+        return sessions
+                .publishOn(reactiveReadScheduler)
+                .collect(() -> new StatisticsGenerator(filters), StatisticsGenerator::addSession)
+                .map(generator -> generator.addBillFilter(billFilter).generate());
+    }
+}
@@ -2,8 +2,9 @@ package com.tungstun.statistics.application.statistics;
 
 import com.tungstun.barapi.application.bar.BarQueryHandler;
 import com.tungstun.barapi.application.bar.query.GetBar;
-import com.tungstun.barapi.application.bar.query.ListConnectedBars;
 import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.security.application.user.UserQueryHandler;
+import com.tungstun.security.domain.user.User;
 import com.tungstun.statistics.application.statistics.query.GetBarStatistics;
 import com.tungstun.statistics.application.statistics.query.GetCustomerStatistics;
 import com.tungstun.statistics.application.statistics.query.GetGlobalCustomerStatistics;
@@ -14,13 +15,23 @@ import com.tungstun.statistics.domain.statistics.StatisticsGenerator;
 import com.tungstun.statistics.domain.statistics.filter.BillFromUserWithIdFilter;
 import com.tungstun.statistics.domain.statistics.filter.BillFromUserWithUsernameFilter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.UUID;
 
 @Service
+@Transactional(readOnly = true)
 public class StatisticsQueryHandler {
     private final BarQueryHandler barQueryHandler;
+    private final UserQueryHandler userQueryHandler;
+    private final ParallelStatisticsGenerator parallelStatisticsGenerator;
 
-    public StatisticsQueryHandler(BarQueryHandler barQueryHandler) {
+    public StatisticsQueryHandler(BarQueryHandler barQueryHandler, UserQueryHandler userQueryHandler, ParallelStatisticsGenerator parallelStatisticsGenerator) {
         this.barQueryHandler = barQueryHandler;
+        this.userQueryHandler = userQueryHandler;
+        this.parallelStatisticsGenerator = parallelStatisticsGenerator;
     }
 
     public Statistics handle(GetBarStatistics query, Filters filters) {
@@ -49,14 +60,18 @@ public class StatisticsQueryHandler {
                 .generate();
     }
 
+    /**
+     * Generates the statistics of every connected bar in parallel, each bar in its own transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Statistics handle(GetGlobalCustomerStatistics query, Filters filters) {
-        StatisticsGenerator statisticsGenerator = new StatisticsGenerator(filters);
+        Set<UUID> connectedBarIds = ((User) userQueryHandler.loadUserByUsername(query.username()))
+                .getAuthorizations()
+                .keySet();
 
-        barQueryHandler.handle(new ListConnectedBars(query.username()))
-                .forEach(statisticsGenerator::addBar);
-
-        return statisticsGenerator
-                .addBillFilter(new BillFromUserWithUsernameFilter(query.username()))
-                .generate();
+        return parallelStatisticsGenerator.generate(
+                connectedBarIds,
+                filters,
+                new BillFromUserWithUsernameFilter(query.username()));
     }
 }
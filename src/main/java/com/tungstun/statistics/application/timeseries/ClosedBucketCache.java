@@ -0,0 +1,61 @@
+package com.tungstun.statistics.application.timeseries;
+
+import com.tungstun.statistics.domain.timeseries.Granularity;
+import com.tungstun.statistics.domain.timeseries.TimeBucket;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Least recently used cache of time buckets that are closed, so their orders do not change anymore.<br>
+ * Orders are only added to the bucket of the moment they are ordered, but can still be removed from an earlier bucket.
+ * Cached buckets therefore expire after a while, so removed orders disappear from the time series eventually.
+ */
+class ClosedBucketCache {
+    record Key(UUID barId, Granularity granularity, boolean productBreakdown, LocalDateTime start) {
+    }
+
+    private record Entry(TimeBucket bucket, Instant expiresAt) {
+    }
+
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<Key, Entry> buckets;
+
+    ClosedBucketCache(int maxSize, Duration timeToLive, Clock clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized TimeBucket get(Key key) {
+        Entry entry = buckets.get(key);
+        if (entry == null) return null;
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            buckets.remove(key);
+            return null;
+        }
+        return entry.bucket();
+    }
+
+    synchronized void put(Key key, TimeBucket bucket) {
+        buckets.put(key, new Entry(bucket, clock.instant().plus(timeToLive)));
+    }
+
+    synchronized int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,106 @@
+package com.tungstun.statistics.application.timeseries;
+
+import com.tungstun.statistics.application.timeseries.query.GetBarTimeSeries;
+import com.tungstun.statistics.domain.orderline.OrderLineRepository;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.timeseries.Granularity;
+import com.tungstun.statistics.domain.timeseries.TimeBucket;
+import com.tungstun.statistics.domain.timeseries.TimeSeriesAggregator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the revenue and volume of a bar per time bucket from the orders in the range of the filters,
+ * where the to date is inclusive.<br>
+ * Buckets that are closed are cached, see {@link ClosedBucketCache}. When a range starts with cached buckets,
+ * only the orders after the last of those buckets are read. A bucket counts as closed a minute after it ended,
+ * so orders that were ordered just before the end of the bucket have been committed.
+ * Buckets that are cut off by the range are never cached.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TimeSeriesQueryHandler {
+    private static final Duration CLOSE_DELAY = Duration.ofMinutes(1);
+
+    private final OrderLineRepository orderLineRepository;
+    private final ClosedBucketCache cache;
+    private final Clock clock;
+
+    public TimeSeriesQueryHandler(OrderLineRepository orderLineRepository,
+                                  @Value("${com.tungstun.bartap.statistics.time-series.cache-size:10000}") int cacheSize,
+                                  @Value("${com.tungstun.bartap.statistics.time-series.cache-ttl:1h}") Duration cacheTimeToLive) {
+        this.orderLineRepository = orderLineRepository;
+        this.clock = Clock.systemDefaultZone();
+        this.cache = new ClosedBucketCache(cacheSize, cacheTimeToLive, clock);
+    }
+
+    public List<TimeBucket> handle(GetBarTimeSeries query, Filters filters) {
+        LocalDateTime from = filters.from() == null ? null : filters.from().atStartOfDay();
+        LocalDateTime to = filters.to() == null ? null : filters.to().plusDays(1).atStartOfDay();
+        if (from != null && to != null && !from.isBefore(to)) return List.of();
+
+        Granularity granularity = Granularity.getGranularity(query.granularity());
+        LocalDateTime closedUntil = LocalDateTime.now(clock).minus(CLOSE_DELAY);
+        List<TimeBucket> buckets = new ArrayList<>();
+
+        LocalDateTime readFrom = from;
+        if (from != null) {
+            LocalDateTime start = granularity.truncate(from);
+            TimeBucket cached;
+            while (isCacheable(start, granularity, from, to, closedUntil)
+                    && (cached = cache.get(key(query, granularity, start))) != null) {
+                if (!cached.isEmpty()) buckets.add(cached);
+                start = granularity.next(start);
+                readFrom = start;
+            }
+        }
+
+        TimeSeriesAggregator aggregator = new TimeSeriesAggregator(granularity, query.productBreakdown());
+        orderLineRepository.forEachOrderLine(query.barId(), readFrom, to, aggregator::add);
+        List<TimeBucket> read = aggregator.buckets();
+        if (readFrom != null) {
+            cacheClosedBuckets(query, granularity, read, readFrom, from, to, closedUntil);
+        }
+        buckets.addAll(read);
+        return buckets;
+    }
+
+    /**
+     * Caches every closed bucket of the read range, including the buckets without orders,
+     * so the buckets without orders are not read again either.
+     */
+    private void cacheClosedBuckets(GetBarTimeSeries query, Granularity granularity, List<TimeBucket> read,
+                                    LocalDateTime readFrom, LocalDateTime from, LocalDateTime to, LocalDateTime closedUntil) {
+        Map<LocalDateTime, TimeBucket> readByStart = read.stream()
+                .collect(Collectors.toMap(TimeBucket::start, Function.identity()));
+        LocalDateTime cacheableUntil = to == null || closedUntil.isBefore(to) ? closedUntil : to;
+        for (LocalDateTime start = granularity.truncate(readFrom);
+             !granularity.next(start).isAfter(cacheableUntil);
+             start = granularity.next(start)) {
+            if (start.isBefore(from)) continue;
+            TimeBucket bucket = readByStart.get(start);
+            cache.put(key(query, granularity, start), bucket != null ? bucket : TimeBucket.empty(start, granularity.next(start)));
+        }
+    }
+
+    private static boolean isCacheable(LocalDateTime start, Granularity granularity, LocalDateTime from, LocalDateTime to, LocalDateTime closedUntil) {
+        LocalDateTime end = granularity.next(start);
+        return !start.isBefore(from)
+                && !end.isAfter(closedUntil)
+                && (to == null || !end.isAfter(to));
+    }
+
+    private static ClosedBucketCache.Key key(GetBarTimeSeries query, Granularity granularity, LocalDateTime start) {
+        return new ClosedBucketCache.Key(query.barId(), granularity, query.productBreakdown(), start);
+    }
+}
@@ -0,0 +1,9 @@
+package com.tungstun.statistics.application.timeseries.query;
+
+import java.util.UUID;
+
+public record GetBarTimeSeries(
+        UUID barId,
+        String granularity,
+        boolean productBreakdown) {
+}
@@ -0,0 +1,26 @@
+package com.tungstun.statistics.domain.orderline;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The part of an order that is needed for time series and rankings.
+ * The customer is the customer of the bill of the order, the bartender can be null.
+ */
+public record OrderLine(
+        LocalDateTime creationDate,
+        UUID productId,
+        String productName,
+        String productBrand,
+        BigDecimal price,
+        int amount,
+        UUID customerId,
+        String customerName,
+        UUID bartenderId,
+        String bartenderName) {
+
+    public BigDecimal revenue() {
+        return price.multiply(BigDecimal.valueOf(amount));
+    }
+}
@@ -0,0 +1,14 @@
+package com.tungstun.statistics.domain.orderline;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface OrderLineRepository {
+    /**
+     * Passes every order of the bar that was created from {@code from} up to {@code to}
+     * to the consumer while the orders are read, ordered by creation date.
+     * A bound that is null is left out.
+     */
+    void forEachOrderLine(UUID barId, LocalDateTime from, LocalDateTime to, Consumer<OrderLine> consumer);
+}
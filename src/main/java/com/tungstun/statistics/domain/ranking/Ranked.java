@@ -0,0 +1,14 @@
+package com.tungstun.statistics.domain.ranking;
+
+import java.util.UUID;
+
+/**
+ * Ranked item with its counted value. The value can be overestimated by at most {@code maxError},
+ * which is 0 when the value is exact.
+ */
+public record Ranked(
+        UUID id,
+        String name,
+        double value,
+        double maxError) {
+}
@@ -0,0 +1,43 @@
+package com.tungstun.statistics.domain.ranking;
+
+import com.tungstun.statistics.domain.orderline.OrderLine;
+
+/**
+ * Ranks the products, customers and bartenders of streamed order lines, without keeping the order lines themselves.<br>
+ * Every ranking uses at most {@code capacity} counters, see {@link TopKCounter}.
+ */
+public class RankingAggregator {
+    private final TopKCounter productsByAmount;
+    private final TopKCounter productsByRevenue;
+    private final TopKCounter customersBySpend;
+    private final TopKCounter bartendersByOrders;
+
+    public RankingAggregator(int capacity) {
+        productsByAmount = new TopKCounter(capacity);
+        productsByRevenue = new TopKCounter(capacity);
+        customersBySpend = new TopKCounter(capacity);
+        bartendersByOrders = new TopKCounter(capacity);
+    }
+
+    public void add(OrderLine line) {
+        double revenue = line.revenue().doubleValue();
+        productsByAmount.add(line.productId(), line.productName(), line.amount());
+        productsByRevenue.add(line.productId(), line.productName(), revenue);
+        if (line.customerId() != null) {
+            customersBySpend.add(line.customerId(), line.customerName(), revenue);
+        }
+        if (line.bartenderId() != null) {
+            bartendersByOrders.add(line.bartenderId(), line.bartenderName(), 1);
+        }
+    }
+
+    public Rankings rankings(int k) {
+        return new Rankings(
+                productsByAmount.isExact() && productsByRevenue.isExact() && customersBySpend.isExact() && bartendersByOrders.isExact(),
+                productsByAmount.top(k),
+                productsByRevenue.top(k),
+                customersBySpend.top(k),
+                bartendersByOrders.top(k)
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.tungstun.statistics.domain.ranking;
+
+import java.util.List;
+
+/**
+ * Top products by sold amount and revenue, customers by spend and bartenders by orders served, highest first.
+ * Exact if every value in the rankings is exact.
+ */
+public record Rankings(
+        boolean exact,
+        List<Ranked> productsByAmount,
+        List<Ranked> productsByRevenue,
+        List<Ranked> customersBySpend,
+        List<Ranked> bartendersByOrders) {
+}
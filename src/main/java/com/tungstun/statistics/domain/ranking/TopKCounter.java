@@ -0,0 +1,109 @@
+package com.tungstun.statistics.domain.ranking;
+
+import java.util.*;
+
+/**
+ * Sums the weights per item with at most {@code capacity} counters, following the Space-Saving algorithm.<br>
+ * While at most {@code capacity} different items are added, the sums are exact and an item is only a hash map lookup.
+ * Once a new item is added while every counter is in use, the counter with the lowest sum is taken over by the new item,
+ * which starts from that sum and keeps it as its maximum overestimation. From then on, the counters are kept sorted.
+ * An item with a true sum above the total weight divided by the capacity is never dropped.<br>
+ * The top items are selected with a heap of at most k counters.
+ */
+public class TopKCounter {
+    /**
+     * Lowest sum first, and for equal sums the item that was added last first,
+     * so the top items with equal sums keep the order in which they were first added.
+     */
+    private static final Comparator<Counter> ORDER = Comparator.comparingDouble((Counter counter) -> counter.sum)
+            .thenComparing(counter -> counter.sequence, Comparator.reverseOrder());
+
+    private final int capacity;
+    private final Map<UUID, Counter> counters = new HashMap<>();
+    private TreeSet<Counter> sortedCounters;
+    private long sequence;
+    private boolean exact = true;
+
+    public TopKCounter(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+
+    public void add(UUID id, String name, double weight) {
+        Counter counter = counters.get(id);
+        if (counter == null) {
+            counter = newCounter(id, name);
+        }
+        if (sortedCounters == null) {
+            counter.sum += weight;
+        } else {
+            sortedCounters.remove(counter);
+            counter.sum += weight;
+            sortedCounters.add(counter);
+        }
+    }
+
+    private Counter newCounter(UUID id, String name) {
+        Counter counter;
+        if (counters.size() < capacity) {
+            counter = new Counter(id, name, 0, sequence++);
+        } else {
+            if (sortedCounters == null) {
+                sortedCounters = new TreeSet<>(ORDER);
+                sortedCounters.addAll(counters.values());
+            }
+            Counter smallest = sortedCounters.pollFirst();
+            counters.remove(smallest.id);
+            counter = new Counter(id, name, smallest.sum, sequence++);
+            exact = false;
+        }
+        counters.put(id, counter);
+        if (sortedCounters != null) {
+            sortedCounters.add(counter);
+        }
+        return counter;
+    }
+
+    /**
+     * The k items with the highest sums, highest first.
+     */
+    public List<Ranked> top(int k) {
+        PriorityQueue<Counter> heap = new PriorityQueue<>(k + 1, ORDER);
+        for (Counter counter : counters.values()) {
+            heap.add(counter);
+            if (heap.size() > k) heap.poll();
+        }
+        List<Ranked> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            top.add(heap.poll().toRanked());
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    private static class Counter {
+        private final UUID id;
+        private final String name;
+        private final double maxError;
+        private final long sequence;
+        private double sum;
+
+        Counter(UUID id, String name, double maxError, long sequence) {
+            this.id = id;
+            this.name = name;
+            this.maxError = maxError;
+            this.sequence = sequence;
+            this.sum = maxError;
+        }
+
+        Ranked toRanked() {
+            return new Ranked(id, name, sum, maxError);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.tungstun.statistics.domain.statistics;
+
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.session.Session;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Summary of a bill with its total price, taken while the bill is loaded.<br>
+ * It does not refer to the bill, its session or its customer,
+ * so statistics can be kept and merged after the transaction that loaded the bill has ended.
+ */
+public record BillSummary(
+        UUID id,
+        boolean payed,
+        double totalPrice,
+        SessionSummary session,
+        CustomerSummary customer) {
+
+    public static BillSummary of(Bill bill) {
+        Session session = bill.getSession();
+        Person customer = bill.getCustomer();
+        return new BillSummary(
+                bill.getId(),
+                bill.isPayed(),
+                bill.calculateTotalPrice(),
+                new SessionSummary(session.getId(), session.getName(), session.getCreationDate()),
+                new CustomerSummary(customer.getId(), customer.getName(), customer.getUser() != null ? customer.getUser().getId() : null)
+        );
+    }
+
+    public record SessionSummary(UUID id, String name, LocalDateTime creationDate) {
+    }
+
+    public record CustomerSummary(UUID id, String name, UUID userId) {
+    }
+}
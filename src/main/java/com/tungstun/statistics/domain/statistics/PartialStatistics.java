@@ -0,0 +1,59 @@
+package com.tungstun.statistics.domain.statistics;
+
+import com.tungstun.barapi.domain.bill.OrderProduct;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statistics of a part of the sessions, like the sessions of a single bar, that can be merged with the statistics of other parts.<br>
+ * The amount of orders per product is kept instead of only the most sold product, so the most sold product is correct after merging.
+ * The most expensive bill is kept as a {@link BillSummary}, so no bill entity outlives the transaction it was loaded in.
+ */
+public record PartialStatistics(
+        Map<OrderProduct, Long> productOrders,
+        BillSummary mostExpensiveBill,
+        double totalSpent,
+        double totalNotYetPayed) {
+
+    public static PartialStatistics empty() {
+        return new PartialStatistics(Map.of(), null, 0, 0);
+    }
+
+    public PartialStatistics merge(PartialStatistics other) {
+        Map<OrderProduct, Long> mergedProductOrders = new HashMap<>(productOrders);
+        other.productOrders.forEach((product, orders) -> mergedProductOrders.merge(product, orders, Long::sum));
+
+        return new PartialStatistics(
+                mergedProductOrders,
+                mostExpensive(mostExpensiveBill, other.mostExpensiveBill),
+                totalSpent + other.totalSpent,
+                totalNotYetPayed + other.totalNotYetPayed
+        );
+    }
+
+    private static BillSummary mostExpensive(BillSummary bill, BillSummary bill2) {
+        if (bill == null) return bill2;
+        if (bill2 == null) return bill;
+        return bill.totalPrice() > bill2.totalPrice()
+                ? bill
+                : bill2;
+    }
+
+    public Statistics toStatistics() {
+        OrderProduct mostSoldProduct = productOrders.entrySet()
+                .stream()
+                .reduce((entry, entry2) -> entry.getValue() > entry2.getValue()
+                        ? entry
+                        : entry2
+                ).map(Map.Entry::getKey)
+                .orElse(null);
+
+        return new Statistics(
+                mostSoldProduct,
+                mostExpensiveBill,
+                totalSpent,
+                totalNotYetPayed
+        );
+    }
+}
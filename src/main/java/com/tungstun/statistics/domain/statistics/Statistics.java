@@ -1,11 +1,10 @@
 package com.tungstun.statistics.domain.statistics;
 
-import com.tungstun.barapi.domain.bill.Bill;
 import com.tungstun.barapi.domain.bill.OrderProduct;
 
 public record Statistics(
         OrderProduct mostSoldProduct,
-        Bill mostExpensiveBill,
+        BillSummary mostExpensiveBill,
         double totalSpent,
         double totalNotYetPayed) {
 }
@@ -38,6 +38,11 @@ public class StatisticsGenerator {
         return this;
     }
 
+    public StatisticsGenerator addSession(Session session) {
+        sessions.add(session);
+        return this;
+    }
+
     public StatisticsGenerator addSessionFilter(Predicate<Session> predicate) {
         sessionFilters = sessionFilters.and(predicate);
         return this;
@@ -49,6 +54,13 @@ public class StatisticsGenerator {
     }
 
     public Statistics generate() {
+        return generatePartial().toStatistics();
+    }
+
+    /**
+     * Generates statistics that can still be merged with the statistics of other generators.
+     */
+    public PartialStatistics generatePartial() {
         List<Bill> bills = sessions
                 .parallelStream()
                 .filter(sessionFilters)
@@ -58,8 +70,8 @@ public class StatisticsGenerator {
                 .collect(Collectors.toList());
 
 
-        return new Statistics(
-                mostSoldProduct(bills),
+        return new PartialStatistics(
+                productOrders(bills),
                 mostExpensiveBill(bills),
                 totalAmountSpent(bills),
                 totalAmountNotYetPayed(bills)
@@ -80,16 +92,17 @@ public class StatisticsGenerator {
                 .sum();
     }
 
-    private Bill mostExpensiveBill(List<Bill> bills) {
+    private BillSummary mostExpensiveBill(List<Bill> bills) {
         return bills.parallelStream()
-                .reduce((bill, bill2) -> bill.calculateTotalPrice() > bill2.calculateTotalPrice()
+                .map(BillSummary::of)
+                .reduce((bill, bill2) -> bill.totalPrice() > bill2.totalPrice()
                         ? bill
                         : bill2
                 )
                 .orElse(null);
     }
 
-    private OrderProduct mostSoldProduct(List<Bill> bills) {
+    private Map<OrderProduct, Long> productOrders(List<Bill> bills) {
         List<OrderProduct> products = bills.parallelStream()
                 .map(Bill::getOrders)
                 .flatMap(List::stream)
@@ -97,13 +110,6 @@ public class StatisticsGenerator {
                 .toList();
         // Split due too exception when chained as single chain
         return products.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
-                .entrySet()
-                .parallelStream()
-                .reduce((entry, entry2) -> entry.getValue() > entry2.getValue()
-                        ? entry
-                        : entry2
-                ).map(Map.Entry::getKey)
-                .orElse(null);
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
     }
 }
@@ -0,0 +1,65 @@
+package com.tungstun.statistics.domain.timeseries;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Size of the buckets of a time series. Weeks start on monday.
+ */
+public enum Granularity {
+    HOUR {
+        @Override
+        public LocalDateTime truncate(LocalDateTime dateTime) {
+            return dateTime.truncatedTo(ChronoUnit.HOURS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusHours(1);
+        }
+    },
+    DAY {
+        @Override
+        public LocalDateTime truncate(LocalDateTime dateTime) {
+            return dateTime.truncatedTo(ChronoUnit.DAYS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusDays(1);
+        }
+    },
+    WEEK {
+        @Override
+        public LocalDateTime truncate(LocalDateTime dateTime) {
+            return dateTime.truncatedTo(ChronoUnit.DAYS)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusWeeks(1);
+        }
+    };
+
+    public static Granularity getGranularity(String granularity) {
+        try {
+            return Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not an existing granularity", granularity), e);
+        }
+    }
+
+    /**
+     * Start of the bucket the date time falls in.
+     */
+    public abstract LocalDateTime truncate(LocalDateTime dateTime);
+
+    /**
+     * Start of the bucket after the bucket that starts at the given start.
+     */
+    public abstract LocalDateTime next(LocalDateTime bucketStart);
+}
@@ -0,0 +1,11 @@
+package com.tungstun.statistics.domain.timeseries;
+
+import java.util.UUID;
+
+public record ProductVolume(
+        UUID productId,
+        String name,
+        String brand,
+        long amount,
+        double revenue) {
+}
@@ -0,0 +1,25 @@
+package com.tungstun.statistics.domain.timeseries;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revenue and volume of the orders from {@code start} up to {@code end}.
+ * The products are sorted by amount, most sold first.
+ */
+public record TimeBucket(
+        LocalDateTime start,
+        LocalDateTime end,
+        double revenue,
+        long orders,
+        long amount,
+        List<ProductVolume> products) {
+
+    public static TimeBucket empty(LocalDateTime start, LocalDateTime end) {
+        return new TimeBucket(start, end, 0, 0, 0, List.of());
+    }
+
+    public boolean isEmpty() {
+        return orders == 0;
+    }
+}
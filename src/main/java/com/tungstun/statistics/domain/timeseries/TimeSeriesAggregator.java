@@ -0,0 +1,86 @@
+package com.tungstun.statistics.domain.timeseries;
+
+import com.tungstun.statistics.domain.orderline.OrderLine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Aggregates streamed order lines into time buckets, without keeping the order lines themselves.<br>
+ * Memory use only grows with the amount of buckets and the products sold within them.
+ */
+public class TimeSeriesAggregator {
+    private final Granularity granularity;
+    private final boolean productBreakdown;
+    private final SortedMap<LocalDateTime, BucketTotals> buckets = new TreeMap<>();
+
+    public TimeSeriesAggregator(Granularity granularity, boolean productBreakdown) {
+        this.granularity = granularity;
+        this.productBreakdown = productBreakdown;
+    }
+
+    public void add(OrderLine line) {
+        LocalDateTime start = granularity.truncate(line.creationDate());
+        buckets.computeIfAbsent(start, key -> new BucketTotals())
+                .add(line, productBreakdown);
+    }
+
+    /**
+     * Buckets with orders, ordered by start. Buckets without orders are left out.
+     */
+    public List<TimeBucket> buckets() {
+        List<TimeBucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((start, totals) -> result.add(totals.toBucket(start, granularity.next(start))));
+        return result;
+    }
+
+    private static class BucketTotals {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long orders;
+        private long amount;
+        private final Map<UUID, ProductTotals> products = new HashMap<>();
+
+        void add(OrderLine line, boolean productBreakdown) {
+            BigDecimal lineRevenue = line.revenue();
+            revenue = revenue.add(lineRevenue);
+            orders++;
+            amount += line.amount();
+            if (productBreakdown) {
+                products.computeIfAbsent(line.productId(), id -> new ProductTotals(line.productName(), line.productBrand()))
+                        .add(line.amount(), lineRevenue);
+            }
+        }
+
+        TimeBucket toBucket(LocalDateTime start, LocalDateTime end) {
+            List<ProductVolume> volumes = products.entrySet()
+                    .stream()
+                    .map(entry -> entry.getValue().toVolume(entry.getKey()))
+                    .sorted(Comparator.comparingLong(ProductVolume::amount).reversed()
+                            .thenComparing(ProductVolume::name))
+                    .toList();
+            return new TimeBucket(start, end, revenue.doubleValue(), orders, amount, volumes);
+        }
+    }
+
+    private static class ProductTotals {
+        private final String name;
+        private final String brand;
+        private long amount;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        ProductTotals(String name, String brand) {
+            this.name = name;
+            this.brand = brand;
+        }
+
+        void add(int amount, BigDecimal revenue) {
+            this.amount += amount;
+            this.revenue = this.revenue.add(revenue);
+        }
+
+        ProductVolume toVolume(UUID productId) {
+            return new ProductVolume(productId, name, brand, amount, revenue.doubleValue());
+        }
+    }
+}
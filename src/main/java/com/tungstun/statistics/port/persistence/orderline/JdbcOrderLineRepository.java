@@ -0,0 +1,66 @@
+package com.tungstun.statistics.port.persistence.orderline;
+
+import com.tungstun.statistics.domain.orderline.OrderLine;
+import com.tungstun.statistics.domain.orderline.OrderLineRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads order lines with plain JDBC, so the rows are passed on while they are read
+ * without loading bills and sessions into the persistence context.
+ */
+@Repository
+public class JdbcOrderLineRepository implements OrderLineRepository {
+    private static final String QUERY = "select o.creation_date, o.product_id, o.name, o.brand, o.money_amount, o.amount, " +
+            "c.id as customer_id, c.name as customer_name, bt.id as bartender_id, bt.name as bartender_name " +
+            "from \"order\" o " +
+            "join bill b on b.id = o.bill_id and b.bar_id = o.bar_id and b.deleted = false " +
+            "join session s on s.id = b.session_id and s.deleted = false " +
+            "left join person c on c.id = b.customer_id " +
+            "left join person bt on bt.id = o.bartender_id " +
+            "where o.bar_id = ?";
+    private static final int FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOrderLineRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public void forEachOrderLine(UUID barId, LocalDateTime from, LocalDateTime to, Consumer<OrderLine> consumer) {
+        StringBuilder sql = new StringBuilder(QUERY);
+        List<Object> params = new ArrayList<>(List.of(barId));
+        if (from != null) {
+            sql.append(" and o.creation_date >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" and o.creation_date < ?");
+            params.add(to);
+        }
+        sql.append(" order by o.creation_date");
+
+        RowCallbackHandler handler = rs -> consumer.accept(new OrderLine(
+                rs.getObject("creation_date", LocalDateTime.class),
+                rs.getObject("product_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("brand"),
+                rs.getBigDecimal("money_amount"),
+                rs.getInt("amount"),
+                rs.getObject("customer_id", UUID.class),
+                rs.getString("customer_name"),
+                rs.getObject("bartender_id", UUID.class),
+                rs.getString("bartender_name")
+        ));
+        jdbcTemplate.query(sql.toString(), handler, params.toArray());
+    }
+}
@@ -0,0 +1,117 @@
+package com.tungstun.statistics.port.web.statistics;
+
+import com.tungstun.common.reactive.ConditionalOnReactiveReads;
+import com.tungstun.security.config.filter.UserProfile;
+import com.tungstun.statistics.application.statistics.ReactiveStatisticsQueryHandler;
+import com.tungstun.statistics.application.statistics.query.GetBarStatistics;
+import com.tungstun.statistics.application.statistics.query.GetCustomerStatistics;
+import com.tungstun.statistics.application.statistics.query.GetGlobalCustomerStatistics;
+import com.tungstun.statistics.application.statistics.query.GetUserCustomerStatistics;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.port.web.statistics.converter.StatisticsConverter;
+import com.tungstun.statistics.port.web.statistics.response.StatisticsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Serves the statistics of the {@link StatisticsController} as newline delimited JSON.<br>
+ * The statistics are a single line, the stream ends once the statistics are generated.
+ */
+@RestController
+@ConditionalOnReactiveReads
+@RequestMapping("/api")
+public class ReactiveStatisticsController {
+    private final ReactiveStatisticsQueryHandler statisticsQueryHandler;
+    private final StatisticsConverter statisticsConverter;
+
+    public ReactiveStatisticsController(ReactiveStatisticsQueryHandler statisticsQueryHandler, StatisticsConverter statisticsConverter) {
+        this.statisticsQueryHandler = statisticsQueryHandler;
+        this.statisticsConverter = statisticsConverter;
+    }
+
+    @GetMapping(value = "/bars/{barId}/statistics", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission(#barId, {'OWNER'})")
+    @Operation(
+            summary = "Streams bar statistics",
+            description = "Stream statistics of a bar like popular drinks and other statistics",
+            tags = "Statistics"
+    )
+    public Flux<StatisticsResponse> streamBarStatistics(
+            @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
+            @Parameter(description = "Filter on sessions from a certain date to later") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Filter on sessions up to a certain date or earlier") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return statisticsQueryHandler.handle(new GetBarStatistics(barId), new Filters(from, to))
+                .map(statisticsConverter::convert)
+                .flux();
+    }
+
+    @GetMapping(value = "/bars/{barId}/people/{personId}/statistics", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission(#barId, {'OWNER'})")
+    @Operation(
+            summary = "Streams customer's statistics",
+            description = "Stream customer's statistics of a bar that the authenticated user is owner of",
+            tags = "Statistics"
+    )
+    public Flux<StatisticsResponse> streamCustomerStatisticsOfBar(
+            @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
+            @Parameter(description = "Id value of the customer") @PathVariable UUID personId,
+            @Parameter(description = "Filter on sessions from a certain date to later") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Filter on sessions up to a certain date or earlier") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return statisticsQueryHandler.handle(new GetCustomerStatistics(barId, personId), new Filters(from, to))
+                .map(statisticsConverter::convert)
+                .flux();
+    }
+
+    @GetMapping(value = "/bars/{barId}/customer-statistics", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission(#barId, {'OWNER','BARTENDER', 'CUSTOMER'})")
+    @Operation(
+            summary = "Streams customer statistics",
+            description = "Stream multiple customer statistics of a bar that the authenticated user is connected to",
+            tags = "Statistics"
+    )
+    public Flux<StatisticsResponse> streamCustomerStatistics(
+            @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
+            @Parameter(description = "Filter on sessions from a certain date to later") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Filter on sessions up to a certain date or earlier") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true) Authentication authentication
+    ) {
+        UserProfile userProfile = (UserProfile) authentication.getPrincipal();
+        return statisticsQueryHandler.handle(new GetUserCustomerStatistics(barId, userProfile.getId()), new Filters(from, to))
+                .map(statisticsConverter::convert)
+                .flux();
+    }
+
+    @GetMapping(value = "/global-customer-statistics", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Streams global customer statistics",
+            description = "Stream multiple customer statistics that span all connected bars tha the authenticated user is connected to",
+            tags = "Statistics"
+    )
+    public Flux<StatisticsResponse> streamGlobalCustomerStatistics(
+            @Parameter(description = "Filter on sessions from a certain date to later") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Filter on sessions up to a certain date or earlier") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true) Authentication authentication
+    ) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return statisticsQueryHandler.handle(new GetGlobalCustomerStatistics(userDetails.getUsername()), new Filters(from, to))
+                .map(statisticsConverter::convert)
+                .flux();
+    }
+}
@@ -1,14 +1,18 @@
 package com.tungstun.statistics.port.web.statistics;
 
 import com.tungstun.security.config.filter.UserProfile;
+import com.tungstun.statistics.application.ranking.RankingQueryHandler;
+import com.tungstun.statistics.application.ranking.query.GetBarRankings;
 import com.tungstun.statistics.application.statistics.StatisticsQueryHandler;
 import com.tungstun.statistics.application.statistics.query.GetBarStatistics;
 import com.tungstun.statistics.application.statistics.query.GetCustomerStatistics;
 import com.tungstun.statistics.application.statistics.query.GetGlobalCustomerStatistics;
 import com.tungstun.statistics.application.statistics.query.GetUserCustomerStatistics;
+import com.tungstun.statistics.domain.ranking.Rankings;
 import com.tungstun.statistics.domain.statistics.Filters;
 import com.tungstun.statistics.domain.statistics.Statistics;
 import com.tungstun.statistics.port.web.statistics.converter.StatisticsConverter;
+import com.tungstun.statistics.port.web.statistics.response.RankingsResponse;
 import com.tungstun.statistics.port.web.statistics.response.StatisticsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,10 +31,12 @@ import java.util.UUID;
 @RequestMapping("/api")
 public class StatisticsController {
     private final StatisticsQueryHandler statisticsQueryHandler;
+    private final RankingQueryHandler rankingQueryHandler;
     private final StatisticsConverter statisticsConverter;
 
-    public StatisticsController(StatisticsQueryHandler statisticsQueryHandler, StatisticsConverter statisticsConverter) {
+    public StatisticsController(StatisticsQueryHandler statisticsQueryHandler, RankingQueryHandler rankingQueryHandler, StatisticsConverter statisticsConverter) {
         this.statisticsQueryHandler = statisticsQueryHandler;
+        this.rankingQueryHandler = rankingQueryHandler;
         this.statisticsConverter = statisticsConverter;
     }
 
@@ -51,6 +57,24 @@ public class StatisticsController {
         return statisticsConverter.convert(statistics);
     }
 
+    @GetMapping("/bars/{barId}/statistics/rankings")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission(#barId, {'OWNER'})")
+    @Operation(
+            summary = "Finds bar rankings",
+            description = "Find the top products by sold amount and revenue, customers by spend and bartenders by orders served of a bar",
+            tags = "Statistics"
+    )
+    public RankingsResponse getBarRankings(
+            @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
+            @Parameter(description = "Amount of items per ranking") @RequestParam(value = "k", defaultValue = "10") int k,
+            @Parameter(description = "Filter on orders from a certain date to later") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Filter on orders up to a certain date or earlier") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        Rankings rankings = rankingQueryHandler.handle(new GetBarRankings(barId, k), new Filters(from, to));
+        return statisticsConverter.convert(rankings);
+    }
+
     @GetMapping("/bars/{barId}/people/{personId}/statistics")
     @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission(#barId, {'OWNER'})")
@@ -1,10 +1,16 @@
 package com.tungstun.statistics.port.web.statistics.converter;
 
-import com.tungstun.barapi.port.web.bill.converter.BillConverter;
 import com.tungstun.barapi.port.web.bill.response.BillSummaryResponse;
 import com.tungstun.barapi.port.web.order.converter.OrderProductConverter;
 import com.tungstun.barapi.port.web.order.response.OrderProductResponse;
+import com.tungstun.barapi.port.web.person.response.PersonResponse;
+import com.tungstun.barapi.port.web.session.response.SessionSummaryResponse;
+import com.tungstun.statistics.domain.ranking.Ranked;
+import com.tungstun.statistics.domain.ranking.Rankings;
+import com.tungstun.statistics.domain.statistics.BillSummary;
 import com.tungstun.statistics.domain.statistics.Statistics;
+import com.tungstun.statistics.port.web.statistics.response.RankedResponse;
+import com.tungstun.statistics.port.web.statistics.response.RankingsResponse;
 import com.tungstun.statistics.port.web.statistics.response.StatisticsResponse;
 import org.springframework.stereotype.Component;
 
@@ -14,11 +20,9 @@ import java.util.stream.Collectors;
 
 @Component
 public class StatisticsConverter {
-    private final BillConverter billConverter;
     private final OrderProductConverter orderProductConverter;
 
-    public StatisticsConverter(BillConverter billConverter, OrderProductConverter orderProductConverter) {
-        this.billConverter = billConverter;
+    public StatisticsConverter(OrderProductConverter orderProductConverter) {
         this.orderProductConverter = orderProductConverter;
     }
 
@@ -27,7 +31,7 @@ public class StatisticsConverter {
                 .map(orderProductConverter::convert)
                 .orElse(null);
         BillSummaryResponse mostExpensiveBill = Optional.ofNullable(statistics.mostExpensiveBill())
-                .map(billConverter::convertToSummary)
+                .map(this::convert)
                 .orElse(null);
 
         return new StatisticsResponse(
@@ -38,6 +42,32 @@ public class StatisticsConverter {
         );
     }
 
+    private BillSummaryResponse convert(BillSummary bill) {
+        return new BillSummaryResponse(
+                bill.id(),
+                bill.payed(),
+                bill.totalPrice(),
+                new SessionSummaryResponse(bill.session().id(), bill.session().name(), bill.session().creationDate()),
+                new PersonResponse(bill.customer().id(), bill.customer().name(), bill.customer().userId())
+        );
+    }
+
+    public RankingsResponse convert(Rankings rankings) {
+        return new RankingsResponse(
+                rankings.exact(),
+                convertAllRanked(rankings.productsByAmount()),
+                convertAllRanked(rankings.productsByRevenue()),
+                convertAllRanked(rankings.customersBySpend()),
+                convertAllRanked(rankings.bartendersByOrders())
+        );
+    }
+
+    private List<RankedResponse> convertAllRanked(List<Ranked> ranked) {
+        return ranked.stream()
+                .map(item -> new RankedResponse(item.id(), item.name(), item.value(), item.maxError()))
+                .collect(Collectors.toList());
+    }
+
     public List<StatisticsResponse> convertAll(List<Statistics> statisticsList) {
         return statisticsList.stream()
                 .map(this::convert)
@@ -0,0 +1,10 @@
+package com.tungstun.statistics.port.web.statistics.response;
+
+import java.util.UUID;
+
+public record RankedResponse(
+        UUID id,
+        String name,
+        double value,
+        double maxError) {
+}
@@ -0,0 +1,11 @@
+package com.tungstun.statistics.port.web.statistics.response;
+
+import java.util.List;
+
+public record RankingsResponse(
+        boolean exact,
+        List<RankedResponse> productsByAmount,
+        List<RankedResponse> productsByRevenue,
+        List<RankedResponse> customersBySpend,
+        List<RankedResponse> bartendersByOrders) {
+}
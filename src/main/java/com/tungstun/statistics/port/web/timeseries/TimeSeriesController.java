@@ -0,0 +1,49 @@
+package com.tungstun.statistics.port.web.timeseries;
+
+import com.tungstun.statistics.application.timeseries.TimeSeriesQueryHandler;
+import com.tungstun.statistics.application.timeseries.query.GetBarTimeSeries;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.timeseries.TimeBucket;
+import com.tungstun.statistics.port.web.timeseries.converter.TimeSeriesConverter;
+import com.tungstun.statistics.port.web.timeseries.response.TimeBucketResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+public class TimeSeriesController {
+    private final TimeSeriesQueryHandler timeSeriesQueryHandler;
+    private final TimeSeriesConverter timeSeriesConverter;
+
+    public TimeSeriesController(TimeSeriesQueryHandler timeSeriesQueryHandler, TimeSeriesConverter timeSeriesConverter) {
+        this.timeSeriesQueryHandler = timeSeriesQueryHandler;
+        this.timeSeriesConverter = timeSeriesConverter;
+    }
+
+    @GetMapping("/bars/{barId}/statistics/time-series")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission(#barId, {'OWNER'})")
+    @Operation(
+            summary = "Finds bar statistics per period",
+            description = "Find the revenue, amount of orders and sold products of a bar per hour, day or week. Periods without orders are left out",
+            tags = "Statistics"
+    )
+    public List<TimeBucketResponse> getBarTimeSeries(
+            @Parameter(description = "Id value of the bar") @PathVariable UUID barId,
+            @Parameter(description = "Length of the periods: hour, day or week") @RequestParam(value = "granularity", defaultValue = "day") String granularity,
+            @Parameter(description = "Include the amount and revenue per product") @RequestParam(value = "products", defaultValue = "true") boolean products,
+            @Parameter(description = "Filter on orders from a certain date to later") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Filter on orders up to a certain date or earlier") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<TimeBucket> buckets = timeSeriesQueryHandler.handle(new GetBarTimeSeries(barId, granularity, products), new Filters(from, to));
+        return timeSeriesConverter.convertAll(buckets);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tungstun.statistics.port.web.timeseries.converter;
+
+import com.tungstun.statistics.domain.timeseries.ProductVolume;
+import com.tungstun.statistics.domain.timeseries.TimeBucket;
+import com.tungstun.statistics.port.web.timeseries.response.ProductVolumeResponse;
+import com.tungstun.statistics.port.web.timeseries.response.TimeBucketResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class TimeSeriesConverter {
+    public TimeBucketResponse convert(TimeBucket bucket) {
+        return new TimeBucketResponse(
+                bucket.start(),
+                bucket.end(),
+                bucket.revenue(),
+                bucket.orders(),
+                bucket.amount(),
+                bucket.products()
+                        .stream()
+                        .map(this::convert)
+                        .collect(Collectors.toList())
+        );
+    }
+
+    public ProductVolumeResponse convert(ProductVolume volume) {
+        return new ProductVolumeResponse(
+                volume.productId(),
+                volume.name(),
+                volume.brand(),
+                volume.amount(),
+                volume.revenue()
+        );
+    }
+
+    public List<TimeBucketResponse> convertAll(List<TimeBucket> buckets) {
+        return buckets.stream()
+                .map(this::convert)
+                .collect(Collectors.toList());
+    }
+}
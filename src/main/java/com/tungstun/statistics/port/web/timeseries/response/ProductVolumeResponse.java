@@ -0,0 +1,11 @@
+package com.tungstun.statistics.port.web.timeseries.response;
+
+import java.util.UUID;
+
+public record ProductVolumeResponse(
+        UUID id,
+        String name,
+        String brand,
+        long amount,
+        double revenue) {
+}
@@ -0,0 +1,13 @@
+package com.tungstun.statistics.port.web.timeseries.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TimeBucketResponse(
+        LocalDateTime start,
+        LocalDateTime end,
+        double revenue,
+        long orders,
+        long amount,
+        List<ProductVolumeResponse> products) {
+}
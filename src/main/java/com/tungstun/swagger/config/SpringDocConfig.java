@@ -1,5 +1,9 @@
 package com.tungstun.swagger.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.SpecVersion;
@@ -12,6 +16,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Configuration
 public class SpringDocConfig {
@@ -56,4 +61,18 @@ public class SpringDocConfig {
                         new Tag().name("Statistics").description("Functionality based around the Bar, Account and Customer statistics")
                 ));
     }
+
+    /**
+     * Documents the streamed list responses as the arrays they are written as.
+     */
+    @Bean
+    public ModelConverter streamModelConverter() {
+        return (type, context, chain) -> {
+            JavaType javaType = Json.mapper().constructType(type.getType());
+            if (javaType != null && Stream.class.isAssignableFrom(javaType.getRawClass())) {
+                type.type(TypeFactory.defaultInstance().constructCollectionType(List.class, javaType.containedType(0)));
+            }
+            return chain.hasNext() ? chain.next().resolve(type, context, chain) : null;
+        };
+    }
 }
@@ -9,7 +9,6 @@ import com.tungstun.barapi.domain.bill.Bill;
 import com.tungstun.barapi.domain.person.Person;
 import com.tungstun.barapi.domain.person.PersonBuilder;
 import com.tungstun.barapi.domain.session.Session;
-import com.tungstun.barapi.domain.session.SessionFactory;
 import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
 import com.tungstun.barapi.port.persistence.bill.SpringBillRepository;
 import com.tungstun.barapi.port.persistence.session.SpringSessionRepository;
@@ -53,7 +52,6 @@ class BillQueryHandlerIntegrationTest {
 
     @BeforeEach
     void setup() {
-        session = new SessionFactory("session").create();
         user = userRepository.save(new User(
                 UUID.randomUUID(),
                 "username",
@@ -67,9 +65,9 @@ class BillQueryHandlerIntegrationTest {
                 .setUser(user)
                 .build();
         bar = new BarBuilder("bar")
-                .setSessions(List.of(session))
                 .setPeople(List.of(person))
                 .build();
+        session = bar.newSession("session");
         bill = session.addCustomer(person);
         bar = barRepository.save(bar);
     }
@@ -94,7 +94,7 @@ public class CategoryCommandHandlerIntegrationTest {
     @Test
     @DisplayName("Delete existing category in bar")
     void deleteExistingCategory() {
-        DeleteCategory command = new DeleteCategory(category.getId());
+        DeleteCategory command = new DeleteCategory(bar.getId(), category.getId());
 
         assertDoesNotThrow(() -> categoryCommandHandler.handle(command));
     }
@@ -105,7 +105,7 @@ public class CategoryCommandHandlerIntegrationTest {
         Product product = new ProductBuilder("name", category)
                 .build();
         bar.addProduct(product);
-        DeleteCategory command = new DeleteCategory(category.getId());
+        DeleteCategory command = new DeleteCategory(bar.getId(), category.getId());
 
         categoryCommandHandler.handle(command);
 
@@ -66,23 +66,25 @@ class OrderQueryHandlerIntegrationTest {
                 .setUser(user)
                 .build());
 
-        session = new Session(UUID.randomUUID(), "test", new ArrayList<>());
+        bar = new BarBuilder("bar")
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(product)))
+                .setPeople(new ArrayList<>(List.of(customer)))
+                .build();
+
+        session = new Session(UUID.randomUUID(), bar.getId(), "test", new ArrayList<>());
         bill = session.addCustomer(customer);
         order = bill.addOrder(product, 1, customer);
 
-        Session session2 = new Session(UUID.randomUUID(), "test2", new ArrayList<>());
+        Session session2 = new Session(UUID.randomUUID(), bar.getId(), "test2", new ArrayList<>());
         Bill bill2 = session2.addCustomer(customer);
         bill2.addOrder(product, 1, customer);
 
-        session3 = new Session(UUID.randomUUID(), "test3", new ArrayList<>());
+        session3 = new Session(UUID.randomUUID(), bar.getId(), "test3", new ArrayList<>());
         bill3 = session3.addCustomer(customer);
 
-        bar = barRepository.save(new BarBuilder("bar")
-                .setCategories(new ArrayList<>(List.of(category)))
-                .setProducts(new ArrayList<>(List.of(product)))
-                .setPeople(new ArrayList<>(List.of(customer)))
-                .setSessions(new ArrayList<>(List.of(session, session2, session3)))
-                .build());
+        bar.getSessions().addAll(List.of(session, session2, session3));
+        bar = barRepository.save(bar);
     }
 
     @Test
@@ -86,7 +86,7 @@ class PersonCommandHandlerIntegrationTest {
     @Test
     @DisplayName("Delete person")
     void deletePerson() throws EntityNotFoundException {
-        DeletePerson command = new DeletePerson(person.getId());
+        DeletePerson command = new DeletePerson(bar.getId(), person.getId());
 
         personCommandHandler.handle(command);
 
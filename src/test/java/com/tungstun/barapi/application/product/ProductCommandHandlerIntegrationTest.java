@@ -133,7 +133,7 @@ class ProductCommandHandlerIntegrationTest {
     @Test
     @DisplayName("delete product")
     void deleteProduct() {
-        DeleteProduct command = new DeleteProduct(product.getId());
+        DeleteProduct command = new DeleteProduct(bar.getId(), product.getId());
 
         assertDoesNotThrow(() -> productCommandHandler.handle(command));
     }
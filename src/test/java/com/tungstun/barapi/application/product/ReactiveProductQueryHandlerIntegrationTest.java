@@ -0,0 +1,123 @@
+package com.tungstun.barapi.application.product;
+
+import com.tungstun.barapi.application.product.query.ListProductsOfBar;
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.product.ProductType;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.common.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "com.tungstun.bartap.reactive.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+class ReactiveProductQueryHandlerIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private ReactiveProductQueryHandler productQueryHandler;
+    @Autowired
+    private ProductQueryHandler blockingProductQueryHandler;
+
+    private Bar bar;
+    private Category drinks;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        drinks = new Category(UUID.randomUUID(), "Drinks");
+        Category food = new Category(UUID.randomUUID(), "Food");
+        product = new ProductBuilder("Pils", drinks)
+                .setPrice(2.5)
+                .setSize(250)
+                .setType(ProductType.DRINK)
+                .setBrand("Heineken")
+                .setFavorite(true)
+                .build();
+        Product product2 = new ProductBuilder("Tripel", drinks)
+                .setPrice(4.0)
+                .setSize(330)
+                .setType(ProductType.DRINK)
+                .setBrand("La Chouffe")
+                .build();
+        Product product3 = new ProductBuilder("Nachos", food)
+                .setPrice(6.0)
+                .setSize(500)
+                .setType(ProductType.FOOD)
+                .setBrand("Bar")
+                .build();
+        product3.updatePrice(new Money(6.5));
+        bar = barRepository.save(new BarBuilder("bar")
+                .setCategories(List.of(drinks, food))
+                .setProducts(List.of(product, product2, product3))
+                .build());
+    }
+
+    private List<Product> list(UUID categoryId, Boolean onlyFavorites, String productType, String searchText) {
+        return productQueryHandler.handle(new ListProductsOfBar(bar.getId(), categoryId, onlyFavorites, productType, searchText))
+                .collectList()
+                .block();
+    }
+
+    private static List<UUID> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Streams all products of bar with their category and current price")
+    void listProductsOfBar_StreamsAllProducts() {
+        List<Product> products = list(null, null, null, null);
+
+        assertEquals(3, products.size());
+        Product pils = products.stream().filter(p -> p.getId().equals(product.getId())).findFirst().orElseThrow();
+        assertEquals("Pils", pils.getName());
+        assertEquals("Heineken", pils.getBrand());
+        assertEquals(250, pils.getSize());
+        assertTrue(pils.isFavorite());
+        assertEquals(ProductType.DRINK, pils.getType());
+        assertEquals(drinks.getId(), pils.getCategory().getId());
+        assertEquals(0, product.getPrice().amount().compareTo(pils.getPrice().amount()));
+        Product nachos = products.stream().filter(p -> p.getName().equals("Nachos")).findFirst().orElseThrow();
+        assertEquals(6.5, nachos.getPrice().amount().doubleValue());
+    }
+
+    @Test
+    @DisplayName("Streamed products are filtered like the blocking query handler")
+    void listProductsOfBarFiltered_SameAsBlocking() {
+        ListProductsOfBar query = new ListProductsOfBar(bar.getId(), drinks.getId(), true, "drink", null);
+        List<Product> expected = blockingProductQueryHandler.handle(query);
+
+        assertEquals(ids(expected), ids(list(drinks.getId(), true, "drink", null)));
+        assertEquals(List.of(product.getId()), ids(expected));
+    }
+
+    @Test
+    @DisplayName("Searched products are ranked like the blocking query handler")
+    void searchProductsOfBar_SameAsBlocking() {
+        ListProductsOfBar query = new ListProductsOfBar(bar.getId(), null, null, null, "tripel");
+
+        assertEquals(ids(blockingProductQueryHandler.handle(query)), ids(list(null, null, null, "tripel")));
+    }
+
+    @Test
+    @DisplayName("Listing products of not existing bar fails with not found")
+    void listProductsOfNotExistingBar_Fails() {
+        ListProductsOfBar query = new ListProductsOfBar(UUID.randomUUID(), null, null, null, null);
+
+        assertThrows(EntityNotFoundException.class, () -> productQueryHandler.handle(query).blockLast());
+    }
+}
@@ -98,7 +98,7 @@ class SessionCommandHandlerIntegrationTest {
     @Test
     @DisplayName("Delete session")
     void deleteSession() throws EntityNotFoundException {
-        DeleteSession command = new DeleteSession(session.getId());
+        DeleteSession command = new DeleteSession(bar.getId(), session.getId());
 
         serviceCommandHandler.handle(command);
 
@@ -0,0 +1,60 @@
+package com.tungstun.barapi.common.execution;
+
+import com.tungstun.common.execution.ExecutionMode;
+import com.tungstun.common.execution.ExecutionSettings;
+import com.tungstun.common.execution.VirtualThreads;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionSettingsTest {
+    @Test
+    @DisplayName("Platform mode creates named daemon threads")
+    void platformMode_CreatesDaemonThreads() {
+        ExecutionSettings settings = new ExecutionSettings(ExecutionMode.PLATFORM);
+
+        Thread thread = settings.threadFactory("test-").newThread(() -> {});
+
+        assertFalse(settings.isVirtual());
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("test-"));
+    }
+
+    @Test
+    @DisplayName("Platform mode has no thread per task executor")
+    void platformMode_ThreadPerTaskExecutorThrows() {
+        ExecutionSettings settings = new ExecutionSettings(ExecutionMode.PLATFORM);
+
+        assertThrows(IllegalStateException.class, () -> settings.threadPerTaskExecutor("test-"));
+    }
+
+    @Test
+    @DisplayName("Virtual mode falls back to platform threads without virtual thread support")
+    void virtualModeUnsupported_FallsBackToPlatform() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        ExecutionSettings settings = new ExecutionSettings(ExecutionMode.VIRTUAL);
+
+        assertEquals(ExecutionMode.PLATFORM, settings.getMode());
+        assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.factory("test-"));
+    }
+
+    @Test
+    @DisplayName("Virtual mode runs every task on a new virtual thread")
+    void virtualMode_RunsTasksOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutionSettings settings = new ExecutionSettings(ExecutionMode.VIRTUAL);
+        CompletableFuture<String> threadName = new CompletableFuture<>();
+
+        settings.threadPerTaskExecutor("test-").execute(() -> threadName.complete(Thread.currentThread().toString()));
+
+        assertTrue(settings.isVirtual());
+        assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith("VirtualThread"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.tungstun.barapi.common.money;
+
+import com.tungstun.common.money.ConversionRates;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionRatesTest {
+    private static final Currency EUR = new Currency("€", "EUR");
+    private static final Currency USD = new Currency("$", "USD");
+    private static final Currency GBP = new Currency("£", "GBP");
+    private ConversionRates rates;
+
+    @BeforeEach
+    void setUp() {
+        rates = new ConversionRates("EUR", Map.of(
+                "EUR", BigDecimal.ONE,
+                "USD", new BigDecimal("2"),
+                "GBP", new BigDecimal("0.5")
+        ), Instant.now());
+    }
+
+    @Test
+    @DisplayName("Converting from base currency multiplies by rate")
+    void convertFromBase() {
+        Money converted = rates.convert(new Money(BigDecimal.TEN, EUR), USD);
+
+        assertEquals(new Money(new BigDecimal("20"), USD), converted);
+    }
+
+    @Test
+    @DisplayName("Converting between non base currencies uses cross rate")
+    void convertCrossRate() {
+        Money converted = rates.convert(new Money(BigDecimal.TEN, USD), GBP);
+
+        assertEquals(new Money(new BigDecimal("2.5"), GBP), converted);
+    }
+
+    @Test
+    @DisplayName("Cross rate is computed once and reused")
+    void crossRateIsCached() {
+        assertSame(rates.rate(USD, GBP), rates.rate(USD, GBP));
+    }
+
+    @Test
+    @DisplayName("Converting to same currency keeps amount")
+    void convertSameCurrency() {
+        Money money = new Money(new BigDecimal("3.33"), USD);
+
+        assertEquals(money, rates.convert(money, USD));
+    }
+
+    @Test
+    @DisplayName("Converting unknown currency throws IllegalArgumentException")
+    void convertUnknownCurrency_Throws() {
+        Money money = new Money(BigDecimal.TEN, EUR);
+        Currency unknown = new Currency("?", "XXX");
+
+        assertThrows(IllegalArgumentException.class, () -> rates.convert(money, unknown));
+    }
+
+    @Test
+    @DisplayName("Converter function converts values of its source currency with the resolved rate")
+    void converterFunction_ConvertsWithResolvedRate() {
+        UnaryOperator<Money> converter = rates.converter(EUR, USD);
+
+        assertEquals(new Money(new BigDecimal("2"), USD), converter.apply(new Money(BigDecimal.ONE, EUR)));
+        assertEquals(new Money(new BigDecimal("4"), USD), converter.apply(new Money(BigDecimal.ONE, GBP)));
+    }
+}
@@ -4,6 +4,7 @@ import com.tungstun.common.money.Currency;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CurrencyTest {
@@ -28,4 +29,15 @@ class CurrencyTest {
         assertTrue(currency.compareTo(currency2) > 0);
     }
 
+    @Test
+    void ofCode_ReturnsCurrencyWithSymbol() {
+        Currency currency = Currency.of("usd");
+        assertEquals("USD", currency.code());
+        assertEquals("$", currency.symbol());
+    }
+
+    @Test
+    void ofUnknownCode_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> Currency.of("ABCD"));
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.tungstun.common.money.Money;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -22,4 +23,19 @@ class MockCurrencyConverterTest {
         assertEquals(money.amount(), convertedMoney.amount());
         assertNotEquals(money.currency(), convertedMoney.currency());
     }
-}
\ No newline at end of file
+
+    @Test
+    void mockConvertor_ConvertAll_ReturnsSameAmountsInRequestedCurrency() {
+        Currency usd = new Currency("$", "USD");
+        Currency eur = new Currency("€", "EUR");
+        List<Money> money = List.of(
+                new Money(BigDecimal.valueOf(1.5), usd),
+                new Money(BigDecimal.valueOf(2.5), eur));
+
+        List<Money> converted = new MockCurrencyConverter().convertAll(money, eur);
+
+        assertEquals(List.of(
+                new Money(BigDecimal.valueOf(1.5), eur),
+                new Money(BigDecimal.valueOf(2.5), eur)), converted);
+    }
+}
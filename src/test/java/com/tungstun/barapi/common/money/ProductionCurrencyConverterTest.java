@@ -0,0 +1,90 @@
+package com.tungstun.barapi.common.money;
+
+import com.tungstun.common.money.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductionCurrencyConverterTest {
+    private static final Currency EUR = new Currency("€", "EUR");
+    private static final Currency USD = new Currency("$", "USD");
+    private static final ConversionRateSource FALLBACK = new ResourceConversionRateSource(new ClassPathResource("currency/conversion-rates.json"));
+    private ThreadPoolTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Converter uses fallback rates when api is unavailable")
+    void apiUnavailable_UsesFallbackRates() {
+        ProductionCurrencyConverter converter = new ProductionCurrencyConverter(
+                () -> { throw new IOException("offline"); },
+                FALLBACK,
+                scheduler,
+                Duration.ofHours(1),
+                Duration.ofHours(1));
+        converter.start();
+
+        Money converted = converter.convert(new Money(BigDecimal.ONE, EUR), USD);
+
+        assertEquals(USD, converted.currency());
+        assertEquals(new BigDecimal("0.98"), converted.amount());
+    }
+
+    @Test
+    @DisplayName("Failed refresh is retried until the api answers")
+    void failedRefresh_IsRetried() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        ConversionRateSource flakySource = () -> {
+            if (calls.incrementAndGet() < 3) throw new IOException("timeout");
+            return new ConversionRates("EUR", Map.of("EUR", BigDecimal.ONE, "USD", new BigDecimal("2")), Instant.now());
+        };
+        ProductionCurrencyConverter converter = new ProductionCurrencyConverter(
+                flakySource,
+                FALLBACK,
+                scheduler,
+                Duration.ofHours(1),
+                Duration.ofMillis(10));
+        converter.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+
+        assertEquals(3, calls.get());
+        assertEquals(new BigDecimal("2.00"), converter.convert(new Money(BigDecimal.ONE, EUR), USD).amount());
+    }
+
+    @Test
+    @DisplayName("Converting without any loaded rates throws IllegalStateException")
+    void noRates_Throws() {
+        ConversionRateSource failing = () -> { throw new IOException("offline"); };
+        ProductionCurrencyConverter converter = new ProductionCurrencyConverter(failing, failing, scheduler, Duration.ofHours(1), Duration.ofHours(1));
+        converter.start();
+        Money money = new Money(BigDecimal.ONE, EUR);
+
+        assertThrows(IllegalStateException.class, () -> converter.convert(money, USD));
+    }
+}
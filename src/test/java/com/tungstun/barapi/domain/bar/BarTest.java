@@ -1,6 +1,12 @@
 package com.tungstun.barapi.domain.bar;
 
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.bill.Order;
 import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.ProductBuilder;
 import com.tungstun.barapi.domain.session.Session;
 import com.tungstun.exception.DuplicateActiveSessionException;
 import com.tungstun.security.domain.user.User;
@@ -75,6 +81,21 @@ class BarTest {
         assertNotNull(session);
     }
 
+    @Test
+    @DisplayName("new session passes bar id to its bills, orders and history")
+    void newSession_PassesBarIdToBillsAndOrders() {
+        Session session = bar.newSession("test");
+        Person person = new PersonBuilder("name").build();
+        Bill bill = session.addCustomer(person);
+        Category category = new CategoryFactory("category").create();
+        Order order = bill.addOrder(new ProductBuilder("prod", category).build(), 1, person);
+
+        assertEquals(bar.getId(), session.getBarId());
+        assertEquals(bar.getId(), bill.getBarId());
+        assertEquals(bar.getId(), order.getBarId());
+        assertEquals(bar.getId(), bill.getHistory().get(0).getBarId());
+    }
+
     @Test
     @DisplayName("bar active session")
     void noActiveSession() {
@@ -123,4 +123,37 @@ class ProductTest {
                 () -> product.getPriceAtDate(localDateTime)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Get price at date with many prices returns the price active at that date")
+    void priceAtDateWithManyPrices_ReturnsPriceActiveAtDate() {
+        LocalDateTime start = LocalDateTime.now().minusDays(10);
+        List<Price> allPrices = (List<Price>) FieldUtils.getProtectedFieldValue("prices", product);
+        allPrices.clear();
+        for (int i = 0; i < 10; i++) {
+            Price price = Price.create(new Money(i));
+            FieldUtils.setProtectedFieldValue("fromDate", price, start.plusDays(i));
+            if (i < 9) FieldUtils.setProtectedFieldValue("toDate", price, start.plusDays(i + 1L));
+            allPrices.add(price);
+        }
+
+        assertEquals(new Money(0), product.getPriceAtDate(start.plusHours(1)));
+        assertEquals(new Money(4), product.getPriceAtDate(start.plusDays(4).plusHours(12)));
+        assertEquals(new Money(8), product.getPriceAtDate(start.plusDays(9).minusSeconds(1)));
+        assertEquals(new Money(9), product.getPriceAtDate(start.plusDays(20)));
+        assertEquals(new Money(9), product.getPrice());
+    }
+
+    @Test
+    @DisplayName("Get price at date after the last price has ended throws IllegalArgumentException")
+    void priceAtDateAfterLastPriceEnded_Throws() {
+        List<Price> allPrices = (List<Price>) FieldUtils.getProtectedFieldValue("prices", product);
+        allPrices.get(0).endPricing();
+        LocalDateTime localDateTime = LocalDateTime.now().plusSeconds(5);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> product.getPriceAtDate(localDateTime)
+        );
+    }
+}
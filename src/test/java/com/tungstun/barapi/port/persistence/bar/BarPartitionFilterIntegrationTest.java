@@ -0,0 +1,121 @@
+package com.tungstun.barapi.port.persistence.bar;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bar.BarRepository;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.tungstun.barapi.port.persistence.bar.BarPartitionFilterIntegrationTest$RecordingStatementInspector")
+class BarPartitionFilterIntegrationTest {
+    @Autowired
+    private BarRepository barRepository;
+    @Autowired
+    private SpringBarRepository springBarRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Bar bar;
+    private Bar otherBar;
+
+    @BeforeEach
+    void setUp() {
+        bar = springBarRepository.save(createBarWithOrder("bar"));
+        otherBar = springBarRepository.save(createBarWithOrder("other bar"));
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        springBarRepository.deleteAll();
+    }
+
+    private static Bar createBarWithOrder(String name) {
+        Person person = new PersonBuilder("person").build();
+        Category category = new CategoryFactory("Drinks").create();
+        Product product = new ProductBuilder("Pils", category).setPrice(2.5).build();
+        Bar bar = new BarBuilder(name)
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(person)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(product)))
+                .build();
+        bar.newSession("session")
+                .addCustomer(person)
+                .addOrder(product, 1, person);
+        return bar;
+    }
+
+    private static List<String> statementsOn(String table) {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Bills, orders and history of a loaded bar are queried by bar id")
+    void loadedBar_QueriedByBarId() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Bill bill = barRepository.findById(bar.getId()).orElseThrow()
+                    .getActiveSession()
+                    .getBills()
+                    .get(0);
+            assertEquals(1, bill.getOrders().size());
+            assertEquals(1, bill.getHistory().size());
+        });
+
+        List<String> statements = new ArrayList<>();
+        statements.addAll(statementsOn("bill"));
+        statements.addAll(statementsOn("\"order\""));
+        statements.addAll(statementsOn("order_history_entry"));
+        assertEquals(3, statements.size());
+        statements.forEach(sql -> assertTrue(sql.contains(".bar_id in (?)"), sql));
+    }
+
+    @Test
+    @DisplayName("Bars loaded in the same persistence context keep all their bills")
+    void multipleBars_AllBillsLoaded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            barRepository.findById(bar.getId()).orElseThrow();
+            Bar loadedOtherBar = barRepository.findById(otherBar.getId()).orElseThrow();
+            Bar loadedBar = barRepository.findById(bar.getId()).orElseThrow();
+
+            assertEquals(1, loadedOtherBar.getActiveSession().getAllOrders().size());
+            assertEquals(1, loadedBar.getActiveSession().getAllOrders().size());
+        });
+
+        assertFalse(statementsOn("bill").isEmpty());
+        statementsOn("bill").forEach(sql -> assertTrue(sql.contains(".bar_id in (?, ?)"), sql));
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.tungstun.barapi.port.persistence.bill;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.barapi.port.persistence.session.SpringSessionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures insert and load throughput of the orders of a single session.<br>
+ * Orders are flushed when the transaction commits, so the numbers do not include the existence
+ * checks done when merging entities with assigned ids.<br>
+ * Run with {@code mvn test -Dtest=BillPersistenceBenchmark -Dbenchmark=true [-Dbenchmark.orders=100000]}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BillPersistenceBenchmark {
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 100_000);
+    private static final int CUSTOMERS = 100;
+
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringSessionRepository sessionRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Insert and load all orders of a session")
+    void insertAndLoadSessionOrders() {
+        Category category = new CategoryFactory("Drinks").create();
+        Product product = new ProductBuilder("product", category).setPrice(1.0).build();
+        List<Person> people = IntStream.range(0, CUSTOMERS)
+                .mapToObj(i -> new PersonBuilder("person" + i).build())
+                .toList();
+        Bar bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(product)))
+                .setPeople(new ArrayList<>(people))
+                .build();
+        Session session = new Session(UUID.randomUUID(), bar.getId(), "benchmark", new ArrayList<>());
+        bar.getSessions().add(session);
+        bar = barRepository.save(bar);
+
+        int ordersPerBill = ORDERS / CUSTOMERS;
+        long insertStart = System.nanoTime();
+        for (Person person : people) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Session managedSession = sessionRepository.getById(session.getId());
+                Bill bill = managedSession.addCustomer(person);
+                for (int i = 0; i < ordersPerBill; i++) {
+                    bill.addOrder(product, 1, person);
+                }
+            });
+        }
+        long insertNanos = System.nanoTime() - insertStart;
+
+        long loadStart = System.nanoTime();
+        int[] loadedCounts = transactionTemplate.execute(status -> {
+            int[] counts = new int[2];
+            for (Bill bill : sessionRepository.getById(session.getId()).getBills()) {
+                counts[0] += bill.getOrders().size();
+                counts[1] += bill.getHistory().size();
+            }
+            return counts;
+        });
+        long loadNanos = System.nanoTime() - loadStart;
+
+        int loaded = loadedCounts[0];
+        assertEquals(ordersPerBill * CUSTOMERS, loaded);
+        assertEquals(loaded, loadedCounts[1]);
+        System.out.printf(
+                "[benchmark] bar %s: inserted %d orders in %d ms (%.0f orders/s), loaded in %d ms (%.0f orders/s)%n",
+                bar.getId(), loaded,
+                insertNanos / 1_000_000, loaded / (insertNanos / 1e9),
+                loadNanos / 1_000_000, loaded / (loadNanos / 1e9)
+        );
+    }
+}
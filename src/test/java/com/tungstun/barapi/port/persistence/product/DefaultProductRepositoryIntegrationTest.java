@@ -0,0 +1,91 @@
+package com.tungstun.barapi.port.persistence.product;
+
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.product.ProductPrice;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.common.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class DefaultProductRepositoryIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private DefaultProductRepository repository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+    private Product product2;
+    private LocalDateTime beforeUpdate;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        Category category = new Category(UUID.randomUUID(), "Drinks");
+        product = new ProductBuilder("product", category).setPrice(1.0).build();
+        product2 = new ProductBuilder("product2", category).setPrice(2.0).build();
+        Thread.sleep(10);
+        beforeUpdate = LocalDateTime.now();
+        Thread.sleep(10);
+        product.updatePrice(new Money(1.5));
+        barRepository.save(new BarBuilder("bar")
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(product, product2)))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Find price at date returns the price active at that date")
+    void findPriceAtDate_ReturnsActivePrice() {
+        assertEquals(new Money(1.0), repository.findPriceAtDate(product.getId(), beforeUpdate).orElseThrow());
+        assertEquals(new Money(1.5), repository.findPriceAtDate(product.getId(), LocalDateTime.now().plusSeconds(1)).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Find price at date before the product existed returns empty")
+    void findPriceAtDateBeforeCreation_ReturnsEmpty() {
+        assertTrue(repository.findPriceAtDate(product.getId(), LocalDateTime.now().minusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Find prices at date returns the active price of every product")
+    void findPricesAtDate_ReturnsActivePricePerProduct() {
+        List<ProductPrice> prices = repository.findPricesAtDate(List.of(product.getId(), product2.getId()), beforeUpdate);
+
+        Map<UUID, Money> pricePerProduct = prices.stream()
+                .collect(Collectors.toMap(ProductPrice::productId, ProductPrice::price));
+        assertEquals(2, pricePerProduct.size());
+        assertEquals(new Money(1.0), pricePerProduct.get(product.getId()));
+        assertEquals(new Money(2.0), pricePerProduct.get(product2.getId()));
+    }
+
+    @Test
+    @DisplayName("Loaded product keeps prices sorted so the newest price is current")
+    void loadedProduct_HasNewestPriceAsCurrent() {
+        Product loaded = repository.findById(product.getId()).orElseThrow();
+
+        assertEquals(new Money(1.5), loaded.getPrice());
+        assertEquals(new Money(1.0), loaded.getPriceAtDate(beforeUpdate));
+    }
+}
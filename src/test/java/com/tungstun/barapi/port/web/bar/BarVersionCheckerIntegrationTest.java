@@ -0,0 +1,173 @@
+package com.tungstun.barapi.port.web.bar;
+
+import com.tungstun.barapi.application.bar.BarVersionTracker;
+import com.tungstun.barapi.application.category.CategoryCommandHandler;
+import com.tungstun.barapi.application.category.command.CreateCategory;
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class BarVersionCheckerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+    @Autowired
+    private CategoryCommandHandler categoryCommandHandler;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Bar bar;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "etag-" + UUID.randomUUID(), "", "etag@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        Person owner = new PersonBuilder("owner").setUser(user).build();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(owner)))
+                .build();
+        user.newBarAuthorization(bar.getId(), owner);
+        userRepository.save(user);
+        bar = barRepository.save(bar);
+        accessToken = tokenGenerator.createAccessToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String getCategories() throws Exception {
+        return mockMvc.perform(get("/api/bars/{barId}/categories", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @DisplayName("Unchanged resource of bar is not modified")
+    void unchangedResource_NotModified() throws Exception {
+        String etag = getCategories();
+
+        mockMvc.perform(get("/api/bars/{barId}/categories", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Resource of bar is modified after a command changed the bar")
+    void changedBar_Modified() throws Exception {
+        String etag = getCategories();
+        categoryCommandHandler.handle(new CreateCategory(bar.getId(), "Drinks"));
+
+        String newEtag = mockMvc.perform(get("/api/bars/{barId}/categories", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Drinks"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    @DisplayName("Resource of bar is not modified after a command that was rolled back")
+    void rolledBackCommand_NotModified() throws Exception {
+        String etag = getCategories();
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryCommandHandler.handle(new CreateCategory(bar.getId(), "Drinks"));
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/api/bars/{barId}/categories", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Version is incremented inside the transaction of the command handler")
+    void versionTracker_InsideTransaction() {
+        assertTrue(AopUtils.isAopProxy(categoryCommandHandler));
+        List<Advisor> advisors = List.of(((Advised) categoryCommandHandler).getAdvisors());
+        int transaction = indexOf(advisors, TransactionInterceptor.class);
+        int versionTracker = indexOf(advisors, BarVersionTracker.class);
+
+        assertTrue(transaction >= 0 && versionTracker > transaction, advisors.toString());
+        assertEquals(1, advisors.stream().filter(advisor -> advisor.getAdvice() instanceof TransactionInterceptor).count());
+    }
+
+    private static int indexOf(List<Advisor> advisors, Class<?> type) {
+        for (int i = 0; i < advisors.size(); i++) {
+            Advisor advisor = advisors.get(i);
+            if (type.isInstance(advisor.getAdvice()) || advisor.toString().contains(type.getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    @DisplayName("Not modified is only answered to users with access to the bar")
+    void notModified_RequiresAccess() throws Exception {
+        String etag = getCategories();
+        User other = userRepository.save(new User(UUID.randomUUID(), "etag-" + UUID.randomUUID(), "", "other@bar.com", "", "", "+310612345678", new ArrayList<>()));
+
+        mockMvc.perform(get("/api/bars/{barId}/categories", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", tokenGenerator.createAccessToken(other))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,125 @@
+package com.tungstun.barapi.port.web.bar;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.Role;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "com.tungstun.bartap.reactive.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class ReactiveBarControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+
+    private Bar ownedBar;
+    private Bar connectedBar;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "reactive-" + UUID.randomUUID(), "", "reactive@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        Person owner = new PersonBuilder("owner").setUser(user).build();
+        ownedBar = new BarBuilder("owned bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(owner)))
+                .build();
+        Person bartender = new PersonBuilder("bartender").setUser(user).build();
+        connectedBar = new BarBuilder("connected bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(bartender)))
+                .build();
+        user.newBarAuthorization(ownedBar.getId(), owner);
+        user.authorize(connectedBar.getId(), Role.BARTENDER, bartender);
+        userRepository.save(user);
+        ownedBar = barRepository.save(ownedBar);
+        connectedBar = barRepository.save(connectedBar);
+        accessToken = tokenGenerator.createAccessToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String stream(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Test
+    @DisplayName("Owned bars are streamed as newline delimited json")
+    void streamOwnedBars() throws Exception {
+        String[] lines = stream("/api/bars/owned").split("\n");
+
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains(ownedBar.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Connected bars are streamed as newline delimited json")
+    void streamConnectedBars() throws Exception {
+        String content = stream("/api/bars/connected");
+
+        assertEquals(2, content.split("\n").length);
+        assertTrue(content.contains(ownedBar.getId().toString()));
+        assertTrue(content.contains(connectedBar.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Bars are still answered as a json array by default")
+    void getOwnedBars_DefaultsToJson() throws Exception {
+        mockMvc.perform(get("/api/bars/owned")
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
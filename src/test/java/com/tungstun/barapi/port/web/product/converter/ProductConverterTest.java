@@ -0,0 +1,62 @@
+package com.tungstun.barapi.port.web.product.converter;
+
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.port.web.category.converter.CategoryConverter;
+import com.tungstun.barapi.port.web.product.response.ProductResponse;
+import com.tungstun.common.money.Currency;
+import com.tungstun.common.money.CurrencyConverter;
+import com.tungstun.common.money.MockCurrencyConverter;
+import com.tungstun.common.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductConverterTest {
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new CategoryFactory("Drinks").create();
+        products = List.of(
+                new ProductBuilder("Pils", category).setPrice(2.5).build(),
+                new ProductBuilder("Wine", category).setPrice(4.0).build()
+        );
+    }
+
+    @Test
+    @DisplayName("Streamed products have their prices in the given currency")
+    void stream_ConvertsPrices() {
+        ProductConverter converter = new ProductConverter(new CategoryConverter(), new MockCurrencyConverter());
+
+        assertEquals(List.of(2.5, 4.0), converter.stream(products, Currency.of("USD"))
+                .map(ProductResponse::price)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Missing conversion rate fails before the products are streamed")
+    void streamWithoutRate_FailsRightAway() {
+        ProductConverter converter = new ProductConverter(new CategoryConverter(), new CurrencyConverter() {
+            @Override
+            public Money convert(Money money, Currency currency) {
+                throw new IllegalArgumentException("No conversion rate");
+            }
+
+            @Override
+            public UnaryOperator<Money> converter(Currency from, Currency to) {
+                throw new IllegalArgumentException("No conversion rate");
+            }
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> converter.stream(products, Currency.of("USD")));
+    }
+}
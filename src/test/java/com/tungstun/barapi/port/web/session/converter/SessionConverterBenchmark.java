@@ -0,0 +1,110 @@
+package com.tungstun.barapi.port.web.session.converter;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.web.bill.converter.BillConverter;
+import com.tungstun.barapi.port.web.order.converter.OrderConverter;
+import com.tungstun.barapi.port.web.order.converter.OrderProductConverter;
+import com.tungstun.barapi.port.web.person.converter.PersonConverter;
+import com.tungstun.common.money.MockCurrencyConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the allocated bytes and the time of converting all bills of a session with a conversion context per bill,
+ * as before, with a single conversion context for the whole response.<br>
+ * Run with {@code mvn test -Dtest=SessionConverterBenchmark -Dbenchmark=true [-Dbenchmark.bills=500] [-Dbenchmark.orders=10] [-Dbenchmark.iterations=1000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SessionConverterBenchmark {
+    private static final int BILLS = Integer.getInteger("benchmark.bills", 500);
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 10);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 1000);
+    private static final int BARTENDERS = 5;
+    private static final int PRODUCTS = 20;
+
+    @Test
+    @DisplayName("Allocations and time of converting a session per bill and per response")
+    void conversionContextPerBillAndPerResponse() {
+        PersonConverter personConverter = new PersonConverter();
+        BillConverter billConverter = new BillConverter(
+                new OrderConverter(personConverter, new OrderProductConverter()),
+                new SessionConverter(null),
+                personConverter,
+                new MockCurrencyConverter()
+        );
+        List<Bill> bills = session().getBills();
+
+        Consumer<List<Bill>> perBill = list -> list.forEach(billConverter::convert);
+        Consumer<List<Bill>> perResponse = billConverter::convertAll;
+        Measurement perBillMeasurement = measure(perBill, bills);
+        Measurement perResponseMeasurement = measure(perResponse, bills);
+
+        assertTrue(perResponseMeasurement.bytes() < perBillMeasurement.bytes());
+        System.out.printf(
+                "[benchmark] %d bills x %d orders: context per bill %d KiB, %.2f ms per response; context per response %d KiB, %.2f ms per response%n",
+                BILLS, ORDERS,
+                perBillMeasurement.bytes() / 1024, perBillMeasurement.nanos() / 1e6,
+                perResponseMeasurement.bytes() / 1024, perResponseMeasurement.nanos() / 1e6
+        );
+    }
+
+    private Session session() {
+        Category category = new CategoryFactory("Drinks").create();
+        List<Person> people = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < BILLS; i++) {
+            people.add(new PersonBuilder("person " + i).build());
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new ProductBuilder("product " + i, category).setPrice(1.5 + i).build());
+        }
+        Bar bar = new BarBuilder("bar")
+                .setPeople(people)
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(products)
+                .build();
+        Session session = bar.newSession("session");
+        for (int i = 0; i < BILLS; i++) {
+            Bill bill = session.addCustomer(people.get(i));
+            for (int order = 0; order < ORDERS; order++) {
+                bill.addOrder(products.get((i + order) % PRODUCTS), 1, people.get(order % BARTENDERS));
+            }
+        }
+        return session;
+    }
+
+    private Measurement measure(Consumer<List<Bill>> conversion, List<Bill> bills) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            conversion.accept(bills);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            conversion.accept(bills);
+        }
+        long nanos = System.nanoTime() - start;
+        return new Measurement((threads.getThreadAllocatedBytes(threadId) - bytes) / ITERATIONS, nanos / ITERATIONS);
+    }
+
+    private record Measurement(long bytes, long nanos) {
+    }
+}
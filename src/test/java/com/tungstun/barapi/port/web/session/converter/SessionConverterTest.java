@@ -0,0 +1,125 @@
+package com.tungstun.barapi.port.web.session.converter;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.web.bill.converter.BillConverter;
+import com.tungstun.barapi.port.web.bill.response.BillResponse;
+import com.tungstun.barapi.port.web.bill.response.BillSummaryResponse;
+import com.tungstun.barapi.port.web.order.converter.OrderConverter;
+import com.tungstun.barapi.port.web.order.converter.OrderProductConverter;
+import com.tungstun.barapi.port.web.person.converter.PersonConverter;
+import com.tungstun.barapi.port.web.session.response.SessionResponse;
+import com.tungstun.common.money.MockCurrencyConverter;
+import com.tungstun.common.money.Money;
+import com.tungstun.common.response.ConversionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SessionConverterTest {
+    private BillConverter billConverter;
+    private SessionConverter sessionConverter;
+    private Session session;
+    private Bill bill;
+    private Bill bill2;
+    private Product beer;
+    private Person bartender;
+
+    @BeforeEach
+    void setUp() {
+        PersonConverter personConverter = new PersonConverter();
+        billConverter = new BillConverter(
+                new OrderConverter(personConverter, new OrderProductConverter()),
+                new SessionConverter(null),
+                personConverter,
+                new MockCurrencyConverter()
+        );
+        sessionConverter = new SessionConverter(billConverter);
+
+        bartender = new PersonBuilder("bartender").build();
+        Person customer = new PersonBuilder("customer").build();
+        Person customer2 = new PersonBuilder("customer2").build();
+        Category category = new CategoryFactory("Drinks").create();
+        beer = new ProductBuilder("Pils", category)
+                .setPrice(2.5)
+                .build();
+        Bar bar = new BarBuilder("bar")
+                .setPeople(new ArrayList<>(List.of(bartender, customer, customer2)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(beer)))
+                .build();
+        session = bar.newSession("session");
+        bill = session.addCustomer(customer);
+        bill2 = session.addCustomer(customer2);
+        bill.addOrder(beer, 2, bartender);
+        bill.addOrder(beer, 1, bartender);
+        bill2.addOrder(beer, 3, bartender);
+    }
+
+    @Test
+    @DisplayName("Bills of a session share the summary of the session")
+    void billsShareSessionSummary() {
+        SessionResponse response = sessionConverter.convert(session);
+
+        List<BillSummaryResponse> bills = response.bills();
+        assertEquals(2, bills.size());
+        assertSame(bills.get(0).session(), bills.get(1).session());
+    }
+
+    @Test
+    @DisplayName("Orders of bills share the bartender and the ordered product")
+    void ordersShareBartenderAndProduct() {
+        List<BillResponse> bills = billConverter.convertAll(List.of(bill, bill2));
+
+        assertSame(bills.get(0).orders().get(0).bartender(), bills.get(1).orders().get(0).bartender());
+        assertSame(bills.get(0).orders().get(0).product(), bills.get(0).orders().get(1).product());
+        assertSame(bills.get(0).orders().get(0).product(), bills.get(1).orders().get(0).product());
+    }
+
+    @Test
+    @DisplayName("Orders of a renamed product keep the name at the time of the order")
+    void renamedProduct_KeepsOrderedName() {
+        beer.setName("Speciaalbier");
+        bill2.addOrder(beer, 1, bartender);
+
+        List<BillResponse> bills = billConverter.convertAll(List.of(bill, bill2));
+
+        assertEquals("Pils", bills.get(0).orders().get(0).product().name());
+        assertEquals("Pils", bills.get(1).orders().get(0).product().name());
+        assertEquals("Speciaalbier", bills.get(1).orders().get(1).product().name());
+    }
+
+    @Test
+    @DisplayName("Total price of bills")
+    void totalPriceOfBills() {
+        List<BillSummaryResponse> bills = billConverter.convertAllToSummary(List.of(bill, bill2));
+
+        assertEquals(7.5, bills.get(0).totalPrice());
+        assertEquals(7.5, bills.get(1).totalPrice());
+    }
+
+    @Test
+    @DisplayName("Total price of bill is the total of the bill converted with the rate of the context")
+    void totalPriceOfBill_Converted() {
+        ConversionContext context = new ConversionContext(price -> new Money(price.amount().multiply(BigDecimal.valueOf(2)), price.currency()));
+
+        BillSummaryResponse response = billConverter.convertToSummary(bill, context);
+
+        assertEquals(bill.calculateTotalPrice() * 2, response.totalPrice());
+    }
+}
@@ -0,0 +1,177 @@
+package com.tungstun.common.idempotency;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class IdempotentRequestsIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+
+    private Bar bar;
+    private Bill bill;
+    private Product product;
+    private String accessToken;
+    private String otherAccessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "idempotency-" + UUID.randomUUID(), "", "idempotency@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        User otherUser = userRepository.save(new User(UUID.randomUUID(), "idempotency-" + UUID.randomUUID(), "", "other-idempotency@bar.com", "", "", "+310612345679", new ArrayList<>()));
+        Person owner = new PersonBuilder("owner").setUser(user).build();
+        Person otherOwner = new PersonBuilder("other owner").setUser(otherUser).build();
+        Person customer = new PersonBuilder("customer").build();
+        Category category = new CategoryFactory("Drinks").create();
+        product = new ProductBuilder("Pils", category).setPrice(2.5).build();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(owner, otherOwner, customer)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(product)))
+                .build();
+        bill = bar.newSession("session").addCustomer(customer);
+        user.newBarAuthorization(bar.getId(), owner);
+        otherUser.newBarAuthorization(bar.getId(), otherOwner);
+        userRepository.save(user);
+        userRepository.save(otherUser);
+        bar = barRepository.save(bar);
+        accessToken = tokenGenerator.createAccessToken(user);
+        otherAccessToken = tokenGenerator.createAccessToken(otherUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private ResultActions addOrder(String idempotencyKey, UUID productId) throws Exception {
+        return addOrder(idempotencyKey, productId, accessToken);
+    }
+
+    private ResultActions addOrder(String idempotencyKey, UUID productId, String accessToken) throws Exception {
+        return mockMvc.perform(put("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}", bar.getId(), bill.getSession().getId(), bill.getId())
+                .header("token_type", "bearer")
+                .header("access_token", accessToken)
+                .header(IdempotentRequests.HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"productId\": \"%s\", \"amount\": 1}", productId)));
+    }
+
+    private void assertOrdersOfBill(int orders) throws Exception {
+        mockMvc.perform(get("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}/orders", bar.getId(), bill.getSession().getId(), bill.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(orders));
+    }
+
+    @Test
+    @DisplayName("Retried order with the same key is added once")
+    void retriedOrder_AddedOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String orderId = addOrder(key, product.getId())
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        addOrder(key, product.getId())
+                .andExpect(status().isCreated())
+                .andExpect(result -> assertEquals(orderId, result.getResponse().getContentAsString()));
+        assertOrdersOfBill(1);
+    }
+
+    @Test
+    @DisplayName("Same key of another user is handled as another request")
+    void sameKeyOtherUser_AddedTwice() throws Exception {
+        String key = UUID.randomUUID().toString();
+        addOrder(key, product.getId()).andExpect(status().isCreated());
+
+        addOrder(key, product.getId(), otherAccessToken).andExpect(status().isCreated());
+        assertOrdersOfBill(2);
+    }
+
+    @Test
+    @DisplayName("Key cannot be reused for another request")
+    void reusedKey_Unprocessable() throws Exception {
+        String key = UUID.randomUUID().toString();
+        addOrder(key, product.getId()).andExpect(status().isCreated());
+
+        mockMvc.perform(patch("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}/pay", bar.getId(), bill.getSession().getId(), bill.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken)
+                        .header(IdempotentRequests.HEADER, key))
+                .andExpect(status().isUnprocessableEntity());
+        assertOrdersOfBill(1);
+    }
+
+    @Test
+    @DisplayName("Key of a failed request can be retried")
+    void failedRequest_KeyReleased() throws Exception {
+        String key = UUID.randomUUID().toString();
+        addOrder(key, UUID.randomUUID()).andExpect(status().isNotFound());
+
+        addOrder(key, product.getId()).andExpect(status().isCreated());
+        assertOrdersOfBill(1);
+    }
+
+    @Test
+    @DisplayName("Retried payment with the same key is answered with the stored result")
+    void retriedPayment() throws Exception {
+        String key = UUID.randomUUID().toString();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}/pay", bar.getId(), bill.getSession().getId(), bill.getId())
+                            .header("token_type", "bearer")
+                            .header("access_token", accessToken)
+                            .header(IdempotentRequests.HEADER, key))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}", bar.getId(), bill.getSession().getId(), bill.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isPayed").value(true));
+    }
+}
@@ -0,0 +1,32 @@
+package com.tungstun.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotentRequestsTest {
+    @Test
+    @DisplayName("Result is returned when it cannot be stored")
+    void completeFails_ResultReturned() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10, Duration.ofHours(1), Duration.ofMinutes(1), Clock.systemUTC()) {
+            @Override
+            public void complete(String key, String result) {
+                throw new IllegalStateException("Database unavailable");
+            }
+        };
+        IdempotentRequests requests = new IdempotentRequests(store, new ObjectMapper());
+        AtomicInteger handled = new AtomicInteger();
+
+        String result = requests.execute("key", "command", String.class, () -> "result " + handled.incrementAndGet());
+
+        assertEquals("result 1", result);
+        assertTrue(store.find(":key").isPresent());
+    }
+}
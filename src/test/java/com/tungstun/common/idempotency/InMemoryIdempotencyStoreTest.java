@@ -0,0 +1,115 @@
+package com.tungstun.common.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryIdempotencyStoreTest {
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, Duration.ofHours(1), Duration.ofMinutes(1), clock);
+
+    @Test
+    @DisplayName("Key can be reserved once")
+    void reserveOnce() {
+        assertTrue(store.reserve("key", "command"));
+        assertFalse(store.reserve("key", "command"));
+        assertEquals(Optional.of(new IdempotentResult("command", null)), store.find("key"));
+    }
+
+    @Test
+    @DisplayName("Completed key holds its result")
+    void complete() {
+        store.reserve("key", "command");
+        store.complete("key", "\"result\"");
+
+        IdempotentResult result = store.find("key").orElseThrow();
+        assertTrue(result.isCompleted());
+        assertEquals("\"result\"", result.result());
+    }
+
+    @Test
+    @DisplayName("Released key can be reserved again")
+    void release() {
+        store.reserve("key", "command");
+        store.release("key");
+
+        assertTrue(store.find("key").isEmpty());
+        assertTrue(store.reserve("key", "command"));
+    }
+
+    @Test
+    @DisplayName("Reservation without result can be taken over after its lease")
+    void leaseExpired() {
+        store.reserve("key", "command");
+        clock.advance(Duration.ofSeconds(59));
+        assertFalse(store.reserve("key", "command"));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(store.reserve("key", "command"));
+    }
+
+    @Test
+    @DisplayName("Completed key is kept after its lease")
+    void completedAfterLease() {
+        store.reserve("key", "command");
+        store.complete("key", "\"result\"");
+        clock.advance(Duration.ofMinutes(1));
+
+        assertFalse(store.reserve("key", "command"));
+        assertTrue(store.find("key").orElseThrow().isCompleted());
+    }
+
+    @Test
+    @DisplayName("Expired key can be reserved again")
+    void expired() {
+        store.reserve("key", "command");
+        store.complete("key", "\"result\"");
+        clock.advance(Duration.ofHours(1));
+
+        assertTrue(store.find("key").isEmpty());
+        assertTrue(store.reserve("key", "other command"));
+    }
+
+    @Test
+    @DisplayName("Oldest key is evicted when the store is full")
+    void bounded() {
+        store.reserve("first", "command");
+        store.reserve("second", "command");
+        store.reserve("third", "command");
+
+        assertEquals(2, store.size());
+        assertTrue(store.find("first").isEmpty());
+        assertTrue(store.find("third").isPresent());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2022-05-20T12:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.tungstun.common.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JdbcIdempotencyStoreIntegrationTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MutableClock clock = new MutableClock();
+    private JdbcIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                create table if not exists idempotent_request (
+                    idempotency_key varchar(512) not null,
+                    fingerprint text not null,
+                    result text,
+                    reserved_until timestamp not null,
+                    expires_at timestamp not null,
+                    primary key (idempotency_key)
+                )""");
+        store = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("delete from idempotent_request");
+    }
+
+    @Test
+    @DisplayName("Key can be reserved once and completed with its result")
+    void reserveOnceAndComplete() {
+        assertTrue(store.reserve("key", "command"));
+        assertFalse(store.reserve("key", "command"));
+        assertFalse(store.find("key").orElseThrow().isCompleted());
+
+        store.complete("key", "\"result\"");
+
+        assertEquals(new IdempotentResult("command", "\"result\""), store.find("key").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Released key can be reserved again")
+    void release() {
+        store.reserve("key", "command");
+        store.release("key");
+
+        assertTrue(store.find("key").isEmpty());
+        assertTrue(store.reserve("key", "command"));
+    }
+
+    @Test
+    @DisplayName("Reservation without result can be taken over after its lease")
+    void leaseExpired() {
+        store.reserve("key", "command");
+        clock.advance(Duration.ofSeconds(59));
+        assertFalse(store.reserve("key", "command"));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(store.reserve("key", "command"));
+    }
+
+    @Test
+    @DisplayName("Completed key is kept after its lease")
+    void completedAfterLease() {
+        store.reserve("key", "command");
+        store.complete("key", "\"result\"");
+        clock.advance(Duration.ofMinutes(1));
+
+        assertFalse(store.reserve("key", "command"));
+        assertTrue(store.find("key").orElseThrow().isCompleted());
+    }
+
+    @Test
+    @DisplayName("Expired keys can be reserved again and are purged")
+    void expired() {
+        store.reserve("key", "command");
+        store.reserve("other key", "command");
+        clock.advance(Duration.ofHours(1));
+
+        assertTrue(store.find("key").isEmpty());
+        assertTrue(store.reserve("key", "other command"));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from idempotent_request", Integer.class));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2022-05-20T12:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
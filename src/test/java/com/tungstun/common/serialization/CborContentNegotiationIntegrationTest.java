@@ -0,0 +1,135 @@
+package com.tungstun.common.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.barapi.port.web.product.request.CreateProductRequest;
+import com.tungstun.common.response.UuidResponse;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class CborContentNegotiationIntegrationTest {
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+    private Bar bar;
+    private Category category;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "cbor-" + UUID.randomUUID(), "", "cbor@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        Person owner = new PersonBuilder("owner").setUser(user).build();
+        category = new CategoryFactory("Drinks").create();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(owner)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(new ProductBuilder("Pils", category).setBrand("Heineken").setPrice(2.5).build())))
+                .build();
+        user.newBarAuthorization(bar.getId(), owner);
+        userRepository.save(user);
+        bar = barRepository.save(bar);
+        accessToken = tokenGenerator.createAccessToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Responses are JSON by default")
+    void noAccept_Json() throws Exception {
+        mockMvc.perform(get("/api/bars/{barId}/products", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Pils"));
+    }
+
+    @Test
+    @DisplayName("Responses are CBOR when the client accepts CBOR")
+    void acceptCbor_Cbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/bars/{barId}/products", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken)
+                        .accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode products = cborMapper.readTree(body);
+        assertEquals(1, products.size());
+        assertEquals("Pils", products.get(0).get("name").asText());
+        assertEquals("Heineken", products.get(0).get("brand").asText());
+        assertEquals(2.5, products.get(0).get("price").asDouble());
+    }
+
+    @Test
+    @DisplayName("Request bodies can be sent as CBOR")
+    void cborRequestBody() throws Exception {
+        CreateProductRequest request = new CreateProductRequest("Cola", "Coca-Cola", 330.0, 2.0, false, "DRINK", category.getId());
+
+        byte[] body = mockMvc.perform(post("/api/bars/{barId}/products", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken)
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        UUID productId = cborMapper.readValue(body, UuidResponse.class).id();
+        mockMvc.perform(get("/api/bars/{barId}/products/{productId}", bar.getId(), productId)
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brand").value("Coca-Cola"));
+    }
+}
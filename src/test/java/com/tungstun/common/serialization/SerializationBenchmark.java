@@ -0,0 +1,148 @@
+package com.tungstun.common.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.bill.Order;
+import com.tungstun.barapi.domain.bill.OrderHistoryEntry;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.web.bill.converter.BillConverter;
+import com.tungstun.barapi.port.web.category.converter.CategoryConverter;
+import com.tungstun.barapi.port.web.order.converter.OrderConverter;
+import com.tungstun.barapi.port.web.order.converter.OrderHistoryEntryConverter;
+import com.tungstun.barapi.port.web.order.converter.OrderProductConverter;
+import com.tungstun.barapi.port.web.person.converter.PersonConverter;
+import com.tungstun.barapi.port.web.product.converter.ProductConverter;
+import com.tungstun.barapi.port.web.session.converter.SessionConverter;
+import com.tungstun.common.money.MockCurrencyConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Compares the bytes on the wire, with and without gzip, and the serialization CPU time of the largest list endpoints,
+ * serialized by Spring's default object mapper, by the object mapper with the {@link BlackbirdModule} and as CBOR.<br>
+ * Run with {@code mvn test -Dtest=SerializationBenchmark -Dbenchmark=true [-Dbenchmark.bills=200] [-Dbenchmark.orders=10] [-Dbenchmark.iterations=500]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SerializationBenchmark {
+    private static final int BILLS = Integer.getInteger("benchmark.bills", 200);
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 10);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 500);
+    private static final int BARTENDERS = 5;
+    private static final int PRODUCTS = 200;
+
+    private final PersonConverter personConverter = new PersonConverter();
+    private final OrderConverter orderConverter = new OrderConverter(personConverter, new OrderProductConverter());
+    private final OrderHistoryEntryConverter orderHistoryEntryConverter = new OrderHistoryEntryConverter(personConverter);
+    private final ProductConverter productConverter = new ProductConverter(new CategoryConverter(), new MockCurrencyConverter());
+    private final BillConverter billConverter = new BillConverter(orderConverter, new SessionConverter(null), personConverter, new MockCurrencyConverter());
+
+    @Test
+    @DisplayName("Bytes on the wire and serialization CPU per endpoint")
+    void bytesAndCpuPerEndpoint() throws IOException {
+        Bar bar = bar();
+        List<Bill> bills = bar.getActiveSession().getBills();
+        List<Product> products = bar.getProducts();
+        List<Order> orders = bills.stream().flatMap(bill -> bill.getOrders().stream()).toList();
+        List<OrderHistoryEntry> history = bills.stream().flatMap(bill -> bill.getHistory().stream()).toList();
+
+        Map<String, Supplier<Object>> endpoints = new LinkedHashMap<>();
+        endpoints.put("products", () -> productConverter.stream(products));
+        endpoints.put("session orders", () -> orderConverter.stream(orders));
+        endpoints.put("session order history", () -> orderHistoryEntryConverter.stream(history));
+        endpoints.put("session bills", () -> billConverter.convertAll(bills));
+
+        ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper blackbirdMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().modulesToInstall(new BlackbirdModule()).build();
+
+        System.out.printf("[benchmark] %-22s %10s %10s %10s %14s %14s %10s%n",
+                "endpoint", "json (KiB)", "gzip (KiB)", "cbor (KiB)", "default (ms)", "blackbird (ms)", "cbor (ms)");
+        for (Map.Entry<String, Supplier<Object>> endpoint : endpoints.entrySet()) {
+            byte[] json = defaultMapper.writeValueAsBytes(endpoint.getValue().get());
+            assertArrayEquals(json, blackbirdMapper.writeValueAsBytes(endpoint.getValue().get()));
+            System.out.printf("[benchmark] %-22s %10.1f %10.1f %10.1f %14.3f %14.3f %10.3f%n",
+                    endpoint.getKey(),
+                    json.length / 1024.0,
+                    gzip(json).length / 1024.0,
+                    cborMapper.writeValueAsBytes(endpoint.getValue().get()).length / 1024.0,
+                    cpuNanos(defaultMapper, endpoint.getValue()) / 1e6,
+                    cpuNanos(blackbirdMapper, endpoint.getValue()) / 1e6,
+                    cpuNanos(cborMapper, endpoint.getValue()) / 1e6
+            );
+        }
+    }
+
+    private Bar bar() {
+        Category category = new CategoryFactory("Drinks").create();
+        List<Person> people = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < BILLS; i++) {
+            people.add(new PersonBuilder("person " + i).build());
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new ProductBuilder("product " + i, category).setBrand("brand " + i % 10).setPrice(1.5 + i % 20).build());
+        }
+        Bar bar = new BarBuilder("bar")
+                .setPeople(people)
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(products)
+                .build();
+        Session session = bar.newSession("session");
+        for (int i = 0; i < BILLS; i++) {
+            Bill bill = session.addCustomer(people.get(i));
+            for (int order = 0; order < ORDERS; order++) {
+                bill.addOrder(products.get((i + order) % PRODUCTS), 1, people.get(order % BARTENDERS));
+            }
+        }
+        return bar;
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Thread CPU time of converting and serializing the response once, as the conversion of streamed responses
+     * happens while they are written.
+     */
+    private static long cpuNanos(ObjectMapper mapper, Supplier<Object> response) throws IOException {
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), response.get());
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), response.get());
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,128 @@
+package com.tungstun.common.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.compression.enabled=true",
+                "server.compression.mime-types=application/json",
+                "server.compression.min-response-size=2KB"
+        }
+)
+class SerializationConfigIntegrationTest {
+    private static final int PRODUCTS = 50;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Bar bar;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "serialization-" + UUID.randomUUID(), "", "serialization@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        Person owner = new PersonBuilder("owner").setUser(user).build();
+        Category category = new CategoryFactory("Drinks").create();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new ProductBuilder("product " + i, category).setBrand("brand").setPrice(1.5 + i).build());
+        }
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(owner)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(products)
+                .build();
+        user.newBarAuthorization(bar.getId(), owner);
+        userRepository.save(user);
+        bar = barRepository.save(bar);
+        accessToken = tokenGenerator.createAccessToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private HttpResponse<byte[]> getProducts(String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(String.format("http://localhost:%d/api/bars/%s/products", port, bar.getId())))
+                .header("token_type", "bearer")
+                .header("access_token", accessToken)
+                .header("Accept-Encoding", acceptEncoding)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    @DisplayName("Blackbird module is registered on the object mapper")
+    void blackbirdRegistered() {
+        assertTrue(objectMapper.getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+    }
+
+    @Test
+    @DisplayName("Streamed product list is compressed when the client accepts gzip")
+    void productList_Gzip() throws Exception {
+        HttpResponse<byte[]> response = getProducts("gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode products = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(response.body())));
+        assertEquals(PRODUCTS, products.size());
+        assertEquals("brand", products.get(0).get("brand").asText());
+    }
+
+    @Test
+    @DisplayName("Streamed product list is not compressed when the client does not accept it")
+    void productList_Identity() throws Exception {
+        HttpResponse<byte[]> response = getProducts("identity");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(PRODUCTS, objectMapper.readTree(response.body()).size());
+    }
+}
@@ -0,0 +1,91 @@
+package com.tungstun.exception.web;
+
+import com.tungstun.common.money.Currency;
+import com.tungstun.exception.PersonAlreadyConnectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExceptionHandlerControllerTest {
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new ExceptionHandlerController(new ExceptionReporter(meterRegistry, 100)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Invalid input is answered with 400 and reported as expected")
+    void illegalArgumentException_BadRequest() throws Exception {
+        mockMvc.perform(get("/illegal-argument"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("'ABC' is not an existing currency code"));
+
+        assertEquals(1, meterRegistry.get("bartap.exceptions").tag("exception", "IllegalArgumentException").tag("status", "400").tag("expected", "true").counter().count());
+    }
+
+    @Test
+    @DisplayName("Domain states that do not allow an action are answered with 409 and reported as expected")
+    void domainStateException_Conflict() throws Exception {
+        mockMvc.perform(get("/person-already-connected"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0]").value("Person is already connected to a user"));
+
+        assertEquals(1, meterRegistry.get("bartap.exceptions").tag("exception", "PersonAlreadyConnectedException").tag("expected", "true").counter().count());
+    }
+
+    @Test
+    @DisplayName("Illegal application states are answered with 500 and reported as unexpected")
+    void illegalStateException_InternalServerError() throws Exception {
+        mockMvc.perform(get("/illegal-state"))
+                .andExpect(status().isInternalServerError());
+
+        assertEquals(1, meterRegistry.get("bartap.exceptions").tag("exception", "IllegalStateException").tag("status", "500").tag("expected", "false").counter().count());
+    }
+
+    @Test
+    @DisplayName("Other runtime exceptions are reported as unexpected")
+    void otherRuntimeException_Unexpected() throws Exception {
+        mockMvc.perform(get("/unsupported"))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, meterRegistry.get("bartap.exceptions").tag("exception", "UnsupportedOperationException").tag("expected", "false").counter().count());
+    }
+
+    @RestController
+    static class ThrowingController {
+        @GetMapping("/illegal-argument")
+        void illegalArgument() {
+            Currency.of("ABC");
+        }
+
+        @GetMapping("/person-already-connected")
+        void personAlreadyConnected() {
+            throw new PersonAlreadyConnectedException("Person is already connected to a user");
+        }
+
+        @GetMapping("/illegal-state")
+        void illegalState() {
+            throw new IllegalStateException("No conversion rates have been loaded yet");
+        }
+
+        @GetMapping("/unsupported")
+        void unsupported() {
+            throw new UnsupportedOperationException("Not supported");
+        }
+    }
+}
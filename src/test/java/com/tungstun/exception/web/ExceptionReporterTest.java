@@ -0,0 +1,76 @@
+package com.tungstun.exception.web;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.tungstun.exception.NotAuthenticatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import javax.persistence.EntityNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExceptionReporterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private ExceptionReporter reporter;
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reporter = new ExceptionReporter(meterRegistry, 10);
+        logger = (Logger) LoggerFactory.getLogger(ExceptionReporter.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Exceptions are counted per type and status")
+    void countedPerTypeAndStatus() {
+        for (int i = 0; i < 3; i++) {
+            reporter.expected(new EntityNotFoundException("Not found"), HttpStatus.NOT_FOUND);
+        }
+        reporter.expected(new NotAuthenticatedException("Invalid token"), HttpStatus.UNAUTHORIZED);
+
+        assertEquals(3, meterRegistry.get("bartap.exceptions").tag("exception", "EntityNotFoundException").tag("status", "404").counter().count());
+        assertEquals(1, meterRegistry.get("bartap.exceptions").tag("exception", "NotAuthenticatedException").tag("status", "401").counter().count());
+    }
+
+    @Test
+    @DisplayName("Expected exceptions are logged in a sample without stack trace")
+    void expected_SampledWithoutStackTrace() {
+        for (int i = 0; i < 25; i++) {
+            reporter.expected(new EntityNotFoundException("Not found"), HttpStatus.NOT_FOUND);
+        }
+
+        assertEquals(3, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals("exception=EntityNotFoundException status=404 occurrences=1 message=\"Not found\"", event.getFormattedMessage());
+        assertNull(event.getThrowableProxy());
+    }
+
+    @Test
+    @DisplayName("Unexpected exceptions are always logged with stack trace")
+    void unexpected_AlwaysWithStackTrace() {
+        for (int i = 0; i < 25; i++) {
+            reporter.unexpected(new IllegalStateException("Broken"), HttpStatus.CONFLICT);
+        }
+
+        assertEquals(25, appender.list.size());
+        assertNotNull(appender.list.get(0).getThrowableProxy());
+        assertEquals(25, meterRegistry.get("bartap.exceptions").tag("expected", "false").counter().count());
+    }
+}
@@ -0,0 +1,90 @@
+package com.tungstun.loadtest.data;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.loadtest.scenario.LatencyRecorder;
+import com.tungstun.loadtest.scenario.LoadScenario;
+import com.tungstun.security.application.user.UserCommandHandler;
+import com.tungstun.security.application.user.command.LogIn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.security.auth.login.LoginException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=servlet",
+                "com.tungstun.bartap.loadtest.data.bars=2",
+                "com.tungstun.bartap.loadtest.data.people=10",
+                "com.tungstun.bartap.loadtest.data.categories=2",
+                "com.tungstun.bartap.loadtest.data.products=12",
+                "com.tungstun.bartap.loadtest.data.sessions=3",
+                "com.tungstun.bartap.loadtest.data.bills-per-session=4",
+                "com.tungstun.bartap.loadtest.data.batch-size=7",
+                "com.tungstun.bartap.loadtest.data.username-prefix=generated-owner-"
+        }
+)
+@ActiveProfiles(LoadDataGenerator.PROFILE)
+class LoadDataGeneratorIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private UserCommandHandler userCommandHandler;
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @Transactional
+    @DisplayName("Generated bars are complete and readable through the domain model")
+    void generatedBars_AreReadable() {
+        List<Bar> bars = barRepository.findAll().stream()
+                .filter(bar -> bar.getDetails().getName().startsWith("Bar "))
+                .toList();
+
+        assertEquals(2, bars.size());
+        for (Bar bar : bars) {
+            assertEquals(11, bar.getPeople().size());
+            assertEquals(2, bar.getCategories().size());
+            assertEquals(12, bar.getProducts().size());
+            assertEquals(3, bar.getSessions().size());
+            assertDoesNotThrow(() -> bar.getProducts().forEach(product -> product.getPrice()));
+            Session active = bar.getActiveSession();
+            assertNotNull(active);
+            assertEquals(4, active.getBills().size());
+            assertFalse(active.getAllOrders().isEmpty());
+            assertEquals(active.getAllOrders().size(), active.getOrderHistory().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Generated owners can log in")
+    void generatedOwner_CanLogIn() throws LoginException {
+        Map<String, String> tokens = userCommandHandler.handle(new LogIn("generated-owner-0", "loadtest")).join();
+
+        assertTrue(tokens.containsKey("access_token"));
+    }
+
+    @Test
+    @DisplayName("Load scenario runs against generated data without errors")
+    void loadScenario_RunsWithoutErrors() throws InterruptedException {
+        LoadScenario scenario = new LoadScenario("http://localhost:" + port, "generated-owner-", "loadtest");
+
+        scenario.run(2, 10, 2);
+
+        for (LatencyRecorder recorder : scenario.getRecorders()) {
+            assertTrue(recorder.getCount() > 0, recorder.getName());
+            assertEquals(0, recorder.getErrors(), recorder.getName());
+        }
+    }
+}
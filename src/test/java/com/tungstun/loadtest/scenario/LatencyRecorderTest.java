@@ -0,0 +1,32 @@
+package com.tungstun.loadtest.scenario;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyRecorderTest {
+    @Test
+    @DisplayName("Percentiles use the nearest rank of the recorded latencies")
+    void percentiles_UseNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder("step");
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(Duration.ofMillis(i), i != 1);
+        }
+
+        assertEquals(100, recorder.getCount());
+        assertEquals(1, recorder.getErrors());
+        assertEquals(Duration.ofMillis(50), recorder.percentile(50));
+        assertEquals(Duration.ofMillis(95), recorder.percentile(95));
+        assertEquals(Duration.ofMillis(99), recorder.percentile(99));
+        assertEquals(Duration.ofMillis(100), recorder.percentile(100));
+    }
+
+    @Test
+    @DisplayName("Percentile without recorded latencies is zero")
+    void percentileWithoutRecords_IsZero() {
+        assertEquals(Duration.ZERO, new LatencyRecorder("step").percentile(99));
+    }
+}
@@ -0,0 +1,132 @@
+package com.tungstun.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.tungstun.migration.IdMapping.uuid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class V1ToV2MigrationTest {
+    private DriverManagerDataSource source;
+    private DriverManagerDataSource target;
+    private JdbcTemplate sourceJdbc;
+    private JdbcTemplate targetJdbc;
+
+    @BeforeEach
+    void setUp() {
+        source = dataSource("migration-v1");
+        target = dataSource("migration-v2");
+        new ResourceDatabasePopulator(
+                new FileSystemResource("development/db/v1.0.1/schema-v1.0.1.sql"),
+                new ClassPathResource("migration/v1.0.1-data.sql")
+        ).execute(source);
+        new ResourceDatabasePopulator(new FileSystemResource("development/db/v2/schema-v2.sql")).execute(target);
+        sourceJdbc = new JdbcTemplate(source);
+        targetJdbc = new JdbcTemplate(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sourceJdbc.execute("drop all objects");
+        targetJdbc.execute("drop all objects");
+    }
+
+    private static DriverManagerDataSource dataSource(String name) {
+        return new DriverManagerDataSource(String.format("jdbc:h2:mem:%s;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", name), "sa", "");
+    }
+
+    private V1ToV2Migration migration() {
+        return new V1ToV2Migration(source, target, 2, 2);
+    }
+
+    @Test
+    @DisplayName("Migrate copies and verifies every bar")
+    void migrate_VerifiesEveryBar() throws InterruptedException {
+        List<BarProgress> bars = migration().run(V1ToV2Migration.Mode.MIGRATE);
+
+        assertEquals(2, bars.size());
+        bars.forEach(bar -> assertEquals(MigrationStatus.VERIFIED, bar.status(), bar.message()));
+        assertEquals(5, bars.get(0).migratedOrders());
+        assertEquals(2, bars.get(1).migratedOrders());
+        assertEquals(2L, count("select count(*) from \"user\""));
+        assertEquals(6L, count("select count(*) from person"));
+        assertEquals(7L, count("select count(*) from order_history_entry"));
+    }
+
+    @Test
+    @DisplayName("Migrate converts prices and authorizations")
+    void migrate_ConvertsPricesAndAuthorizations() throws InterruptedException {
+        migration().run(V1ToV2Migration.Mode.MIGRATE);
+
+        BigDecimal price = targetJdbc.queryForObject(
+                "select pr.money_amount from price pr join product_price pp on pp.price_id = pr.id where pp.product_id = ?",
+                BigDecimal.class, uuid("product", 2));
+        assertEquals(new BigDecimal("4.75"), price);
+        UUID person = targetJdbc.queryForObject(
+                "select person_id from \"authorization\" where id = ?", UUID.class, uuid("authorization", 2));
+        assertEquals(uuid("person", 2), person);
+        assertEquals("BARTENDER", targetJdbc.queryForObject(
+                "select role from \"authorization\" where id = ?", String.class, uuid("authorization", 3)));
+    }
+
+    @Test
+    @DisplayName("Migrating again does not copy rows twice")
+    void migrateAgain_IsIdempotent() throws InterruptedException {
+        migration().run(V1ToV2Migration.Mode.MIGRATE);
+        targetJdbc.update("update migration_progress set status = 'COPYING', last_order_id = 0 where bar_id = 1");
+
+        List<BarProgress> bars = migration().run(V1ToV2Migration.Mode.MIGRATE);
+
+        bars.forEach(bar -> assertEquals(MigrationStatus.VERIFIED, bar.status(), bar.message()));
+        assertEquals(7L, count("select count(*) from \"order\""));
+        assertEquals(7L, count("select count(*) from \"bill_orders\""));
+    }
+
+    @Test
+    @DisplayName("Migrate continues after the last copied order")
+    void migrateAfterInterruption_ContinuesAfterLastOrder() throws InterruptedException {
+        migration().run(V1ToV2Migration.Mode.MIGRATE);
+        targetJdbc.update("delete from bill_history where history_id in (select id from order_history_entry where id = ?)", uuid("order_history_entry", 5));
+        targetJdbc.update("delete from order_history_entry where id = ?", uuid("order_history_entry", 5));
+        targetJdbc.update("delete from \"bill_orders\" where \"orders_id\" = ?", uuid("order", 5));
+        targetJdbc.update("delete from \"order\" where id = ?", uuid("order", 5));
+        targetJdbc.update("update migration_progress set status = 'COPYING', last_order_id = 4 where bar_id = 1");
+
+        List<BarProgress> bars = migration().run(V1ToV2Migration.Mode.MIGRATE);
+
+        assertEquals(MigrationStatus.VERIFIED, bars.get(0).status(), bars.get(0).message());
+        assertEquals(5L, bars.get(0).lastOrderId());
+    }
+
+    @Test
+    @DisplayName("Verify detects changes in the source and sync copies them")
+    void changedSource_IsDetectedAndSynced() throws InterruptedException {
+        migration().run(V1ToV2Migration.Mode.MIGRATE);
+        sourceJdbc.update("insert into \"order\" (id, amount, creation_date, bartender_id, product_id) values (8, 4, '2021-11-12 23:00:00', 3, 3)");
+        sourceJdbc.update("insert into \"bill_orders\" (bill_id, \"orders_id\") values (4, 8)");
+
+        List<BarProgress> verified = migration().run(V1ToV2Migration.Mode.VERIFY);
+        assertEquals(MigrationStatus.VERIFIED, verified.get(0).status());
+        assertEquals(MigrationStatus.MISMATCH, verified.get(1).status());
+
+        List<BarProgress> synced = migration().run(V1ToV2Migration.Mode.SYNC);
+        synced.forEach(bar -> assertEquals(MigrationStatus.VERIFIED, bar.status(), bar.message()));
+        assertEquals(3, synced.get(1).migratedOrders());
+        assertEquals(8L, count("select count(*) from \"order\""));
+    }
+
+    private Long count(String sql) {
+        return targetJdbc.queryForObject(sql, Long.class);
+    }
+}
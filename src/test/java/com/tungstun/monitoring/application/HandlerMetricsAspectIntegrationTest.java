@@ -0,0 +1,64 @@
+package com.tungstun.monitoring.application;
+
+import com.tungstun.barapi.application.bar.BarQueryHandler;
+import com.tungstun.barapi.application.bar.query.GetBar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class HandlerMetricsAspectIntegrationTest {
+    @Autowired
+    private BarQueryHandler barQueryHandler;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Failing handler call is timed and counted as error tagged by query type")
+    void failingHandle_RecordsErrorMetrics() {
+        assertThrows(EntityNotFoundException.class, () -> barQueryHandler.handle(new GetBar(UUID.randomUUID())));
+
+        Timer timer = meterRegistry.find(HandlerMetricsAspect.TIMER_NAME)
+                .tags("handler", "BarQueryHandler", "type", "GetBar", "outcome", "error")
+                .timer();
+        Counter errors = meterRegistry.find(HandlerMetricsAspect.ERROR_COUNTER_NAME)
+                .tags("type", "GetBar", "exception", "EntityNotFoundException")
+                .counter();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+        assertNotNull(errors);
+        assertTrue(errors.count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Handler metrics are exposed in prometheus format")
+    void prometheusEndpoint_ExposesHandlerMetrics() throws Exception {
+        assertThrows(EntityNotFoundException.class, () -> barQueryHandler.handle(new GetBar(UUID.randomUUID())));
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("prometheus")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bartap_handler_seconds_bucket")))
+                .andExpect(content().string(containsString("bartap_sessions_active")));
+    }
+}
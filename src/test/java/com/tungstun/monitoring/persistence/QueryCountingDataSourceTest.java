@@ -0,0 +1,50 @@
+package com.tungstun.monitoring.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryCountingDataSourceTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(target));
+        jdbcTemplate.execute("create table if not exists counted (id int)");
+        jdbcTemplate.execute("delete from counted");
+        jdbcTemplate.update("insert into counted values (1), (2), (3)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStatistics.stop();
+    }
+
+    @Test
+    @DisplayName("Statements and fetched rows are recorded in the current statistics")
+    void statementsAndRows_AreRecorded() {
+        QueryStatistics statistics = QueryStatistics.start();
+
+        jdbcTemplate.queryForList("select id from counted", Integer.class);
+        jdbcTemplate.queryForList("select id from counted where id > ?", Integer.class, 1);
+
+        assertEquals(2, statistics.statements());
+        assertEquals(5, statistics.rows());
+        assertTrue(statistics.jdbcTime().toNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Statements are not recorded when no statistics are started")
+    void noStartedStatistics_RecordsNothing() {
+        jdbcTemplate.queryForList("select id from counted", Integer.class);
+
+        assertTrue(QueryStatistics.current().isEmpty());
+    }
+}
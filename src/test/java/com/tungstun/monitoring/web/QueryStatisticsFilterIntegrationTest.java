@@ -0,0 +1,164 @@
+package com.tungstun.monitoring.web;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryStatisticsFilterIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final int ITEMS = 5;
+
+    private Bar bar;
+    private Person owner;
+    private Session session;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "query-budget-owner", "", "query@budget.com", "", "", "+310612345678", new ArrayList<>()));
+        owner = new PersonBuilder("owner").setUser(user).build();
+        List<Person> people = new ArrayList<>(List.of(owner));
+        Category category = new CategoryFactory("Drinks").create();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            people.add(new PersonBuilder("customer " + i).build());
+            products.add(new ProductBuilder("product " + i, category).setPrice(1.5 + i).build());
+        }
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(people)
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(products)
+                .build();
+        session = bar.newSession("session");
+        for (Person customer : people) {
+            Bill bill = session.addCustomer(customer);
+            products.forEach(product -> bill.addOrder(product, 1, owner));
+        }
+        user.newBarAuthorization(bar.getId(), owner);
+        userRepository.save(user);
+        bar = barRepository.save(bar);
+        accessToken = tokenGenerator.createAccessToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Query statistics are exposed as response headers and pinned to a budget")
+    void getBar_StaysWithinQueryBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bars/{barId}", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryStatisticsFilter.STATEMENTS_HEADER))
+                .andExpect(header().exists(QueryStatisticsFilter.ROWS_HEADER))
+                .andExpect(header().exists(QueryStatisticsFilter.ENTITIES_HEADER))
+                .andExpect(header().exists(QueryStatisticsFilter.TIME_HEADER))
+                .andReturn();
+
+        long statements = Long.parseLong(result.getResponse().getHeader(QueryStatisticsFilter.STATEMENTS_HEADER));
+        assertTrue(statements > 0);
+        assertTrue(statements <= 10, "BarController.getBar exceeded its query budget: " + statements);
+    }
+
+    private long statementsOf(String path, Object... uriVars) throws Exception {
+        MvcResult result = mockMvc.perform(get(path, uriVars)
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return Long.parseLong(result.getResponse().getHeader(QueryStatisticsFilter.STATEMENTS_HEADER));
+    }
+
+    private void assertWithinBudget(String handler, long budget, long statements) {
+        assertTrue(statements > 0);
+        assertTrue(statements <= budget, handler + " exceeded its query budget: " + statements);
+    }
+
+    @Test
+    @DisplayName("Product list stays within its query budget regardless of the amount of products")
+    void listProducts_StaysWithinQueryBudget() throws Exception {
+        assertWithinBudget("ProductController.getAllProductsOfBar", 6,
+                statementsOf("/api/bars/{barId}/products", bar.getId()));
+    }
+
+    @Test
+    @DisplayName("Session list stays within its query budget regardless of the amount of bills and orders")
+    void listSessions_StaysWithinQueryBudget() throws Exception {
+        assertWithinBudget("SessionController.getAllBarSessions", 7,
+                statementsOf("/api/bars/{barId}/sessions", bar.getId()));
+    }
+
+    @Test
+    @DisplayName("Order list stays within its query budget regardless of the amount of bills and orders")
+    void listSessionOrders_StaysWithinQueryBudget() throws Exception {
+        assertWithinBudget("OrderController.getAllSessionOrders", 7,
+                statementsOf("/api/bars/{barId}/sessions/{sessionId}/orders", bar.getId(), session.getId()));
+    }
+
+    @Test
+    @DisplayName("Bill list stays within its query budget regardless of the amount of orders")
+    void listCustomerBills_StaysWithinQueryBudget() throws Exception {
+        assertWithinBudget("BillController.getBillsOfCustomerOfBar", 6,
+                statementsOf("/api/bars/{barId}/people/{personId}/bills", bar.getId(), owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Query statistics are recorded as metrics tagged by controller method")
+    void getBar_RecordsMetrics() throws Exception {
+        mockMvc.perform(get("/api/bars/{barId}", bar.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk());
+
+        assertNotNull(meterRegistry.find("bartap.request.jdbc.statements")
+                .tag("handler", "BarController.getBar")
+                .summary());
+    }
+}
@@ -0,0 +1,172 @@
+package com.tungstun.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replicaDatabase;
+    private Replica replica;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing-primary", "primary");
+        replicaDatabase = database("routing-replica", "replica");
+        new JdbcTemplate(replicaDatabase).execute("create table replica_lag (seconds double)");
+        new JdbcTemplate(replicaDatabase).execute("insert into replica_lag values (0)");
+        replica = new Replica("replica-0", replicaDatabase);
+        monitor = new ReplicaLagMonitor(List.of(replica), "select seconds from replica_lag", Duration.ofSeconds(5), new ThreadPoolTaskScheduler(), Duration.ofSeconds(1));
+        monitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replicaDatabase).execute("drop all objects");
+    }
+
+    private static DriverManagerDataSource database(String name, String marker) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(String.format("jdbc:h2:mem:%s;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", name), "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(32))");
+        jdbcTemplate.update("insert into marker values (?)", marker);
+        return dataSource;
+    }
+
+    private DataSource routing(Duration readYourWritesWindow) {
+        return routing(new ReadYourWritesTracker(readYourWritesWindow, Clock.systemUTC()));
+    }
+
+    private DataSource routing(ReadYourWritesTracker tracker) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, List.of(replica), tracker));
+    }
+
+    private static String read(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("select name from marker", String.class));
+    }
+
+    private static void write(DataSource dataSource) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                .executeWithoutResult(status -> new JdbcTemplate(dataSource).update("update marker set name = name"));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions are routed to the replica")
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("replica", read(routing(Duration.ZERO), true));
+    }
+
+    @Test
+    @DisplayName("Read-write transactions are routed to the primary")
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("primary", read(routing(Duration.ZERO), false));
+    }
+
+    @Test
+    @DisplayName("Statements outside of transactions are routed to the primary")
+    void withoutTransaction_UsesPrimary() {
+        DataSource dataSource = routing(Duration.ZERO);
+
+        assertEquals("primary", new JdbcTemplate(dataSource).queryForObject("select name from marker", String.class));
+    }
+
+    @Test
+    @DisplayName("Reads after a write of the same thread are routed to the primary")
+    void readAfterWrite_UsesPrimary() {
+        DataSource dataSource = routing(Duration.ofMinutes(1));
+        write(dataSource);
+
+        assertEquals("primary", read(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Reads after a read-write transaction without writes are routed to the replica")
+    void readAfterReadWriteTransactionWithoutWrites_UsesReplica() {
+        DataSource dataSource = routing(Duration.ofMinutes(1));
+        read(dataSource, false);
+
+        assertEquals("replica", read(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Reads after a write outside of a transaction are routed to the primary")
+    void readAfterWriteWithoutTransaction_UsesPrimary() {
+        DataSource dataSource = routing(Duration.ofMinutes(1));
+        new JdbcTemplate(dataSource).update("update marker set name = name");
+
+        assertEquals("primary", read(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Reads of a later request on the same thread are routed to the replica")
+    void readInLaterRequest_UsesReplica() throws Exception {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), Clock.systemUTC());
+        DataSource dataSource = routing(tracker);
+
+        new ReadYourWritesFilter(tracker).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            write(dataSource);
+            assertEquals("primary", read(dataSource, true));
+        });
+
+        assertEquals("replica", read(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Reads after the read-your-writes window are routed to the replica again")
+    void readAfterWriteWindow_UsesReplica() {
+        DataSource dataSource = routing(Duration.ZERO);
+        write(dataSource);
+
+        assertEquals("replica", read(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Reads fall back to the primary while the replica lags too much")
+    void laggingReplica_UsesPrimary() {
+        DataSource dataSource = routing(Duration.ZERO);
+        new JdbcTemplate(replicaDatabase).update("update replica_lag set seconds = 30");
+        monitor.check();
+
+        assertFalse(replica.isAvailable());
+        assertEquals(Duration.ofSeconds(30), replica.getLag());
+        assertEquals("primary", read(dataSource, true));
+
+        new JdbcTemplate(replicaDatabase).update("update replica_lag set seconds = 1");
+        monitor.check();
+
+        assertTrue(replica.isAvailable());
+        assertEquals("replica", read(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Reads fall back to the primary when the lag cannot be measured")
+    void unreachableReplica_UsesPrimary() {
+        DataSource dataSource = routing(Duration.ZERO);
+        new JdbcTemplate(replicaDatabase).execute("drop table replica_lag");
+        monitor.check();
+
+        assertFalse(replica.isAvailable());
+        assertNull(replica.getLag());
+        assertEquals("primary", read(dataSource, true));
+    }
+}
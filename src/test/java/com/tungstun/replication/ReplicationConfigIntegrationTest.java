@@ -0,0 +1,69 @@
+package com.tungstun.replication;
+
+import com.tungstun.barapi.application.bar.BarQueryHandler;
+import com.tungstun.barapi.application.bar.query.GetBar;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityNotFoundException;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "com.tungstun.bartap.datasource.replica.urls=jdbc:h2:mem:test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "com.tungstun.bartap.datasource.replica.lag-query=select 0",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.connection-timeout=4000"
+})
+class ReplicationConfigIntegrationTest {
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    private BarQueryHandler barQueryHandler;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Replica is available and query handlers read through the routing data source")
+    void replicaAvailable_QueryHandlersRead() {
+        assertTrue(replicaLagMonitor.getReplicas().get(0).isAvailable());
+        UUID barId = UUID.randomUUID();
+        assertThrows(EntityNotFoundException.class, () -> barQueryHandler.handle(new GetBar(barId)));
+    }
+
+    @Test
+    @DisplayName("Hikari settings apply to the primary and the replicas")
+    void hikariSettings_AppliedToAllPools() throws SQLException {
+        ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        HikariDataSource primary = (HikariDataSource) routing.getResolvedDefaultDataSource();
+        HikariDataSource replica = (HikariDataSource) replicaLagMonitor.getReplicas().get(0).getDataSource();
+
+        for (HikariDataSource pool : List.of(primary, replica)) {
+            assertEquals(3, pool.getMaximumPoolSize());
+            assertEquals(4000, pool.getConnectionTimeout());
+        }
+        assertEquals("primary", primary.getPoolName());
+        assertEquals("replica-0", replica.getPoolName());
+        assertTrue(replica.isReadOnly());
+    }
+
+    @Test
+    @DisplayName("Pools of the primary and the replicas are published as metrics")
+    void pools_PublishedAsMetrics() {
+        for (String pool : List.of("primary", "replica-0")) {
+            assertEquals(3, meterRegistry.get("hikaricp.connections.max").tag("pool", pool).gauge().value());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tungstun.security.application.user;
+
+import com.tungstun.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.stop();
+    }
+
+    @Test
+    @DisplayName("Passwords are hashed and checked on the hashing threads")
+    void encodeAndMatch() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 2, 10);
+
+        String encodedPassword = hasher.encode("password").join();
+
+        assertTrue(hasher.matches("password", encodedPassword).join());
+        assertFalse(hasher.matches("other", encodedPassword).join());
+    }
+
+    @Test
+    @DisplayName("Passwords hashed with a lower strength need a rehash")
+    void needsRehash() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 10);
+
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("password")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("password")));
+        assertFalse(hasher.needsRehash("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    @DisplayName("Hashes are rejected once the threads are busy and the queue is full")
+    void fullQueue_Rejected() {
+        hasher = new PasswordHasher(new BlockingPasswordEncoder(release), 1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hasher.bindTo(registry);
+
+        CompletableFuture<String> running = hasher.encode("running");
+        CompletableFuture<String> queued = hasher.encode("queued");
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> hasher.encode("rejected"));
+        assertEquals(1, registry.get("bartap.password.hashing.rejected").functionCounter().count());
+        assertEquals(1, registry.get("bartap.password.hashing.queued").gauge().value());
+        release.countDown();
+        assertEquals("running", running.join());
+        assertEquals("queued", queued.join());
+    }
+
+    private record BlockingPasswordEncoder(CountDownLatch release) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tungstun.security.application.user;
+
+import com.tungstun.security.application.user.command.LogIn;
+import com.tungstun.security.application.user.command.RegisterUser;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.security.auth.login.AccountException;
+import javax.security.auth.login.LoginException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "com.tungstun.bartap.security.password.strength=5")
+class UserCommandHandlerIntegrationTest {
+    @Autowired
+    private UserCommandHandler userCommandHandler;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private User saveUser(String encodedPassword) {
+        return userRepository.save(new User(UUID.randomUUID(), "login-" + UUID.randomUUID(), encodedPassword, "login@bar.com", "", "", "+310612345678", new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Registered user can log in")
+    void registerAndLogIn() throws Exception {
+        String username = "register-" + UUID.randomUUID();
+        UUID userId = userCommandHandler.registerUser(new RegisterUser(username, "password", "first", "last", username + "@bar.com", "+310612345678")).join();
+
+        Map<String, String> tokens = userCommandHandler.handle(new LogIn(username, "password")).join();
+
+        assertNotEquals("password", userRepository.findById(userId).orElseThrow().getPassword());
+        assertEquals("bearer", tokens.get("token_type"));
+        assertNotNull(tokens.get("access_token"));
+        assertNotNull(tokens.get("refresh_token"));
+    }
+
+    @Test
+    @DisplayName("Log in with incorrect password fails")
+    void logInWithIncorrectPassword_Fails() {
+        User user = saveUser(passwordEncoder.encode("password"));
+
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> userCommandHandler.handle(new LogIn(user.getUsername(), "incorrect")).join()
+        );
+        assertInstanceOf(LoginException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Password hashed with a lower strength is rehashed on log in")
+    void logIn_RehashesPassword() {
+        User user = saveUser(new BCryptPasswordEncoder(4).encode("password"));
+
+        userCommandHandler.handle(new LogIn(user.getUsername(), "password")).join();
+
+        String encodedPassword = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(encodedPassword.startsWith("$2a$05$"));
+        assertTrue(passwordEncoder.matches("password", encodedPassword));
+    }
+
+    @Test
+    @DisplayName("Register with existing username fails")
+    void registerWithExistingUsername_Fails() {
+        User user = saveUser("password");
+
+        AccountException exception = assertThrows(
+                AccountException.class,
+                () -> userCommandHandler.registerUser(new RegisterUser(user.getUsername(), "password", "first", "last", "other@bar.com", "+310612345678"))
+        );
+        assertEquals("Account with username already exists", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Register with existing mail fails")
+    void registerWithExistingMail_Fails() {
+        User user = saveUser("password");
+
+        AccountException exception = assertThrows(
+                AccountException.class,
+                () -> userCommandHandler.registerUser(new RegisterUser("register-" + UUID.randomUUID(), "password", "first", "last", user.getMail(), "+310612345678"))
+        );
+        assertEquals("Account with mail already exists", exception.getMessage());
+    }
+}
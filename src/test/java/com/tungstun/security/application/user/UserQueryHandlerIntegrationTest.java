@@ -0,0 +1,71 @@
+package com.tungstun.security.application.user;
+
+import com.tungstun.exception.UserNotFoundException;
+import com.tungstun.security.application.user.query.GetUserCredentials;
+import com.tungstun.security.domain.user.Role;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserCredentials;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class UserQueryHandlerIntegrationTest {
+    @Autowired
+    private UserQueryHandler userQueryHandler;
+    @Autowired
+    private SpringUserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Get credentials of user with authorizations")
+    void getCredentials() {
+        UUID ownedBar = UUID.randomUUID();
+        UUID bartenderBar = UUID.randomUUID();
+        User user = new User(UUID.randomUUID(), "credentials", "password", "credentials@bar.com", "", "", "+310612345678", new ArrayList<>());
+        user.newBarAuthorization(ownedBar, null);
+        user.authorize(bartenderBar, Role.BARTENDER, null);
+        userRepository.save(user);
+
+        UserCredentials credentials = userQueryHandler.handle(new GetUserCredentials("credentials"));
+
+        assertEquals(user.getId(), credentials.id());
+        assertEquals("password", credentials.password());
+        assertEquals(2, credentials.authorizationVersion());
+        assertEquals(Map.of(ownedBar, "OWNER", bartenderBar, "BARTENDER"), credentials.authorizations());
+    }
+
+    @Test
+    @DisplayName("Get credentials of user without authorizations")
+    void getCredentialsWithoutAuthorizations() {
+        User user = userRepository.save(new User(UUID.randomUUID(), "credentials", "password", "credentials@bar.com", "", "", "+310612345678", new ArrayList<>()));
+
+        UserCredentials credentials = userQueryHandler.handle(new GetUserCredentials("credentials"));
+
+        assertEquals(user.getId(), credentials.id());
+        assertEquals(Map.of(), credentials.authorizations());
+    }
+
+    @Test
+    @DisplayName("Get credentials of not existing user")
+    void getCredentialsOfNotExistingUser() {
+        assertThrows(
+                UserNotFoundException.class,
+                () -> userQueryHandler.handle(new GetUserCredentials("not-existing"))
+        );
+    }
+}
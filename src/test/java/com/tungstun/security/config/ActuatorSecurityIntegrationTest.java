@@ -0,0 +1,78 @@
+package com.tungstun.security.config;
+
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "management.server.port=0",
+                "management.endpoints.web.exposure.include=health,prometheus,partitions"
+        }
+)
+@AutoConfigureMetrics
+class ActuatorSecurityIntegrationTest {
+    @LocalServerPort
+    private int port;
+    @LocalManagementPort
+    private int managementPort;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private int get(int port, String path, String accessToken) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(String.format("http://localhost:%s%s", port, path)));
+        if (accessToken != null) {
+            request.header("token_type", "bearer").header("access_token", accessToken);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    @DisplayName("Metrics and partition sizes are open on the management port")
+    void managementPort_Open() throws Exception {
+        assertEquals(200, get(managementPort, "/actuator/health", null));
+        assertEquals(200, get(managementPort, "/actuator/prometheus", null));
+        assertEquals(200, get(managementPort, "/actuator/partitions", null));
+    }
+
+    @Test
+    @DisplayName("Metrics and partition sizes cannot be read on the application port")
+    void applicationPort_Closed() throws Exception {
+        User customer = userRepository.save(new User(UUID.randomUUID(), "actuator-" + UUID.randomUUID(), "", "actuator@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        String accessToken = tokenGenerator.createAccessToken(customer);
+
+        for (String path : new String[]{"/actuator/prometheus", "/actuator/partitions"}) {
+            assertEquals(403, get(port, path, null));
+            assertNotEquals(200, get(port, path, accessToken));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.tungstun.security.config.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.exception.web.ExceptionReporter;
+import com.tungstun.security.domain.jwt.JwtCredentials;
+import com.tungstun.security.domain.jwt.JwtKeyManager;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.jwt.JwtValidator;
+import com.tungstun.security.domain.user.Role;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the size of the access token header and the time the authorization filter takes per request
+ * of full access tokens, carrying all authorizations, with compact access tokens, carrying an authorization version.<br>
+ * Run with {@code mvn test -Dtest=AccessTokenBenchmark -Dbenchmark=true [-Dbenchmark.bars=50] [-Dbenchmark.requests=100000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AccessTokenBenchmark {
+    private static final int BARS = Integer.getInteger("benchmark.bars", 50);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 100_000);
+
+    @Test
+    @DisplayName("Header size and filter time of full and compact access tokens")
+    void fullAndCompactAccessTokens() throws Exception {
+        User user = new User(UUID.randomUUID(), "benchmark", "", "", "", "", "+310612345678", new ArrayList<>());
+        for (int i = 0; i < BARS; i++) {
+            user.authorize(UUID.randomUUID(), Role.BARTENDER, new Person());
+        }
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        JwtCredentials credentials = credentials();
+        JwtKeyManager keyManager = new JwtKeyManager(credentials);
+        JwtAuthorizationFilter filter = new JwtAuthorizationFilter(
+                mock(AuthenticationManager.class),
+                new JwtValidator(credentials, keyManager),
+                new AuthorizationCache(userRepository, 10, Duration.ofMinutes(5)),
+                new ExceptionReporter(new SimpleMeterRegistry(), 100),
+                new ObjectMapper(),
+                new String[0]
+        );
+        JwtTokenGenerator tokenGenerator = new JwtTokenGenerator(credentials, keyManager);
+
+        String fullToken = tokenGenerator.createAccessToken(user);
+        credentials.setJwtCompactAccessToken(true);
+        String compactToken = tokenGenerator.createAccessToken(user);
+
+        long fullNanos = measure(filter, fullToken);
+        long compactNanos = measure(filter, compactToken);
+
+        assertTrue(compactToken.length() < fullToken.length());
+        System.out.printf(
+                "[benchmark] %d bars: full token %d bytes, %.1f us per request; compact token %d bytes, %.1f us per request%n",
+                BARS,
+                fullToken.length(), fullNanos / 1e3 / REQUESTS,
+                compactToken.length(), compactNanos / 1e3 / REQUESTS
+        );
+    }
+
+    private long measure(JwtAuthorizationFilter filter, String accessToken) throws Exception {
+        for (int i = 0; i < REQUESTS / 10; i++) {
+            filter(filter, accessToken);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            filter(filter, accessToken);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void filter(JwtAuthorizationFilter filter, String accessToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bars");
+        request.addHeader("token_type", "bearer");
+        request.addHeader("access_token", accessToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertEquals(BARS, ((UserProfile) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).authorizations().size());
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtCredentials credentials() {
+        JwtCredentials credentials = new JwtCredentials();
+        credentials.setJwtSecret("benchmark-secret-that-is-long-enough-for-hmac-256-signatures");
+        credentials.setJwtExpirationInMs(3_600_000L);
+        credentials.setJwtIssuer("benchmark-issuer");
+        credentials.setJwtAudience(new String[]{"benchmark-audience"});
+        return credentials;
+    }
+}
@@ -0,0 +1,102 @@
+package com.tungstun.security.config.filter;
+
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.exception.NotAuthenticatedException;
+import com.tungstun.security.domain.user.Role;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.domain.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class AuthorizationCacheTest {
+    private static final Instant NOW = Instant.parse("2022-06-01T12:00:00Z");
+
+    private UserRepository userRepository;
+    private User user;
+    private UUID barId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        user = new User(UUID.randomUUID(), "user", "", "", "", "", "+31612345678", new ArrayList<>());
+        barId = UUID.randomUUID();
+        user.newBarAuthorization(barId, new Person());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    @DisplayName("Authorizations are loaded once for the same version")
+    void cachedForSameVersion() {
+        AuthorizationCache cache = new AuthorizationCache(userRepository, 10, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.getAuthorizations(user.getId(), 1);
+        List<Authorization> authorizations = cache.getAuthorizations(user.getId(), 1);
+
+        assertEquals(List.of(new Authorization(barId, Role.OWNER.name())), authorizations);
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Authorizations are loaded again for a newer version")
+    void refreshedForNewerVersion() {
+        AuthorizationCache cache = new AuthorizationCache(userRepository, 10, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.getAuthorizations(user.getId(), 1);
+        UUID otherBarId = UUID.randomUUID();
+        user.authorize(otherBarId, Role.BARTENDER, new Person());
+
+        List<Authorization> authorizations = cache.getAuthorizations(user.getId(), 2);
+        cache.getAuthorizations(user.getId(), 1);
+
+        assertEquals(2, authorizations.size());
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Expired authorizations are loaded again")
+    void refreshedWhenExpired() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plus(Duration.ofMinutes(6)));
+        AuthorizationCache cache = new AuthorizationCache(userRepository, 10, Duration.ofMinutes(5), clock);
+
+        cache.getAuthorizations(user.getId(), 1);
+        cache.getAuthorizations(user.getId(), 1);
+
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Least recently used users are evicted")
+    void leastRecentlyUsedEvicted() {
+        AuthorizationCache cache = new AuthorizationCache(userRepository, 1, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        User otherUser = new User(UUID.randomUUID(), "other", "", "", "", "", "+31612345678", new ArrayList<>());
+        when(userRepository.findById(otherUser.getId())).thenReturn(Optional.of(otherUser));
+
+        cache.getAuthorizations(user.getId(), 1);
+        cache.getAuthorizations(otherUser.getId(), 0);
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Unknown user is not authenticated")
+    void unknownUser_Throws() {
+        AuthorizationCache cache = new AuthorizationCache(userRepository, 10, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID unknownUserId = UUID.randomUUID();
+
+        assertThrows(NotAuthenticatedException.class, () -> cache.getAuthorizations(unknownUserId, 0));
+    }
+}
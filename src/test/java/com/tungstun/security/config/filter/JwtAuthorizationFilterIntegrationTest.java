@@ -0,0 +1,112 @@
+package com.tungstun.security.config.filter;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.user.Role;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "com.tungstun.bartap.security.jwt.jwtCompactAccessToken=true")
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class JwtAuthorizationFilterIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private JwtTokenGenerator tokenGenerator;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private Bar bar;
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(UUID.randomUUID(), "compact-" + UUID.randomUUID(), "", "compact@bar.com", "", "", "+310612345678", new ArrayList<>()));
+        Person bartender = new PersonBuilder("bartender").setUser(user).build();
+        Person customer = new PersonBuilder("customer").build();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(bartender, customer)))
+                .build();
+        bill = bar.newSession("session").addCustomer(customer);
+        bar = barRepository.save(bar);
+        user.authorize(bar.getId(), Role.BARTENDER, bartender);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Roles of a compact access token are resolved on the server")
+    void compactAccessToken_ResolvesRoles() throws Exception {
+        String accessToken = tokenGenerator.createAccessToken(user);
+
+        mockMvc.perform(get("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}", bar.getId(), bill.getSession().getId(), bill.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(bill.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Compact access token of an unknown user is not authenticated")
+    void compactAccessTokenOfUnknownUser_Unauthorized() throws Exception {
+        User unknownUser = new User(UUID.randomUUID(), "unknown", "", "", "", "", "+310612345678", new ArrayList<>());
+        String accessToken = tokenGenerator.createAccessToken(unknownUser);
+
+        mockMvc.perform(get("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}", bar.getId(), bill.getSession().getId(), bill.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Invalid access token is answered with an error response and counted")
+    void invalidAccessToken_UnauthorizedAndCounted() throws Exception {
+        mockMvc.perform(get("/api/bars/{barId}/sessions/{sessionId}/bills/{billId}", bar.getId(), bill.getSession().getId(), bill.getId())
+                        .header("token_type", "bearer")
+                        .header("access_token", "invalid"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid token"))
+                .andExpect(jsonPath("$.timestamp").isString());
+
+        assertTrue(meterRegistry.get("bartap.exceptions")
+                .tag("status", "401")
+                .tag("expected", "true")
+                .counter()
+                .count() > 0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.tungstun.security.domain.domain.jwt;
+
+import com.tungstun.security.domain.jwt.JwtCredentials;
+import com.tungstun.security.domain.jwt.JwtKeyManager;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.jwt.JwtValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the sign and verify throughput of HS256 and ES256 tokens, with the algorithm and verifiers built once.<br>
+ * Run with {@code mvn test -Dtest=JwtAlgorithmBenchmark -Dbenchmark=true [-Dbenchmark.tokens=20000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAlgorithmBenchmark {
+    private static final int TOKENS = Integer.getInteger("benchmark.tokens", 20_000);
+
+    @TempDir
+    Path keyDirectory;
+
+    @Test
+    @DisplayName("Sign and verify throughput of HS256 and ES256")
+    void signAndVerify() throws Exception {
+        JwtCredentials hmac = credentials();
+        JwtCredentials ecdsa = credentials();
+        ecdsa.setJwtAlgorithm("ES256");
+        ecdsa.setJwtSigningKeyId("benchmark");
+        ecdsa.setJwtKeys(List.of(writeKeyPair("benchmark")));
+
+        measure(hmac);
+        measure(ecdsa);
+    }
+
+    private void measure(JwtCredentials credentials) {
+        JwtKeyManager keyManager = new JwtKeyManager(credentials);
+        JwtTokenGenerator generator = new JwtTokenGenerator(credentials, keyManager);
+        JwtValidator validator = new JwtValidator(credentials, keyManager);
+        UUID barId = UUID.randomUUID();
+        UUID personId = UUID.randomUUID();
+        for (int i = 0; i < TOKENS / 10; i++) {
+            validator.verifyToken(generator.createPersonConnectionToken(barId, personId));
+        }
+
+        String[] tokens = new String[TOKENS];
+        long signStart = System.nanoTime();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = generator.createPersonConnectionToken(barId, personId);
+        }
+        long signNanos = System.nanoTime() - signStart;
+
+        int verified = 0;
+        long verifyStart = System.nanoTime();
+        for (String token : tokens) {
+            if (validator.verifyToken(token) != null) verified++;
+        }
+        long verifyNanos = System.nanoTime() - verifyStart;
+
+        assertEquals(TOKENS, verified);
+        System.out.printf(
+                "[benchmark] %s: signed %.0f tokens/s, verified %.0f tokens/s%n",
+                credentials.getJwtAlgorithm(),
+                TOKENS / (signNanos / 1e9),
+                TOKENS / (verifyNanos / 1e9)
+        );
+    }
+
+    private JwtCredentials credentials() {
+        JwtCredentials credentials = new JwtCredentials();
+        credentials.setJwtSecret("benchmark-secret-that-is-long-enough-for-hmac-256-signatures");
+        credentials.setJwtPersonConnectExpirationInMs(3_600_000L);
+        credentials.setJwtIssuer("benchmark-issuer");
+        credentials.setJwtAudience(new String[]{"benchmark-audience"});
+        return credentials;
+    }
+
+    private JwtCredentials.JwtKey writeKeyPair(String id) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        Path publicKey = Files.writeString(keyDirectory.resolve(id + ".pub.pem"), pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        Path privateKey = Files.writeString(keyDirectory.resolve(id + ".pem"), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+
+        JwtCredentials.JwtKey key = new JwtCredentials.JwtKey();
+        key.setId(id);
+        key.setPublicKey(publicKey.toString());
+        key.setPrivateKey(privateKey.toString());
+        return key;
+    }
+
+    private static String pem(String type, byte[] key) {
+        return String.format("-----BEGIN %s-----%n%s%n-----END %s-----%n", type, Base64.getMimeEncoder().encodeToString(key), type);
+    }
+}
@@ -0,0 +1,157 @@
+package com.tungstun.security.domain.domain.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.tungstun.exception.NotAuthenticatedException;
+import com.tungstun.security.domain.jwt.JwtCredentials;
+import com.tungstun.security.domain.jwt.JwtKeyManager;
+import com.tungstun.security.domain.jwt.JwtTokenGenerator;
+import com.tungstun.security.domain.jwt.JwtValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyManagerTest {
+    @TempDir
+    Path keyDirectory;
+
+    private JwtCredentials.JwtKey oldKey;
+    private JwtCredentials.JwtKey newKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        oldKey = writeKeyPair("2022-01");
+        newKey = writeKeyPair("2022-06");
+    }
+
+    private static JwtCredentials credentials() {
+        JwtCredentials credentials = new JwtCredentials();
+        credentials.setJwtSecret("key-manager-test-secret-that-is-long-enough-for-hmac-256");
+        credentials.setJwtExpirationInMs(60_000L);
+        credentials.setJwtRefreshExpirationInMs(60_000L);
+        credentials.setJwtPersonConnectExpirationInMs(60_000L);
+        credentials.setJwtIssuer("test-issuer");
+        credentials.setJwtAudience(new String[]{"test-audience"});
+        return credentials;
+    }
+
+    private JwtCredentials.JwtKey writeKeyPair(String id) throws GeneralSecurityException, IOException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        Path publicKey = keyDirectory.resolve(id + ".pub.pem");
+        Path privateKey = keyDirectory.resolve(id + ".pem");
+        Files.writeString(publicKey, pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        Files.writeString(privateKey, pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+
+        JwtCredentials.JwtKey key = new JwtCredentials.JwtKey();
+        key.setId(id);
+        key.setPublicKey(publicKey.toString());
+        key.setPrivateKey(privateKey.toString());
+        return key;
+    }
+
+    private static String pem(String type, byte[] key) {
+        String encoded = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(key);
+        return String.format("-----BEGIN %s-----%n%s%n-----END %s-----%n", type, encoded, type);
+    }
+
+    private static JwtCredentials es256(String signingKeyId, JwtCredentials.JwtKey... keys) {
+        JwtCredentials credentials = credentials();
+        credentials.setJwtAlgorithm("ES256");
+        credentials.setJwtSigningKeyId(signingKeyId);
+        credentials.setJwtKeys(new ArrayList<>(List.of(keys)));
+        return credentials;
+    }
+
+    private static String connectionToken(JwtCredentials credentials, JwtKeyManager keyManager) {
+        return new JwtTokenGenerator(credentials, keyManager).createPersonConnectionToken(UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("HS256 is the default algorithm")
+    void hmacByDefault() {
+        JwtCredentials credentials = credentials();
+        JwtKeyManager keyManager = new JwtKeyManager(credentials);
+
+        String token = connectionToken(credentials, keyManager);
+
+        DecodedJWT decodedJWT = new JwtValidator(credentials, keyManager).verifyToken(token);
+        assertEquals("HS256", decodedJWT.getAlgorithm());
+        assertNull(decodedJWT.getKeyId());
+    }
+
+    @Test
+    @DisplayName("ES256 tokens carry the id of the signing key")
+    void ecdsaSignedWithSigningKey() {
+        JwtCredentials credentials = es256("2022-06", oldKey, newKey);
+        JwtKeyManager keyManager = new JwtKeyManager(credentials);
+
+        String token = connectionToken(credentials, keyManager);
+
+        DecodedJWT decodedJWT = new JwtValidator(credentials, keyManager).verifyToken(token);
+        assertEquals("ES256", decodedJWT.getAlgorithm());
+        assertEquals("2022-06", decodedJWT.getKeyId());
+    }
+
+    @Test
+    @DisplayName("Tokens signed with the previous key are valid while its public key is configured")
+    void previousKeyValidAfterRotation() {
+        JwtCredentials oldCredentials = es256("2022-01", oldKey);
+        String token = connectionToken(oldCredentials, new JwtKeyManager(oldCredentials));
+        oldKey.setPrivateKey(null);
+        JwtCredentials rotatedCredentials = es256("2022-06", oldKey, newKey);
+        JwtValidator validator = new JwtValidator(rotatedCredentials, new JwtKeyManager(rotatedCredentials));
+
+        DecodedJWT decodedJWT = validator.verifyToken(token);
+
+        assertEquals("2022-01", decodedJWT.getKeyId());
+    }
+
+    @Test
+    @DisplayName("Tokens signed with a removed key are invalid")
+    void removedKeyInvalid() {
+        JwtCredentials oldCredentials = es256("2022-01", oldKey);
+        String token = connectionToken(oldCredentials, new JwtKeyManager(oldCredentials));
+        JwtCredentials rotatedCredentials = es256("2022-06", newKey);
+        JwtValidator validator = new JwtValidator(rotatedCredentials, new JwtKeyManager(rotatedCredentials));
+
+        assertThrows(NotAuthenticatedException.class, () -> validator.verifyToken(token));
+    }
+
+    @Test
+    @DisplayName("HS256 tokens are invalid when ES256 is configured")
+    void otherAlgorithmInvalid() {
+        JwtCredentials hmacCredentials = credentials();
+        String token = connectionToken(hmacCredentials, new JwtKeyManager(hmacCredentials));
+        JwtCredentials credentials = es256("2022-06", newKey);
+        JwtValidator validator = new JwtValidator(credentials, new JwtKeyManager(credentials));
+
+        assertEquals("HS256", JWT.decode(token).getAlgorithm());
+        assertThrows(NotAuthenticatedException.class, () -> validator.verifyToken(token));
+    }
+
+    @Test
+    @DisplayName("Signing key without private key fails on startup")
+    void signingKeyWithoutPrivateKey_Throws() {
+        newKey.setPrivateKey(null);
+        JwtCredentials credentials = es256("2022-06", newKey);
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager(credentials));
+    }
+}
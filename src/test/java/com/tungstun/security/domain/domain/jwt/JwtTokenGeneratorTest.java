@@ -3,6 +3,7 @@ package com.tungstun.security.domain.domain.jwt;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.tungstun.barapi.domain.person.Person;
 import com.tungstun.security.domain.jwt.JwtCredentials;
+import com.tungstun.security.domain.jwt.JwtKeyManager;
 import com.tungstun.security.domain.jwt.JwtTokenGenerator;
 import com.tungstun.security.domain.jwt.JwtValidator;
 import com.tungstun.security.domain.user.Authorization;
@@ -35,8 +36,9 @@ class JwtTokenGeneratorTest {
 
     @BeforeEach
     void setUp() {
-        tokenGenerator = new JwtTokenGenerator(jwtCredentials);
-        jwtValidator = new JwtValidator(jwtCredentials);
+        JwtKeyManager keyManager = new JwtKeyManager(jwtCredentials);
+        tokenGenerator = new JwtTokenGenerator(jwtCredentials, keyManager);
+        jwtValidator = new JwtValidator(jwtCredentials, keyManager);
     }
 
     @SuppressWarnings("java:S2925")
@@ -71,6 +73,33 @@ class JwtTokenGeneratorTest {
         assertEquals(user.getAuthorizations(), authorizations);
     }
 
+    @Test
+    void createCompactAccessToken_ContainsAuthorizationVersion() throws IllegalAccessException {
+        User user = new User(
+                UUID.randomUUID(),
+                "username",
+                "password",
+                "mail@mail.com",
+                "first",
+                "last",
+                "+31612345678", new ArrayList<>());
+        user.newBarAuthorization(UUID.randomUUID(), new Person());
+        FieldUtils.writeField(user, "id", UUID.randomUUID(), true);
+        jwtCredentials.setJwtCompactAccessToken(true);
+
+        try {
+            String token = tokenGenerator.createAccessToken(user);
+
+            DecodedJWT decodedJWT = jwtValidator.verifyAccessToken(token);
+            assertEquals(user.getId(), UUID.fromString(decodedJWT.getClaim("client_id").asString()));
+            assertEquals(user.getUsername(), decodedJWT.getSubject());
+            assertEquals(1, decodedJWT.getClaim("authorization_version").asLong());
+            assertTrue(decodedJWT.getClaim("authorizations").isMissing());
+        } finally {
+            jwtCredentials.setJwtCompactAccessToken(false);
+        }
+    }
+
     @SuppressWarnings("java:S2925")
     @Test
     void createRefreshToken_ContainsCorrectValues() {
@@ -0,0 +1,46 @@
+package com.tungstun.security.domain.domain.user;
+
+import com.tungstun.exception.CannotAuthenticateException;
+import com.tungstun.security.domain.user.UserCredentials;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserCredentialsTest {
+    private static UserCredentials credentials(boolean nonExpired, boolean nonLocked, boolean credentialsNonExpired, boolean enabled) {
+        return new UserCredentials(UUID.randomUUID(), "user", "password", 0, Map.of(), nonExpired, nonLocked, credentialsNonExpired, enabled);
+    }
+
+    @Test
+    @DisplayName("Active account can authenticate")
+    void activeAccount_CanAuthenticate() {
+        assertDoesNotThrow(() -> credentials(true, true, true, true).canAuthenticate());
+    }
+
+    private static Stream<Arguments> inactiveAccounts() {
+        return Stream.of(
+                Arguments.of(credentials(false, true, true, true), "Account expired. An expired account cannot be authenticated."),
+                Arguments.of(credentials(true, false, true, true), "Account locked. A locked account cannot be authenticated."),
+                Arguments.of(credentials(true, true, false, true), "Account credentials expired. Expired credentials prevent authentication."),
+                Arguments.of(credentials(true, true, true, false), "Account disabled. A disabled account cannot be authenticated.")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("inactiveAccounts")
+    @DisplayName("Inactive account cannot authenticate")
+    void inactiveAccount_CannotAuthenticate(UserCredentials credentials, String message) {
+        CannotAuthenticateException exception = assertThrows(CannotAuthenticateException.class, credentials::canAuthenticate);
+        assertEquals(message, exception.getMessage());
+    }
+}
@@ -218,6 +218,18 @@ class UserTest {
         );
     }
 
+    @Test
+    void changeAuthorizations_IncrementsAuthorizationVersion() {
+        User user = new User(UUID.randomUUID(), "user", "", "", "", "", "+31612345678", new ArrayList<>());
+        Person person = new PersonBuilder("owner").setUser(user).build();
+
+        user.authorize(barId, Role.CUSTOMER, person);
+        user.authorize(barId, Role.BARTENDER, person);
+        userWithAuthorization.revokeUserAuthorization(user, barId);
+
+        assertEquals(3, user.getAuthorizationVersion());
+    }
+
     @Test
     void revokeOwnUserAuthorization_Throws() {
         assertThrows(
@@ -0,0 +1,59 @@
+package com.tungstun.security.port.web.user;
+
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AuthenticationControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SpringUserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    @Test
+    @DisplayName("Registered user logs in with hashing off the request thread")
+    void registerAndLogIn() throws Exception {
+        String username = "authenticate-" + UUID.randomUUID();
+        performAsync(post("/api/account/register")
+                .content(String.format("{\"username\":\"%s\",\"password\":\"password\",\"firstName\":\"first\",\"lastName\":\"last\",\"mail\":\"%s@bar.com\",\"phoneNumber\":\"+310612345678\"}", username, username)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").exists());
+
+        performAsync(post("/api/authenticate")
+                .content(String.format("{\"username\":\"%s\",\"password\":\"password\"}", username)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("token_type", "bearer"))
+                .andExpect(header().exists("access_token"))
+                .andExpect(header().exists("refresh_token"));
+    }
+}
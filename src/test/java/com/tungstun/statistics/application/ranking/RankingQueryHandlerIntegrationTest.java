@@ -0,0 +1,120 @@
+package com.tungstun.statistics.application.ranking;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.bill.Order;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.statistics.application.ranking.query.GetBarRankings;
+import com.tungstun.statistics.domain.ranking.Ranked;
+import com.tungstun.statistics.domain.ranking.Rankings;
+import com.tungstun.statistics.domain.statistics.Filters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RankingQueryHandlerIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RankingQueryHandler rankingQueryHandler;
+
+    private Bar bar;
+    private Person owner;
+    private Person regular;
+    private Product beer;
+    private Product wine;
+    private Order oldOrder;
+
+    @BeforeEach
+    void setUp() {
+        owner = new PersonBuilder("owner").build();
+        regular = new PersonBuilder("regular").build();
+        Person guest = new PersonBuilder("guest").build();
+        Category category = new CategoryFactory("Drinks").create();
+        beer = new ProductBuilder("Pils", category)
+                .setPrice(2.5)
+                .build();
+        wine = new ProductBuilder("Wine", category)
+                .setPrice(4.0)
+                .build();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(owner, regular, guest)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(beer, wine)))
+                .build();
+        Session session = bar.newSession("session");
+        Bill regularBill = session.addCustomer(regular);
+        Bill guestBill = session.addCustomer(guest);
+        oldOrder = regularBill.addOrder(wine, 3, owner);
+        regularBill.addOrder(beer, 2, owner);
+        guestBill.addOrder(beer, 4, regular);
+        guestBill.addOrder(wine, 1, owner);
+        bar = barRepository.save(bar);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Products, customers and bartenders are ranked exactly")
+    void rankings() {
+        Rankings rankings = rankingQueryHandler.handle(new GetBarRankings(bar.getId(), 10), new Filters(null, null));
+
+        assertTrue(rankings.exact());
+        assertEquals(List.of(beer.getId(), wine.getId()), rankings.productsByAmount().stream().map(Ranked::id).toList());
+        assertEquals(6, rankings.productsByAmount().get(0).value());
+        assertEquals(List.of(wine.getId(), beer.getId()), rankings.productsByRevenue().stream().map(Ranked::id).toList());
+        assertEquals(16.0, rankings.productsByRevenue().get(0).value(), 0.001);
+        assertEquals(regular.getId(), rankings.customersBySpend().get(0).id());
+        assertEquals("regular", rankings.customersBySpend().get(0).name());
+        assertEquals(17.0, rankings.customersBySpend().get(0).value(), 0.001);
+        assertEquals(owner.getId(), rankings.bartendersByOrders().get(0).id());
+        assertEquals(3, rankings.bartendersByOrders().get(0).value());
+    }
+
+    @Test
+    @DisplayName("Rankings contain at most k items and only orders in the inclusive date range")
+    void rankingsLimitedAndFiltered() {
+        LocalDate lastWeek = LocalDate.now().minusWeeks(1);
+        jdbcTemplate.update("update \"order\" set creation_date = ? where id = ?", lastWeek.atTime(21, 0), oldOrder.getId());
+
+        Rankings rankings = rankingQueryHandler.handle(new GetBarRankings(bar.getId(), 1), new Filters(lastWeek.plusDays(1), LocalDate.now()));
+
+        assertEquals(1, rankings.productsByRevenue().size());
+        assertEquals(beer.getId(), rankings.productsByRevenue().get(0).id());
+        assertEquals(15.0, rankings.productsByRevenue().get(0).value(), 0.001);
+    }
+
+    @Test
+    @DisplayName("k outside of the capacity fails")
+    void invalidK_Fails() {
+        Filters filters = new Filters(null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> rankingQueryHandler.handle(new GetBarRankings(bar.getId(), 0), filters));
+        assertThrows(IllegalArgumentException.class, () -> rankingQueryHandler.handle(new GetBarRankings(bar.getId(), 100_000), filters));
+    }
+}
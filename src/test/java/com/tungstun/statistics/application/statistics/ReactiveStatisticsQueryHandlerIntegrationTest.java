@@ -0,0 +1,160 @@
+package com.tungstun.statistics.application.statistics;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import com.tungstun.statistics.application.statistics.query.GetBarStatistics;
+import com.tungstun.statistics.application.statistics.query.GetCustomerStatistics;
+import com.tungstun.statistics.application.statistics.query.GetGlobalCustomerStatistics;
+import com.tungstun.statistics.application.statistics.query.GetUserCustomerStatistics;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.statistics.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "com.tungstun.bartap.reactive.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+class ReactiveStatisticsQueryHandlerIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private ReactiveStatisticsQueryHandler statisticsQueryHandler;
+    @Autowired
+    private StatisticsQueryHandler blockingStatisticsQueryHandler;
+
+    private Bar bar;
+    private User user;
+    private Person customer;
+    private Filters noFilters;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(UUID.randomUUID(), "reactive-" + UUID.randomUUID(), "", "reactive@statistics.com", "", "", "+310612345678", new ArrayList<>()));
+        customer = new PersonBuilder("customer").setUser(user).build();
+        Person customer2 = new PersonBuilder("customer2").build();
+        Person customer3 = new PersonBuilder("customer3").build();
+        Category drinks = new CategoryFactory("Drinks").create();
+        Product pils = new ProductBuilder("Pils", drinks)
+                .setPrice(2.5)
+                .build();
+        Product nachos = new ProductBuilder("Nachos", drinks)
+                .setPrice(6.0)
+                .build();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(customer, customer2, customer3)))
+                .setCategories(new ArrayList<>(List.of(drinks)))
+                .setProducts(new ArrayList<>(List.of(pils, nachos)))
+                .build();
+
+        Session session = bar.newSession("session");
+        Bill bill = session.addCustomer(customer);
+        bill.addOrder(pils, 3, customer);
+        bill.addOrder(pils, 1, customer);
+        bill.addOrder(nachos, 1, customer);
+        bill.pay();
+        Bill bill2 = session.addCustomer(customer2);
+        bill2.addOrder(pils, 2, customer);
+        bill2.addOrder(nachos, 2, customer);
+        session.addCustomer(customer3);
+
+        bar = barRepository.save(bar);
+        user.newBarAuthorization(bar.getId(), customer);
+        user = userRepository.save(user);
+        noFilters = new Filters(null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private static void assertSameStatistics(Statistics expected, Statistics actual) {
+        assertEquals(expected.mostSoldProduct(), actual.mostSoldProduct());
+        assertEquals(expected.mostExpensiveBill().id(), actual.mostExpensiveBill().id());
+        assertEquals(expected.totalSpent(), actual.totalSpent(), 0.001);
+        assertEquals(expected.totalNotYetPayed(), actual.totalNotYetPayed(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Bar statistics are the same as the blocking statistics")
+    void barStatistics_SameAsBlocking() {
+        GetBarStatistics query = new GetBarStatistics(bar.getId());
+
+        Statistics statistics = statisticsQueryHandler.handle(query, noFilters).block();
+
+        assertSameStatistics(blockingStatisticsQueryHandler.handle(query, noFilters), statistics);
+        assertEquals(10.0 + 6.0, statistics.totalSpent(), 0.001);
+        assertEquals(5.0 + 12.0, statistics.totalNotYetPayed(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Customer statistics are the same as the blocking statistics")
+    void customerStatistics_SameAsBlocking() {
+        GetCustomerStatistics query = new GetCustomerStatistics(bar.getId(), customer.getId());
+
+        assertSameStatistics(
+                blockingStatisticsQueryHandler.handle(query, noFilters),
+                statisticsQueryHandler.handle(query, noFilters).block());
+    }
+
+    @Test
+    @DisplayName("User and global customer statistics are the same as the blocking statistics")
+    void userStatistics_SameAsBlocking() {
+        GetUserCustomerStatistics userQuery = new GetUserCustomerStatistics(bar.getId(), user.getId());
+        GetGlobalCustomerStatistics globalQuery = new GetGlobalCustomerStatistics(user.getUsername());
+
+        assertSameStatistics(
+                blockingStatisticsQueryHandler.handle(userQuery, noFilters),
+                statisticsQueryHandler.handle(userQuery, noFilters).block());
+        assertSameStatistics(
+                blockingStatisticsQueryHandler.handle(globalQuery, noFilters),
+                statisticsQueryHandler.handle(globalQuery, noFilters).block());
+    }
+
+    @Test
+    @DisplayName("Sessions outside of the date filters are left out by the database")
+    void statisticsFilteredByDate_Empty() {
+        Filters filters = new Filters(LocalDate.now().plusDays(1), null);
+
+        Statistics statistics = statisticsQueryHandler.handle(new GetBarStatistics(bar.getId()), filters).block();
+
+        assertNull(statistics.mostSoldProduct());
+        assertEquals(0, statistics.totalSpent());
+    }
+
+    @Test
+    @DisplayName("Statistics of not existing bar fail with not found")
+    void statisticsOfNotExistingBar_Fails() {
+        GetBarStatistics query = new GetBarStatistics(UUID.randomUUID());
+
+        assertThrows(EntityNotFoundException.class, () -> statisticsQueryHandler.handle(query, noFilters).block());
+    }
+}
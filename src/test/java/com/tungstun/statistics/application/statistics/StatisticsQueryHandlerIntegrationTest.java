@@ -0,0 +1,107 @@
+package com.tungstun.statistics.application.statistics;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.security.domain.user.User;
+import com.tungstun.security.port.persistence.user.SpringUserRepository;
+import com.tungstun.statistics.application.statistics.query.GetGlobalCustomerStatistics;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.statistics.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StatisticsQueryHandlerIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private SpringUserRepository userRepository;
+    @Autowired
+    private StatisticsQueryHandler statisticsQueryHandler;
+
+    private User user;
+    private Bill mostExpensiveBill;
+    private Product mostSoldProduct;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(UUID.randomUUID(), "global-" + UUID.randomUUID(), "", "global@statistics.com", "", "", "+310612345678", new ArrayList<>()));
+        for (int i = 1; i <= 3; i++) {
+            Person customer = new PersonBuilder("customer").setUser(user).build();
+            Person stranger = new PersonBuilder("stranger").build();
+            Category category = new CategoryFactory("Drinks").create();
+            Product product = new ProductBuilder("Product " + i, category)
+                    .setPrice(i)
+                    .build();
+            Bar bar = new BarBuilder("bar " + i)
+                    .setPhoneNumber("+310612345678")
+                    .setPeople(new ArrayList<>(List.of(customer, stranger)))
+                    .setCategories(new ArrayList<>(List.of(category)))
+                    .setProducts(new ArrayList<>(List.of(product)))
+                    .build();
+
+            Bill bill = bar.newSession("session").addCustomer(customer);
+            for (int order = 0; order < 4 - i; order++) {
+                bill.addOrder(product, 2, customer);
+            }
+            if (i == 1) bill.pay();
+            bar.getActiveSession().addCustomer(stranger).addOrder(product, 10, customer);
+
+            barRepository.save(bar);
+            user.newBarAuthorization(bar.getId(), customer);
+            if (i == 1) mostSoldProduct = product;
+            if (i == 2) mostExpensiveBill = bill;
+        }
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Global customer statistics merge the statistics of every connected bar")
+    void globalCustomerStatistics_MergesBars() {
+        Statistics statistics = statisticsQueryHandler.handle(new GetGlobalCustomerStatistics(user.getUsername()), new Filters(null, null));
+
+        assertEquals(6.0, statistics.totalSpent(), 0.001);
+        assertEquals(8.0 + 6.0, statistics.totalNotYetPayed(), 0.001);
+        assertEquals(mostExpensiveBill.getId(), statistics.mostExpensiveBill().id());
+        assertEquals(mostSoldProduct.getId(), statistics.mostSoldProduct().getId());
+        assertEquals("session", statistics.mostExpensiveBill().session().name());
+    }
+
+    @Test
+    @DisplayName("Global customer statistics apply the date filters to every bar")
+    void globalCustomerStatistics_Filtered() {
+        Filters filters = new Filters(LocalDate.now().plusDays(1), null);
+
+        Statistics statistics = statisticsQueryHandler.handle(new GetGlobalCustomerStatistics(user.getUsername()), filters);
+
+        assertEquals(0, statistics.totalSpent());
+        assertEquals(0, statistics.totalNotYetPayed());
+        assertNull(statistics.mostSoldProduct());
+        assertNull(statistics.mostExpensiveBill());
+    }
+}
@@ -0,0 +1,87 @@
+package com.tungstun.statistics.application.timeseries;
+
+import com.tungstun.statistics.domain.timeseries.Granularity;
+import com.tungstun.statistics.domain.timeseries.TimeBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClosedBucketCacheTest {
+    private static final LocalDateTime START = LocalDateTime.of(2022, 5, 18, 0, 0);
+
+    private final MutableClock clock = new MutableClock();
+
+    private static ClosedBucketCache.Key key(int day) {
+        return new ClosedBucketCache.Key(new UUID(0, 1), Granularity.DAY, true, START.plusDays(day));
+    }
+
+    private static TimeBucket bucket(int day) {
+        return TimeBucket.empty(START.plusDays(day), START.plusDays(day + 1));
+    }
+
+    @Test
+    @DisplayName("Cached buckets are found by bar, granularity, breakdown and start")
+    void getCached() {
+        ClosedBucketCache cache = new ClosedBucketCache(10, Duration.ofHours(1), clock);
+        cache.put(key(0), bucket(0));
+
+        assertEquals(bucket(0), cache.get(key(0)));
+        assertNull(cache.get(key(1)));
+        assertNull(cache.get(new ClosedBucketCache.Key(new UUID(0, 1), Granularity.DAY, false, START)));
+    }
+
+    @Test
+    @DisplayName("Least recently used buckets are evicted when the cache is full")
+    void evictLeastRecentlyUsed() {
+        ClosedBucketCache cache = new ClosedBucketCache(2, Duration.ofHours(1), clock);
+        cache.put(key(0), bucket(0));
+        cache.put(key(1), bucket(1));
+        cache.get(key(0));
+        cache.put(key(2), bucket(2));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(key(0)));
+        assertNull(cache.get(key(1)));
+        assertNotNull(cache.get(key(2)));
+    }
+
+    @Test
+    @DisplayName("Cached buckets expire after the time to live")
+    void expire() {
+        ClosedBucketCache cache = new ClosedBucketCache(10, Duration.ofHours(1), clock);
+        cache.put(key(0), bucket(0));
+
+        clock.advance(Duration.ofMinutes(59));
+        assertNotNull(cache.get(key(0)));
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(cache.get(key(0)));
+        assertEquals(0, cache.size());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2022-05-20T12:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
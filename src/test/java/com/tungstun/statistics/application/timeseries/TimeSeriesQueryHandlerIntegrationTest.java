@@ -0,0 +1,142 @@
+package com.tungstun.statistics.application.timeseries;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.bill.Order;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.Category;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.port.persistence.bar.SpringBarRepository;
+import com.tungstun.statistics.application.timeseries.query.GetBarTimeSeries;
+import com.tungstun.statistics.domain.statistics.Filters;
+import com.tungstun.statistics.domain.timeseries.TimeBucket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TimeSeriesQueryHandlerIntegrationTest {
+    @Autowired
+    private SpringBarRepository barRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TimeSeriesQueryHandler timeSeriesQueryHandler;
+
+    private Bar bar;
+    private Product beer;
+    private LocalDate lastWeek;
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        Person customer = new PersonBuilder("customer").build();
+        Category category = new CategoryFactory("Drinks").create();
+        beer = new ProductBuilder("Pils", category)
+                .setPrice(2.5)
+                .build();
+        Product wine = new ProductBuilder("Wine", category)
+                .setPrice(4.0)
+                .build();
+        bar = new BarBuilder("bar")
+                .setPhoneNumber("+310612345678")
+                .setPeople(new ArrayList<>(List.of(customer)))
+                .setCategories(new ArrayList<>(List.of(category)))
+                .setProducts(new ArrayList<>(List.of(beer, wine)))
+                .build();
+        Bill bill = bar.newSession("session").addCustomer(customer);
+        orders = List.of(
+                bill.addOrder(beer, 2, customer),
+                bill.addOrder(wine, 1, customer),
+                bill.addOrder(beer, 1, customer),
+                bill.addOrder(beer, 4, customer)
+        );
+        bar = barRepository.save(bar);
+
+        lastWeek = LocalDate.now().minusWeeks(1);
+        moveOrder(orders.get(0), lastWeek.atTime(20, 15));
+        moveOrder(orders.get(1), lastWeek.atTime(20, 45));
+        moveOrder(orders.get(2), lastWeek.plusDays(2).atTime(23, 59));
+    }
+
+    private void moveOrder(Order order, LocalDateTime creationDate) {
+        jdbcTemplate.update("update \"order\" set creation_date = ? where id = ?", creationDate, order.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        barRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Orders are grouped per day with revenue, order count and product mix")
+    void timeSeriesPerDay() {
+        List<TimeBucket> buckets = timeSeriesQueryHandler.handle(new GetBarTimeSeries(bar.getId(), "day", true), new Filters(null, null));
+
+        assertEquals(3, buckets.size());
+        TimeBucket first = buckets.get(0);
+        assertEquals(lastWeek.atStartOfDay(), first.start());
+        assertEquals(9.0, first.revenue(), 0.001);
+        assertEquals(2, first.orders());
+        assertEquals(3, first.amount());
+        assertEquals(beer.getId(), first.products().get(0).productId());
+        assertEquals(2, first.products().get(0).amount());
+        assertEquals(lastWeek.plusDays(2).atStartOfDay(), buckets.get(1).start());
+        assertEquals(LocalDate.now().atStartOfDay(), buckets.get(2).start());
+        assertEquals(10.0, buckets.get(2).revenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("The inclusive date range of the filters limits the orders")
+    void timeSeriesFiltered() {
+        Filters filters = new Filters(lastWeek.plusDays(1), lastWeek.plusDays(2));
+
+        List<TimeBucket> buckets = timeSeriesQueryHandler.handle(new GetBarTimeSeries(bar.getId(), "hour", false), filters);
+
+        assertEquals(1, buckets.size());
+        assertEquals(lastWeek.plusDays(2).atTime(23, 0), buckets.get(0).start());
+        assertEquals(2.5, buckets.get(0).revenue(), 0.001);
+        assertTrue(buckets.get(0).products().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Closed buckets are cached while the open bucket is read again")
+    void closedBucketsCached() {
+        GetBarTimeSeries query = new GetBarTimeSeries(bar.getId(), "day", true);
+        Filters filters = new Filters(lastWeek, LocalDate.now());
+        List<TimeBucket> buckets = timeSeriesQueryHandler.handle(query, filters);
+
+        moveOrder(orders.get(1), LocalDate.now().atStartOfDay());
+        List<TimeBucket> cachedBuckets = timeSeriesQueryHandler.handle(query, filters);
+
+        assertEquals(buckets.subList(0, 2), cachedBuckets.subList(0, 2));
+        assertEquals(9.0, cachedBuckets.get(0).revenue(), 0.001);
+        assertEquals(14.0, cachedBuckets.get(2).revenue(), 0.001);
+        List<TimeBucket> uncachedBuckets = timeSeriesQueryHandler.handle(new GetBarTimeSeries(bar.getId(), "day", false), filters);
+        assertEquals(5.0, uncachedBuckets.get(0).revenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Unknown granularity fails")
+    void unknownGranularity_Fails() {
+        GetBarTimeSeries query = new GetBarTimeSeries(bar.getId(), "fortnight", true);
+
+        assertThrows(IllegalArgumentException.class, () -> timeSeriesQueryHandler.handle(query, new Filters(null, null)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.tungstun.statistics.domain.ranking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKCounterTest {
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Sums are exact while all items fit")
+    void exactWithinCapacity() {
+        TopKCounter counter = new TopKCounter(3);
+        counter.add(a, "a", 1);
+        counter.add(b, "b", 5);
+        counter.add(a, "a", 2);
+        counter.add(c, "c", 2);
+
+        List<Ranked> top = counter.top(3);
+
+        assertTrue(counter.isExact());
+        assertEquals(List.of(b, a, c), top.stream().map(Ranked::id).toList());
+        assertEquals(5, top.get(0).value());
+        assertEquals(3, top.get(1).value());
+        assertEquals(0, top.get(1).maxError());
+    }
+
+    @Test
+    @DisplayName("Top returns at most k items, highest first")
+    void topLimitedToK() {
+        TopKCounter counter = new TopKCounter(10);
+        counter.add(a, "a", 1);
+        counter.add(b, "b", 3);
+        counter.add(c, "c", 2);
+
+        List<Ranked> top = counter.top(2);
+
+        assertEquals(List.of(b, c), top.stream().map(Ranked::id).toList());
+    }
+
+    @Test
+    @DisplayName("New item takes over the lowest counter with its sum as maximum error")
+    void newItemEvictsLowest() {
+        TopKCounter counter = new TopKCounter(2);
+        counter.add(a, "a", 5);
+        counter.add(b, "b", 1);
+        counter.add(c, "c", 2);
+
+        List<Ranked> top = counter.top(2);
+
+        assertFalse(counter.isExact());
+        assertEquals(new Ranked(a, "a", 5, 0), top.get(0));
+        assertEquals(new Ranked(c, "c", 3, 1), top.get(1));
+    }
+
+    @Test
+    @DisplayName("Heavy hitter is kept in a stream of many different items")
+    void heavyHitterKept() {
+        TopKCounter counter = new TopKCounter(10);
+        for (int i = 0; i < 1000; i++) {
+            counter.add(UUID.randomUUID(), "other", 1);
+            if (i % 4 == 0) counter.add(a, "a", 1);
+        }
+
+        Ranked top = counter.top(1).get(0);
+
+        assertEquals(a, top.id());
+        assertTrue(top.value() - top.maxError() <= 250);
+        assertTrue(top.value() >= 250);
+    }
+
+    @Test
+    @DisplayName("Capacity must be positive")
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TopKCounter(0));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tungstun.statistics.domain.statistics;
+
+import com.tungstun.barapi.domain.bar.Bar;
+import com.tungstun.barapi.domain.bar.BarBuilder;
+import com.tungstun.barapi.domain.bill.Bill;
+import com.tungstun.barapi.domain.person.Person;
+import com.tungstun.barapi.domain.person.PersonBuilder;
+import com.tungstun.barapi.domain.product.CategoryFactory;
+import com.tungstun.barapi.domain.product.Product;
+import com.tungstun.barapi.domain.product.ProductBuilder;
+import com.tungstun.barapi.domain.session.Session;
+import com.tungstun.barapi.domain.session.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartialStatisticsTest {
+    private Product beer;
+    private Product wine;
+    private Bill beerBill;
+    private Bill wineBill;
+    private Bar beerBar;
+    private Bar wineBar;
+
+    @BeforeEach
+    void setUp() {
+        beer = new ProductBuilder("beer", new CategoryFactory("category").create())
+                .setPrice(2.0)
+                .build();
+        wine = new ProductBuilder("wine", new CategoryFactory("category").create())
+                .setPrice(5.0)
+                .build();
+        Person customer = new PersonBuilder("customer").build();
+
+        Session beerSession = new SessionFactory("beer session").create();
+        beerBill = beerSession.addCustomer(customer);
+        beerBill.addOrder(beer, 1, customer);
+        beerBill.addOrder(beer, 1, customer);
+        beerBill.addOrder(beer, 1, customer);
+        beerBill.pay();
+        beerBar = new BarBuilder("beer bar")
+                .setSessions(List.of(beerSession))
+                .build();
+
+        Session wineSession = new SessionFactory("wine session").create();
+        wineBill = wineSession.addCustomer(customer);
+        wineBill.addOrder(wine, 1, customer);
+        wineBill.addOrder(wine, 1, customer);
+        wineBill.addOrder(beer, 1, customer);
+        wineBar = new BarBuilder("wine bar")
+                .setSessions(List.of(wineSession))
+                .build();
+    }
+
+    private static PartialStatistics partialOf(Bar bar) {
+        return new StatisticsGenerator(new Filters(null, null))
+                .addBar(bar)
+                .generatePartial();
+    }
+
+    @Test
+    @DisplayName("Merging partial statistics of bars gives the same statistics as generating them together")
+    void mergeSameAsGeneratingTogether() {
+        Statistics expected = new StatisticsGenerator(new Filters(null, null))
+                .addBar(beerBar)
+                .addBar(wineBar)
+                .generate();
+
+        Statistics statistics = partialOf(beerBar).merge(partialOf(wineBar)).toStatistics();
+
+        assertEquals(expected, statistics);
+        assertEquals(beer.getId(), statistics.mostSoldProduct().getId());
+        assertEquals(wineBill.getId(), statistics.mostExpensiveBill().id());
+        assertEquals(12.0, statistics.mostExpensiveBill().totalPrice());
+        assertEquals(6.0, statistics.totalSpent());
+        assertEquals(12.0, statistics.totalNotYetPayed());
+    }
+
+    @Test
+    @DisplayName("Order amounts of the same product are summed over the partial statistics")
+    void mergeSumsProductOrders() {
+        PartialStatistics merged = partialOf(beerBar).merge(partialOf(wineBar));
+
+        assertEquals(2, merged.productOrders().size());
+        merged.productOrders().forEach((product, orders) ->
+                assertEquals(product.getId().equals(beer.getId()) ? 4 : 2, orders));
+    }
+
+    @Test
+    @DisplayName("Merging with empty partial statistics keeps the statistics")
+    void mergeWithEmpty() {
+        PartialStatistics partial = partialOf(wineBar);
+
+        Statistics statistics = PartialStatistics.empty().merge(partial).merge(PartialStatistics.empty()).toStatistics();
+
+        assertEquals(partial.toStatistics(), statistics);
+        assertEquals(wine.getId(), statistics.mostSoldProduct().getId());
+    }
+
+    @Test
+    @DisplayName("Empty partial statistics have no most sold product and bill")
+    void emptyStatistics() {
+        Statistics statistics = PartialStatistics.empty().toStatistics();
+
+        assertNull(statistics.mostSoldProduct());
+        assertNull(statistics.mostExpensiveBill());
+        assertEquals(0, statistics.totalSpent());
+        assertEquals(0, statistics.totalNotYetPayed());
+    }
+}
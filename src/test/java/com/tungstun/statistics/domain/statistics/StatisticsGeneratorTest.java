@@ -89,7 +89,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(2, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -103,7 +103,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(0, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -117,7 +117,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(0, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -131,7 +131,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(2, statistics.totalSpent());
         assertEquals(0, statistics.totalNotYetPayed());
-        assertEquals(bill2.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill2.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -145,7 +145,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(2, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -159,7 +159,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(2, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -187,7 +187,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(0, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -203,7 +203,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(2, statistics.totalSpent());
         assertEquals(0, statistics.totalNotYetPayed());
-        assertEquals(bill2.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill2.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -218,7 +218,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(0, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 
@@ -234,7 +234,7 @@ class StatisticsGeneratorTest {
 
         assertEquals(0, statistics.totalSpent());
         assertEquals(8, statistics.totalNotYetPayed());
-        assertEquals(bill.getId(), statistics.mostExpensiveBill().getId());
+        assertEquals(bill.getId(), statistics.mostExpensiveBill().id());
         assertEquals(product.getId(), statistics.mostSoldProduct().getId());
     }
 }
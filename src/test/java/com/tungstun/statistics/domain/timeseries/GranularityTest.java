@@ -0,0 +1,48 @@
+package com.tungstun.statistics.domain.timeseries;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GranularityTest {
+    private static final LocalDateTime WEDNESDAY_EVENING = LocalDateTime.of(2022, 5, 18, 21, 37, 12);
+
+    @Test
+    @DisplayName("Hour buckets start at the whole hour")
+    void hour() {
+        LocalDateTime start = Granularity.HOUR.truncate(WEDNESDAY_EVENING);
+
+        assertEquals(LocalDateTime.of(2022, 5, 18, 21, 0), start);
+        assertEquals(LocalDateTime.of(2022, 5, 18, 22, 0), Granularity.HOUR.next(start));
+    }
+
+    @Test
+    @DisplayName("Day buckets start at midnight")
+    void day() {
+        LocalDateTime start = Granularity.DAY.truncate(WEDNESDAY_EVENING);
+
+        assertEquals(LocalDateTime.of(2022, 5, 18, 0, 0), start);
+        assertEquals(LocalDateTime.of(2022, 5, 19, 0, 0), Granularity.DAY.next(start));
+    }
+
+    @Test
+    @DisplayName("Week buckets start at monday midnight")
+    void week() {
+        LocalDateTime start = Granularity.WEEK.truncate(WEDNESDAY_EVENING);
+
+        assertEquals(LocalDateTime.of(2022, 5, 16, 0, 0), start);
+        assertEquals(LocalDateTime.of(2022, 5, 23, 0, 0), Granularity.WEEK.next(start));
+        assertEquals(start, Granularity.WEEK.truncate(start));
+    }
+
+    @Test
+    @DisplayName("Granularity is found case insensitive")
+    void getGranularity() {
+        assertEquals(Granularity.WEEK, Granularity.getGranularity("week"));
+        assertThrows(IllegalArgumentException.class, () -> Granularity.getGranularity("fortnight"));
+    }
+}
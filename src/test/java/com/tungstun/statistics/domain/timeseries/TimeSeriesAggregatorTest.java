@@ -0,0 +1,87 @@
+package com.tungstun.statistics.domain.timeseries;
+
+import com.tungstun.statistics.domain.orderline.OrderLine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeSeriesAggregatorTest {
+    private static final UUID BEER = UUID.randomUUID();
+    private static final UUID WINE = UUID.randomUUID();
+    private static final LocalDateTime EVENING = LocalDateTime.of(2022, 5, 18, 21, 0);
+
+    private static OrderLine beer(LocalDateTime dateTime, int amount) {
+        return new OrderLine(dateTime, BEER, "Pils", "Heineken", new BigDecimal("2.50"), amount, null, null, null, null);
+    }
+
+    private static OrderLine wine(LocalDateTime dateTime, int amount) {
+        return new OrderLine(dateTime, WINE, "Wine", "Merlot", new BigDecimal("4.00"), amount, null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Orders are summed per bucket with a product breakdown")
+    void aggregatePerHour() {
+        TimeSeriesAggregator aggregator = new TimeSeriesAggregator(Granularity.HOUR, true);
+        aggregator.add(beer(EVENING.plusMinutes(5), 2));
+        aggregator.add(wine(EVENING.plusMinutes(10), 1));
+        aggregator.add(beer(EVENING.plusMinutes(59), 1));
+        aggregator.add(wine(EVENING.plusHours(2), 3));
+
+        List<TimeBucket> buckets = aggregator.buckets();
+
+        assertEquals(2, buckets.size());
+        TimeBucket first = buckets.get(0);
+        assertEquals(EVENING, first.start());
+        assertEquals(EVENING.plusHours(1), first.end());
+        assertEquals(11.5, first.revenue());
+        assertEquals(3, first.orders());
+        assertEquals(4, first.amount());
+        assertEquals(List.of(
+                new ProductVolume(BEER, "Pils", "Heineken", 3, 7.5),
+                new ProductVolume(WINE, "Wine", "Merlot", 1, 4.0)
+        ), first.products());
+        assertEquals(EVENING.plusHours(2), buckets.get(1).start());
+        assertEquals(12.0, buckets.get(1).revenue());
+    }
+
+    @Test
+    @DisplayName("Buckets are ordered by start and buckets without orders are left out")
+    void bucketsOrderedWithoutGaps() {
+        TimeSeriesAggregator aggregator = new TimeSeriesAggregator(Granularity.DAY, true);
+        aggregator.add(beer(EVENING.plusDays(3), 1));
+        aggregator.add(beer(EVENING, 1));
+
+        List<TimeBucket> buckets = aggregator.buckets();
+
+        assertEquals(2, buckets.size());
+        assertEquals(EVENING.toLocalDate().atStartOfDay(), buckets.get(0).start());
+        assertEquals(EVENING.toLocalDate().plusDays(3).atStartOfDay(), buckets.get(1).start());
+    }
+
+    @Test
+    @DisplayName("Products are left out without a product breakdown")
+    void withoutProductBreakdown() {
+        TimeSeriesAggregator aggregator = new TimeSeriesAggregator(Granularity.WEEK, false);
+        aggregator.add(beer(EVENING, 1));
+        aggregator.add(wine(EVENING.plusDays(1), 1));
+
+        List<TimeBucket> buckets = aggregator.buckets();
+
+        assertEquals(1, buckets.size());
+        assertEquals(6.5, buckets.get(0).revenue());
+        assertTrue(buckets.get(0).products().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Aggregating no orders gives no buckets")
+    void aggregateNothing() {
+        assertTrue(new TimeSeriesAggregator(Granularity.DAY, true).buckets().isEmpty());
+    }
+}
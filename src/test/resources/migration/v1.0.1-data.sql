@@ -0,0 +1,89 @@
+insert into "user"(id, password, username, mail, first_name, last_name)
+values (1, 'hash', 'owner', 'owner@mail.com', 'Owner', 'One'),
+       (2, 'hash', 'bartender', 'bartender@mail.com', 'Bar', 'Tender');
+
+insert into bar(id, deleted, address, mail, name, phone_number)
+values (1, false, 'Molenstraat 15', 'molenstraat@mail.com', 'De Molen', '+310612345678'),
+       (2, false, 'Kerkstraat 6', 'kerkstraat@mail.com', 'De Kerk', '+310612345679');
+
+insert into user_bar_authorization(id, bar_id, role, user_id)
+values (1, 1, 'ROLE_BAR_OWNER', 1),
+       (2, 2, 'ROLE_BAR_OWNER', 1),
+       (3, 2, 'ROLE_BARTENDER', 2);
+
+insert into user_user_bar_authorizations (user_id, user_bar_authorizations_id)
+values (1, 1),
+       (1, 2),
+       (2, 3);
+
+insert into person (id, name, phone_number, user_id)
+values (1, 'Owner One', '0612345678', 1),
+       (2, 'Owner One', '0612345678', 1),
+       (3, 'Bar Tender', '0687654321', 2),
+       (4, 'Customer A', null, null),
+       (5, 'Customer B', null, null),
+       (6, 'Customer C', null, null);
+
+insert into bar_people (bar_id, people_id)
+values (1, 1),
+       (1, 4),
+       (1, 5),
+       (2, 2),
+       (2, 3),
+       (2, 6);
+
+insert into category (id, deleted, name, product_type)
+values (1, false, 'Beer', 'DRINK'),
+       (2, false, 'Snacks', 'FOOD'),
+       (3, false, 'Beer', 'DRINK');
+
+insert into bar_categories (bar_id, categories_id)
+values (1, 1),
+       (1, 2),
+       (2, 3);
+
+insert into product (id, brand, deleted, is_favorite, name, price, size, category_id)
+values (1, 'Heineken', false, true, 'Pils', 2.5, 250, 1),
+       (2, 'Bitterballen', false, false, '10 pieces', 4.75, 10, 2),
+       (3, 'Grolsch', false, true, 'Weizen', 3.3, 500, 3),
+       (4, 'Cola', false, false, 'Zero', 2.2, 330, null);
+
+insert into bar_products (bar_id, products_id)
+values (1, 1),
+       (1, 2),
+       (2, 3),
+       (2, 4);
+
+insert into session (id, closed_date, creation_date, locked, name)
+values (1, '2021-11-05 03:00:00', '2021-11-04 20:00:00', true, 'Thursday'),
+       (2, null, '2021-11-11 20:00:00', false, 'Thursday'),
+       (3, null, '2021-11-12 20:00:00', false, 'Friday');
+
+insert into bar_sessions (bar_id, sessions_id)
+values (1, 1),
+       (1, 2),
+       (2, 3);
+
+insert into bill (id, is_payed, customer_id, session_id)
+values (1, true, 4, 1),
+       (2, false, 5, 2),
+       (3, false, 4, 2),
+       (4, false, 6, 3);
+
+insert into "order" (id, amount, creation_date, bartender_id, product_id)
+values (1, 2, '2021-11-04 21:00:00', 1, 1),
+       (2, 1, '2021-11-04 21:30:00', 1, 2),
+       (3, 3, '2021-11-11 21:00:00', 1, 1),
+       (4, 1, '2021-11-11 21:10:00', 1, 1),
+       (5, 1, '2021-11-11 22:00:00', 1, 2),
+       (6, 2, '2021-11-12 21:00:00', 3, 3),
+       (7, 1, '2021-11-12 21:05:00', 3, 4);
+
+insert into "bill_orders" (bill_id, "orders_id")
+values (1, 1),
+       (1, 2),
+       (2, 3),
+       (2, 4),
+       (3, 5),
+       (4, 6),
+       (4, 7);